@@ -6,7 +6,10 @@ import com.felipe.projectmanagerapi.enums.ResponseConditionStatus;
 import com.felipe.projectmanagerapi.exceptions.*;
 import com.felipe.projectmanagerapi.utils.CustomResponseBody;
 import com.felipe.projectmanagerapi.utils.CustomValidationErrors;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -205,6 +208,66 @@ public class ExceptionControllerAdvice {
     return response;
   }
 
+  @ExceptionHandler(PasswordHashingUnavailableException.class)
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public CustomResponseBody<Void> handlePasswordHashingUnavailableException(
+    PasswordHashingUnavailableException e,
+    HttpServletResponse servletResponse
+  ) {
+    servletResponse.setHeader(HttpHeaders.RETRY_AFTER, "1");
+
+    CustomResponseBody<Void> response = new CustomResponseBody<>();
+    response.setStatus(ResponseConditionStatus.ERROR);
+    response.setCode(HttpStatus.SERVICE_UNAVAILABLE);
+    response.setMessage(e.getMessage());
+    response.setData(null);
+    return response;
+  }
+
+  @ExceptionHandler(VersionConflictException.class)
+  @ResponseStatus(HttpStatus.CONFLICT)
+  public CustomResponseBody<Void> handleVersionConflictException(VersionConflictException e) {
+    CustomResponseBody<Void> response = new CustomResponseBody<>();
+    response.setStatus(ResponseConditionStatus.ERROR);
+    response.setCode(HttpStatus.CONFLICT);
+    response.setMessage(e.getMessage());
+    response.setData(null);
+    return response;
+  }
+
+  @ExceptionHandler(PreconditionFailedException.class)
+  @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+  public CustomResponseBody<Void> handlePreconditionFailedException(PreconditionFailedException e) {
+    CustomResponseBody<Void> response = new CustomResponseBody<>();
+    response.setStatus(ResponseConditionStatus.ERROR);
+    response.setCode(HttpStatus.PRECONDITION_FAILED);
+    response.setMessage(e.getMessage());
+    response.setData(null);
+    return response;
+  }
+
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  @ResponseStatus(HttpStatus.CONFLICT)
+  public CustomResponseBody<Void> handleOptimisticLockingFailureException() {
+    CustomResponseBody<Void> response = new CustomResponseBody<>();
+    response.setStatus(ResponseConditionStatus.ERROR);
+    response.setCode(HttpStatus.CONFLICT);
+    response.setMessage("Conflito de versão: o recurso foi modificado por outra requisição. Recarregue-o e tente novamente");
+    response.setData(null);
+    return response;
+  }
+
+  @ExceptionHandler(RateLimitExceededException.class)
+  @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+  public CustomResponseBody<Void> handleRateLimitExceededException(RateLimitExceededException e) {
+    CustomResponseBody<Void> response = new CustomResponseBody<>();
+    response.setStatus(ResponseConditionStatus.ERROR);
+    response.setCode(HttpStatus.TOO_MANY_REQUESTS);
+    response.setMessage(e.getMessage());
+    response.setData(null);
+    return response;
+  }
+
   @ExceptionHandler(Exception.class)
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
   public CustomResponseBody<Void> handleUncaughtException() {
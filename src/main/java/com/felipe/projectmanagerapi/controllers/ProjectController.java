@@ -1,5 +1,7 @@
 package com.felipe.projectmanagerapi.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipe.projectmanagerapi.dtos.DeletedRecordsResponseDTO;
 import com.felipe.projectmanagerapi.dtos.ProjectCreateDTO;
 import com.felipe.projectmanagerapi.dtos.ProjectFullResponseDTO;
 import com.felipe.projectmanagerapi.dtos.ProjectResponseDTO;
@@ -9,26 +11,39 @@ import com.felipe.projectmanagerapi.enums.ResponseConditionStatus;
 import com.felipe.projectmanagerapi.models.Project;
 import com.felipe.projectmanagerapi.services.ProjectService;
 import com.felipe.projectmanagerapi.utils.CustomResponseBody;
+import com.felipe.projectmanagerapi.utils.ETag;
+import com.felipe.projectmanagerapi.utils.KeysetPage;
+import com.felipe.projectmanagerapi.utils.NdjsonWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Validated
 @RestController
@@ -37,10 +52,12 @@ public class ProjectController {
 
   private final ProjectService projectService;
   private final ProjectMapper projectMapper;
+  private final ObjectMapper objectMapper;
 
-  public ProjectController(ProjectService projectService, ProjectMapper projectMapper) {
+  public ProjectController(ProjectService projectService, ProjectMapper projectMapper, ObjectMapper objectMapper) {
     this.projectService = projectService;
     this.projectMapper = projectMapper;
+    this.objectMapper = objectMapper;
   }
 
   @PostMapping
@@ -59,30 +76,34 @@ public class ProjectController {
 
   @GetMapping
   @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<List<ProjectResponseDTO>> getAllFromAuthenticatedUser() {
-    List<Project> projects = this.projectService.getAllFromAuthenticatedUser();
-    List<ProjectResponseDTO> projectsDTO = projects.stream().map(this.projectMapper::toProjectResponseDTO).toList();
+  public CustomResponseBody<List<ProjectResponseDTO>> getAllFromAuthenticatedUser(
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "20")
+    @Min(value = 1, message = "O limite deve ser entre 1 e 100")
+    @Max(value = 100, message = "O limite deve ser entre 1 e 100")
+    int limit
+  ) {
+    KeysetPage<ProjectResponseDTO> projectsDTO = this.projectService.getAllFromAuthenticatedUser(cursor, limit)
+      .map(this.projectMapper::toProjectResponseDTO);
 
     CustomResponseBody<List<ProjectResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todos os seus projetos");
-    response.setData(projectsDTO);
+    response.setData(projectsDTO.content());
+    response.setNextCursor(projectsDTO.nextCursor());
     return response;
   }
 
   @DeleteMapping
   @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<Map<String, List<ProjectResponseDTO>>> deleteAllFromAuthenticatedUser() {
-    List<Project> deletedProjects = this.projectService.deleteAllFromAuthenticatedUser();
-    List<ProjectResponseDTO> deletedProjectsDTO = deletedProjects.stream()
-      .map(this.projectMapper::toProjectResponseDTO)
-      .toList();
+  public CustomResponseBody<Map<String, DeletedRecordsResponseDTO>> deleteAllFromAuthenticatedUser() {
+    List<String> deletedProjectIds = this.projectService.deleteAllFromAuthenticatedUser();
 
-    Map<String, List<ProjectResponseDTO>> deletedProjectsMap = new HashMap<>(1);
-    deletedProjectsMap.put("deletedProjects", deletedProjectsDTO);
+    Map<String, DeletedRecordsResponseDTO> deletedProjectsMap = new HashMap<>(1);
+    deletedProjectsMap.put("deletedProjects", DeletedRecordsResponseDTO.of(deletedProjectIds));
 
-    CustomResponseBody<Map<String, List<ProjectResponseDTO>>> response = new CustomResponseBody<>();
+    CustomResponseBody<Map<String, DeletedRecordsResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todos os seus projetos foram excluídos com sucesso");
@@ -94,9 +115,12 @@ public class ProjectController {
   @ResponseStatus(HttpStatus.OK)
   public CustomResponseBody<ProjectResponseDTO> update(
     @PathVariable @NotNull @NotBlank String projectId,
-    @RequestBody @NotNull @Valid ProjectUpdateDTO project
+    @RequestBody @NotNull @Valid ProjectUpdateDTO project,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+    HttpServletResponse servletResponse
   ) {
-    Project updatedProject = this.projectService.update(projectId, project);
+    Project updatedProject = this.projectService.update(projectId, project, ETag.parseVersion(ifMatch));
+    ETag.write(servletResponse, updatedProject.getVersion());
     ProjectResponseDTO projectResponseDTO = this.projectMapper.toProjectResponseDTO(updatedProject);
 
     CustomResponseBody<ProjectResponseDTO> response = new CustomResponseBody<>();
@@ -107,11 +131,15 @@ public class ProjectController {
     return response;
   }
 
+  // No @ResponseStatus on conditional GETs: it would turn a 304 back into a 200
   @GetMapping("/{projectId}")
-  @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<ProjectFullResponseDTO> getById(@PathVariable @NotNull @NotBlank String projectId) {
-    Project project = this.projectService.getById(projectId);
-    ProjectFullResponseDTO projectResponseDTO = this.projectMapper.toProjectFullResponseDTO(project);
+  public CustomResponseBody<ProjectFullResponseDTO> getById(
+    @PathVariable @NotNull @NotBlank String projectId,
+    WebRequest webRequest
+  ) {
+    Optional<Project> project = this.projectService.getFullByIdIfModified(projectId, webRequest::checkNotModified);
+    if(project.isEmpty()) return null;
+    ProjectFullResponseDTO projectResponseDTO = this.projectMapper.toProjectFullResponseDTO(project.get());
 
     CustomResponseBody<ProjectFullResponseDTO> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
@@ -140,18 +168,15 @@ public class ProjectController {
 
   @DeleteMapping("/workspaces/{workspaceId}")
   @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<Map<String, List<ProjectResponseDTO>>> deleteAllFromWorkspace(
+  public CustomResponseBody<Map<String, DeletedRecordsResponseDTO>> deleteAllFromWorkspace(
     @PathVariable @NotNull @NotBlank String workspaceId
   ) {
-    List<Project> deletedProjects = this.projectService.deleteAllFromWorkspace(workspaceId);
-    List<ProjectResponseDTO> deletedProjectsDTO = deletedProjects.stream()
-      .map(this.projectMapper::toProjectResponseDTO)
-      .toList();
+    List<String> deletedProjectIds = this.projectService.deleteAllFromWorkspace(workspaceId);
 
-    Map<String, List<ProjectResponseDTO>> deletedProjectsMap = new HashMap<>(1);
-    deletedProjectsMap.put("deletedProjects", deletedProjectsDTO);
+    Map<String, DeletedRecordsResponseDTO> deletedProjectsMap = new HashMap<>(1);
+    deletedProjectsMap.put("deletedProjects", DeletedRecordsResponseDTO.of(deletedProjectIds));
 
-    CustomResponseBody<Map<String, List<ProjectResponseDTO>>> response = new CustomResponseBody<>();
+    CustomResponseBody<Map<String, DeletedRecordsResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todos os projetos do workspace de ID: '" + workspaceId + "' excluídos com sucesso");
@@ -165,43 +190,68 @@ public class ProjectController {
     @PathVariable @NotNull @NotBlank String workspaceId,
     @RequestParam(defaultValue = "asc", name = "sortingOrder")
     @Pattern(regexp = "asc|desc", message = "Os parâmetros aceitos são: asc, desc")
-    String sortingOrder
+    String sortingOrder,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "20")
+    @Min(value = 1, message = "O limite deve ser entre 1 e 100")
+    @Max(value = 100, message = "O limite deve ser entre 1 e 100")
+    int limit
   ) {
-    List<Project> projects = this.projectService.getAllFromWorkspace(workspaceId, sortingOrder);
-    List<ProjectResponseDTO> projectsDTO = projects.stream().map(this.projectMapper::toProjectResponseDTO).toList();
+    KeysetPage<ProjectResponseDTO> projectsDTO = this.projectService.getAllFromWorkspace(workspaceId, sortingOrder, cursor, limit)
+      .map(this.projectMapper::toProjectResponseDTO);
 
     CustomResponseBody<List<ProjectResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todos os projetos do workspace de ID: '" + workspaceId + "'");
-    response.setData(projectsDTO);
+    response.setData(projectsDTO.content());
+    response.setNextCursor(projectsDTO.nextCursor());
     return response;
   }
 
+  @GetMapping(value = "/owner/{ownerId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public void exportAllFromOwner(
+    @PathVariable @NotNull @NotBlank String ownerId,
+    HttpServletResponse response
+  ) throws IOException {
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    try(NdjsonWriter writer = new NdjsonWriter(this.objectMapper, response.getOutputStream())) {
+      this.projectService.exportAllFromOwner(ownerId, project -> writer.write(this.projectMapper.toProjectResponseDTO(project)));
+    }
+  }
+
   @GetMapping("/owner/{ownerId}")
   @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<List<ProjectResponseDTO>> getAllFromOwner(@PathVariable @NotNull @NotBlank String ownerId) {
-    List<Project> projects = this.projectService.getAllFromOwner(ownerId);
-    List<ProjectResponseDTO> projectsDTO = projects.stream().map(this.projectMapper::toProjectResponseDTO).toList();
+  public CustomResponseBody<List<ProjectResponseDTO>> getAllFromOwner(
+    @PathVariable @NotNull @NotBlank String ownerId,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "20")
+    @Min(value = 1, message = "O limite deve ser entre 1 e 100")
+    @Max(value = 100, message = "O limite deve ser entre 1 e 100")
+    int limit
+  ) {
+    KeysetPage<ProjectResponseDTO> projectsDTO = this.projectService.getAllFromOwner(ownerId, cursor, limit)
+      .map(this.projectMapper::toProjectResponseDTO);
 
     CustomResponseBody<List<ProjectResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todos os projetos do usuário de ID: '" + ownerId + "'");
-    response.setData(projectsDTO);
+    response.setData(projectsDTO.content());
+    response.setNextCursor(projectsDTO.nextCursor());
     return response;
   }
 
   @DeleteMapping("/owner/{ownerId}")
   @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<Map<String, List<ProjectResponseDTO>>> deleteAllFromOwner(@PathVariable @NotNull @NotBlank String ownerId) {
-    List<Project> deletedProjects = this.projectService.deleteAllFromOwner(ownerId);
-    List<ProjectResponseDTO> projectsDTO = deletedProjects.stream().map(this.projectMapper::toProjectResponseDTO).toList();
+  public CustomResponseBody<Map<String, DeletedRecordsResponseDTO>> deleteAllFromOwner(@PathVariable @NotNull @NotBlank String ownerId) {
+    List<String> deletedProjectIds = this.projectService.deleteAllFromOwner(ownerId);
 
-    Map<String, List<ProjectResponseDTO>> deletedProjectsMap = new HashMap<>(1);
-    deletedProjectsMap.put("deletedProjects", projectsDTO);
+    Map<String, DeletedRecordsResponseDTO> deletedProjectsMap = new HashMap<>(1);
+    deletedProjectsMap.put("deletedProjects", DeletedRecordsResponseDTO.of(deletedProjectIds));
 
-    CustomResponseBody<Map<String, List<ProjectResponseDTO>>> response = new CustomResponseBody<>();
+    CustomResponseBody<Map<String, DeletedRecordsResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todos os projetos do usuário de ID: '" + ownerId + "' foram excluídos com sucesso");
@@ -213,34 +263,37 @@ public class ProjectController {
   @ResponseStatus(HttpStatus.OK)
   public CustomResponseBody<List<ProjectResponseDTO>> getAllByWorkspaceAndOwner(
     @PathVariable @NotNull @NotBlank String workspaceId,
-    @PathVariable @NotNull @NotBlank String ownerId
+    @PathVariable @NotNull @NotBlank String ownerId,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "20")
+    @Min(value = 1, message = "O limite deve ser entre 1 e 100")
+    @Max(value = 100, message = "O limite deve ser entre 1 e 100")
+    int limit
   ) {
-    List<Project> projects = this.projectService.getAllByWorkspaceAndOwner(workspaceId, ownerId);
-    List<ProjectResponseDTO> projectDTOs = projects.stream().map(this.projectMapper::toProjectResponseDTO).toList();
+    KeysetPage<ProjectResponseDTO> projectDTOs = this.projectService.getAllByWorkspaceAndOwner(workspaceId, ownerId, cursor, limit)
+      .map(this.projectMapper::toProjectResponseDTO);
 
     CustomResponseBody<List<ProjectResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todos os projetos do usuário de id '" + ownerId + "' no workspace de id '" + workspaceId + "'");
-    response.setData(projectDTOs);
+    response.setData(projectDTOs.content());
+    response.setNextCursor(projectDTOs.nextCursor());
     return response;
   }
 
   @DeleteMapping("/workspaces/{workspaceId}/owner/{ownerId}")
   @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<Map<String, List<ProjectResponseDTO>>> deleteAllFromOwnerAndWorkspace(
+  public CustomResponseBody<Map<String, DeletedRecordsResponseDTO>> deleteAllFromOwnerAndWorkspace(
     @PathVariable @NotNull @NotBlank String workspaceId,
     @PathVariable @NotNull @NotBlank String ownerId
   ) {
-    List<Project> deletedProjects = this.projectService.deleteAllFromOwnerAndWorkspace(workspaceId, ownerId);
-    List<ProjectResponseDTO> deletedProjectsDTO = deletedProjects.stream()
-      .map(this.projectMapper::toProjectResponseDTO)
-      .toList();
+    List<String> deletedProjectIds = this.projectService.deleteAllFromOwnerAndWorkspace(workspaceId, ownerId);
 
-    Map<String, List<ProjectResponseDTO>> deletedProjectsMap = new HashMap<>(1);
-    deletedProjectsMap.put("deletedProjects", deletedProjectsDTO);
+    Map<String, DeletedRecordsResponseDTO> deletedProjectsMap = new HashMap<>(1);
+    deletedProjectsMap.put("deletedProjects", DeletedRecordsResponseDTO.of(deletedProjectIds));
 
-    CustomResponseBody<Map<String, List<ProjectResponseDTO>>> response = new CustomResponseBody<>();
+    CustomResponseBody<Map<String, DeletedRecordsResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage(
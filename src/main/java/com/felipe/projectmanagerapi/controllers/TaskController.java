@@ -1,5 +1,7 @@
 package com.felipe.projectmanagerapi.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipe.projectmanagerapi.dtos.DeletedRecordsResponseDTO;
 import com.felipe.projectmanagerapi.dtos.TaskCreateDTO;
 import com.felipe.projectmanagerapi.dtos.TaskResponseDTO;
 import com.felipe.projectmanagerapi.dtos.TaskUpdateDTO;
@@ -8,10 +10,18 @@ import com.felipe.projectmanagerapi.enums.ResponseConditionStatus;
 import com.felipe.projectmanagerapi.models.Task;
 import com.felipe.projectmanagerapi.services.TaskService;
 import com.felipe.projectmanagerapi.utils.CustomResponseBody;
+import com.felipe.projectmanagerapi.utils.ETag;
+import com.felipe.projectmanagerapi.utils.KeysetPage;
+import com.felipe.projectmanagerapi.utils.NdjsonWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,12 +30,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Validated
 @RestController
@@ -34,10 +50,12 @@ public class TaskController {
 
   private final TaskService taskService;
   private final TaskMapper taskMapper;
+  private final ObjectMapper objectMapper;
 
-  public TaskController(TaskService taskService, TaskMapper taskMapper) {
+  public TaskController(TaskService taskService, TaskMapper taskMapper, ObjectMapper objectMapper) {
     this.taskService = taskService;
     this.taskMapper = taskMapper;
+    this.objectMapper = objectMapper;
   }
 
   @PostMapping
@@ -56,22 +74,33 @@ public class TaskController {
 
   @GetMapping
   @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<List<TaskResponseDTO>> getAllFromAuthenticatedUser() {
-    List<Task> allTasks = this.taskService.getAllFromAuthenticatedUser();
-    List<TaskResponseDTO> allTasksDTO = allTasks.stream().map(this.taskMapper::toDTO).toList();
+  public CustomResponseBody<List<TaskResponseDTO>> getAllFromAuthenticatedUser(
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "20")
+    @Min(value = 1, message = "O limite deve ser entre 1 e 100")
+    @Max(value = 100, message = "O limite deve ser entre 1 e 100")
+    int limit
+  ) {
+    KeysetPage<TaskResponseDTO> allTasksDTO = this.taskService.getAllFromAuthenticatedUser(cursor, limit)
+      .map(this.taskMapper::toDTO);
 
     CustomResponseBody<List<TaskResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todas as suas tasks");
-    response.setData(allTasksDTO);
+    response.setData(allTasksDTO.content());
+    response.setNextCursor(allTasksDTO.nextCursor());
     return response;
   }
 
   @GetMapping("/{taskId}")
   @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<TaskResponseDTO> getById(@PathVariable @NotNull @NotBlank String taskId) {
+  public CustomResponseBody<TaskResponseDTO> getById(
+    @PathVariable @NotNull @NotBlank String taskId,
+    HttpServletResponse servletResponse
+  ) {
     Task task = this.taskService.getById(taskId);
+    ETag.write(servletResponse, task.getVersion());
     TaskResponseDTO taskResponseDTO = this.taskMapper.toDTO(task);
 
     CustomResponseBody<TaskResponseDTO> response = new CustomResponseBody<>();
@@ -103,9 +132,12 @@ public class TaskController {
   @ResponseStatus(HttpStatus.OK)
   public CustomResponseBody<TaskResponseDTO> update(
     @PathVariable @NotNull @NotBlank String taskId,
-    @RequestBody @NotNull @Valid TaskUpdateDTO task
+    @RequestBody @NotNull @Valid TaskUpdateDTO task,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+    HttpServletResponse servletResponse
   ) {
-    Task updatedTask = this.taskService.update(taskId, task);
+    Task updatedTask = this.taskService.update(taskId, task, ETag.parseVersion(ifMatch));
+    ETag.write(servletResponse, updatedTask.getVersion());
     TaskResponseDTO taskResponseDTO = this.taskMapper.toDTO(updatedTask);
 
     CustomResponseBody<TaskResponseDTO> response = new CustomResponseBody<>();
@@ -117,31 +149,42 @@ public class TaskController {
   }
 
   @GetMapping("/projects/{projectId}")
-  @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<List<TaskResponseDTO>> getAllFromProject(@PathVariable @NotNull @NotBlank String projectId) {
-    List<Task> allTasks = this.taskService.getAllFromProject(projectId);
-    List<TaskResponseDTO> allTasksDTO = allTasks.stream().map(this.taskMapper::toDTO).toList();
+  public CustomResponseBody<List<TaskResponseDTO>> getAllFromProject(
+    @PathVariable @NotNull @NotBlank String projectId,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "20")
+    @Min(value = 1, message = "O limite deve ser entre 1 e 100")
+    @Max(value = 100, message = "O limite deve ser entre 1 e 100")
+    int limit,
+    WebRequest webRequest
+  ) {
+    Optional<KeysetPage<Task>> allTasks = this.taskService.getAllFromProjectIfModified(
+      projectId, cursor, limit, webRequest::checkNotModified
+    );
+    if(allTasks.isEmpty()) return null;
+
+    KeysetPage<TaskResponseDTO> allTasksDTO = allTasks.get().map(this.taskMapper::toDTO);
 
     CustomResponseBody<List<TaskResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todas as tasks do projeto de ID: '" + projectId + "'");
-    response.setData(allTasksDTO);
+    response.setData(allTasksDTO.content());
+    response.setNextCursor(allTasksDTO.nextCursor());
     return response;
   }
 
   @DeleteMapping("/projects/{projectId}")
   @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<Map<String, List<TaskResponseDTO>>> deleteAllFromProject(
+  public CustomResponseBody<Map<String, DeletedRecordsResponseDTO>> deleteAllFromProject(
     @PathVariable @NotNull @NotBlank String projectId
   ) {
-    List<Task> allDeletedTasks = this.taskService.deleteAllFromProject(projectId);
-    List<TaskResponseDTO> allDeletedTasksDTO = allDeletedTasks.stream().map(this.taskMapper::toDTO).toList();
+    List<String> deletedTaskIds = this.taskService.deleteAllFromProject(projectId);
 
-    Map<String, List<TaskResponseDTO>> deletedTasksMap = new HashMap<>(1);
-    deletedTasksMap.put("deletedTasks", allDeletedTasksDTO);
+    Map<String, DeletedRecordsResponseDTO> deletedTasksMap = new HashMap<>(1);
+    deletedTasksMap.put("deletedTasks", DeletedRecordsResponseDTO.of(deletedTaskIds));
 
-    CustomResponseBody<Map<String, List<TaskResponseDTO>>> response = new CustomResponseBody<>();
+    CustomResponseBody<Map<String, DeletedRecordsResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todas as tasks do projeto de ID: '" + projectId + "' foram excluídas com sucesso");
@@ -149,17 +192,37 @@ public class TaskController {
     return response;
   }
 
+  @GetMapping(value = "/owner/{ownerId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public void exportAllFromOwner(
+    @PathVariable @NotNull @NotBlank String ownerId,
+    HttpServletResponse response
+  ) throws IOException {
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    try(NdjsonWriter writer = new NdjsonWriter(this.objectMapper, response.getOutputStream())) {
+      this.taskService.exportAllFromOwner(ownerId, task -> writer.write(this.taskMapper.toDTO(task)));
+    }
+  }
+
   @GetMapping("/owner/{ownerId}")
   @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<List<TaskResponseDTO>> getAllFromOwner(@PathVariable @NotNull @NotBlank String ownerId) {
-    List<Task> allTasks = this.taskService.getAllFromOwner(ownerId);
-    List<TaskResponseDTO> allTasksDTO = allTasks.stream().map(this.taskMapper::toDTO).toList();
+  public CustomResponseBody<List<TaskResponseDTO>> getAllFromOwner(
+    @PathVariable @NotNull @NotBlank String ownerId,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "20")
+    @Min(value = 1, message = "O limite deve ser entre 1 e 100")
+    @Max(value = 100, message = "O limite deve ser entre 1 e 100")
+    int limit
+  ) {
+    KeysetPage<TaskResponseDTO> allTasksDTO = this.taskService.getAllFromOwner(ownerId, cursor, limit)
+      .map(this.taskMapper::toDTO);
 
     CustomResponseBody<List<TaskResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todas as tasks do usuário de ID: '" + ownerId + "'");
-    response.setData(allTasksDTO);
+    response.setData(allTasksDTO.content());
+    response.setNextCursor(allTasksDTO.nextCursor());
     return response;
   }
 }
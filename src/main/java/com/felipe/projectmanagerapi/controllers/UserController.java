@@ -6,13 +6,17 @@ import com.felipe.projectmanagerapi.enums.ResponseConditionStatus;
 import com.felipe.projectmanagerapi.models.User;
 import com.felipe.projectmanagerapi.services.UserService;
 import com.felipe.projectmanagerapi.utils.CustomResponseBody;
+import com.felipe.projectmanagerapi.utils.KeysetPage;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -72,15 +76,22 @@ public class UserController {
 
   @GetMapping("/users")
   @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<List<UserResponseDTO>> getAllUsers() {
-    List<User> users = this.userService.getAllUsers();
-    List<UserResponseDTO> usersDTO = users.stream().map(this.userMapper::toDTO).toList();
+  public CustomResponseBody<List<UserResponseDTO>> getAllUsers(
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "20")
+    @Min(value = 1, message = "O limite deve ser entre 1 e 100")
+    @Max(value = 100, message = "O limite deve ser entre 1 e 100")
+    int limit
+  ) {
+    KeysetPage<UserResponseDTO> usersDTO = this.userService.getAllUsers(cursor, limit)
+      .map(this.userMapper::toDTO);
 
     CustomResponseBody<List<UserResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todos os usuários");
-    response.setData(usersDTO);
+    response.setData(usersDTO.content());
+    response.setNextCursor(usersDTO.nextCursor());
     return response;
   }
 
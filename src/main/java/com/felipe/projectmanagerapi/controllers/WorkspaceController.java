@@ -5,27 +5,43 @@ import com.felipe.projectmanagerapi.dtos.mappers.UserMapper;
 import com.felipe.projectmanagerapi.dtos.mappers.WorkspaceMapper;
 import com.felipe.projectmanagerapi.enums.ResponseConditionStatus;
 import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.models.WorkspaceChanges;
 import com.felipe.projectmanagerapi.services.MemberService;
+import com.felipe.projectmanagerapi.services.WorkspaceChangeService;
 import com.felipe.projectmanagerapi.services.WorkspaceService;
 import com.felipe.projectmanagerapi.utils.CustomResponseBody;
+import com.felipe.projectmanagerapi.utils.ETag;
+import com.felipe.projectmanagerapi.utils.KeysetPage;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Validated
 @RestController
@@ -34,17 +50,20 @@ public class WorkspaceController {
 
   private final WorkspaceService workspaceService;
   private final MemberService memberService;
+  private final WorkspaceChangeService workspaceChangeService;
   private final WorkspaceMapper workspaceMapper;
   private final UserMapper userMapper;
 
   public WorkspaceController(
     WorkspaceService workspaceService,
     MemberService memberService,
+    WorkspaceChangeService workspaceChangeService,
     WorkspaceMapper workspaceMapper,
     UserMapper userMapper
   ) {
     this.workspaceService = workspaceService;
     this.memberService = memberService;
+    this.workspaceChangeService = workspaceChangeService;
     this.workspaceMapper = workspaceMapper;
     this.userMapper = userMapper;
   }
@@ -65,17 +84,22 @@ public class WorkspaceController {
 
   @GetMapping
   @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<List<WorkspaceResponseDTO>> getAllUserWorkspaces() {
-    List<Workspace> workspaces = this.workspaceService.getAllUserWorkspaces();
-    List<WorkspaceResponseDTO> workspacesDTO = workspaces.stream()
-      .map(this.workspaceMapper::toWorkspaceResponseDTO)
-      .toList();
+  public CustomResponseBody<List<WorkspaceResponseDTO>> getAllUserWorkspaces(
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "20")
+    @Min(value = 1, message = "O limite deve ser entre 1 e 100")
+    @Max(value = 100, message = "O limite deve ser entre 1 e 100")
+    int limit
+  ) {
+    KeysetPage<WorkspaceResponseDTO> workspacesDTO = this.workspaceService.getAllUserWorkspaces(cursor, limit)
+      .map(this.workspaceMapper::toWorkspaceResponseDTO);
 
     CustomResponseBody<List<WorkspaceResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todos os seus workspaces");
-    response.setData(workspacesDTO);
+    response.setData(workspacesDTO.content());
+    response.setNextCursor(workspacesDTO.nextCursor());
     return response;
   }
 
@@ -83,9 +107,12 @@ public class WorkspaceController {
   @ResponseStatus(HttpStatus.OK)
   public CustomResponseBody<WorkspaceResponseDTO> update(
     @PathVariable @NotNull @NotBlank String workspaceId,
-    @RequestBody @Valid @NotNull WorkspaceCreateOrUpdateDTO body
+    @RequestBody @Valid @NotNull WorkspaceCreateOrUpdateDTO body,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+    HttpServletResponse servletResponse
   ) {
-    Workspace updatedWorkspace = this.workspaceService.update(workspaceId, body);
+    Workspace updatedWorkspace = this.workspaceService.update(workspaceId, body, ETag.parseVersion(ifMatch));
+    ETag.write(servletResponse, updatedWorkspace.getVersion());
     WorkspaceResponseDTO updatedWorkspaceDTO = this.workspaceMapper.toWorkspaceResponseDTO(updatedWorkspace);
 
     CustomResponseBody<WorkspaceResponseDTO> response = new CustomResponseBody<>();
@@ -97,10 +124,13 @@ public class WorkspaceController {
   }
 
   @GetMapping("/{workspaceId}")
-  @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<WorkspaceFullResponseDTO> getById(@PathVariable @NotNull @NotBlank String workspaceId) {
-    Workspace workspace = this.workspaceService.getById(workspaceId);
-    WorkspaceFullResponseDTO workspaceFullResponseDTO = this.workspaceMapper.toWorkspaceFullResponseDTO(workspace);
+  public CustomResponseBody<WorkspaceFullResponseDTO> getById(
+    @PathVariable @NotNull @NotBlank String workspaceId,
+    WebRequest webRequest
+  ) {
+    Optional<Workspace> workspace = this.workspaceService.getFullByIdIfModified(workspaceId, webRequest::checkNotModified);
+    if(workspace.isEmpty()) return null;
+    WorkspaceFullResponseDTO workspaceFullResponseDTO = this.workspaceMapper.toWorkspaceFullResponseDTO(workspace.get());
 
     CustomResponseBody<WorkspaceFullResponseDTO> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
@@ -110,6 +140,32 @@ public class WorkspaceController {
     return response;
   }
 
+  @GetMapping("/{workspaceId}/changes")
+  @ResponseStatus(HttpStatus.OK)
+  public CustomResponseBody<WorkspaceChangesResponseDTO> getChanges(
+    @PathVariable @NotNull @NotBlank String workspaceId,
+    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+    @RequestParam(defaultValue = "100")
+    @Min(value = 1, message = "O limite deve ser entre 1 e 500")
+    @Max(value = 500, message = "O limite deve ser entre 1 e 500")
+    int limit
+  ) {
+    WorkspaceChanges changes = this.workspaceChangeService.getChangesSince(workspaceId, since, limit);
+    WorkspaceChangesResponseDTO changesDTO = this.workspaceMapper.toWorkspaceChangesResponseDTO(changes);
+
+    CustomResponseBody<WorkspaceChangesResponseDTO> response = new CustomResponseBody<>();
+    response.setStatus(ResponseConditionStatus.SUCCESS);
+    response.setCode(HttpStatus.OK);
+    response.setMessage("Alterações do workspace");
+    response.setData(changesDTO);
+    return response;
+  }
+
+  @GetMapping(value = "/{workspaceId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter getEvents(@PathVariable @NotNull @NotBlank String workspaceId) {
+    return this.workspaceService.subscribeToEvents(workspaceId);
+  }
+
   @DeleteMapping("/{workspaceId}")
   @ResponseStatus(HttpStatus.OK)
   public CustomResponseBody<Map<String, WorkspaceResponseDTO>> delete(@PathVariable @NotNull @NotBlank String workspaceId) {
@@ -130,7 +186,7 @@ public class WorkspaceController {
   @GetMapping("/{workspaceId}/members")
   @ResponseStatus(HttpStatus.OK)
   public CustomResponseBody<WorkspaceMembersResponseDTO> getAllMembers(@PathVariable @NotNull @NotBlank String workspaceId) {
-    Workspace workspace = this.workspaceService.getById(workspaceId);
+    Workspace workspace = this.workspaceService.getWithMembersById(workspaceId);
     WorkspaceResponseDTO workspaceDTO = this.workspaceMapper.toWorkspaceResponseDTO(workspace);
     List<UserResponseDTO> members = workspace.getMembers().stream().map(this.userMapper::toDTO).toList();
     WorkspaceMembersResponseDTO workspaceMembersDTO = new WorkspaceMembersResponseDTO(workspaceDTO, members);
@@ -0,0 +1,12 @@
+package com.felipe.projectmanagerapi.dtos;
+
+import java.util.List;
+
+public record DeletedRecordsResponseDTO(
+  int count,
+  List<String> ids
+) {
+  public static DeletedRecordsResponseDTO of(List<String> ids) {
+    return new DeletedRecordsResponseDTO(ids.size(), ids);
+  }
+}
@@ -24,7 +24,7 @@ public record ProjectCreateDTO(
   String description,
 
   @NotNull(message = "O orçamento não deve ser nulo")
-  @Pattern(regexp = "^\\d+\\.\\d{2}$", message = "Custo inválido! Digite no formato válido. Ex: 1200.00")
+  @Pattern(regexp = "^\\d{1,15}\\.\\d{2}$", message = "Custo inválido! Digite no formato válido. Ex: 1200.00")
   String budget,
 
   @ValueOfPriorityLevel
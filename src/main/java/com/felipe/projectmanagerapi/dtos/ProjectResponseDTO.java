@@ -15,6 +15,7 @@ public record ProjectResponseDTO(
   String deadline,
   LocalDateTime createdAt,
   LocalDateTime updatedAt,
+  Long version,
   String ownerId,
   String workspaceId
 ) {
@@ -20,7 +20,7 @@ public record ProjectUpdateDTO(
   String description,
 
   @Nullable
-  @Pattern(regexp = "^\\d+\\.\\d{2}$", message = "Custo inválido! Digite no formato válido. Ex: 1200.00")
+  @Pattern(regexp = "^\\d{1,15}\\.\\d{2}$", message = "Custo inválido! Digite no formato válido. Ex: 1200.00")
   String budget,
 
   @Nullable
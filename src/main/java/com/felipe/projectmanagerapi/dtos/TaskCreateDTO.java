@@ -17,7 +17,7 @@ public record TaskCreateDTO(
 
   @NotNull(message = "O custo não deve ser nulo")
   @NotBlank(message = "O custo não deve estar em branco")
-  @Pattern(regexp = "^\\d+\\.\\d{2}$", message = "Custo inválido! Digite no formato válido. Ex: 1200.00")
+  @Pattern(regexp = "^\\d{1,15}\\.\\d{2}$", message = "Custo inválido! Digite no formato válido. Ex: 1200.00")
   String cost,
 
   @NotNull(message = "O ID do projeto não deve ser nulo")
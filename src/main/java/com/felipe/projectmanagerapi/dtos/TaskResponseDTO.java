@@ -9,6 +9,7 @@ public record TaskResponseDTO(
   String cost,
   LocalDateTime createdAt,
   LocalDateTime updatedAt,
+  Long version,
   String projectId,
   String ownerId
 ) {}
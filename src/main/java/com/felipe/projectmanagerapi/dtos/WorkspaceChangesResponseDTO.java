@@ -0,0 +1,16 @@
+package com.felipe.projectmanagerapi.dtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record WorkspaceChangesResponseDTO(
+  List<ProjectResponseDTO> projects,
+  List<TaskResponseDTO> tasks,
+  List<UserResponseDTO> members,
+  List<String> deletedProjectIds,
+  List<String> deletedTaskIds,
+  List<String> deletedMemberIds,
+  LocalDateTime membersUpdatedAt,
+  LocalDateTime nextSince
+) {
+}
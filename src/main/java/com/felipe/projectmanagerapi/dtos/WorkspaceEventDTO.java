@@ -0,0 +1,4 @@
+package com.felipe.projectmanagerapi.dtos;
+
+public record WorkspaceEventDTO(String type, String workspaceId, String resourceId) {
+}
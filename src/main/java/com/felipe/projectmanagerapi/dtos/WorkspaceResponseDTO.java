@@ -7,5 +7,6 @@ public record WorkspaceResponseDTO(
   String name,
   String ownerId,
   LocalDateTime createdAt,
-  LocalDateTime updatedAt
+  LocalDateTime updatedAt,
+  Long version
 ) {}
@@ -26,6 +26,7 @@ public class ProjectMapper {
       ConvertDateFormat.convertDateToFormattedString(project.getDeadline()),
       project.getCreatedAt(),
       project.getUpdatedAt(),
+      project.getVersion(),
       project.getOwner().getId(),
       project.getWorkspace().getId()
     );
@@ -42,6 +43,7 @@ public class ProjectMapper {
         task.getCost().toString(),
         task.getCreatedAt(),
         task.getUpdatedAt(),
+        task.getVersion(),
         task.getProject().getId(),
         task.getOwner().getId()
       ))
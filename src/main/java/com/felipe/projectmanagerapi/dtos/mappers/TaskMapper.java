@@ -16,6 +16,7 @@ public class TaskMapper {
       task.getCost().toString(),
       task.getCreatedAt(),
       task.getUpdatedAt(),
+      task.getVersion(),
       task.getProject().getId(),
       task.getOwner().getId());
   }
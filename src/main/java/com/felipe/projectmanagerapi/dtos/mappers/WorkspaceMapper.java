@@ -1,10 +1,18 @@
 package com.felipe.projectmanagerapi.dtos.mappers;
 
 import com.felipe.projectmanagerapi.dtos.ProjectResponseDTO;
+import com.felipe.projectmanagerapi.dtos.TaskResponseDTO;
 import com.felipe.projectmanagerapi.dtos.UserResponseDTO;
+import com.felipe.projectmanagerapi.dtos.WorkspaceChangesResponseDTO;
 import com.felipe.projectmanagerapi.dtos.WorkspaceFullResponseDTO;
 import com.felipe.projectmanagerapi.dtos.WorkspaceResponseDTO;
+import com.felipe.projectmanagerapi.enums.ResourceType;
+import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.models.Task;
+import com.felipe.projectmanagerapi.models.Tombstone;
+import com.felipe.projectmanagerapi.models.User;
 import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.models.WorkspaceChanges;
 import com.felipe.projectmanagerapi.utils.ConvertDateFormat;
 import org.springframework.stereotype.Component;
 
@@ -19,41 +27,80 @@ public class WorkspaceMapper {
       workspace.getName(),
       workspace.getOwner().getId(),
       workspace.getCreatedAt(),
-      workspace.getUpdatedAt()
+      workspace.getUpdatedAt(),
+      workspace.getVersion()
     );
   }
 
   public WorkspaceFullResponseDTO toWorkspaceFullResponseDTO(Workspace workspace) {
     if(workspace == null) return null;
     WorkspaceResponseDTO workspaceDTO = this.toWorkspaceResponseDTO(workspace);
-    List<ProjectResponseDTO> projects = workspace.getProjects()
-      .stream()
-      .map(project -> new ProjectResponseDTO(
-        project.getId(),
-        project.getName(),
-        project.getPriority().getValue(),
-        project.getCategory(),
-        project.getDescription(),
-        project.getBudget().toString(),
-        project.getCost().toString(),
-        ConvertDateFormat.convertDateToFormattedString(project.getDeadline()),
-        project.getCreatedAt(),
-        project.getUpdatedAt(),
-        project.getOwner().getId(),
-        project.getWorkspace().getId()
-      ))
-      .toList();
-    List<UserResponseDTO> members = workspace.getMembers()
-      .stream()
-      .map(member -> new UserResponseDTO(
-        member.getId(),
-        member.getName(),
-        member.getEmail(),
-        member.getRole().getName(),
-        member.getCreatedAt(),
-        member.getUpdatedAt()
-      ))
-      .toList();
+    List<ProjectResponseDTO> projects = workspace.getProjects().stream().map(this::toProjectDTO).toList();
+    List<UserResponseDTO> members = workspace.getMembers().stream().map(this::toMemberDTO).toList();
     return new WorkspaceFullResponseDTO(workspaceDTO, projects, members);
   }
+
+  public WorkspaceChangesResponseDTO toWorkspaceChangesResponseDTO(WorkspaceChanges changes) {
+    if(changes == null) return null;
+    return new WorkspaceChangesResponseDTO(
+      changes.projects().stream().map(this::toProjectDTO).toList(),
+      changes.tasks().stream().map(this::toTaskDTO).toList(),
+      changes.members().stream().map(this::toMemberDTO).toList(),
+      this.deletedIds(changes.tombstones(), ResourceType.PROJECT),
+      this.deletedIds(changes.tombstones(), ResourceType.TASK),
+      this.deletedIds(changes.tombstones(), ResourceType.MEMBER),
+      changes.membersUpdatedAt(),
+      changes.nextSince()
+    );
+  }
+
+  private ProjectResponseDTO toProjectDTO(Project project) {
+    return new ProjectResponseDTO(
+      project.getId(),
+      project.getName(),
+      project.getPriority().getValue(),
+      project.getCategory(),
+      project.getDescription(),
+      project.getBudget().toString(),
+      project.getCost().toString(),
+      ConvertDateFormat.convertDateToFormattedString(project.getDeadline()),
+      project.getCreatedAt(),
+      project.getUpdatedAt(),
+      project.getVersion(),
+      project.getOwner().getId(),
+      project.getWorkspace().getId()
+    );
+  }
+
+  private TaskResponseDTO toTaskDTO(Task task) {
+    return new TaskResponseDTO(
+      task.getId(),
+      task.getName(),
+      task.getDescription(),
+      task.getCost().toString(),
+      task.getCreatedAt(),
+      task.getUpdatedAt(),
+      task.getVersion(),
+      task.getProject().getId(),
+      task.getOwner().getId()
+    );
+  }
+
+  private UserResponseDTO toMemberDTO(User member) {
+    return new UserResponseDTO(
+      member.getId(),
+      member.getName(),
+      member.getEmail(),
+      member.getRole().getName(),
+      member.getCreatedAt(),
+      member.getUpdatedAt()
+    );
+  }
+
+  private List<String> deletedIds(List<Tombstone> tombstones, ResourceType resourceType) {
+    return tombstones.stream()
+      .filter(tombstone -> tombstone.getResourceType() == resourceType)
+      .map(Tombstone::getResourceId)
+      .toList();
+  }
 }
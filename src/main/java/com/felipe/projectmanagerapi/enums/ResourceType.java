@@ -0,0 +1,7 @@
+package com.felipe.projectmanagerapi.enums;
+
+public enum ResourceType {
+  PROJECT,
+  TASK,
+  MEMBER
+}
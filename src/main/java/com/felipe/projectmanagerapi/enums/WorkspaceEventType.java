@@ -0,0 +1,30 @@
+package com.felipe.projectmanagerapi.enums;
+
+public enum WorkspaceEventType {
+  PROJECT_CREATED("project.created", ResourceType.PROJECT),
+  PROJECT_UPDATED("project.updated", ResourceType.PROJECT),
+  PROJECT_DELETED("project.deleted", ResourceType.PROJECT),
+  TASK_CREATED("task.created", ResourceType.TASK),
+  TASK_UPDATED("task.updated", ResourceType.TASK),
+  TASK_DELETED("task.deleted", ResourceType.TASK),
+  MEMBER_ADDED("member.added", ResourceType.MEMBER),
+  MEMBER_REMOVED("member.removed", ResourceType.MEMBER),
+  WORKSPACE_DELETED("workspace.deleted", null),
+  RESYNC("resync", null);
+
+  private final String value;
+  private final ResourceType resourceType;
+
+  WorkspaceEventType(String value, ResourceType resourceType) {
+    this.value = value;
+    this.resourceType = resourceType;
+  }
+
+  public String getValue() {
+    return this.value;
+  }
+
+  public ResourceType getResourceType() {
+    return this.resourceType;
+  }
+}
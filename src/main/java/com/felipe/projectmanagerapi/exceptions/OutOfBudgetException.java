@@ -1,9 +1,9 @@
 package com.felipe.projectmanagerapi.exceptions;
 
-import java.math.BigDecimal;
+import com.felipe.projectmanagerapi.models.Money;
 
 public class OutOfBudgetException extends RuntimeException {
-  public OutOfBudgetException(BigDecimal budget, BigDecimal cost) {
+  public OutOfBudgetException(Money budget, Money cost) {
     super(
       "Operação inválida! Custo acima do orçamento do projeto.\n" +
       "Orçamento: R$ " + budget + "\n" +
@@ -0,0 +1,7 @@
+package com.felipe.projectmanagerapi.exceptions;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+  public PasswordHashingUnavailableException() {
+    super("O servidor está sobrecarregado no momento. Tente novamente em instantes");
+  }
+}
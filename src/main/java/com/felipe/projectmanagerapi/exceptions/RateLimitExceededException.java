@@ -0,0 +1,7 @@
+package com.felipe.projectmanagerapi.exceptions;
+
+public class RateLimitExceededException extends RuntimeException {
+  public RateLimitExceededException() {
+    super("Limite de requisições excedido. Tente novamente mais tarde");
+  }
+}
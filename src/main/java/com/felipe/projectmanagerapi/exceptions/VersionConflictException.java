@@ -0,0 +1,11 @@
+package com.felipe.projectmanagerapi.exceptions;
+
+public class VersionConflictException extends RuntimeException {
+  public VersionConflictException(String id, Long expectedVersion, Long currentVersion) {
+    super(
+      "Conflito de versão no recurso de ID: '" + id + "'. " +
+      "Versão esperada: " + expectedVersion + ". Versão atual: " + currentVersion + ". " +
+      "Recarregue o recurso e tente novamente"
+    );
+  }
+}
@@ -0,0 +1,76 @@
+package com.felipe.projectmanagerapi.infra.events;
+
+import com.felipe.projectmanagerapi.enums.WorkspaceEventType;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Events waiting to be written to one subscriber. Keeps only the latest event per resource and at most
+ * {@code capacity} of them; an event that would not fit drops the whole backlog for a single resync,
+ * after which the client catches up through the change feed. A slow consumer therefore costs bounded
+ * memory and never slows down the publisher.
+ */
+class EventBuffer {
+
+  private final String workspaceId;
+  private final int capacity;
+  private final LinkedHashMap<String, WorkspaceEvent> pending = new LinkedHashMap<>();
+  private boolean overflowed;
+  private boolean heartbeatDue;
+  private boolean sentSinceHeartbeat;
+  private boolean closing;
+
+  EventBuffer(String workspaceId, int capacity) {
+    this.workspaceId = workspaceId;
+    this.capacity = capacity;
+  }
+
+  /**
+   * Returns false when the event overflowed the buffer. A {@code last} event ends the stream once it
+   * has been sent; anything offered after it is ignored.
+   */
+  synchronized boolean offer(WorkspaceEvent event, boolean last) {
+    if(this.closing) return true;
+    this.closing = last;
+    if(this.overflowed) return true;
+
+    String key = event.coalescingKey();
+    this.pending.remove(key);
+    if(this.pending.size() >= this.capacity) {
+      this.pending.clear();
+      this.overflowed = true;
+      return false;
+    }
+    this.pending.put(key, event);
+    return true;
+  }
+
+  /**
+   * Asks for a heartbeat unless something was sent since the last request. Returns whether one is due.
+   */
+  synchronized boolean requestHeartbeat() {
+    this.heartbeatDue = !this.sentSinceHeartbeat;
+    this.sentSinceHeartbeat = false;
+    return this.heartbeatDue;
+  }
+
+  synchronized boolean hasPending() {
+    return this.heartbeatDue || this.overflowed || !this.pending.isEmpty();
+  }
+
+  synchronized Batch drain() {
+    List<WorkspaceEvent> events = this.overflowed
+      ? List.of(new WorkspaceEvent(this.workspaceId, WorkspaceEventType.RESYNC, null))
+      : List.copyOf(this.pending.values());
+    Batch batch = new Batch(this.heartbeatDue, events, this.closing);
+
+    this.pending.clear();
+    this.overflowed = false;
+    this.heartbeatDue = false;
+    this.sentSinceHeartbeat |= !events.isEmpty();
+    return batch;
+  }
+
+  record Batch(boolean heartbeat, List<WorkspaceEvent> events, boolean close) {}
+}
@@ -0,0 +1,17 @@
+package com.felipe.projectmanagerapi.infra.events;
+
+import com.felipe.projectmanagerapi.dtos.WorkspaceEventDTO;
+import com.felipe.projectmanagerapi.enums.WorkspaceEventType;
+
+public record WorkspaceEvent(String workspaceId, WorkspaceEventType type, String resourceId) {
+
+  // Later events for the same resource replace earlier ones still waiting to be sent
+  String coalescingKey() {
+    if(this.type.getResourceType() == null) return this.type.name();
+    return this.type.getResourceType().name() + ":" + this.resourceId;
+  }
+
+  WorkspaceEventDTO toDTO() {
+    return new WorkspaceEventDTO(this.type.getValue(), this.workspaceId, this.resourceId);
+  }
+}
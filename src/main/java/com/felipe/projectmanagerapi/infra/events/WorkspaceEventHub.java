@@ -0,0 +1,245 @@
+package com.felipe.projectmanagerapi.infra.events;
+
+import com.felipe.projectmanagerapi.enums.WorkspaceEventType;
+import com.felipe.projectmanagerapi.infra.persistence.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans workspace activity out to Server-Sent Events subscribers, dispatching after commit so a rolled
+ * back write is never announced. Idle subscribers hold no thread: a small shared pool drains each
+ * subscriber's {@link EventBuffer}, and heartbeats keep idle connections open through proxies.
+ */
+@Component
+public class WorkspaceEventHub implements AutoCloseable {
+
+  private static final long IDLE = 0;
+  private static final long STALLED = Long.MIN_VALUE;
+
+  private final ConcurrentHashMap<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+  private final long timeoutMillis;
+  private final int bufferSize;
+  private final long sendTimeoutNanos;
+  private final int deliveryThreads;
+  private final int maxStalledSends;
+  private final ThreadPoolExecutor delivery;
+  private final ScheduledExecutorService heartbeats;
+  private final Counter overflows;
+  private final Counter stalls;
+  private int stalledSends;
+
+  public WorkspaceEventHub(
+    @Value("${api.events.timeout:30m}") Duration timeout,
+    @Value("${api.events.buffer-size:256}") int bufferSize,
+    @Value("${api.events.heartbeat-interval:15s}") Duration heartbeatInterval,
+    @Value("${api.events.delivery-threads:0}") int deliveryThreads,
+    @Value("${api.events.send-timeout:10s}") Duration sendTimeout,
+    @Value("${api.events.max-stalled-sends:256}") int maxStalledSends,
+    MeterRegistry meterRegistry
+  ) {
+    this.timeoutMillis = timeout.toMillis();
+    this.bufferSize = bufferSize;
+    this.sendTimeoutNanos = sendTimeout.toNanos();
+    this.maxStalledSends = maxStalledSends;
+
+    this.deliveryThreads = deliveryThreads > 0 ? deliveryThreads : Runtime.getRuntime().availableProcessors();
+    this.delivery = new ThreadPoolExecutor(
+      this.deliveryThreads, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+      new LinkedBlockingQueue<>(), daemonThreads("workspace-events-")
+    );
+    this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("workspace-events-heartbeat-"));
+    long intervalMillis = heartbeatInterval.toMillis();
+    this.heartbeats.scheduleWithFixedDelay(this::heartbeat, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    long watchdogMillis = Math.max(sendTimeout.toMillis() / 2, 1);
+    this.heartbeats.scheduleWithFixedDelay(
+      this::detectStalledSends, watchdogMillis, watchdogMillis, TimeUnit.MILLISECONDS
+    );
+
+    Gauge.builder("workspace.events.subscribers", this, WorkspaceEventHub::subscriberCount)
+      .description("Open workspace event streams")
+      .register(meterRegistry);
+    this.overflows = Counter.builder("workspace.events.overflows")
+      .description("Subscriber buffers dropped for a resync")
+      .register(meterRegistry);
+    this.stalls = Counter.builder("workspace.events.stalls")
+      .description("Subscribers dropped because a send ran past the send timeout")
+      .register(meterRegistry);
+  }
+
+  public SseEmitter subscribe(String workspaceId, String userId) {
+    SseEmitter emitter = new SseEmitter(this.timeoutMillis);
+    Subscriber subscriber = new Subscriber(workspaceId, userId, emitter, new EventBuffer(workspaceId, this.bufferSize));
+
+    emitter.onCompletion(() -> this.remove(subscriber));
+    emitter.onTimeout(emitter::complete);
+    emitter.onError(error -> this.remove(subscriber));
+    this.subscribers.compute(workspaceId, (id, workspaceSubscribers) -> {
+      Set<Subscriber> current = workspaceSubscribers != null ? workspaceSubscribers : ConcurrentHashMap.newKeySet();
+      current.add(subscriber);
+      return current;
+    });
+
+    // Sends the headers right away instead of with the first event
+    subscriber.buffer.requestHeartbeat();
+    this.schedule(subscriber);
+    return emitter;
+  }
+
+  public void publish(String workspaceId, WorkspaceEventType type, String resourceId) {
+    WorkspaceEvent event = new WorkspaceEvent(workspaceId, type, resourceId);
+    TransactionCallbacks.afterCommit(() -> this.dispatch(event));
+  }
+
+  public int subscriberCount() {
+    return this.subscribers.values().stream().mapToInt(Set::size).sum();
+  }
+
+  @Override
+  public void close() {
+    this.heartbeats.shutdownNow();
+    this.delivery.shutdown();
+    this.subscribers.values().forEach(workspaceSubscribers ->
+      workspaceSubscribers.forEach(subscriber -> subscriber.emitter.complete())
+    );
+    this.subscribers.clear();
+  }
+
+  private void dispatch(WorkspaceEvent event) {
+    Set<Subscriber> workspaceSubscribers = this.subscribers.get(event.workspaceId());
+    if(workspaceSubscribers == null) return;
+
+    for(Subscriber subscriber : workspaceSubscribers) {
+      boolean last = event.type() == WorkspaceEventType.WORKSPACE_DELETED ||
+        event.type() == WorkspaceEventType.MEMBER_REMOVED && subscriber.userId.equals(event.resourceId());
+      if(!subscriber.buffer.offer(event, last)) {
+        this.overflows.increment();
+      }
+      this.schedule(subscriber);
+    }
+  }
+
+  private void heartbeat() {
+    this.subscribers.values().forEach(workspaceSubscribers -> workspaceSubscribers.forEach(subscriber -> {
+      if(subscriber.buffer.requestHeartbeat()) this.schedule(subscriber);
+    }));
+  }
+
+  // A write to a client that stopped reading blocks until the container's socket timeout. Past the send
+  // timeout its subscriber is dropped and the pool gets a replacement thread for as long as the write is stuck
+  private void detectStalledSends() {
+    long now = System.nanoTime();
+    this.subscribers.values().forEach(workspaceSubscribers -> workspaceSubscribers.forEach(subscriber -> {
+      long sendingSince = subscriber.sendingSince.get();
+      if(sendingSince == IDLE || sendingSince == STALLED || now - sendingSince < this.sendTimeoutNanos) return;
+      if(!subscriber.sendingSince.compareAndSet(sendingSince, STALLED)) return;
+
+      // The blocked write holds the emitter's lock, so it is completed by the delivery thread once the write returns
+      this.remove(subscriber);
+      this.stalls.increment();
+      this.replaceStalledThread(1);
+    }));
+  }
+
+  private synchronized void replaceStalledThread(int delta) {
+    this.stalledSends += delta;
+    this.delivery.setCorePoolSize(this.deliveryThreads + Math.min(this.stalledSends, this.maxStalledSends));
+  }
+
+  private void schedule(Subscriber subscriber) {
+    if(!subscriber.scheduled.compareAndSet(false, true)) return;
+    try {
+      this.delivery.execute(() -> this.drain(subscriber));
+    } catch(RejectedExecutionException exception) {
+      subscriber.scheduled.set(false);
+    }
+  }
+
+  private void drain(Subscriber subscriber) {
+    boolean open = true;
+    try {
+      EventBuffer.Batch batch = subscriber.buffer.drain();
+      if(batch.heartbeat()) {
+        this.send(subscriber, SseEmitter.event().comment("heartbeat"));
+      }
+      for(WorkspaceEvent event : batch.events()) {
+        if(subscriber.stalled) break;
+        this.send(subscriber, SseEmitter.event()
+          .name(event.type().getValue())
+          .data(event.toDTO(), MediaType.APPLICATION_JSON));
+      }
+      if(batch.close() || subscriber.stalled) {
+        open = false;
+        this.remove(subscriber);
+        subscriber.emitter.complete();
+      }
+    } catch(IOException | IllegalStateException exception) {
+      // The connection is gone; the container reports it through onError, so the emitter is not completed here
+      open = false;
+      this.remove(subscriber);
+    } finally {
+      subscriber.scheduled.set(false);
+      if(open && subscriber.buffer.hasPending()) this.schedule(subscriber);
+    }
+  }
+
+  private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+    subscriber.sendingSince.set(System.nanoTime());
+    try {
+      subscriber.emitter.send(event);
+    } finally {
+      if(subscriber.sendingSince.getAndSet(IDLE) == STALLED) {
+        subscriber.stalled = true;
+        this.replaceStalledThread(-1);
+      }
+    }
+  }
+
+  private void remove(Subscriber subscriber) {
+    this.subscribers.computeIfPresent(subscriber.workspaceId, (id, workspaceSubscribers) -> {
+      workspaceSubscribers.remove(subscriber);
+      return workspaceSubscribers.isEmpty() ? null : workspaceSubscribers;
+    });
+  }
+
+  private static CustomizableThreadFactory daemonThreads(String prefix) {
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+    threadFactory.setDaemon(true);
+    return threadFactory;
+  }
+
+  private static class Subscriber {
+    private final String workspaceId;
+    private final String userId;
+    private final SseEmitter emitter;
+    private final EventBuffer buffer;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicLong sendingSince = new AtomicLong(IDLE);
+    private boolean stalled;
+
+    private Subscriber(String workspaceId, String userId, SseEmitter emitter, EventBuffer buffer) {
+      this.workspaceId = workspaceId;
+      this.userId = userId;
+      this.emitter = emitter;
+      this.buffer = buffer;
+    }
+  }
+}
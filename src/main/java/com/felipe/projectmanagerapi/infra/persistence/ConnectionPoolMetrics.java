@@ -0,0 +1,42 @@
+package com.felipe.projectmanagerapi.infra.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes {@code db.pool.occupancy}, the share of each Hikari pool currently lent out (active over
+ * maximum pool size). Read it next to {@code hikaricp.connections.usage}, the time each connection
+ * is held: a pool close to 1.0 with long hold times means requests keep connections past their
+ * service call.
+ */
+@Component
+public class ConnectionPoolMetrics implements MeterBinder {
+
+  private final List<HikariDataSource> dataSources;
+
+  public ConnectionPoolMetrics(ObjectProvider<HikariDataSource> dataSources) {
+    this.dataSources = dataSources.orderedStream().toList();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry meterRegistry) {
+    for(HikariDataSource dataSource : this.dataSources) {
+      Gauge.builder("db.pool.occupancy", dataSource, ConnectionPoolMetrics::occupancy)
+        .tag("pool", dataSource.getPoolName() != null ? dataSource.getPoolName() : "default")
+        .register(meterRegistry);
+    }
+  }
+
+  static double occupancy(HikariDataSource dataSource) {
+    HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+    if(pool == null) return 0;
+    return (double) pool.getActiveConnections() / dataSource.getMaximumPoolSize();
+  }
+}
@@ -0,0 +1,237 @@
+package com.felipe.projectmanagerapi.infra.persistence;
+
+import com.felipe.projectmanagerapi.exceptions.OutOfBudgetException;
+import com.felipe.projectmanagerapi.exceptions.RecordNotFoundException;
+import com.felipe.projectmanagerapi.models.Money;
+import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.repositories.ProjectRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind ledger for project costs. Deltas are summed in memory per project (in cents, on a
+ * striped {@link LongAdder}) and a background flusher applies each project's net delta in a single
+ * batched transaction every flush interval and on shutdown, instead of rewriting the project row on
+ * every task change. The budget is enforced against an in-memory headroom: increases reserve it up
+ * front and are released if their transaction rolls back, decreases only free it after commit, so the
+ * persisted cost may lag but never goes over budget. On startup every project cost is reconciled from
+ * the sum of its tasks, which repairs deltas lost in a crash. If the batch fails, each project is
+ * retried in its own transaction, so one project whose update keeps failing holds back only its own
+ * delta. Those failures are logged and counted. A flush holds each project's lock from draining its
+ * delta until the commit, and {@link #reset} takes the same lock, so deltas drained before a reset are
+ * never added on top of it. Flushes do not bump the project version, which is left to client writes.
+ * Meant for a single application instance.
+ */
+@Component
+public class CostLedger implements CommandLineRunner, AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(CostLedger.class);
+
+  private final ConcurrentHashMap<String, Account> accounts = new ConcurrentHashMap<>();
+  private final ProjectRepository projectRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final Duration flushInterval;
+  private final Counter flushFailures;
+  private ScheduledExecutorService flusher;
+
+  public CostLedger(
+    ProjectRepository projectRepository,
+    PlatformTransactionManager transactionManager,
+    @Value("${api.cost-ledger.enabled:false}") boolean enabled,
+    @Value("${api.cost-ledger.flush-interval:200ms}") Duration flushInterval,
+    MeterRegistry meterRegistry
+  ) {
+    this.projectRepository = projectRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.flushInterval = flushInterval;
+    this.flushFailures = Counter.builder("cost.ledger.flush.failures")
+      .description("Project cost deltas that failed to flush and were kept for the next flush")
+      .register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  @Override
+  public void run(String... args) {
+    if(!this.enabled) return;
+    this.projectRepository.reconcileCostsWithTasks();
+
+    long intervalMillis = this.flushInterval.toMillis();
+    this.flusher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("cost-ledger-"));
+    this.flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  public void record(Project project, Money delta) {
+    long cents = delta.getCents();
+    if(cents == 0) return;
+    Account account = this.account(project.getId());
+
+    if(cents < 0) {
+      TransactionCallbacks.afterCommit(() -> account.apply(cents));
+      return;
+    }
+
+    long headroom = account.reserve(cents);
+    if(headroom < cents) {
+      throw new OutOfBudgetException(project.getBudget(), Money.ofCents(project.getBudget().getCents() - headroom + cents));
+    }
+    account.pending.add(cents);
+    TransactionCallbacks.onRollback(() -> account.apply(-cents));
+  }
+
+  public boolean tryChangeBudget(Project project, Money newBudget) {
+    long cents = newBudget.getCents() - project.getBudget().getCents();
+    Account account = this.account(project.getId());
+
+    if(cents >= 0) {
+      TransactionCallbacks.afterCommit(() -> account.headroom.addAndGet(cents));
+      return true;
+    }
+    if(account.reserve(-cents) < -cents) return false;
+    TransactionCallbacks.onRollback(() -> account.headroom.addAndGet(-cents));
+    return true;
+  }
+
+  public Money currentCost(Project project) {
+    Account account = this.account(project.getId());
+    return Money.ofCents(project.getBudget().getCents() - account.headroom.get());
+  }
+
+  // Drops the pending deltas and frees the whole budget, restoring both if the transaction rolls back
+  public void reset(Project project) {
+    long budget = project.getBudget().getCents();
+    Account account = this.account(project.getId());
+    account.lock.lock();
+    try {
+      this.projectRepository.resetCost(project.getId());
+      long drained = account.pending.sumThenReset();
+      long released = budget - account.headroom.getAndSet(budget);
+      TransactionCallbacks.onRollback(() -> {
+        account.headroom.addAndGet(-released);
+        account.pending.add(drained);
+      });
+    } finally {
+      account.lock.unlock();
+    }
+  }
+
+  public void discard(String projectId) {
+    TransactionCallbacks.afterCommit(() -> this.accounts.remove(projectId));
+  }
+
+  public void flush() {
+    Map<String, Long> deltas = new HashMap<>();
+    List<Account> locked = new ArrayList<>();
+    try {
+      this.accounts.forEach((projectId, account) -> {
+        if(account.pending.sum() == 0) return;
+        account.lock.lock();
+        locked.add(account);
+        long cents = account.pending.sumThenReset();
+        if(cents != 0) deltas.put(projectId, cents);
+      });
+      if(deltas.isEmpty()) return;
+
+      try {
+        this.transactionTemplate.executeWithoutResult(status -> deltas.forEach(this::applyDelta));
+      } catch(RuntimeException batchException) {
+        deltas.forEach((projectId, cents) -> {
+          try {
+            this.transactionTemplate.executeWithoutResult(status -> this.applyDelta(projectId, cents));
+          } catch(RuntimeException exception) {
+            logger.warn("Failed to flush a cost delta of {} cents to project {}; kept for the next flush", cents, projectId, exception);
+            this.flushFailures.increment();
+            Account account = this.accounts.get(projectId);
+            if(account != null) account.pending.add(cents);
+          }
+        });
+      }
+    } finally {
+      locked.forEach(account -> account.lock.unlock());
+    }
+  }
+
+  private void applyDelta(String projectId, long cents) {
+    if(this.projectRepository.applyCostDelta(projectId, Money.ofCents(cents).toBigDecimal()) == 0) {
+      this.accounts.remove(projectId);
+    }
+  }
+
+  @Override
+  public void close() {
+    if(this.flusher == null) return;
+    this.flusher.shutdown();
+    try {
+      this.flusher.awaitTermination(this.flushInterval.toMillis() * 2, TimeUnit.MILLISECONDS);
+    } catch(InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+    this.flush();
+  }
+
+  // Opened outside computeIfAbsent: the map's bin lock would pin a virtual thread for the whole query.
+  private Account account(String projectId) {
+    Account account = this.accounts.get(projectId);
+    if(account != null) return account;
+
+    Account opened = this.open(projectId);
+    Account existing = this.accounts.putIfAbsent(projectId, opened);
+    return existing != null ? existing : opened;
+  }
+
+  private Account open(String projectId) {
+    BigDecimal remainingBudget = this.projectRepository.findRemainingBudgetById(projectId)
+      .orElseThrow(() -> new RecordNotFoundException("Projeto de ID: '" + projectId + "' não encontrado"));
+    return new Account(Money.of(remainingBudget).getCents());
+  }
+
+  private static class Account {
+    private final LongAdder pending = new LongAdder();
+    private final AtomicLong headroom;
+    // A ReentrantLock rather than synchronized: a virtual thread waiting on it does not pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Account(long headroom) {
+      this.headroom = new AtomicLong(headroom);
+    }
+
+    private long reserve(long cents) {
+      while(true) {
+        long current = this.headroom.get();
+        if(current < cents) return current;
+        if(this.headroom.compareAndSet(current, current - cents)) return current;
+      }
+    }
+
+    private void apply(long cents) {
+      this.headroom.addAndGet(-cents);
+      this.pending.add(cents);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.felipe.projectmanagerapi.infra.persistence;
+
+import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. A user whose
+ * read-write transaction just committed stays on the primary for the stickiness window, so they read
+ * their own writes while the replica catches up. Reads that feed long-lived caches can be pinned to
+ * the primary with {@link #onPrimary}; the pin is only read when a connection is acquired, so callers
+ * check {@link #holdsReplicaConnection} first. Must sit behind a {@code LazyConnectionDataSourceProxy},
+ * so the connection is only picked once the transaction's read-only flag is known.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  private static final ThreadLocal<Boolean> PRIMARY_PINNED = ThreadLocal.withInitial(() -> false);
+  private static final Object REPLICA_CONNECTION = new Object();
+
+  private final Cache<String, Boolean> recentWriters;
+
+  public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration stickiness) {
+    this.recentWriters = Caffeine.newBuilder()
+      .expireAfterWrite(stickiness)
+      .build();
+    this.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+    this.setDefaultTargetDataSource(primary);
+    this.afterPropertiesSet();
+  }
+
+  public static <T> T onPrimary(Supplier<T> supplier) {
+    boolean pinned = PRIMARY_PINNED.get();
+    PRIMARY_PINNED.set(true);
+    try {
+      return supplier.get();
+    } finally {
+      PRIMARY_PINNED.set(pinned);
+    }
+  }
+
+  public static boolean holdsReplicaConnection() {
+    return TransactionSynchronizationManager.hasResource(REPLICA_CONNECTION);
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    String userId = currentUserId();
+
+    if(!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      if(userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+        TransactionCallbacks.afterCommit(() -> this.recentWriters.put(userId, Boolean.TRUE));
+      }
+      return Route.PRIMARY;
+    }
+    if(PRIMARY_PINNED.get() || userId != null && this.recentWriters.getIfPresent(userId) != null) {
+      return Route.PRIMARY;
+    }
+    if(TransactionSynchronizationManager.isSynchronizationActive() && !holdsReplicaConnection()) {
+      TransactionSynchronizationManager.bindResource(REPLICA_CONNECTION, Boolean.TRUE);
+      TransactionCallbacks.afterCompletion(status -> TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_CONNECTION));
+    }
+    return Route.REPLICA;
+  }
+
+  private static String currentUserId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if(authentication != null && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+      return userPrincipal.getId();
+    }
+    return null;
+  }
+
+  public enum Route {
+    PRIMARY,
+    REPLICA
+  }
+}
@@ -0,0 +1,22 @@
+package com.felipe.projectmanagerapi.infra.persistence;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a server-side read-modify-write when it loses an optimistic locking race. Every attempt
+ * must reload the entities it changes, and writes that must not be repeated need to share one
+ * transaction with the conflicting flush. Client updates are not retried: they carry the version the
+ * client saw and fail with 409 instead.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+  int maxAttempts() default 4;
+
+  long initialBackoffMillis() default 10;
+
+  long maxBackoffMillis() default 200;
+}
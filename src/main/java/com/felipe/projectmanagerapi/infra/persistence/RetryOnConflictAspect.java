@@ -0,0 +1,45 @@
+package com.felipe.projectmanagerapi.infra.persistence;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sits outside the transaction interceptor, so a conflicting attempt has already been rolled back
+ * (which also clears a request-bound persistence context) before the next one reloads its entities.
+ * Backoff doubles per attempt up to the cap, with full jitter so competing writers spread out instead
+ * of colliding again.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class RetryOnConflictAspect {
+
+  @Around("@annotation(retryOnConflict)")
+  public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+    int attempt = 1;
+    while(true) {
+      try {
+        return joinPoint.proceed();
+      } catch(OptimisticLockingFailureException e) {
+        if(attempt >= retryOnConflict.maxAttempts()) throw e;
+        this.backoff(attempt, retryOnConflict);
+        attempt++;
+      }
+    }
+  }
+
+  private void backoff(int attempt, RetryOnConflict retryOnConflict) throws InterruptedException {
+    long ceiling = Math.min(
+      retryOnConflict.maxBackoffMillis(),
+      retryOnConflict.initialBackoffMillis() << Math.min(attempt - 1, 20)
+    );
+    Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+  }
+}
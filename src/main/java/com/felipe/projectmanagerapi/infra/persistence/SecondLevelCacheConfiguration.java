@@ -0,0 +1,92 @@
+package com.felipe.projectmanagerapi.infra.persistence;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache on Caffeine through JCache, for the rows read on almost every request
+ * and rarely written: users, workspaces and workspace membership, plus the query cache behind the
+ * login lookup by email. Regions are bounded by size and time to live, are invalidated by Hibernate
+ * on every write that goes through the session (and by table for native updates that declare their
+ * query spaces), and publish their hit/miss/eviction counts as {@code cache.*} metrics.
+ */
+@Configuration
+public class SecondLevelCacheConfiguration {
+
+  public static final String USER_REGION = "user";
+  public static final String WORKSPACE_REGION = "workspace";
+  public static final String WORKSPACE_MEMBERS_REGION = "workspace-members";
+
+  @Bean(destroyMethod = "close")
+  public CacheManager secondLevelCacheManager(
+    @Value("${api.second-level-cache.maximum-size:10000}") long maximumSize,
+    @Value("${api.second-level-cache.time-to-live:10m}") Duration timeToLive
+  ) {
+    // JCache managers are JVM-wide per URI, so each application context gets its own
+    CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+      .getCacheManager(URI.create("second-level-cache:" + UUID.randomUUID()), this.getClass().getClassLoader());
+
+    List<String> regions = List.of(
+      USER_REGION, WORKSPACE_REGION, WORKSPACE_MEMBERS_REGION, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME
+    );
+    for(String region : regions) {
+      cacheManager.createCache(region, configuration(OptionalLong.of(maximumSize), OptionalLong.of(timeToLive.toNanos())));
+    }
+    // Last write per table, which cached queries are checked against: must outlive every one of them
+    cacheManager.createCache(
+      RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, configuration(OptionalLong.empty(), OptionalLong.empty())
+    );
+    return cacheManager;
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+    return properties -> {
+      properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+      properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+      properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+      properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+      properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+    };
+  }
+
+  @Bean
+  public MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+    return meterRegistry -> {
+      for(String region : secondLevelCacheManager.getCacheNames()) {
+        CaffeineCacheMetrics.monitor(
+          meterRegistry,
+          secondLevelCacheManager.getCache(region).unwrap(com.github.benmanes.caffeine.cache.Cache.class),
+          region,
+          "cache.manager", "hibernate"
+        );
+      }
+    };
+  }
+
+  private static CaffeineConfiguration<Object, Object> configuration(OptionalLong maximumSize, OptionalLong timeToLiveNanos) {
+    return new CaffeineConfiguration<>()
+      .setMaximumSize(maximumSize)
+      .setExpireAfterWrite(timeToLiveNanos)
+      // Hibernate caches immutable disassembled state, so copying it on every read and write buys nothing
+      .setStoreByValue(false)
+      .setNativeStatisticsEnabled(true);
+  }
+}
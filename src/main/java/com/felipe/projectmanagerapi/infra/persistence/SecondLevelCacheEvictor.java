@@ -0,0 +1,36 @@
+package com.felipe.projectmanagerapi.infra.persistence;
+
+import com.felipe.projectmanagerapi.models.Workspace;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts single second-level cache entries after native writes, whose declared query spaces would
+ * otherwise make Hibernate clear the whole region. Each entry is evicted right away and again once
+ * the transaction completes, so a read inside the transaction cannot leave the state it saw cached.
+ */
+@Component
+public class SecondLevelCacheEvictor {
+
+  private static final String WORKSPACE_MEMBERS_ROLE = Workspace.class.getName() + ".members";
+
+  private final Cache cache;
+
+  public SecondLevelCacheEvictor(EntityManagerFactory entityManagerFactory) {
+    this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+  }
+
+  public void evictWorkspace(String workspaceId) {
+    this.evictNowAndAfterCompletion(() -> this.cache.evictEntityData(Workspace.class, workspaceId));
+  }
+
+  public void evictWorkspaceMembers(String workspaceId) {
+    this.evictNowAndAfterCompletion(() -> this.cache.evictCollectionData(WORKSPACE_MEMBERS_ROLE, workspaceId));
+  }
+
+  private void evictNowAndAfterCompletion(Runnable eviction) {
+    eviction.run();
+    TransactionCallbacks.afterCompletion(status -> eviction.run());
+  }
+}
@@ -0,0 +1,54 @@
+package com.felipe.projectmanagerapi.infra.persistence;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Actions tied to the outcome of the current transaction. Outside a transaction there is nothing to
+ * wait for, so after-commit actions run immediately and rollback or completion actions never run.
+ */
+public final class TransactionCallbacks {
+
+  private TransactionCallbacks() {
+  }
+
+  public static void afterCommit(Runnable action) {
+    if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+  /**
+   * Runs the action now and, inside a transaction, again after commit: for cache evictions, so a
+   * read racing the write cannot put back the state the transaction is replacing.
+   */
+  public static void nowAndAfterCommit(Runnable action) {
+    action.run();
+    if(TransactionSynchronizationManager.isSynchronizationActive()) afterCommit(action);
+  }
+
+  public static void onRollback(Runnable action) {
+    afterCompletion(status -> {
+      if(status == TransactionSynchronization.STATUS_ROLLED_BACK) action.run();
+    });
+  }
+
+  public static void afterCompletion(IntConsumer action) {
+    if(!TransactionSynchronizationManager.isSynchronizationActive()) return;
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        action.accept(status);
+      }
+    });
+  }
+}
@@ -0,0 +1,14 @@
+package com.felipe.projectmanagerapi.infra.ratelimit;
+
+import java.time.Duration;
+
+public record RateLimit(int capacity, Duration period) {
+  public RateLimit {
+    if(capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+    if(period.isZero() || period.isNegative()) throw new IllegalArgumentException("period must be positive");
+  }
+
+  long emissionIntervalNanos() {
+    return Math.max(1L, this.period.toNanos() / this.capacity);
+  }
+}
@@ -0,0 +1,142 @@
+package com.felipe.projectmanagerapi.infra.ratelimit;
+
+import com.felipe.projectmanagerapi.exceptions.RateLimitExceededException;
+import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private static final List<String> HEAVY_DELETE_PATTERNS = List.of(
+    "/api/projects",
+    "/api/projects/owner/*",
+    "/api/projects/workspaces/*",
+    "/api/projects/workspaces/*/owner/*",
+    "/api/tasks/projects/*"
+  );
+  private static final List<String> HEAVY_GET_PATTERNS = List.of(
+    "/api/projects/owner/*",
+    "/api/projects/workspaces/*/owner/*",
+    "/api/tasks/owner/*"
+  );
+
+  private final TokenBucketRegistry buckets;
+  private final HandlerExceptionResolver resolver;
+  private final AntPathMatcher pathMatcher = new AntPathMatcher();
+  private final boolean enabled;
+  private final RateLimit loginLimit;
+  private final RateLimit heavyLimit;
+  private final RateLimit defaultLimit;
+
+  public RateLimitFilter(
+    @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver,
+    @Value("${api.rate-limit.enabled:true}") boolean enabled,
+    @Value("${api.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+    @Value("${api.rate-limit.login.capacity:10}") int loginCapacity,
+    @Value("${api.rate-limit.login.period:1m}") Duration loginPeriod,
+    @Value("${api.rate-limit.heavy.capacity:20}") int heavyCapacity,
+    @Value("${api.rate-limit.heavy.period:1m}") Duration heavyPeriod,
+    @Value("${api.rate-limit.default.capacity:300}") int defaultCapacity,
+    @Value("${api.rate-limit.default.period:1m}") Duration defaultPeriod
+  ) {
+    this.resolver = resolver;
+    this.enabled = enabled;
+    this.buckets = new TokenBucketRegistry(idleTimeout);
+    this.loginLimit = new RateLimit(loginCapacity, loginPeriod);
+    this.heavyLimit = new RateLimit(heavyCapacity, heavyPeriod);
+    this.defaultLimit = new RateLimit(defaultCapacity, defaultPeriod);
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !this.enabled;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+    String path = decodedPath(request);
+    String method = request.getMethod();
+
+    String group;
+    RateLimit limit;
+    if(HttpMethod.POST.matches(method) && path.equals("/api/auth/login")) {
+      group = "login";
+      limit = this.loginLimit;
+    } else if(this.isHeavy(method, path)) {
+      group = "heavy";
+      limit = this.heavyLimit;
+    } else {
+      group = "default";
+      limit = this.defaultLimit;
+    }
+
+    String key = group + ":" + (group.equals("login") ? "ip:" + request.getRemoteAddr() : this.clientKey(request));
+    TokenBucketRegistry.Probe probe = this.buckets.tryConsume(key, limit);
+
+    response.setHeader("X-RateLimit-Limit", String.valueOf(limit.capacity()));
+    response.setHeader("X-RateLimit-Remaining", String.valueOf(probe.remaining()));
+
+    if(!probe.allowed()) {
+      long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(probe.retryAfterNanos() + 999_999_999L));
+      response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+      this.resolver.resolveException(request, response, null, new RateLimitExceededException());
+      return;
+    }
+
+    filterChain.doFilter(request, response);
+  }
+
+  private boolean isHeavy(String method, String path) {
+    List<String> patterns;
+    if(HttpMethod.DELETE.matches(method)) {
+      patterns = HEAVY_DELETE_PATTERNS;
+    } else if(HttpMethod.GET.matches(method)) {
+      patterns = HEAVY_GET_PATTERNS;
+    } else {
+      return false;
+    }
+    return patterns.stream().anyMatch(pattern -> this.pathMatcher.match(pattern, path));
+  }
+
+  // Matches on the path the handlers resolve, so encoding or doubled slashes cannot move a request to a cheaper group
+  private static String decodedPath(HttpServletRequest request) {
+    RequestPath path = ServletRequestPathUtils.hasParsedRequestPath(request)
+      ? ServletRequestPathUtils.getParsedRequestPath(request)
+      : RequestPath.parse(request.getRequestURI(), request.getContextPath());
+    return path.pathWithinApplication().elements().stream()
+      .filter(element -> element instanceof PathContainer.PathSegment)
+      .map(element -> ((PathContainer.PathSegment) element).valueToMatch())
+      .filter(segment -> !segment.isEmpty())
+      .collect(Collectors.joining("/", "/", ""));
+  }
+
+  private String clientKey(HttpServletRequest request) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if(authentication != null && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+      return "user:" + userPrincipal.getId();
+    }
+    return "ip:" + request.getRemoteAddr();
+  }
+}
@@ -0,0 +1,62 @@
+package com.felipe.projectmanagerapi.infra.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets kept as a single CAS-updated timestamp each (GCRA): a bucket stores the instant
+ * at which it would be full again, so taking a token is one compare-and-set with no locking.
+ * Buckets that have been full for longer than the idle timeout are dropped on a periodic sweep.
+ */
+public class TokenBucketRegistry {
+
+  private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+  private final AtomicLong lastSweep;
+  private final long idleTimeoutNanos;
+  private final LongSupplier clock;
+
+  public TokenBucketRegistry(Duration idleTimeout) {
+    this(idleTimeout, System::nanoTime);
+  }
+
+  TokenBucketRegistry(Duration idleTimeout, LongSupplier clock) {
+    this.idleTimeoutNanos = idleTimeout.toNanos();
+    this.clock = clock;
+    this.lastSweep = new AtomicLong(clock.getAsLong());
+  }
+
+  public Probe tryConsume(String key, RateLimit limit) {
+    long now = this.clock.getAsLong();
+    this.sweepIfDue(now);
+
+    long interval = limit.emissionIntervalNanos();
+    long burst = interval * limit.capacity();
+    AtomicLong bucket = this.buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+
+    while(true) {
+      long fullAt = bucket.get();
+      long next = Math.max(fullAt, now) + interval;
+
+      if(next - now > burst) {
+        return new Probe(false, 0, fullAt - now - burst + interval);
+      }
+      if(bucket.compareAndSet(fullAt, next)) {
+        return new Probe(true, (int) ((burst - (next - now)) / interval), 0L);
+      }
+    }
+  }
+
+  public int size() {
+    return this.buckets.size();
+  }
+
+  private void sweepIfDue(long now) {
+    long last = this.lastSweep.get();
+    if(now - last < this.idleTimeoutNanos || !this.lastSweep.compareAndSet(last, now)) return;
+    this.buckets.values().removeIf(bucket -> now - bucket.get() > this.idleTimeoutNanos);
+  }
+
+  public record Probe(boolean allowed, int remaining, long retryAfterNanos) {}
+}
@@ -1,5 +1,6 @@
 package com.felipe.projectmanagerapi.infra.security;
 
+import com.felipe.projectmanagerapi.infra.persistence.ReadReplicaRoutingDataSource;
 import com.felipe.projectmanagerapi.repositories.UserRepository;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,7 +20,7 @@ public class AuthorizationService implements UserDetailsService {
 
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-    return this.userRepository.findByEmail(username)
+    return ReadReplicaRoutingDataSource.onPrimary(() -> this.userRepository.findByEmail(username))
       .map(UserPrincipal::new)
       .orElseThrow(() -> new UsernameNotFoundException("Usuário '" + username + "' não encontrado."));
   }
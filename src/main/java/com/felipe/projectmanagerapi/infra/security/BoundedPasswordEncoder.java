@@ -0,0 +1,97 @@
+package com.felipe.projectmanagerapi.infra.security;
+
+import com.felipe.projectmanagerapi.exceptions.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the wrapped (CPU-heavy) encoder on a fixed pool with a bounded queue, so a burst of logins
+ * can only take that many cores. Once the queue is full, callers fail fast with
+ * {@link PasswordHashingUnavailableException} instead of piling up on request threads.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+  private final Counter rejectedCounter;
+
+  public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.executor = new ThreadPoolExecutor(
+      poolSize,
+      poolSize,
+      0L,
+      TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(queueCapacity),
+      new CustomizableThreadFactory("password-hashing-"),
+      new ThreadPoolExecutor.AbortPolicy()
+    );
+
+    this.encodeTimer = Timer.builder("auth.password.hashing")
+      .tag("operation", "encode")
+      .register(meterRegistry);
+    this.matchesTimer = Timer.builder("auth.password.hashing")
+      .tag("operation", "matches")
+      .register(meterRegistry);
+    this.rejectedCounter = Counter.builder("auth.password.hashing.rejected")
+      .register(meterRegistry);
+    Gauge.builder("auth.password.hashing.queue.depth", this.executor, executor -> executor.getQueue().size())
+      .register(meterRegistry);
+    Gauge.builder("auth.password.hashing.active", this.executor, ThreadPoolExecutor::getActiveCount)
+      .register(meterRegistry);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return this.submit(this.encodeTimer.wrap((Callable<String>) () -> this.delegate.encode(rawPassword)));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return this.submit(this.matchesTimer.wrap((Callable<Boolean>) () -> this.delegate.matches(rawPassword, encodedPassword)));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return this.delegate.upgradeEncoding(encodedPassword);
+  }
+
+  public void close() {
+    this.executor.shutdown();
+  }
+
+  private <T> T submit(Callable<T> task) {
+    Future<T> future;
+    try {
+      future = this.executor.submit(task);
+    } catch(RejectedExecutionException exception) {
+      this.rejectedCounter.increment();
+      throw new PasswordHashingUnavailableException();
+    }
+
+    try {
+      return future.get();
+    } catch(InterruptedException exception) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new PasswordHashingUnavailableException();
+    } catch(ExecutionException exception) {
+      if(exception.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+      throw new IllegalStateException(exception.getCause());
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package com.felipe.projectmanagerapi.infra.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Route table compiled into a trie keyed by path segment, so the rule for a request is found in a
+ * single walk over its path instead of testing every pattern in order. On each level a literal
+ * segment wins over a {@code {variable}}, which wins over a trailing {@code **}. Requests that match
+ * no route only need to be authenticated. Paths are matched on the same decoded segments Spring MVC
+ * routes on, so {@code /api/users/01/r%6Fle} is checked as {@code /api/users/01/role}; a path that
+ * cannot be decoded is denied.
+ */
+public class RouteAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+  private static final AuthorizationManager<RequestAuthorizationContext> PERMIT_ALL =
+    (authentication, context) -> new AuthorizationDecision(true);
+  private static final AuthorizationManager<RequestAuthorizationContext> DENY_ALL =
+    (authentication, context) -> new AuthorizationDecision(false);
+
+  private final Node root;
+  private final AuthorizationManager<RequestAuthorizationContext> fallback;
+
+  private RouteAuthorizationManager(Node root) {
+    this.root = root;
+    this.fallback = AuthenticatedAuthorizationManager.authenticated();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+    return this.resolve(context.getRequest()).check(authentication, context);
+  }
+
+  AuthorizationManager<RequestAuthorizationContext> resolve(HttpServletRequest request) {
+    String[] segments;
+    try {
+      segments = decodedSegments(request);
+    } catch(IllegalArgumentException exception) {
+      return DENY_ALL;
+    }
+    HttpMethod method = HttpMethod.valueOf(request.getMethod());
+    AuthorizationManager<RequestAuthorizationContext> rule = this.match(this.root, segments, 0, method);
+    return rule != null ? rule : this.fallback;
+  }
+
+  private AuthorizationManager<RequestAuthorizationContext> match(Node node, String[] segments, int index, HttpMethod method) {
+    if(index == segments.length) {
+      AuthorizationManager<RequestAuthorizationContext> rule = node.ruleFor(method);
+      if(rule != null) return rule;
+      return node.catchAll != null ? node.catchAll.ruleFor(method) : null;
+    }
+
+    Node literal = node.literals.get(segments[index]);
+    if(literal != null) {
+      AuthorizationManager<RequestAuthorizationContext> rule = this.match(literal, segments, index + 1, method);
+      if(rule != null) return rule;
+    }
+
+    if(node.variable != null) {
+      AuthorizationManager<RequestAuthorizationContext> rule = this.match(node.variable, segments, index + 1, method);
+      if(rule != null) return rule;
+    }
+
+    return node.catchAll != null ? node.catchAll.ruleFor(method) : null;
+  }
+
+  private static String[] decodedSegments(HttpServletRequest request) {
+    RequestPath path = ServletRequestPathUtils.hasParsedRequestPath(request)
+      ? ServletRequestPathUtils.getParsedRequestPath(request)
+      : RequestPath.parse(request.getRequestURI(), request.getContextPath());
+    return path.pathWithinApplication().elements().stream()
+      .filter(element -> element instanceof PathContainer.PathSegment)
+      .map(element -> ((PathContainer.PathSegment) element).valueToMatch())
+      .filter(segment -> !segment.isEmpty())
+      .toArray(String[]::new);
+  }
+
+  private static String[] split(String path) {
+    return Arrays.stream(path.split("/"))
+      .filter(segment -> !segment.isEmpty())
+      .toArray(String[]::new);
+  }
+
+  private static class Node {
+    private final Map<String, Node> literals = new HashMap<>();
+    private final Map<HttpMethod, AuthorizationManager<RequestAuthorizationContext>> rules = new HashMap<>();
+    private AuthorizationManager<RequestAuthorizationContext> anyMethodRule;
+    private Node variable;
+    private Node catchAll;
+
+    private AuthorizationManager<RequestAuthorizationContext> ruleFor(HttpMethod method) {
+      AuthorizationManager<RequestAuthorizationContext> rule = this.rules.get(method);
+      return rule != null ? rule : this.anyMethodRule;
+    }
+  }
+
+  public static class Builder {
+    private final Node root = new Node();
+    private final Map<String, AuthorizationManager<RequestAuthorizationContext>> roleManagers = new HashMap<>();
+
+    private Builder() {}
+
+    public Builder hasAnyRole(HttpMethod method, String pattern, String... roles) {
+      String key = String.join(",", roles);
+      AuthorizationManager<RequestAuthorizationContext> manager = this.roleManagers
+        .computeIfAbsent(key, k -> AuthorityAuthorizationManager.hasAnyRole(roles));
+      return this.add(method, pattern, manager);
+    }
+
+    public Builder hasAnyRole(String pattern, String... roles) {
+      return this.hasAnyRole(null, pattern, roles);
+    }
+
+    public Builder permitAll(HttpMethod method, String pattern) {
+      return this.add(method, pattern, PERMIT_ALL);
+    }
+
+    public RouteAuthorizationManager build() {
+      return new RouteAuthorizationManager(this.root);
+    }
+
+    private Builder add(HttpMethod method, String pattern, AuthorizationManager<RequestAuthorizationContext> manager) {
+      Node node = this.root;
+      for(String segment : split(pattern)) {
+        if(segment.equals("**")) {
+          if(node.catchAll == null) node.catchAll = new Node();
+          node = node.catchAll;
+        } else if(segment.startsWith("{") && segment.endsWith("}")) {
+          if(node.variable == null) node.variable = new Node();
+          node = node.variable;
+        } else {
+          node = node.literals.computeIfAbsent(segment, s -> new Node());
+        }
+      }
+
+      if(method == null) {
+        if(node.anyMethodRule == null) node.anyMethodRule = manager;
+      } else {
+        node.rules.putIfAbsent(method, manager);
+      }
+      return this;
+    }
+  }
+}
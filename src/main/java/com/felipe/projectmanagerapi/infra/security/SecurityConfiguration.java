@@ -1,5 +1,9 @@
 package com.felipe.projectmanagerapi.infra.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import com.felipe.projectmanagerapi.infra.ratelimit.RateLimitFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -20,6 +24,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfiguration {
 
   private final SecurityFilter securityFilter;
+  private final RateLimitFilter rateLimitFilter;
   private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
   private final CustomAccessDeniedHandler customAccessDeniedHandler;
 
@@ -32,62 +37,79 @@ public class SecurityConfiguration {
 
   public SecurityConfiguration(
     SecurityFilter securityFilter,
+    RateLimitFilter rateLimitFilter,
     CustomAuthenticationEntryPoint customAuthenticationEntryPoint,
     CustomAccessDeniedHandler customAccessDeniedHandler
   ) {
     this.securityFilter = securityFilter;
+    this.rateLimitFilter = rateLimitFilter;
     this.customAuthenticationEntryPoint = customAuthenticationEntryPoint;
     this.customAccessDeniedHandler = customAccessDeniedHandler;
   }
 
   @Bean
-  public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain securityFilterChain(
+    HttpSecurity http,
+    RouteAuthorizationManager routeAuthorizationManager
+  ) throws Exception {
     return http
       .csrf(AbstractHttpConfigurer::disable)
       .cors(Customizer.withDefaults())
       .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
       .authorizeHttpRequests(authorizeHttpRequests -> authorizeHttpRequests
-        .requestMatchers(HttpMethod.POST, AUTH_BASE_URL + "/register").hasRole("ADMIN")
-        .requestMatchers(HttpMethod.POST, AUTH_BASE_URL + "/login").permitAll()
-        .requestMatchers(HttpMethod.GET, USER_BASE_URL).hasRole("ADMIN")
-        .requestMatchers(HttpMethod.GET, USER_BASE_URL + "/me").hasAnyRole("ADMIN", "WRITE_READ", "READ_ONLY")
-        .requestMatchers(HttpMethod.PATCH, USER_BASE_URL + "/{userId}").hasAnyRole("ADMIN", "WRITE_READ", "READ_ONLY")
-        .requestMatchers(HttpMethod.GET, USER_BASE_URL + "/{userId}").hasRole("ADMIN")
-        .requestMatchers(HttpMethod.DELETE, USER_BASE_URL + "/{userId}").hasRole("ADMIN")
-        .requestMatchers(HttpMethod.PATCH, USER_BASE_URL + "/{userId}/role").hasRole("ADMIN")
-        .requestMatchers(WORKSPACE_BASE_URL).hasRole("ADMIN")
-        .requestMatchers(HttpMethod.PATCH, WORKSPACE_BASE_URL + "/{workspaceId}").hasRole("ADMIN")
-        .requestMatchers(HttpMethod.DELETE, WORKSPACE_BASE_URL + "/{workspaceId}").hasRole("ADMIN")
-        .requestMatchers(HttpMethod.GET, WORKSPACE_BASE_URL + "/{workspaceId}").hasAnyRole("ADMIN", "WRITE_READ", "READ_ONLY")
-        .requestMatchers(HttpMethod.GET, WORKSPACE_BASE_URL + "/{workspaceId}/members").hasAnyRole("ADMIN", "WRITE_READ", "READ_ONLY")
-        .requestMatchers(WORKSPACE_BASE_URL + "/{workspaceId}/members/**").hasRole("ADMIN")
-        .requestMatchers(HttpMethod.POST, PROJECT_BASE_URL).hasAnyRole("ADMIN", "WRITE_READ")
-        .requestMatchers(HttpMethod.GET, PROJECT_BASE_URL).hasAnyRole("ADMIN", "WRITE_READ")
-        .requestMatchers(HttpMethod.DELETE, PROJECT_BASE_URL).hasAnyRole("ADMIN", "WRITE_READ")
-        .requestMatchers(HttpMethod.PATCH, PROJECT_BASE_URL + "/{projectId}").hasAnyRole("ADMIN", "WRITE_READ")
-        .requestMatchers(HttpMethod.DELETE, PROJECT_BASE_URL + "/{projectId}").hasAnyRole("ADMIN", "WRITE_READ")
-        .requestMatchers(PROJECT_BASE_URL + "/workspaces/{workspaceId}/owner/{ownerId}").hasRole("ADMIN")
-        .requestMatchers(HttpMethod.GET, PROJECT_BASE_URL + "/{projectId}").hasAnyRole("ADMIN", "WRITE_READ", "READ_ONLY")
-        .requestMatchers(HttpMethod.GET, PROJECT_BASE_URL + "/owner/{ownerId}").hasRole("ADMIN")
-        .requestMatchers(HttpMethod.DELETE, PROJECT_BASE_URL + "/owner/{ownerId}").hasRole("ADMIN")
-        .requestMatchers(HttpMethod.GET, PROJECT_BASE_URL + "/workspaces/{workspaceId}").hasAnyRole("ADMIN", "WRITE_READ", "READ_ONLY")
-        .requestMatchers(HttpMethod.DELETE, PROJECT_BASE_URL + "/workspaces/{workspaceId}").hasRole("ADMIN")
-        .requestMatchers(HttpMethod.POST, TASK_BASE_URL).hasAnyRole("ADMIN", "WRITE_READ")
-        .requestMatchers(HttpMethod.GET, TASK_BASE_URL).hasAnyRole("ADMIN", "WRITE_READ")
-        .requestMatchers(HttpMethod.GET, TASK_BASE_URL + "/{taskId}").hasAnyRole("ADMIN", "WRITE_READ", "READ_ONLY")
-        .requestMatchers(HttpMethod.DELETE, TASK_BASE_URL + "/{taskId}").hasAnyRole("ADMIN", "WRITE_READ")
-        .requestMatchers(HttpMethod.PATCH, TASK_BASE_URL + "/{taskId}").hasAnyRole("ADMIN", "WRITE_READ")
-        .requestMatchers(HttpMethod.GET, TASK_BASE_URL + "/projects/{projectId}").hasAnyRole("ADMIN", "WRITE_READ", "READ_ONLY")
-        .requestMatchers(HttpMethod.DELETE, TASK_BASE_URL + "/projects/{projectId}").hasAnyRole("ADMIN", "WRITE_READ")
-        .requestMatchers(HttpMethod.GET, TASK_BASE_URL + "/owner/{ownerId}").hasRole("ADMIN")
-        .anyRequest().authenticated())
+        // Closing an event stream dispatches the request again without its token; it was authorized when opened
+        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+        .anyRequest().access(routeAuthorizationManager))
       .addFilterBefore(this.securityFilter, UsernamePasswordAuthenticationFilter.class)
+      .addFilterAfter(this.rateLimitFilter, SecurityFilter.class)
       .exceptionHandling(exceptionHandling -> exceptionHandling
         .authenticationEntryPoint(this.customAuthenticationEntryPoint)
         .accessDeniedHandler(this.customAccessDeniedHandler))
       .build();
   }
 
+  @Bean
+  public RouteAuthorizationManager routeAuthorizationManager() {
+    return RouteAuthorizationManager.builder()
+      .hasAnyRole(HttpMethod.POST, AUTH_BASE_URL + "/register", "ADMIN")
+      .permitAll(HttpMethod.POST, AUTH_BASE_URL + "/login")
+      .hasAnyRole(HttpMethod.GET, USER_BASE_URL, "ADMIN")
+      .hasAnyRole(HttpMethod.GET, USER_BASE_URL + "/me", "ADMIN", "WRITE_READ", "READ_ONLY")
+      .hasAnyRole(HttpMethod.PATCH, USER_BASE_URL + "/{userId}", "ADMIN", "WRITE_READ", "READ_ONLY")
+      .hasAnyRole(HttpMethod.GET, USER_BASE_URL + "/{userId}", "ADMIN")
+      .hasAnyRole(HttpMethod.DELETE, USER_BASE_URL + "/{userId}", "ADMIN")
+      .hasAnyRole(HttpMethod.PATCH, USER_BASE_URL + "/{userId}/role", "ADMIN")
+      .hasAnyRole(WORKSPACE_BASE_URL, "ADMIN")
+      .hasAnyRole(HttpMethod.PATCH, WORKSPACE_BASE_URL + "/{workspaceId}", "ADMIN")
+      .hasAnyRole(HttpMethod.DELETE, WORKSPACE_BASE_URL + "/{workspaceId}", "ADMIN")
+      .hasAnyRole(HttpMethod.GET, WORKSPACE_BASE_URL + "/{workspaceId}", "ADMIN", "WRITE_READ", "READ_ONLY")
+      .hasAnyRole(HttpMethod.GET, WORKSPACE_BASE_URL + "/{workspaceId}/members", "ADMIN", "WRITE_READ", "READ_ONLY")
+      .hasAnyRole(HttpMethod.GET, WORKSPACE_BASE_URL + "/{workspaceId}/changes", "ADMIN", "WRITE_READ", "READ_ONLY")
+      .hasAnyRole(HttpMethod.GET, WORKSPACE_BASE_URL + "/{workspaceId}/events", "ADMIN", "WRITE_READ", "READ_ONLY")
+      .hasAnyRole(WORKSPACE_BASE_URL + "/{workspaceId}/members/**", "ADMIN")
+      .hasAnyRole(HttpMethod.POST, PROJECT_BASE_URL, "ADMIN", "WRITE_READ")
+      .hasAnyRole(HttpMethod.GET, PROJECT_BASE_URL, "ADMIN", "WRITE_READ")
+      .hasAnyRole(HttpMethod.DELETE, PROJECT_BASE_URL, "ADMIN", "WRITE_READ")
+      .hasAnyRole(HttpMethod.PATCH, PROJECT_BASE_URL + "/{projectId}", "ADMIN", "WRITE_READ")
+      .hasAnyRole(HttpMethod.DELETE, PROJECT_BASE_URL + "/{projectId}", "ADMIN", "WRITE_READ")
+      .hasAnyRole(PROJECT_BASE_URL + "/workspaces/{workspaceId}/owner/{ownerId}", "ADMIN")
+      .hasAnyRole(HttpMethod.GET, PROJECT_BASE_URL + "/{projectId}", "ADMIN", "WRITE_READ", "READ_ONLY")
+      .hasAnyRole(HttpMethod.GET, PROJECT_BASE_URL + "/owner/{ownerId}", "ADMIN")
+      .hasAnyRole(HttpMethod.DELETE, PROJECT_BASE_URL + "/owner/{ownerId}", "ADMIN")
+      .hasAnyRole(HttpMethod.GET, PROJECT_BASE_URL + "/workspaces/{workspaceId}", "ADMIN", "WRITE_READ", "READ_ONLY")
+      .hasAnyRole(HttpMethod.DELETE, PROJECT_BASE_URL + "/workspaces/{workspaceId}", "ADMIN")
+      .hasAnyRole(HttpMethod.POST, TASK_BASE_URL, "ADMIN", "WRITE_READ")
+      .hasAnyRole(HttpMethod.GET, TASK_BASE_URL, "ADMIN", "WRITE_READ")
+      .hasAnyRole(HttpMethod.GET, TASK_BASE_URL + "/{taskId}", "ADMIN", "WRITE_READ", "READ_ONLY")
+      .hasAnyRole(HttpMethod.DELETE, TASK_BASE_URL + "/{taskId}", "ADMIN", "WRITE_READ")
+      .hasAnyRole(HttpMethod.PATCH, TASK_BASE_URL + "/{taskId}", "ADMIN", "WRITE_READ")
+      .hasAnyRole(HttpMethod.GET, TASK_BASE_URL + "/projects/{projectId}", "ADMIN", "WRITE_READ", "READ_ONLY")
+      .hasAnyRole(HttpMethod.DELETE, TASK_BASE_URL + "/projects/{projectId}", "ADMIN", "WRITE_READ")
+      .hasAnyRole(HttpMethod.GET, TASK_BASE_URL + "/owner/{ownerId}", "ADMIN")
+      .hasAnyRole("/actuator/**", "ADMIN")
+      .build();
+  }
+
   @Bean
   public AuthenticationManager authenticationManager(
     AuthenticationConfiguration authenticationConfiguration
@@ -96,7 +118,12 @@ public class SecurityConfiguration {
   }
 
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder(12);
+  public PasswordEncoder passwordEncoder(
+    @Value("${api.security.password-hashing.pool-size:0}") int poolSize,
+    @Value("${api.security.password-hashing.queue-capacity:64}") int queueCapacity,
+    MeterRegistry meterRegistry
+  ) {
+    int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    return new BoundedPasswordEncoder(new BCryptPasswordEncoder(12), threads, queueCapacity, meterRegistry);
   }
 }
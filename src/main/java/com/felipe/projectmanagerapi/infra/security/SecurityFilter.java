@@ -1,14 +1,15 @@
 package com.felipe.projectmanagerapi.infra.security;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
@@ -20,16 +21,22 @@ public class SecurityFilter extends OncePerRequestFilter {
 
   private final TokenService tokenService;
   private final AuthorizationService authorizationService;
+  private final VerifiedTokenCache verifiedTokenCache;
   private final HandlerExceptionResolver resolver;
+  private final boolean statelessPrincipal;
 
   public SecurityFilter(
     TokenService tokenService,
     AuthorizationService authorizationService,
-    @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver
+    VerifiedTokenCache verifiedTokenCache,
+    @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver,
+    @Value("${api.security.token.stateless:false}") boolean statelessPrincipal
   ) {
     this.tokenService = tokenService;
     this.authorizationService = authorizationService;
+    this.verifiedTokenCache = verifiedTokenCache;
     this.resolver = resolver;
+    this.statelessPrincipal = statelessPrincipal;
   }
 
   @Override
@@ -38,8 +45,7 @@ public class SecurityFilter extends OncePerRequestFilter {
       String token = this.recoverToken(request);
 
       if(token != null) {
-        String email = this.tokenService.validateToken(token);
-        UserDetails userPrincipal = this.authorizationService.loadUserByUsername(email);
+        UserPrincipal userPrincipal = this.statelessPrincipal ? this.principalFromClaims(token) : this.principalFromCache(token);
         Authentication authentication = new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities());
         SecurityContextHolder.getContext().setAuthentication(authentication);
       }
@@ -52,6 +58,27 @@ public class SecurityFilter extends OncePerRequestFilter {
 
   }
 
+  private UserPrincipal principalFromClaims(String token) {
+    DecodedJWT decodedToken = this.tokenService.verify(token);
+
+    if(!this.tokenService.hasPrincipalClaims(decodedToken)) {
+      return (UserPrincipal) this.authorizationService.loadUserByUsername(decodedToken.getSubject());
+    }
+    return this.tokenService.toPrincipal(decodedToken);
+  }
+
+  private UserPrincipal principalFromCache(String token) {
+    UserPrincipal userPrincipal = this.verifiedTokenCache.get(token);
+
+    if(userPrincipal == null) {
+      long evictionsBeforeLoad = this.verifiedTokenCache.evictionCount();
+      DecodedJWT decodedToken = this.tokenService.verify(token);
+      userPrincipal = (UserPrincipal) this.authorizationService.loadUserByUsername(decodedToken.getSubject());
+      this.verifiedTokenCache.put(token, userPrincipal, decodedToken.getExpiresAtAsInstant(), evictionsBeforeLoad);
+    }
+    return userPrincipal;
+  }
+
   private String recoverToken(HttpServletRequest request) {
     String authorizationHeader = request.getHeader("Authorization");
     if(authorizationHeader == null) return null;
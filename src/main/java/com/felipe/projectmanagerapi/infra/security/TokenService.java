@@ -1,9 +1,13 @@
 package com.felipe.projectmanagerapi.infra.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.felipe.projectmanagerapi.enums.Role;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -14,35 +18,66 @@ import java.time.ZoneOffset;
 @Service
 public class TokenService {
 
-  @Value("${api.security.token.secret}")
-  private String secretKey;
+  private static final String ISSUER = "project-manager-api";
+  private static final String USER_ID_CLAIM = "uid";
+  private static final String ROLE_CLAIM = "role";
+  private static final String SECURITY_VERSION_CLAIM = "ver";
+
+  private final Algorithm algorithm;
+  private final JWTVerifier verifier;
+  private final UserSecurityVersions userSecurityVersions;
+
+  public TokenService(
+    @Value("${api.security.token.secret}") String secretKey,
+    UserSecurityVersions userSecurityVersions
+  ) {
+    this.algorithm = Algorithm.HMAC256(secretKey);
+    this.verifier = JWT.require(this.algorithm)
+      .withIssuer(ISSUER)
+      .build();
+    this.userSecurityVersions = userSecurityVersions;
+  }
 
   public String generateToken(UserPrincipal userPrincipal) throws JWTCreationException {
     try {
-      Algorithm algorithm = Algorithm.HMAC256(this.secretKey);
       return JWT.create()
-        .withIssuer("project-manager-api")
+        .withIssuer(ISSUER)
         .withSubject(userPrincipal.getUsername())
+        .withClaim(USER_ID_CLAIM, userPrincipal.getId())
+        .withClaim(ROLE_CLAIM, userPrincipal.getRole().getName())
+        .withClaim(SECURITY_VERSION_CLAIM, userPrincipal.getSecurityVersion())
         .withExpiresAt(this.generateExpirationDate())
-        .sign(algorithm);
+        .sign(this.algorithm);
     } catch(JWTCreationException exception) {
       throw new JWTCreationException("Erro ao gerar token", exception);
     }
   }
 
-  public String validateToken(String token) throws JWTVerificationException {
+  public DecodedJWT verify(String token) throws JWTVerificationException {
     try {
-      Algorithm algorithm = Algorithm.HMAC256(this.secretKey);
-      return JWT.require(algorithm)
-        .withIssuer("project-manager-api")
-        .build()
-        .verify(token)
-        .getSubject();
+      return this.verifier.verify(token);
     } catch(JWTVerificationException exception) {
       throw new JWTVerificationException("O Token de acesso fornecido expirou, foi revogado ou é inválido");
     }
   }
 
+  public boolean hasPrincipalClaims(DecodedJWT decodedToken) {
+    return !decodedToken.getClaim(USER_ID_CLAIM).isMissing() && !decodedToken.getClaim(ROLE_CLAIM).isMissing();
+  }
+
+  public UserPrincipal toPrincipal(DecodedJWT decodedToken) throws JWTVerificationException {
+    String userId = decodedToken.getClaim(USER_ID_CLAIM).asString();
+    Claim securityVersion = decodedToken.getClaim(SECURITY_VERSION_CLAIM);
+    long tokenVersion = securityVersion.isMissing() ? 0L : securityVersion.asLong();
+
+    if(this.userSecurityVersions.isStale(userId, tokenVersion)) {
+      throw new JWTVerificationException("O Token de acesso fornecido expirou, foi revogado ou é inválido");
+    }
+
+    Role role = Role.valueOf(decodedToken.getClaim(ROLE_CLAIM).asString());
+    return UserPrincipal.fromClaims(userId, decodedToken.getSubject(), role, tokenVersion);
+  }
+
   private Instant generateExpirationDate() {
     return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
   }
@@ -1,5 +1,6 @@
 package com.felipe.projectmanagerapi.infra.security;
 
+import com.felipe.projectmanagerapi.enums.Role;
 import com.felipe.projectmanagerapi.models.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -8,31 +9,59 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
 import java.util.List;
 
+/**
+ * The authenticated user's identity, not the entity: services that need the user as an association
+ * take a reference by id, and those that need the profile load it.
+ */
 public class UserPrincipal implements UserDetails {
 
-  private final User user;
+  private final String id;
+  private final String email;
+  private final String password;
+  private final Role role;
+  private final long securityVersion;
 
   public UserPrincipal(User user) {
-    this.user = user;
+    this(user.getId(), user.getEmail(), user.getPassword(), user.getRole(), user.getSecurityVersion());
   }
 
-  public User getUser() {
-    return this.user;
+  private UserPrincipal(String id, String email, String password, Role role, long securityVersion) {
+    this.id = id;
+    this.email = email;
+    this.password = password;
+    this.role = role;
+    this.securityVersion = securityVersion;
+  }
+
+  public static UserPrincipal fromClaims(String id, String email, Role role, long securityVersion) {
+    return new UserPrincipal(id, email, null, role, securityVersion);
+  }
+
+  public String getId() {
+    return this.id;
+  }
+
+  public Role getRole() {
+    return this.role;
+  }
+
+  public long getSecurityVersion() {
+    return this.securityVersion;
   }
 
   @Override
   public Collection<? extends GrantedAuthority> getAuthorities() {
-    return List.of(new SimpleGrantedAuthority("ROLE_" + this.user.getRole().getName()));
+    return List.of(new SimpleGrantedAuthority("ROLE_" + this.role.getName()));
   }
 
   @Override
   public String getPassword() {
-    return this.user.getPassword();
+    return this.password;
   }
 
   @Override
   public String getUsername() {
-    return this.user.getEmail();
+    return this.email;
   }
 
   @Override
@@ -0,0 +1,27 @@
+package com.felipe.projectmanagerapi.infra.security;
+
+import com.felipe.projectmanagerapi.infra.persistence.ReadReplicaRoutingDataSource;
+import com.felipe.projectmanagerapi.repositories.UserRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks the security version embedded in stateless tokens against the user's current one. The
+ * version is a column on {@code users}, bumped in the same transaction as the change that revokes
+ * older tokens, and only that column is read from the primary on every check, so a revocation takes
+ * effect on all nodes once it commits. A user that no longer exists has no valid tokens.
+ */
+@Component
+public class UserSecurityVersions {
+
+  private final UserRepository userRepository;
+
+  public UserSecurityVersions(UserRepository userRepository) {
+    this.userRepository = userRepository;
+  }
+
+  public boolean isStale(String userId, long tokenVersion) {
+    return ReadReplicaRoutingDataSource.onPrimary(() -> this.userRepository.findSecurityVersionById(userId))
+      .map(currentVersion -> tokenVersion < currentVersion)
+      .orElse(true);
+  }
+}
@@ -0,0 +1,92 @@
+package com.felipe.projectmanagerapi.infra.security;
+
+import com.felipe.projectmanagerapi.infra.persistence.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tokens that already passed signature verification, mapped to the principal they resolved to.
+ * Each entry lives until the token's own expiration and is dropped as soon as the user changes;
+ * inside a transaction it is dropped again after commit, and a principal loaded while an eviction
+ * happened is not stored, so a request racing the change cannot cache the user as it was before.
+ */
+@Component
+public class VerifiedTokenCache {
+
+  private final Cache<String, VerifiedToken> cache;
+  private final AtomicLong evictions = new AtomicLong();
+
+  public VerifiedTokenCache(
+    @Value("${api.security.token.cache.maximum-size:10000}") long maximumSize,
+    MeterRegistry meterRegistry
+  ) {
+    this.cache = Caffeine.newBuilder()
+      .maximumSize(maximumSize)
+      .expireAfter(new Expiry<String, VerifiedToken>() {
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken verifiedToken, long currentTime) {
+          return verifiedToken.timeToLive().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+          return verifiedToken.timeToLive().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+          return currentDuration;
+        }
+      })
+      .recordStats()
+      .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "verified-tokens");
+  }
+
+  public UserPrincipal get(String token) {
+    VerifiedToken verifiedToken = this.cache.getIfPresent(token);
+    return verifiedToken != null ? verifiedToken.principal() : null;
+  }
+
+  /**
+   * Returns a value to pass to {@link #put} for a principal loaded from now on.
+   */
+  public long evictionCount() {
+    return this.evictions.get();
+  }
+
+  public void put(String token, UserPrincipal principal, Instant expiresAt, long evictionsBeforeLoad) {
+    if(expiresAt == null || !expiresAt.isAfter(Instant.now())) return;
+    VerifiedToken verifiedToken = new VerifiedToken(principal, expiresAt);
+    this.cache.asMap().compute(token, (key, current) ->
+      this.evictions.get() == evictionsBeforeLoad ? verifiedToken : current
+    );
+  }
+
+  public void evictUser(String email) {
+    TransactionCallbacks.nowAndAfterCommit(() -> {
+      this.evictions.incrementAndGet();
+      this.cache.asMap().values().removeIf(verifiedToken -> verifiedToken.principal().getUsername().equals(email));
+    });
+  }
+
+  public long size() {
+    return this.cache.estimatedSize();
+  }
+
+  private record VerifiedToken(UserPrincipal principal, Instant expiresAt) {
+    Duration timeToLive() {
+      Duration remaining = Duration.between(Instant.now(), this.expiresAt);
+      return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+  }
+}
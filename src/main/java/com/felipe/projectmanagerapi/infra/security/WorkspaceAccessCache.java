@@ -0,0 +1,101 @@
+package com.felipe.projectmanagerapi.infra.security;
+
+import com.felipe.projectmanagerapi.infra.persistence.ReadReplicaRoutingDataSource;
+import com.felipe.projectmanagerapi.infra.persistence.TransactionCallbacks;
+import com.felipe.projectmanagerapi.repositories.WorkspaceRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ids of the workspaces each user can access (owned plus member of), computed once per user so
+ * authorization checks are a set lookup. Entries are invalidated whenever ownership or membership
+ * changes; inside a transaction they are invalidated again after commit, so a lookup racing the
+ * write cannot cache the uncommitted state. Misses are loaded outside the cache's lock (a loading
+ * cache would keep a virtual thread pinned through both queries) and only stored if that user was
+ * not evicted meanwhile. Loads read the primary, never a lagging replica, without nesting a
+ * transaction; entries also expire after a while in case an eviction is ever missed.
+ */
+@Component
+public class WorkspaceAccessCache {
+
+  private final Cache<String, Set<String>> accessibleWorkspaces;
+  // Bumped per user on every eviction; kept as long as an access set, so it outlives any load racing it
+  private final Cache<String, Long> generations;
+  private final AtomicLong nextGeneration = new AtomicLong();
+  private final WorkspaceRepository workspaceRepository;
+  private final JdbcTemplate primaryJdbcTemplate;
+
+  public WorkspaceAccessCache(
+    WorkspaceRepository workspaceRepository,
+    @Qualifier("primaryDataSource") Optional<DataSource> primaryDataSource,
+    @Value("${api.security.workspace-access.maximum-size:10000}") long maximumSize,
+    @Value("${api.security.workspace-access.expire-after-write:5m}") Duration expireAfterWrite
+  ) {
+    this.workspaceRepository = workspaceRepository;
+    this.primaryJdbcTemplate = primaryDataSource.map(JdbcTemplate::new).orElse(null);
+    this.accessibleWorkspaces = Caffeine.newBuilder()
+      .maximumSize(maximumSize)
+      .expireAfterWrite(expireAfterWrite)
+      .build();
+    this.generations = Caffeine.newBuilder()
+      .expireAfterWrite(expireAfterWrite)
+      .build();
+  }
+
+  public boolean canAccess(String userId, String workspaceId) {
+    return this.getAccessibleWorkspaceIds(userId).contains(workspaceId);
+  }
+
+  public Set<String> getAccessibleWorkspaceIds(String userId) {
+    Set<String> workspaceIds = this.accessibleWorkspaces.getIfPresent(userId);
+    if(workspaceIds != null) return workspaceIds;
+
+    Long generationBeforeLoad = this.generations.getIfPresent(userId);
+    // Runs on the transaction's own connection unless that one is a replica's, so a miss never waits on its own pool
+    Set<String> loaded = ReadReplicaRoutingDataSource.holdsReplicaConnection()
+      ? this.loadFromPrimary(userId)
+      : ReadReplicaRoutingDataSource.onPrimary(() -> this.load(userId));
+    this.accessibleWorkspaces.asMap().compute(userId, (id, current) ->
+      Objects.equals(this.generations.getIfPresent(id), generationBeforeLoad) ? loaded : current
+    );
+    return loaded;
+  }
+
+  public void evictUser(String userId) {
+    TransactionCallbacks.nowAndAfterCommit(() -> {
+      this.generations.put(userId, this.nextGeneration.incrementAndGet());
+      this.accessibleWorkspaces.invalidate(userId);
+    });
+  }
+
+  public void evictUsers(Collection<String> userIds) {
+    userIds.forEach(this::evictUser);
+  }
+
+  private Set<String> load(String userId) {
+    Set<String> workspaceIds = new HashSet<>(this.workspaceRepository.findIdsByOwnerId(userId));
+    workspaceIds.addAll(this.workspaceRepository.findIdsByMemberId(userId));
+    return Set.copyOf(workspaceIds);
+  }
+
+  // An autocommit read on the primary pool, outside the transaction
+  private Set<String> loadFromPrimary(String userId) {
+    return Set.copyOf(this.primaryJdbcTemplate.queryForList(
+      "SELECT id FROM workspace WHERE owner_id = ? UNION SELECT workspace_id FROM workspace_members WHERE user_id = ?",
+      String.class, userId, userId
+    ));
+  }
+}
@@ -0,0 +1,35 @@
+package com.felipe.projectmanagerapi.infra.web;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class NdjsonConfiguration {
+
+  /**
+   * Lets the JSON converter answer NDJSON requests, so an error raised before an export starts
+   * streaming is still written as a single {@code CustomResponseBody} line.
+   */
+  @Bean
+  public WebMvcConfigurer ndjsonConfigurer() {
+    return new WebMvcConfigurer() {
+      @Override
+      public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for(HttpMessageConverter<?> converter : converters) {
+          if(converter instanceof MappingJackson2HttpMessageConverter jacksonConverter) {
+            List<MediaType> mediaTypes = new ArrayList<>(jacksonConverter.getSupportedMediaTypes());
+            mediaTypes.add(MediaType.APPLICATION_NDJSON);
+            jacksonConverter.setSupportedMediaTypes(mediaTypes);
+          }
+        }
+      }
+    };
+  }
+}
@@ -0,0 +1,143 @@
+package com.felipe.projectmanagerapi.models;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Amount of money held as a {@code long} count of cents. Comparisons and arithmetic work on the
+ * primitive value, parsing of the {@code 1200.00} format used by the API skips {@link BigDecimal}
+ * altogether and formatting uses a precomputed table for the cents part.
+ */
+public final class Money implements Comparable<Money> {
+
+  public static final Money ZERO = new Money(0L);
+
+  private static final String[] CENTS = new String[100];
+
+  static {
+    for(int i = 0; i < CENTS.length; i++) {
+      CENTS[i] = i < 10 ? "0" + i : String.valueOf(i);
+    }
+  }
+
+  private final long cents;
+  private String formatted;
+
+  private Money(long cents) {
+    this.cents = cents;
+  }
+
+  public static Money ofCents(long cents) {
+    return cents == 0 ? ZERO : new Money(cents);
+  }
+
+  public static Money of(BigDecimal value) {
+    return ofCents(value.setScale(2, RoundingMode.FLOOR).unscaledValue().longValueExact());
+  }
+
+  public static Money parse(String value) {
+    int length = value.length();
+    int dot = value.indexOf('.');
+    int integerDigits = dot < 0 ? length : dot;
+    if(integerDigits == 0 || integerDigits > 16) return of(new BigDecimal(value));
+
+    long units = 0;
+    for(int i = 0; i < integerDigits; i++) {
+      int digit = value.charAt(i) - '0';
+      if(digit < 0 || digit > 9) return of(new BigDecimal(value));
+      units = units * 10 + digit;
+    }
+
+    long fraction = 0;
+    for(int i = dot + 1, scale = 0; dot >= 0 && i < length; i++, scale++) {
+      int digit = value.charAt(i) - '0';
+      if(digit < 0 || digit > 9) return of(new BigDecimal(value));
+      if(scale < 2) fraction = fraction * 10 + digit;
+    }
+    if(dot >= 0 && length - dot - 1 < 2) {
+      fraction *= length - dot - 1 == 1 ? 10 : 100;
+    }
+    return ofCents(units * 100 + fraction);
+  }
+
+  public long getCents() {
+    return this.cents;
+  }
+
+  public Money plus(Money other) {
+    return ofCents(Math.addExact(this.cents, other.cents));
+  }
+
+  public Money minus(Money other) {
+    return ofCents(Math.subtractExact(this.cents, other.cents));
+  }
+
+  public Money negate() {
+    return ofCents(Math.negateExact(this.cents));
+  }
+
+  public boolean isNegative() {
+    return this.cents < 0;
+  }
+
+  public boolean isZero() {
+    return this.cents == 0;
+  }
+
+  public boolean isGreaterThan(Money other) {
+    return this.cents > other.cents;
+  }
+
+  public boolean isLessThan(Money other) {
+    return this.cents < other.cents;
+  }
+
+  public BigDecimal toBigDecimal() {
+    return BigDecimal.valueOf(this.cents, 2);
+  }
+
+  @Override
+  public int compareTo(Money other) {
+    return Long.compare(this.cents, other.cents);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return this == other || other instanceof Money money && this.cents == money.cents;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(this.cents);
+  }
+
+  @Override
+  public String toString() {
+    String value = this.formatted;
+    if(value == null) {
+      value = format(this.cents);
+      this.formatted = value;
+    }
+    return value;
+  }
+
+  private static String format(long cents) {
+    long units = Math.abs(cents / 100);
+    int remainder = (int) Math.abs(cents % 100);
+    int unitDigits = 1;
+    for(long i = units; i >= 10; i /= 10) unitDigits++;
+
+    int length = (cents < 0 ? 1 : 0) + unitDigits + 3;
+    byte[] buffer = new byte[length];
+    buffer[--length] = (byte) CENTS[remainder].charAt(1);
+    buffer[--length] = (byte) CENTS[remainder].charAt(0);
+    buffer[--length] = '.';
+    do {
+      buffer[--length] = (byte) ('0' + units % 10);
+      units /= 10;
+    } while(units > 0);
+    if(cents < 0) buffer[0] = '-';
+    return new String(buffer, StandardCharsets.ISO_8859_1);
+  }
+}
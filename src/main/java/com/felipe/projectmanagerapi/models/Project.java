@@ -2,29 +2,39 @@ package com.felipe.projectmanagerapi.models;
 
 import com.felipe.projectmanagerapi.enums.PriorityLevel;
 import com.felipe.projectmanagerapi.enums.converters.PriorityLevelConverter;
+import com.felipe.projectmanagerapi.models.converters.MoneyConverter;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Version;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Convert;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.FetchType;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SourceType;
 import org.hibernate.annotations.UpdateTimestamp;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "project")
+@DynamicUpdate
+@Table(name = "project", indexes = {
+  @Index(name = "idx_project_owner_created", columnList = "owner_id, created_at, id"),
+  @Index(name = "idx_project_workspace_priority", columnList = "workspace_id, priority, id"),
+  @Index(name = "idx_project_workspace_updated", columnList = "workspace_id, updated_at")
+})
 public class Project {
 
   @Id
@@ -40,11 +50,13 @@ public class Project {
   @Column(nullable = false)
   private String description;
 
+  @Convert(converter = MoneyConverter.class)
   @Column(nullable = false)
-  private BigDecimal budget;
+  private Money budget;
 
+  @Convert(converter = MoneyConverter.class)
   @Column(nullable = false)
-  private BigDecimal cost = BigDecimal.ZERO;
+  private Money cost = Money.ZERO;
 
   @Convert(converter = PriorityLevelConverter.class)
   @Column(nullable = false)
@@ -57,15 +69,20 @@ public class Project {
   @Column(name = "created_at", columnDefinition = "TIMESTAMP(2)", nullable = false)
   private LocalDateTime createdAt;
 
-  @UpdateTimestamp
+  @UpdateTimestamp(source = SourceType.DB)
   @Column(name = "updated_at", columnDefinition = "TIMESTAMP(2)", nullable = false)
   private LocalDateTime updatedAt;
 
-  @ManyToOne(optional = false)
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private Long version;
+
+  @ManyToOne(optional = false, fetch = FetchType.LAZY)
   @JoinColumn(name = "owner_id", nullable = false)
   private User owner;
 
-  @ManyToOne(optional = false)
+  @ManyToOne(optional = false, fetch = FetchType.LAZY)
   @JoinColumn(name = "workspace_id", nullable = false)
   private Workspace workspace;
 
@@ -106,19 +123,19 @@ public class Project {
     this.description = description;
   }
 
-  public BigDecimal getBudget() {
+  public Money getBudget() {
     return this.budget;
   }
 
-  public void setBudget(BigDecimal budget) {
+  public void setBudget(Money budget) {
     this.budget = budget;
   }
 
-  public BigDecimal getCost() {
+  public Money getCost() {
     return this.cost;
   }
 
-  public void setCost(BigDecimal cost) {
+  public void setCost(Money cost) {
     this.cost = cost;
   }
 
@@ -154,6 +171,14 @@ public class Project {
     this.updatedAt = updatedAt;
   }
 
+  public Long getVersion() {
+    return this.version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
   public User getOwner() {
     return this.owner;
   }
@@ -0,0 +1,42 @@
+package com.felipe.projectmanagerapi.models;
+
+import com.felipe.projectmanagerapi.utils.ETag;
+
+import java.time.LocalDateTime;
+
+/**
+ * What a full resource response depends on, read with a single aggregate query instead of loading
+ * the resource: the entity version plus count, version sum and latest update of its children (tasks
+ * of a project, projects of a workspace) and, for workspaces, of its members. Any insert, update or
+ * delete of a child changes at least one of them. A project's own update time is folded into its
+ * children's, since cost flushes change it without bumping the version. Also carries the workspace and its owner so access
+ * can be checked before answering.
+ */
+public record ResourceVersion(
+  String workspaceId,
+  String workspaceOwnerId,
+  Long version,
+  Long childCount,
+  Long childVersions,
+  LocalDateTime childrenUpdatedAt,
+  Long memberCount,
+  LocalDateTime membersUpdatedAt
+) {
+
+  public ResourceVersion(
+    String workspaceId,
+    String workspaceOwnerId,
+    Long version,
+    Long childCount,
+    Long childVersions,
+    LocalDateTime childrenUpdatedAt
+  ) {
+    this(workspaceId, workspaceOwnerId, version, childCount, childVersions, childrenUpdatedAt, null, null);
+  }
+
+  public String toETag() {
+    return ETag.weak(
+      this.version, this.childCount, this.childVersions, this.childrenUpdatedAt, this.memberCount, this.membersUpdatedAt
+    );
+  }
+}
@@ -1,21 +1,31 @@
 package com.felipe.projectmanagerapi.models;
 
+import com.felipe.projectmanagerapi.models.converters.MoneyConverter;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Version;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.FetchType;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
 import org.hibernate.annotations.UpdateTimestamp;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "task")
+@Table(name = "task", indexes = {
+  @Index(name = "idx_task_owner_created", columnList = "owner_id, created_at, id"),
+  @Index(name = "idx_task_project_created", columnList = "project_id, created_at, id"),
+  @Index(name = "idx_task_project_updated", columnList = "project_id, updated_at")
+})
 public class Task {
 
   @Id
@@ -28,22 +38,28 @@ public class Task {
   @Column(nullable = false)
   private String description;
 
+  @Convert(converter = MoneyConverter.class)
   @Column(nullable = false)
-  private BigDecimal cost;
+  private Money cost;
 
   @CreationTimestamp
   @Column(name = "created_at", columnDefinition = "TIMESTAMP(2)", nullable = false)
   private LocalDateTime createdAt;
 
-  @UpdateTimestamp
+  @UpdateTimestamp(source = SourceType.DB)
   @Column(name = "updated_at", columnDefinition = "TIMESTAMP(2)", nullable = false)
   private LocalDateTime updatedAt;
 
-  @ManyToOne(optional = false)
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private Long version;
+
+  @ManyToOne(optional = false, fetch = FetchType.LAZY)
   @JoinColumn(name = "project_id", nullable = false)
   private Project project;
 
-  @ManyToOne(optional = false)
+  @ManyToOne(optional = false, fetch = FetchType.LAZY)
   @JoinColumn(name = "owner_id", nullable = false)
   private User owner;
 
@@ -73,11 +89,11 @@ public class Task {
     this.description = description;
   }
 
-  public BigDecimal getCost() {
+  public Money getCost() {
     return this.cost;
   }
 
-  public void setCost(BigDecimal cost) {
+  public void setCost(Money cost) {
     this.cost = cost;
   }
 
@@ -97,6 +113,14 @@ public class Task {
     this.updatedAt = updatedAt;
   }
 
+  public Long getVersion() {
+    return this.version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
   public Project getProject() {
     return this.project;
   }
@@ -0,0 +1,74 @@
+package com.felipe.projectmanagerapi.models;
+
+import com.felipe.projectmanagerapi.enums.ResourceType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a project, task or membership deleted from a workspace, kept so the change feed can
+ * report deletions. For members the resource id is the user id. Tasks deleted together with their
+ * project are covered by the project's tombstone.
+ */
+@Entity
+@Table(name = "tombstone", indexes = {
+  @Index(name = "idx_tombstone_workspace_deleted", columnList = "workspace_id, deleted_at")
+})
+public class Tombstone {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "workspace_id", nullable = false)
+  private String workspaceId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "resource_type", length = 10, nullable = false)
+  private ResourceType resourceType;
+
+  @Column(name = "resource_id", nullable = false)
+  private String resourceId;
+
+  @CreationTimestamp(source = SourceType.DB)
+  @Column(name = "deleted_at", columnDefinition = "TIMESTAMP(2)", nullable = false)
+  private LocalDateTime deletedAt;
+
+  public Tombstone() {}
+
+  public Tombstone(String workspaceId, ResourceType resourceType, String resourceId) {
+    this.workspaceId = workspaceId;
+    this.resourceType = resourceType;
+    this.resourceId = resourceId;
+  }
+
+  public Long getId() {
+    return this.id;
+  }
+
+  public String getWorkspaceId() {
+    return this.workspaceId;
+  }
+
+  public ResourceType getResourceType() {
+    return this.resourceType;
+  }
+
+  public String getResourceId() {
+    return this.resourceId;
+  }
+
+  public LocalDateTime getDeletedAt() {
+    return this.deletedAt;
+  }
+}
@@ -5,6 +5,7 @@ import com.felipe.projectmanagerapi.enums.Role;
 import com.felipe.projectmanagerapi.enums.converters.RoleConverter;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -14,7 +15,10 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.FetchType;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -22,7 +26,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@Table(name = "users", indexes = {
+  @Index(name = "idx_users_created", columnList = "created_at, id")
+})
 public class User {
 
   @Id
@@ -47,10 +54,14 @@ public class User {
   @Column(name = "created_at", columnDefinition = "TIMESTAMP(2)", nullable = false)
   private LocalDateTime createdAt;
 
-  @UpdateTimestamp
+  @UpdateTimestamp(source = SourceType.DB)
   @Column(name = "updated_at", columnDefinition = "TIMESTAMP(2)", nullable = false)
   private LocalDateTime updatedAt;
 
+  @JsonIgnore
+  @Column(name = "security_version", columnDefinition = "BIGINT DEFAULT 0", nullable = false)
+  private long securityVersion;
+
   @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
   private List<Workspace> myWorkspaces = new ArrayList<>();
 
@@ -129,6 +140,14 @@ public class User {
     this.updatedAt = updatedAt;
   }
 
+  public long getSecurityVersion() {
+    return this.securityVersion;
+  }
+
+  public void bumpSecurityVersion() {
+    this.securityVersion++;
+  }
+
   public List<Workspace> getMyWorkspaces() {
     return this.myWorkspaces;
   }
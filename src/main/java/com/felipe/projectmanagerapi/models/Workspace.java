@@ -2,8 +2,10 @@ package com.felipe.projectmanagerapi.models;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
 import jakarta.persistence.Id;
 import jakarta.persistence.Column;
+import jakarta.persistence.Version;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.OneToMany;
@@ -13,6 +15,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -21,7 +27,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "workspace")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "workspace")
+@Table(name = "workspace", indexes = {
+  @Index(name = "idx_workspace_owner_created", columnList = "owner_id, created_at, id")
+})
 public class Workspace {
 
   @Id
@@ -39,15 +48,26 @@ public class Workspace {
   @Column(name = "updated_at", columnDefinition = "TIMESTAMP(2)", nullable = false)
   private LocalDateTime updatedAt;
 
+  // Bumped from the database clock by WorkspaceRepository.touchMembersUpdatedAt, like every change-feed timestamp
+  @Column(name = "members_updated_at", columnDefinition = "TIMESTAMP(2)", insertable = false, updatable = false)
+  private LocalDateTime membersUpdatedAt;
+
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private Long version;
+
   @ManyToOne(optional = false, fetch = FetchType.LAZY)
   @JoinColumn(name = "owner_id", nullable = false)
   private User owner;
 
   @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "workspace-members")
   @JoinTable(
     name = "workspace_members",
     joinColumns = @JoinColumn(name = "workspace_id"),
-    inverseJoinColumns = @JoinColumn(name = "user_id")
+    inverseJoinColumns = @JoinColumn(name = "user_id"),
+    uniqueConstraints = @UniqueConstraint(name = "uk_workspace_members", columnNames = {"workspace_id", "user_id"})
   )
   private List<User> members = new ArrayList<>();
 
@@ -105,6 +125,14 @@ public class Workspace {
     this.updatedAt = updatedAt;
   }
 
+  public Long getVersion() {
+    return this.version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
   public List<User> getMembers() {
     return this.members;
   }
@@ -113,6 +141,14 @@ public class Workspace {
     this.members = members;
   }
 
+  public LocalDateTime getMembersUpdatedAt() {
+    return this.membersUpdatedAt;
+  }
+
+  public void setMembersUpdatedAt(LocalDateTime membersUpdatedAt) {
+    this.membersUpdatedAt = membersUpdatedAt;
+  }
+
   public void addMember(User user) {
     this.members.add(user);
   }
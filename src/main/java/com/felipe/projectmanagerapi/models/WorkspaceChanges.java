@@ -0,0 +1,13 @@
+package com.felipe.projectmanagerapi.models;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record WorkspaceChanges(
+  List<Project> projects,
+  List<Task> tasks,
+  List<User> members,
+  List<Tombstone> tombstones,
+  LocalDateTime membersUpdatedAt,
+  LocalDateTime nextSince
+) {}
@@ -0,0 +1,28 @@
+package com.felipe.projectmanagerapi.models.converters;
+
+import com.felipe.projectmanagerapi.models.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+@Converter
+@Immutable
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+  @Override
+  public BigDecimal convertToDatabaseColumn(Money money) {
+    if(money == null) {
+      return null;
+    }
+    return money.toBigDecimal();
+  }
+
+  @Override
+  public Money convertToEntityAttribute(BigDecimal value) {
+    if(value == null) {
+      return null;
+    }
+    return Money.of(value);
+  }
+}
@@ -1,21 +1,124 @@
 package com.felipe.projectmanagerapi.repositories;
 
+import com.felipe.projectmanagerapi.models.Money;
 import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.models.ResourceVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProjectRepository extends JpaRepository<Project, String> {
 
-  @Query("SELECT p FROM Project p WHERE p.workspace.id=:workspaceId AND p.owner.id=:ownerId")
-  List<Project> findAllByWorkspaceIdAndOwnerId(@Param("workspaceId") String workspaceId, @Param("ownerId") String ownerId);
+  @Query("SELECT p.id FROM Project p WHERE p.workspace.id=:workspaceId AND p.owner.id=:ownerId")
+  List<String> findIdsByWorkspaceIdAndOwnerId(@Param("workspaceId") String workspaceId, @Param("ownerId") String ownerId);
 
-  @Query("SELECT p FROM Project p WHERE p.workspace.id=:workspaceId")
-  List<Project> findAllByWorkspaceId(@Param("workspaceId") String workspaceId, Sort sort);
+  @Query("SELECT p.id FROM Project p WHERE p.workspace.id=:workspaceId")
+  List<String> findIdsByWorkspaceId(@Param("workspaceId") String workspaceId);
 
-  @Query("SELECT p FROM Project p WHERE p.owner.id=:userId")
-  List<Project> findAllByUserId(@Param("userId") String userId);
+  @Query("SELECT p.id FROM Project p WHERE p.owner.id=:userId")
+  List<String> findIdsByUserId(@Param("userId") String userId);
+
+  @Query("SELECT DISTINCT p.workspace.id FROM Project p WHERE p.owner.id=:userId")
+  List<String> findWorkspaceIdsByUserId(@Param("userId") String userId);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("DELETE FROM Project p WHERE p.id IN :projectIds")
+  int deleteAllByIdIn(@Param("projectIds") Collection<String> projectIds);
+
+  @Query("SELECT p.cost FROM Project p WHERE p.id=:projectId")
+  Optional<Money> findCostById(@Param("projectId") String projectId);
+
+  @Transactional
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project"))
+  @Modifying
+  @Query(
+    value = "UPDATE project SET cost = cost + :delta, version = version + 1, updated_at = LOCALTIMESTAMP " +
+            "WHERE id = :projectId AND cost + :delta <= budget",
+    nativeQuery = true
+  )
+  int addCost(@Param("projectId") String projectId, @Param("delta") BigDecimal delta);
+
+  @Query(value = "SELECT budget - cost FROM project WHERE id = :projectId", nativeQuery = true)
+  Optional<BigDecimal> findRemainingBudgetById(@Param("projectId") String projectId);
+
+  // No version bump: write-behind flushes must not make clients' If-Match fail
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project"))
+  @Modifying
+  @Query(
+    value = "UPDATE project SET cost = cost + :delta, updated_at = LOCALTIMESTAMP WHERE id = :projectId",
+    nativeQuery = true
+  )
+  int applyCostDelta(@Param("projectId") String projectId, @Param("delta") BigDecimal delta);
+
+  @Transactional
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project"))
+  @Modifying
+  @Query(
+    value = "UPDATE project p SET cost = (SELECT COALESCE(SUM(t.cost), 0) FROM task t WHERE t.project_id = p.id), " +
+            "version = version + 1, updated_at = LOCALTIMESTAMP " +
+            "WHERE p.cost <> (SELECT COALESCE(SUM(t.cost), 0) FROM task t WHERE t.project_id = p.id)",
+    nativeQuery = true
+  )
+  int reconcileCostsWithTasks();
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE VERSIONED Project p SET p.cost = 0, p.updatedAt = LOCAL DATETIME WHERE p.id=:projectId")
+  int resetCost(@Param("projectId") String projectId);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("SELECT p FROM Project p WHERE p.owner.id=:userId ORDER BY p.createdAt, p.id")
+  Stream<Project> streamAllByUserId(@Param("userId") String userId);
+
+  Window<Project> findByWorkspaceIdAndOwnerIdOrderByCreatedAtAscIdAsc(
+    String workspaceId, String ownerId, ScrollPosition position, Limit limit
+  );
+
+  Window<Project> findByWorkspaceId(String workspaceId, ScrollPosition position, Sort sort, Limit limit);
+
+  Window<Project> findByOwnerIdOrderByCreatedAtAscIdAsc(String ownerId, ScrollPosition position, Limit limit);
+
+  @Query(
+    "SELECT p FROM Project p WHERE p.workspace.id=:workspaceId AND p.updatedAt > :since AND p.updatedAt <= :until " +
+    "ORDER BY p.updatedAt, p.id"
+  )
+  List<Project> findChangedByWorkspaceId(
+    @Param("workspaceId") String workspaceId,
+    @Param("since") LocalDateTime since,
+    @Param("until") LocalDateTime until,
+    Limit limit
+  );
+
+  @Query("SELECT p FROM Project p JOIN FETCH p.workspace WHERE p.id=:projectId")
+  Optional<Project> findWithWorkspaceById(@Param("projectId") String projectId);
+
+  @Query("SELECT p FROM Project p JOIN FETCH p.workspace LEFT JOIN FETCH p.tasks WHERE p.id=:projectId")
+  Optional<Project> findFullById(@Param("projectId") String projectId);
+
+  @Query(
+    "SELECT new com.felipe.projectmanagerapi.models.ResourceVersion(" +
+    "w.id, w.owner.id, p.version, COUNT(t), COALESCE(SUM(t.version), 0), GREATEST(p.updatedAt, MAX(t.updatedAt))) " +
+    "FROM Project p JOIN p.workspace w LEFT JOIN p.tasks t WHERE p.id=:projectId " +
+    "GROUP BY w.id, w.owner.id, p.version, p.updatedAt"
+  )
+  Optional<ResourceVersion> findVersionById(@Param("projectId") String projectId);
 }
@@ -1,17 +1,58 @@
 package com.felipe.projectmanagerapi.repositories;
 
 import com.felipe.projectmanagerapi.models.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TaskRepository extends JpaRepository<Task, String> {
 
-  @Query("SELECT t FROM Task t WHERE t.project.id=:projectId")
-  List<Task> findAllByProjectId(@Param("projectId") String projectId);
+  @Query("SELECT t.id FROM Task t WHERE t.project.id=:projectId")
+  List<String> findIdsByProjectId(@Param("projectId") String projectId);
 
-  @Query("SELECT t FROM Task t WHERE t.owner.id=:ownerId")
-  List<Task> findAllByOwnerId(@Param("ownerId") String ownerId);
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("DELETE FROM Task t WHERE t.project.id=:projectId")
+  int deleteAllByProjectId(@Param("projectId") String projectId);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("DELETE FROM Task t WHERE t.project.id IN :projectIds")
+  int deleteAllByProjectIdIn(@Param("projectIds") Collection<String> projectIds);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("SELECT t FROM Task t WHERE t.owner.id=:ownerId ORDER BY t.createdAt, t.id")
+  Stream<Task> streamAllByOwnerId(@Param("ownerId") String ownerId);
+
+  Window<Task> findByProjectIdOrderByCreatedAtAscIdAsc(String projectId, ScrollPosition position, Limit limit);
+
+  Window<Task> findByOwnerIdOrderByCreatedAtAscIdAsc(String ownerId, ScrollPosition position, Limit limit);
+
+  @Query(
+    "SELECT t FROM Task t WHERE t.project.workspace.id=:workspaceId AND t.updatedAt > :since AND t.updatedAt <= :until " +
+    "ORDER BY t.updatedAt, t.id"
+  )
+  List<Task> findChangedByWorkspaceId(
+    @Param("workspaceId") String workspaceId,
+    @Param("since") LocalDateTime since,
+    @Param("until") LocalDateTime until,
+    Limit limit
+  );
+
+  @Query("SELECT t FROM Task t JOIN FETCH t.project p JOIN FETCH p.workspace WHERE t.id=:taskId")
+  Optional<Task> findWithProjectById(@Param("taskId") String taskId);
 }
@@ -0,0 +1,56 @@
+package com.felipe.projectmanagerapi.repositories;
+
+import com.felipe.projectmanagerapi.models.Tombstone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+  @Query(
+    "SELECT t FROM Tombstone t WHERE t.workspaceId = :workspaceId AND t.deletedAt > :since AND t.deletedAt <= :until " +
+    "ORDER BY t.deletedAt, t.id"
+  )
+  List<Tombstone> findChangedByWorkspaceId(
+    @Param("workspaceId") String workspaceId,
+    @Param("since") LocalDateTime since,
+    @Param("until") LocalDateTime until,
+    Limit limit
+  );
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tombstone"))
+  @Modifying
+  @Query(
+    value = "INSERT INTO tombstone (workspace_id, resource_type, resource_id, deleted_at) " +
+            "SELECT workspace_id, 'PROJECT', id, LOCALTIMESTAMP FROM project WHERE id IN (:projectIds)",
+    nativeQuery = true
+  )
+  int insertForProjects(@Param("projectIds") Collection<String> projectIds);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tombstone"))
+  @Modifying
+  @Query(
+    value = "INSERT INTO tombstone (workspace_id, resource_type, resource_id, deleted_at) " +
+            "SELECT p.workspace_id, 'TASK', t.id, LOCALTIMESTAMP FROM task t JOIN project p ON p.id = t.project_id " +
+            "WHERE t.project_id = :projectId",
+    nativeQuery = true
+  )
+  int insertForTasksOfProject(@Param("projectId") String projectId);
+
+  // The change feed's clock: every timestamp it compares is taken from the database
+  @Query(value = "SELECT LOCALTIMESTAMP", nativeQuery = true)
+  LocalDateTime currentTimestamp();
+
+  @Modifying
+  @Query("DELETE FROM Tombstone t WHERE t.workspaceId = :workspaceId")
+  int deleteAllByWorkspaceId(@Param("workspaceId") String workspaceId);
+}
@@ -1,11 +1,38 @@
 package com.felipe.projectmanagerapi.repositories;
 
 import com.felipe.projectmanagerapi.models.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, String> {
   // TODO: implementar teste unitário para esse método
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   Optional<User> findByEmail(String email);
+
+  @Query("SELECT u.securityVersion FROM User u WHERE u.id = :id")
+  Optional<Long> findSecurityVersionById(@Param("id") String id);
+
+  Window<User> findAllByOrderByCreatedAtAscIdAsc(ScrollPosition position, Limit limit);
+
+  @Query(
+    "SELECT u FROM Workspace w JOIN w.members u WHERE w.id = :workspaceId AND u.updatedAt > :since AND u.updatedAt <= :until " +
+    "ORDER BY u.updatedAt, u.id"
+  )
+  List<User> findChangedMembersByWorkspaceId(
+    @Param("workspaceId") String workspaceId,
+    @Param("since") LocalDateTime since,
+    @Param("until") LocalDateTime until,
+    Limit limit
+  );
 }
@@ -1,14 +1,77 @@
 package com.felipe.projectmanagerapi.repositories;
 
+import com.felipe.projectmanagerapi.models.ResourceVersion;
 import com.felipe.projectmanagerapi.models.Workspace;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface WorkspaceRepository extends JpaRepository<Workspace, String> {
 
-  @Query("SELECT w FROM Workspace w WHERE w.owner.id = :id")
-  List<Workspace> findAllByOwnerId(@Param("id") String ownerId);
+  Window<Workspace> findByOwnerIdOrderByCreatedAtAscIdAsc(String ownerId, ScrollPosition position, Limit limit);
+
+  @Query("SELECT w FROM Workspace w JOIN FETCH w.owner LEFT JOIN FETCH w.members WHERE w.id = :id")
+  Optional<Workspace> findWithMembersById(@Param("id") String workspaceId);
+
+  @Query("SELECT w FROM Workspace w LEFT JOIN FETCH w.projects WHERE w.id = :id")
+  Optional<Workspace> findWithProjectsById(@Param("id") String workspaceId);
+
+  @Query(
+    value = "SELECT EXISTS(SELECT 1 FROM workspace_members WHERE workspace_id = :workspaceId AND user_id = :userId)",
+    nativeQuery = true
+  )
+  boolean existsMember(@Param("workspaceId") String workspaceId, @Param("userId") String userId);
+
+  // The join table is no entity's table, so declaring it clears no cache region: callers evict the one collection entry
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "workspace_members"))
+  @Modifying
+  @Query(value = "INSERT INTO workspace_members (workspace_id, user_id) VALUES (:workspaceId, :userId)", nativeQuery = true)
+  int insertMember(@Param("workspaceId") String workspaceId, @Param("userId") String userId);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "workspace_members"))
+  @Modifying
+  @Query(value = "DELETE FROM workspace_members WHERE workspace_id = :workspaceId AND user_id = :userId", nativeQuery = true)
+  int deleteMember(@Param("workspaceId") String workspaceId, @Param("userId") String userId);
+
+  // Declaring the workspace table would clear the whole workspace region: callers evict the one entry instead
+  @Transactional
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "workspace_members"))
+  @Modifying
+  @Query(value = "UPDATE workspace SET members_updated_at = LOCALTIMESTAMP WHERE id = :id", nativeQuery = true)
+  int touchMembersUpdatedAt(@Param("id") String workspaceId);
+
+  @Query("SELECT w.membersUpdatedAt FROM Workspace w WHERE w.id = :id")
+  Optional<LocalDateTime> findMembersUpdatedAtById(@Param("id") String workspaceId);
+
+  @Query("SELECT w.id FROM Workspace w WHERE w.owner.id = :ownerId")
+  List<String> findIdsByOwnerId(@Param("ownerId") String ownerId);
+
+  @Query(value = "SELECT workspace_id FROM workspace_members WHERE user_id = :userId", nativeQuery = true)
+  List<String> findIdsByMemberId(@Param("userId") String userId);
+
+  @Query(value = "SELECT user_id FROM workspace_members WHERE workspace_id = :workspaceId", nativeQuery = true)
+  List<String> findMemberIdsById(@Param("workspaceId") String workspaceId);
+
+  @Query(
+    "SELECT new com.felipe.projectmanagerapi.models.ResourceVersion(w.id, w.owner.id, w.version, " +
+    "(SELECT COUNT(p) FROM Project p WHERE p.workspace = w), " +
+    "(SELECT COALESCE(SUM(p.version), 0) FROM Project p WHERE p.workspace = w), " +
+    "(SELECT MAX(p.updatedAt) FROM Project p WHERE p.workspace = w), " +
+    "(SELECT COUNT(m) FROM w.members m), " +
+    "(SELECT MAX(m.updatedAt) FROM w.members m)) " +
+    "FROM Workspace w WHERE w.id = :id"
+  )
+  Optional<ResourceVersion> findVersionById(@Param("id") String workspaceId);
 }
@@ -1,18 +1,25 @@
 package com.felipe.projectmanagerapi.services;
 
+import com.felipe.projectmanagerapi.enums.ResourceType;
+import com.felipe.projectmanagerapi.enums.WorkspaceEventType;
 import com.felipe.projectmanagerapi.exceptions.MemberAlreadyExistsException;
 import com.felipe.projectmanagerapi.exceptions.RecordNotFoundException;
+import com.felipe.projectmanagerapi.infra.events.WorkspaceEventHub;
+import com.felipe.projectmanagerapi.infra.persistence.RetryOnConflict;
+import com.felipe.projectmanagerapi.infra.persistence.SecondLevelCacheEvictor;
 import com.felipe.projectmanagerapi.infra.security.AuthorizationService;
 import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import com.felipe.projectmanagerapi.infra.security.WorkspaceAccessCache;
+import com.felipe.projectmanagerapi.models.Tombstone;
 import com.felipe.projectmanagerapi.models.User;
 import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.repositories.TombstoneRepository;
 import com.felipe.projectmanagerapi.repositories.WorkspaceRepository;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
-
-import java.util.Optional;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class MemberService {
@@ -21,19 +28,33 @@ public class MemberService {
   private final AuthorizationService authorizationService;
   private final UserService userService;
   private final ProjectService projectService;
+  private final WorkspaceAccessCache workspaceAccessCache;
+  private final TombstoneRepository tombstoneRepository;
+  private final WorkspaceEventHub workspaceEventHub;
+  private final SecondLevelCacheEvictor secondLevelCacheEvictor;
 
   public MemberService(
     WorkspaceRepository workspaceRepository,
     AuthorizationService authorizationService,
     UserService userService,
-    ProjectService projectService
+    ProjectService projectService,
+    WorkspaceAccessCache workspaceAccessCache,
+    TombstoneRepository tombstoneRepository,
+    WorkspaceEventHub workspaceEventHub,
+    SecondLevelCacheEvictor secondLevelCacheEvictor
   ) {
     this.workspaceRepository = workspaceRepository;
     this.authorizationService = authorizationService;
     this.userService = userService;
     this.projectService = projectService;
+    this.workspaceAccessCache = workspaceAccessCache;
+    this.tombstoneRepository = tombstoneRepository;
+    this.workspaceEventHub = workspaceEventHub;
+    this.secondLevelCacheEvictor = secondLevelCacheEvictor;
   }
 
+  @Transactional
+  @RetryOnConflict
   public Workspace insertMember(@NotNull String workspaceId, @NotNull String userId) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
@@ -41,25 +62,27 @@ public class MemberService {
 
     return this.workspaceRepository.findById(workspaceId)
       .map(workspace -> {
-        if(!workspace.getOwner().getId().equals(userPrincipal.getUser().getId())) {
+        if(!workspace.getOwner().getId().equals(userPrincipal.getId())) {
           throw new AccessDeniedException("Acesso negado: Você não tem permissão para alterar este recurso");
         }
 
-        Optional<User> existingMember = workspace.getMembers()
-          .stream()
-          .filter(member -> member.getId().equals(userId))
-          .findFirst();
-
-        if(existingMember.isPresent()) {
-          throw new MemberAlreadyExistsException(existingMember.get().getId(), workspaceId);
+        if(this.workspaceRepository.existsMember(workspaceId, userId)) {
+          throw new MemberAlreadyExistsException(userId, workspaceId);
         }
 
-        workspace.addMember(workspaceMember);
-        return this.workspaceRepository.save(workspace);
+        this.workspaceRepository.insertMember(workspace.getId(), workspaceMember.getId());
+        this.secondLevelCacheEvictor.evictWorkspaceMembers(workspace.getId());
+        this.workspaceRepository.touchMembersUpdatedAt(workspace.getId());
+        this.secondLevelCacheEvictor.evictWorkspace(workspace.getId());
+        this.workspaceAccessCache.evictUser(userId);
+        this.workspaceEventHub.publish(workspace.getId(), WorkspaceEventType.MEMBER_ADDED, workspaceMember.getId());
+        return this.getWithMembers(workspace.getId());
       })
       .orElseThrow(() -> new RecordNotFoundException("Workspace com ID: '" + workspaceId + "' não encontrado"));
   }
 
+  @Transactional
+  @RetryOnConflict
   public Workspace removeMember(@NotNull String workspaceId, @NotNull String userId) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
@@ -67,24 +90,31 @@ public class MemberService {
 
     return this.workspaceRepository.findById(workspaceId)
       .map(workspace -> {
-        if(!workspace.getOwner().getId().equals(userPrincipal.getUser().getId())) {
+        if(!workspace.getOwner().getId().equals(userPrincipal.getId())) {
           throw new AccessDeniedException("Acesso negado: Você não tem permissão para alterar este recurso");
         }
 
-        Optional<User> existingMember = workspace.getMembers()
-          .stream()
-          .filter(member -> member.getId().equals(userId))
-          .findFirst();
-
-        if(existingMember.isEmpty()) {
+        if(!this.workspaceRepository.existsMember(workspaceId, userId)) {
           throw new RecordNotFoundException("Membro de ID: '" + userId + "' não encontrado" +
             " no workspace de ID: '" + workspaceId + "'");
         }
 
-        workspace.removeMember(workspaceMember);
+        this.workspaceRepository.deleteMember(workspace.getId(), workspaceMember.getId());
+        this.secondLevelCacheEvictor.evictWorkspaceMembers(workspace.getId());
+        this.tombstoneRepository.save(new Tombstone(workspace.getId(), ResourceType.MEMBER, workspaceMember.getId()));
         this.projectService.deleteAllFromOwnerAndWorkspace(workspace.getId(), workspaceMember.getId());
-        return this.workspaceRepository.save(workspace);
+        this.workspaceRepository.touchMembersUpdatedAt(workspace.getId());
+        this.secondLevelCacheEvictor.evictWorkspace(workspace.getId());
+        this.workspaceAccessCache.evictUser(userId);
+        this.workspaceEventHub.publish(workspace.getId(), WorkspaceEventType.MEMBER_REMOVED, workspaceMember.getId());
+        return this.getWithMembers(workspace.getId());
       })
       .orElseThrow(() -> new RecordNotFoundException("Workspace de ID: '" + workspaceId + "' não encontrado"));
   }
+
+  // The members changed under the session, so the response reads them back in one query
+  private Workspace getWithMembers(String workspaceId) {
+    return this.workspaceRepository.findWithMembersById(workspaceId)
+      .orElseThrow(() -> new RecordNotFoundException("Workspace de ID: '" + workspaceId + "' não encontrado"));
+  }
 }
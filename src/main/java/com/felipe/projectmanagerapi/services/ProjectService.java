@@ -3,56 +3,96 @@ package com.felipe.projectmanagerapi.services;
 import com.felipe.projectmanagerapi.dtos.ProjectCreateDTO;
 import com.felipe.projectmanagerapi.dtos.ProjectUpdateDTO;
 import com.felipe.projectmanagerapi.dtos.mappers.ProjectMapper;
+import com.felipe.projectmanagerapi.enums.PriorityLevel;
+import com.felipe.projectmanagerapi.enums.ResourceType;
+import com.felipe.projectmanagerapi.enums.WorkspaceEventType;
 import com.felipe.projectmanagerapi.exceptions.InvalidBudgetException;
 import com.felipe.projectmanagerapi.exceptions.InvalidCostException;
 import com.felipe.projectmanagerapi.exceptions.InvalidDateException;
 import com.felipe.projectmanagerapi.exceptions.OutOfBudgetException;
 import com.felipe.projectmanagerapi.exceptions.RecordNotFoundException;
+import com.felipe.projectmanagerapi.exceptions.VersionConflictException;
+import com.felipe.projectmanagerapi.infra.events.WorkspaceEventHub;
+import com.felipe.projectmanagerapi.infra.persistence.CostLedger;
+import com.felipe.projectmanagerapi.infra.persistence.RetryOnConflict;
 import com.felipe.projectmanagerapi.infra.security.AuthorizationService;
 import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import com.felipe.projectmanagerapi.infra.security.WorkspaceAccessCache;
+import com.felipe.projectmanagerapi.models.Money;
 import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.models.ResourceVersion;
 import com.felipe.projectmanagerapi.models.Task;
+import com.felipe.projectmanagerapi.models.Tombstone;
 import com.felipe.projectmanagerapi.models.User;
 import com.felipe.projectmanagerapi.models.Workspace;
 import com.felipe.projectmanagerapi.repositories.ProjectRepository;
+import com.felipe.projectmanagerapi.repositories.TaskRepository;
+import com.felipe.projectmanagerapi.repositories.TombstoneRepository;
 import com.felipe.projectmanagerapi.utils.ConvertDateFormat;
+import com.felipe.projectmanagerapi.utils.KeysetCursor;
+import com.felipe.projectmanagerapi.utils.KeysetPage;
+import jakarta.persistence.EntityManager;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 @Service
 public class ProjectService {
 
+  private static final int DELETE_CHUNK_SIZE = 500;
+
   private final ProjectRepository projectRepository;
+  private final TaskRepository taskRepository;
   private final AuthorizationService authorizationService;
   private final WorkspaceService workspaceService;
   private final UserService userService;
   private final ProjectMapper projectMapper;
+  private final WorkspaceAccessCache workspaceAccessCache;
+  private final EntityManager entityManager;
+  private final CostLedger costLedger;
+  private final TombstoneRepository tombstoneRepository;
+  private final WorkspaceEventHub workspaceEventHub;
 
   public ProjectService(
     ProjectRepository projectRepository,
+    TaskRepository taskRepository,
     AuthorizationService authorizationService,
     WorkspaceService workspaceService,
     UserService userService,
-    ProjectMapper projectMapper
+    ProjectMapper projectMapper,
+    WorkspaceAccessCache workspaceAccessCache,
+    EntityManager entityManager,
+    CostLedger costLedger,
+    TombstoneRepository tombstoneRepository,
+    WorkspaceEventHub workspaceEventHub
   ) {
     this.projectRepository = projectRepository;
+    this.taskRepository = taskRepository;
     this.authorizationService = authorizationService;
     this.workspaceService = workspaceService;
     this.userService = userService;
     this.projectMapper = projectMapper;
+    this.workspaceAccessCache = workspaceAccessCache;
+    this.entityManager = entityManager;
+    this.costLedger = costLedger;
+    this.tombstoneRepository = tombstoneRepository;
+    this.workspaceEventHub = workspaceEventHub;
   }
 
+  @Transactional
   public Project create(@NotNull @Valid ProjectCreateDTO project) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
@@ -74,24 +114,30 @@ public class ProjectService {
     newProject.setCategory(project.category());
     newProject.setDescription(project.description());
     newProject.setPriority(this.projectMapper.convertValueToPriorityLevel(project.priority()));
-    newProject.setBudget(new BigDecimal(project.budget()).setScale(2, RoundingMode.FLOOR));
+    newProject.setBudget(Money.parse(project.budget()));
     newProject.setDeadline(projectDeadline);
-    newProject.setOwner(userPrincipal.getUser());
+    newProject.setOwner(this.entityManager.getReference(User.class, userPrincipal.getId()));
     newProject.setWorkspace(currentWorkspace);
 
-    return this.projectRepository.save(newProject);
+    Project createdProject = this.projectRepository.save(newProject);
+    this.workspaceEventHub.publish(currentWorkspace.getId(), WorkspaceEventType.PROJECT_CREATED, createdProject.getId());
+    return createdProject;
   }
 
-  public Project update(@NotNull String projectId, @NotNull @Valid ProjectUpdateDTO projectUpdate) {
+  @Transactional
+  public Project update(@NotNull String projectId, @NotNull @Valid ProjectUpdateDTO projectUpdate, Long expectedVersion) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
     LocalDate today = LocalDate.now();
 
     return this.projectRepository.findById(projectId)
       .map(project -> {
-        if(!project.getOwner().getId().equals(userPrincipal.getUser().getId())) {
+        if(!project.getOwner().getId().equals(userPrincipal.getId())) {
           throw new AccessDeniedException("Acesso negado: Você não tem permissão para alterar este recurso");
         }
+        if(expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+          throw new VersionConflictException(projectId, expectedVersion, project.getVersion());
+        }
 
         if(projectUpdate.name() != null) {
           project.setName(projectUpdate.name());
@@ -103,12 +149,15 @@ public class ProjectService {
           project.setDescription(projectUpdate.description());
         }
         if(projectUpdate.budget() != null) {
-          BigDecimal newBudget = new BigDecimal(projectUpdate.budget()).setScale(2, RoundingMode.FLOOR);
-          if(newBudget.compareTo(project.getCost()) < 0) {
+          Money newBudget = Money.parse(projectUpdate.budget());
+          Money currentCost = this.currentCost(project);
+          if(newBudget.isLessThan(currentCost) ||
+             this.costLedger.isEnabled() && !this.costLedger.tryChangeBudget(project, newBudget)
+          ) {
             throw new InvalidBudgetException(
               "O novo orçamento é menor do que o custo atual do projeto. " +
               "Novo orçamento: R$ " + newBudget +
-              " Custo atual: R$ " + project.getCost()
+              " Custo atual: R$ " + currentCost
             );
           }
           project.setBudget(newBudget);
@@ -127,63 +176,121 @@ public class ProjectService {
           }
           project.setDeadline(ConvertDateFormat.convertFormattedStringToDate(projectUpdate.deadline()));
         }
-        return this.projectRepository.save(project);
+        Project updatedProject = this.projectRepository.save(project);
+        this.workspaceEventHub.publish(project.getWorkspace().getId(), WorkspaceEventType.PROJECT_UPDATED, project.getId());
+        return updatedProject;
       })
       .orElseThrow(() -> new RecordNotFoundException("Projeto de ID: '" + projectId + "' não encontrado"));
   }
 
-  public List<Project> getAllByWorkspaceAndOwner(@NotNull String workspaceId, @NotNull String ownerId) {
+  @Transactional(readOnly = true)
+  public KeysetPage<Project> getAllByWorkspaceAndOwner(
+    @NotNull String workspaceId,
+    @NotNull String ownerId,
+    String cursor,
+    int limit
+  ) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
     Workspace workspace = this.workspaceService.getById(workspaceId);
     User projectsOwner = this.userService.getProfile(ownerId);
 
-    if(!workspace.getOwner().getId().equals(userPrincipal.getUser().getId())) {
+    if(!workspace.getOwner().getId().equals(userPrincipal.getId())) {
       throw new AccessDeniedException("Acesso negado: Você não tem permissão para acessar este recurso");
     }
 
-    return this.projectRepository.findAllByWorkspaceIdAndOwnerId(workspace.getId(), projectsOwner.getId());
+    return KeysetPage.of(
+      this.projectRepository.findByWorkspaceIdAndOwnerIdOrderByCreatedAtAscIdAsc(
+        workspace.getId(), projectsOwner.getId(), KeysetCursor.toCreatedAtPosition(cursor), Limit.of(limit)
+      ),
+      project -> KeysetCursor.of(project.getCreatedAt(), project.getId())
+    );
   }
 
+  @Transactional(readOnly = true)
   public Project getById(@NotNull String projectId) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
-    Project project = this.projectRepository.findById(projectId)
+    Project project = this.projectRepository.findWithWorkspaceById(projectId)
       .orElseThrow(() -> new RecordNotFoundException("Projeto de ID: '" + projectId + "' não encontrado"));
 
-    String authenticatedUserId = userPrincipal.getUser().getId();
-    String workspaceOwnerId = project.getWorkspace().getOwner().getId();
+    this.checkAccess(project, userPrincipal);
+    return project;
+  }
 
-    Optional<User> existingMember = project.getWorkspace().getMembers()
-      .stream()
-      .filter(member -> member.getId().equals(authenticatedUserId))
-      .findFirst();
+  @Transactional(readOnly = true)
+  public Project getFullById(@NotNull String projectId) {
+    Authentication authentication = this.authorizationService.getAuthentication();
+    UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
-    if(!workspaceOwnerId.equals(authenticatedUserId) && existingMember.isEmpty()) {
-      throw new AccessDeniedException("Acesso negado: Você não tem permissão para acessar este recurso");
-    }
+    Project project = this.projectRepository.findFullById(projectId)
+      .orElseThrow(() -> new RecordNotFoundException("Projeto de ID: '" + projectId + "' não encontrado"));
 
+    this.checkAccess(project, userPrincipal);
     return project;
   }
 
-  public List<Project> getAllFromWorkspace(@NotNull String workspaceId, String sortDirection) {
+  @Transactional(readOnly = true)
+  public String getFullETag(@NotNull String projectId) {
+    Authentication authentication = this.authorizationService.getAuthentication();
+    UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+
+    ResourceVersion version = this.projectRepository.findVersionById(projectId)
+      .orElseThrow(() -> new RecordNotFoundException("Projeto de ID: '" + projectId + "' não encontrado"));
+
+    this.checkAccess(version.workspaceId(), version.workspaceOwnerId(), userPrincipal);
+    return version.toETag();
+  }
+
+  // Validator check and full load share one transaction, so a changed resource still costs one connection
+  @Transactional(readOnly = true)
+  public Optional<Project> getFullByIdIfModified(@NotNull String projectId, Predicate<String> notModified) {
+    if(notModified.test(this.getFullETag(projectId))) return Optional.empty();
+    return Optional.of(this.getFullById(projectId));
+  }
+
+  @Transactional(readOnly = true)
+  public KeysetPage<Project> getAllFromWorkspace(@NotNull String workspaceId, String sortDirection, String cursor, int limit) {
     Workspace workspace = this.workspaceService.getById(workspaceId);
-    Sort sort = this.sortingOrder(sortDirection);
-    return this.projectRepository.findAllByWorkspaceId(workspace.getId(), sort);
+    Sort.Direction direction = Sort.Direction.fromString(sortDirection.toUpperCase());
+    return KeysetPage.of(
+      this.projectRepository.findByWorkspaceId(
+        workspace.getId(),
+        KeysetCursor.toPosition(cursor, "priority", PriorityLevel::valueOf),
+        Sort.by(direction, "priority", "id"),
+        Limit.of(limit)
+      ),
+      project -> KeysetCursor.of(project.getPriority(), project.getId())
+    );
   }
 
-  public List<Project> getAllFromAuthenticatedUser() {
+  @Transactional(readOnly = true)
+  public KeysetPage<Project> getAllFromAuthenticatedUser(String cursor, int limit) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-    return this.projectRepository.findAllByUserId(userPrincipal.getUser().getId());
+    return this.getAllByOwnerId(userPrincipal.getId(), cursor, limit);
+  }
+
+  @Transactional(readOnly = true)
+  public KeysetPage<Project> getAllFromOwner(@NotNull String ownerId, String cursor, int limit) {
+    User projectsOwner = this.userService.getProfile(ownerId);
+    return this.getAllByOwnerId(projectsOwner.getId(), cursor, limit);
   }
 
-  public List<Project> getAllFromOwner(@NotNull String ownerId) {
+  @Transactional(readOnly = true)
+  public void exportAllFromOwner(@NotNull String ownerId, Consumer<Project> consumer) {
     User projectsOwner = this.userService.getProfile(ownerId);
-    return this.projectRepository.findAllByUserId(projectsOwner.getId());
+    try(Stream<Project> projects = this.projectRepository.streamAllByUserId(projectsOwner.getId())) {
+      projects.forEach(project -> {
+        consumer.accept(project);
+        this.entityManager.detach(project);
+      });
+    }
   }
 
+  @Transactional
+  @RetryOnConflict
   public Project delete(@NotNull String projectId) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
@@ -193,7 +300,7 @@ public class ProjectService {
 
     Workspace workspace = this.workspaceService.getById(project.getWorkspace().getId());
 
-    String authenticatedUserId = userPrincipal.getUser().getId();
+    String authenticatedUserId = userPrincipal.getId();
     String projectOwnerId = project.getOwner().getId();
     String workspaceOwnerId = workspace.getOwner().getId();
 
@@ -201,78 +308,155 @@ public class ProjectService {
       throw new AccessDeniedException("Acesso negado: Você não tem permissão para remover este recurso");
     }
 
+    this.tombstoneRepository.save(new Tombstone(workspace.getId(), ResourceType.PROJECT, project.getId()));
     this.projectRepository.deleteById(project.getId());
+    this.workspaceEventHub.publish(workspace.getId(), WorkspaceEventType.PROJECT_DELETED, project.getId());
+    if(this.costLedger.isEnabled()) {
+      this.costLedger.discard(project.getId());
+    }
     return project;
   }
 
-  public List<Project> deleteAllFromWorkspace(@NotNull String workspaceId) {
+  @Transactional
+  public List<String> deleteAllFromWorkspace(@NotNull String workspaceId) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
     Workspace workspace = this.workspaceService.getById(workspaceId);
-    Sort sort = this.sortingOrder("asc");
 
-    if(!userPrincipal.getUser().getId().equals(workspace.getOwner().getId())) {
+    if(!userPrincipal.getId().equals(workspace.getOwner().getId())) {
       throw new AccessDeniedException("Acesso negado: Você não tem permissão para remover este recurso");
     }
 
-    List<Project> projects = this.projectRepository.findAllByWorkspaceId(workspace.getId(), sort);
-    this.projectRepository.deleteAll(projects);
-    return projects;
+    return this.publishDeleted(workspace.getId(), this.deleteAllByIds(this.projectRepository.findIdsByWorkspaceId(workspace.getId())));
   }
 
-  public List<Project> deleteAllFromAuthenticatedUser() {
-    List<Project> projects = this.getAllFromAuthenticatedUser();
-    this.projectRepository.deleteAll(projects);
-    return projects;
+  @Transactional
+  public List<String> deleteAllFromAuthenticatedUser() {
+    Authentication authentication = this.authorizationService.getAuthentication();
+    UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+    return this.deleteAllFromUser(userPrincipal.getId());
   }
 
-  public List<Project> deleteAllFromOwner(@NotNull String ownerId) {
-    List<Project> projects = this.getAllFromOwner(ownerId);
-    this.projectRepository.deleteAll(projects);
-    return projects;
+  @Transactional
+  public List<String> deleteAllFromOwner(@NotNull String ownerId) {
+    User projectsOwner = this.userService.getProfile(ownerId);
+    return this.deleteAllFromUser(projectsOwner.getId());
   }
 
-  public List<Project> deleteAllFromOwnerAndWorkspace(@NotNull String workspaceId, @NotNull String ownerId) {
-    List<Project> projects = this.getAllByWorkspaceAndOwner(workspaceId, ownerId);
-    this.projectRepository.deleteAll(projects);
-    return projects;
+  @Transactional
+  public List<String> deleteAllFromOwnerAndWorkspace(@NotNull String workspaceId, @NotNull String ownerId) {
+    Authentication authentication = this.authorizationService.getAuthentication();
+    UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+    Workspace workspace = this.workspaceService.getById(workspaceId);
+    User projectsOwner = this.userService.getProfile(ownerId);
+
+    if(!workspace.getOwner().getId().equals(userPrincipal.getId())) {
+      throw new AccessDeniedException("Acesso negado: Você não tem permissão para acessar este recurso");
+    }
+
+    return this.publishDeleted(workspace.getId(), this.deleteAllByIds(
+      this.projectRepository.findIdsByWorkspaceIdAndOwnerId(workspace.getId(), projectsOwner.getId())
+    ));
   }
 
-  public void addCost(Project project, BigDecimal newCost) {
-    if(newCost.compareTo(project.getBudget()) > 0) {
+  @Transactional
+  public void addCost(Project project, Money newCost) {
+    if(newCost.isGreaterThan(project.getBudget())) {
       throw new OutOfBudgetException(project.getBudget(), newCost);
     }
-    if(newCost.compareTo(BigDecimal.ZERO) < 0) {
+    if(newCost.isNegative()) {
       throw new InvalidCostException("Custo inválido! Valores negativos não são permitidos. Custo: R$ " + newCost);
     }
-    project.setCost(project.getCost().add(newCost));
-    this.projectRepository.save(project);
+    this.applyCostDelta(project, newCost);
   }
 
-  public void updateCost(Project project, Task task, BigDecimal newCost) {
-    if(newCost.compareTo(project.getBudget()) > 0) {
+  @Transactional
+  public void updateCost(Project project, Task task, Money newCost) {
+    if(newCost.isGreaterThan(project.getBudget())) {
       throw new OutOfBudgetException(project.getBudget(), newCost);
     }
-    if(newCost.compareTo(BigDecimal.ZERO) < 0) {
+    if(newCost.isNegative()) {
       throw new InvalidCostException("Custo inválido! Valores negativos não são permitidos. Custo: R$ " + newCost);
     }
-    BigDecimal oldCost = project.getCost().subtract(task.getCost());
-    BigDecimal updatedCost = oldCost.add(newCost);
-    project.setCost(updatedCost);
-    this.projectRepository.save(project);
+    this.applyCostDelta(project, newCost.minus(task.getCost()));
   }
 
+  @Transactional
   public void subtractCost(Project project, Task task) {
-    project.setCost(project.getCost().subtract(task.getCost()));
-    this.projectRepository.save(project);
+    this.applyCostDelta(project, task.getCost().negate());
   }
 
+  @Transactional
   public void resetCost(Project project) {
-    project.setCost(BigDecimal.ZERO);
-    this.projectRepository.save(project);
+    if(this.costLedger.isEnabled()) {
+      this.costLedger.reset(project);
+    } else {
+      this.projectRepository.resetCost(project.getId());
+    }
+    this.workspaceEventHub.publish(project.getWorkspace().getId(), WorkspaceEventType.PROJECT_UPDATED, project.getId());
+  }
+
+  private void applyCostDelta(Project project, Money delta) {
+    if(this.costLedger.isEnabled()) {
+      this.costLedger.record(project, delta);
+    } else if(this.projectRepository.addCost(project.getId(), delta.toBigDecimal()) != 1) {
+      Money currentCost = this.projectRepository.findCostById(project.getId())
+        .orElseThrow(() -> new RecordNotFoundException("Projeto de ID: '" + project.getId() + "' não encontrado"));
+      throw new OutOfBudgetException(project.getBudget(), currentCost.plus(delta));
+    }
+    this.workspaceEventHub.publish(project.getWorkspace().getId(), WorkspaceEventType.PROJECT_UPDATED, project.getId());
+  }
+
+  private Money currentCost(Project project) {
+    return this.costLedger.isEnabled() ? this.costLedger.currentCost(project) : project.getCost();
+  }
+
+  private void checkAccess(Project project, UserPrincipal userPrincipal) {
+    this.checkAccess(project.getWorkspace().getId(), project.getWorkspace().getOwner().getId(), userPrincipal);
+  }
+
+  private void checkAccess(String workspaceId, String workspaceOwnerId, UserPrincipal userPrincipal) {
+    String authenticatedUserId = userPrincipal.getId();
+
+    if(!workspaceOwnerId.equals(authenticatedUserId) &&
+       !this.workspaceAccessCache.canAccess(authenticatedUserId, workspaceId)
+    ) {
+      throw new AccessDeniedException("Acesso negado: Você não tem permissão para acessar este recurso");
+    }
+  }
+
+  private KeysetPage<Project> getAllByOwnerId(String ownerId, String cursor, int limit) {
+    return KeysetPage.of(
+      this.projectRepository.findByOwnerIdOrderByCreatedAtAscIdAsc(
+        ownerId, KeysetCursor.toCreatedAtPosition(cursor), Limit.of(limit)
+      ),
+      project -> KeysetCursor.of(project.getCreatedAt(), project.getId())
+    );
+  }
+
+  // Spans workspaces, so each one is told to resync rather than sent an event per project
+  private List<String> deleteAllFromUser(String userId) {
+    List<String> workspaceIds = this.projectRepository.findWorkspaceIdsByUserId(userId);
+    List<String> projectIds = this.deleteAllByIds(this.projectRepository.findIdsByUserId(userId));
+    workspaceIds.forEach(workspaceId -> this.workspaceEventHub.publish(workspaceId, WorkspaceEventType.RESYNC, null));
+    return projectIds;
   }
 
-  private Sort sortingOrder(String sortDirection) {
-    return Sort.by(Sort.Direction.fromString(sortDirection.toUpperCase()), "priority");
+  private List<String> publishDeleted(String workspaceId, List<String> projectIds) {
+    projectIds.forEach(projectId -> this.workspaceEventHub.publish(workspaceId, WorkspaceEventType.PROJECT_DELETED, projectId));
+    return projectIds;
+  }
+
+  private List<String> deleteAllByIds(List<String> projectIds) {
+    for(int from = 0; from < projectIds.size(); from += DELETE_CHUNK_SIZE) {
+      List<String> chunk = projectIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, projectIds.size()));
+      this.tombstoneRepository.insertForProjects(chunk);
+      this.taskRepository.deleteAllByProjectIdIn(chunk);
+      this.projectRepository.deleteAllByIdIn(chunk);
+    }
+    if(this.costLedger.isEnabled()) {
+      projectIds.forEach(this.costLedger::discard);
+    }
+    return projectIds;
   }
 }
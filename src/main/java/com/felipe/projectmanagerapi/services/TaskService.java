@@ -2,24 +2,39 @@ package com.felipe.projectmanagerapi.services;
 
 import com.felipe.projectmanagerapi.dtos.TaskCreateDTO;
 import com.felipe.projectmanagerapi.dtos.TaskUpdateDTO;
+import com.felipe.projectmanagerapi.enums.ResourceType;
+import com.felipe.projectmanagerapi.enums.WorkspaceEventType;
 import com.felipe.projectmanagerapi.exceptions.RecordNotFoundException;
+import com.felipe.projectmanagerapi.exceptions.VersionConflictException;
+import com.felipe.projectmanagerapi.infra.events.WorkspaceEventHub;
+import com.felipe.projectmanagerapi.infra.persistence.RetryOnConflict;
 import com.felipe.projectmanagerapi.infra.security.AuthorizationService;
 import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import com.felipe.projectmanagerapi.infra.security.WorkspaceAccessCache;
+import com.felipe.projectmanagerapi.models.Money;
 import com.felipe.projectmanagerapi.models.Project;
 import com.felipe.projectmanagerapi.models.Task;
+import com.felipe.projectmanagerapi.models.Tombstone;
 import com.felipe.projectmanagerapi.models.User;
 import com.felipe.projectmanagerapi.models.Workspace;
 import com.felipe.projectmanagerapi.repositories.TaskRepository;
+import com.felipe.projectmanagerapi.repositories.TombstoneRepository;
+import com.felipe.projectmanagerapi.utils.KeysetCursor;
+import com.felipe.projectmanagerapi.utils.KeysetPage;
+import jakarta.persistence.EntityManager;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
@@ -28,53 +43,66 @@ public class TaskService {
   private final AuthorizationService authorizationService;
   private final ProjectService projectService;
   private final UserService userService;
+  private final WorkspaceAccessCache workspaceAccessCache;
+  private final EntityManager entityManager;
+  private final TombstoneRepository tombstoneRepository;
+  private final WorkspaceEventHub workspaceEventHub;
 
   public TaskService(
     TaskRepository taskRepository,
     AuthorizationService authorizationService,
     ProjectService projectService,
-    UserService userService
+    UserService userService,
+    WorkspaceAccessCache workspaceAccessCache,
+    EntityManager entityManager,
+    TombstoneRepository tombstoneRepository,
+    WorkspaceEventHub workspaceEventHub
   ) {
     this.taskRepository = taskRepository;
     this.authorizationService = authorizationService;
     this.projectService = projectService;
     this.userService = userService;
+    this.workspaceAccessCache = workspaceAccessCache;
+    this.entityManager = entityManager;
+    this.tombstoneRepository = tombstoneRepository;
+    this.workspaceEventHub = workspaceEventHub;
   }
 
+  @Transactional
   public Task create(@NotNull @Valid TaskCreateDTO task) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
     Project project = this.projectService.getById(task.projectId());
-    BigDecimal cost = new BigDecimal(task.cost()).setScale(2, RoundingMode.FLOOR);
+    Money cost = Money.parse(task.cost());
 
     Task newTask = new Task();
     newTask.setName(task.name());
     newTask.setDescription(task.description());
     newTask.setCost(cost);
     newTask.setProject(project);
-    newTask.setOwner(userPrincipal.getUser());
+    newTask.setOwner(this.entityManager.getReference(User.class, userPrincipal.getId()));
 
     this.projectService.addCost(project, newTask.getCost());
-    return this.taskRepository.save(newTask);
+    Task createdTask = this.taskRepository.save(newTask);
+    this.workspaceEventHub.publish(project.getWorkspace().getId(), WorkspaceEventType.TASK_CREATED, createdTask.getId());
+    return createdTask;
   }
 
+  @Transactional(readOnly = true)
   public Task getById(@NotNull String taskId) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
-    return this.taskRepository.findById(taskId)
+    return this.taskRepository.findWithProjectById(taskId)
       .map(task -> {
         Workspace workspace = task.getProject().getWorkspace();
-        String authenticatedUserId = userPrincipal.getUser().getId();
+        String authenticatedUserId = userPrincipal.getId();
         String workspaceOwnerId = workspace.getOwner().getId();
 
-        Optional<User> existingMember = workspace.getMembers()
-          .stream()
-          .filter(member -> member.getId().equals(authenticatedUserId))
-          .findFirst();
-
-        if(!workspaceOwnerId.equals(authenticatedUserId) && existingMember.isEmpty()) {
+        if(!workspaceOwnerId.equals(authenticatedUserId) &&
+           !this.workspaceAccessCache.canAccess(authenticatedUserId, workspace.getId())
+        ) {
           throw new AccessDeniedException("Acesso negado: Você não tem permissão para acessar este recurso");
         }
 
@@ -83,11 +111,13 @@ public class TaskService {
       .orElseThrow(() -> new RecordNotFoundException("Task de ID: '" + taskId + "' não encontrada"));
   }
 
+  @Transactional
+  @RetryOnConflict
   public Task delete(@NotNull String taskId) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
-    Task task = this.taskRepository.findById(taskId)
+    Task task = this.taskRepository.findWithProjectById(taskId)
       .orElseThrow(() -> new RecordNotFoundException("Task de ID: '" + taskId + "' não encontrada"));
 
     Project project = task.getProject();
@@ -97,19 +127,25 @@ public class TaskService {
     }
 
     this.projectService.subtractCost(project, task);
+    this.tombstoneRepository.save(new Tombstone(project.getWorkspace().getId(), ResourceType.TASK, task.getId()));
     this.taskRepository.deleteById(task.getId());
+    this.workspaceEventHub.publish(project.getWorkspace().getId(), WorkspaceEventType.TASK_DELETED, task.getId());
     return task;
   }
 
-  public Task update(@NotNull String taskId, @NotNull @Valid TaskUpdateDTO taskUpdateDTO) {
+  @Transactional
+  public Task update(@NotNull String taskId, @NotNull @Valid TaskUpdateDTO taskUpdateDTO, Long expectedVersion) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
-    return this.taskRepository.findById(taskId)
+    return this.taskRepository.findWithProjectById(taskId)
       .map(task -> {
         if(this.isNotAllowed(task, userPrincipal)) {
           throw new AccessDeniedException("Acesso negado: Você não tem permissão para atualizar este recurso");
         }
+        if(expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+          throw new VersionConflictException(taskId, expectedVersion, task.getVersion());
+        }
 
         if(taskUpdateDTO.name() != null) {
           task.setName(taskUpdateDTO.name());
@@ -118,47 +154,93 @@ public class TaskService {
           task.setDescription(taskUpdateDTO.description());
         }
         if(taskUpdateDTO.cost() != null) {
-          BigDecimal newCost = new BigDecimal(taskUpdateDTO.cost()).setScale(2, RoundingMode.FLOOR);
+          Money newCost = Money.parse(taskUpdateDTO.cost());
           this.projectService.updateCost(task.getProject(), task, newCost);
           task.setCost(newCost);
         }
-        return this.taskRepository.save(task);
+        Task updatedTask = this.taskRepository.save(task);
+        this.workspaceEventHub.publish(task.getProject().getWorkspace().getId(), WorkspaceEventType.TASK_UPDATED, task.getId());
+        return updatedTask;
       })
       .orElseThrow(() -> new RecordNotFoundException("Task de ID: '" + taskId + "' não encontrada"));
   }
 
-  public List<Task> getAllFromProject(@NotNull String projectId) {
+  @Transactional(readOnly = true)
+  public KeysetPage<Task> getAllFromProject(@NotNull String projectId, String cursor, int limit) {
     Project project = this.projectService.getById(projectId);
-    return this.taskRepository.findAllByProjectId(project.getId());
+    return KeysetPage.of(
+      this.taskRepository.findByProjectIdOrderByCreatedAtAscIdAsc(
+        project.getId(), KeysetCursor.toCreatedAtPosition(cursor), Limit.of(limit)
+      ),
+      task -> KeysetCursor.of(task.getCreatedAt(), task.getId())
+    );
+  }
+
+  // Any change to a project's tasks also changes the project's validator
+  @Transactional(readOnly = true)
+  public Optional<KeysetPage<Task>> getAllFromProjectIfModified(
+    @NotNull String projectId,
+    String cursor,
+    int limit,
+    Predicate<String> notModified
+  ) {
+    if(notModified.test(this.projectService.getFullETag(projectId))) return Optional.empty();
+    return Optional.of(this.getAllFromProject(projectId, cursor, limit));
   }
 
-  public List<Task> getAllFromAuthenticatedUser() {
+  @Transactional(readOnly = true)
+  public KeysetPage<Task> getAllFromAuthenticatedUser(String cursor, int limit) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-    return this.taskRepository.findAllByOwnerId(userPrincipal.getUser().getId());
+    return this.getAllByOwnerId(userPrincipal.getId(), cursor, limit);
+  }
+
+  @Transactional(readOnly = true)
+  public KeysetPage<Task> getAllFromOwner(@NotNull String ownerId, String cursor, int limit) {
+    User tasksOwner = this.userService.getProfile(ownerId);
+    return this.getAllByOwnerId(tasksOwner.getId(), cursor, limit);
   }
 
-  public List<Task> getAllFromOwner(@NotNull String ownerId) {
+  @Transactional(readOnly = true)
+  public void exportAllFromOwner(@NotNull String ownerId, Consumer<Task> consumer) {
     User tasksOwner = this.userService.getProfile(ownerId);
-    return this.taskRepository.findAllByOwnerId(tasksOwner.getId());
+    try(Stream<Task> tasks = this.taskRepository.streamAllByOwnerId(tasksOwner.getId())) {
+      tasks.forEach(task -> {
+        consumer.accept(task);
+        this.entityManager.detach(task);
+      });
+    }
   }
 
-  public List<Task> deleteAllFromProject(@NotNull String projectId) {
+  @Transactional
+  public List<String> deleteAllFromProject(@NotNull String projectId) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
     Project project = this.projectService.getById(projectId);
     String projectOwnerId = project.getOwner().getId();
     String workspaceOwnerId = project.getWorkspace().getOwner().getId();
-    String authenticatedUserId = userPrincipal.getUser().getId();
+    String authenticatedUserId = userPrincipal.getId();
 
     if(!workspaceOwnerId.equals(authenticatedUserId) && !projectOwnerId.equals(authenticatedUserId)) {
       throw new AccessDeniedException("Acesso negado: Você não tem permissão para remover estes recursos");
     }
 
-    List<Task> tasks = this.taskRepository.findAllByProjectId(project.getId());
-    this.taskRepository.deleteAll(tasks);
+    List<String> taskIds = this.taskRepository.findIdsByProjectId(project.getId());
+    this.tombstoneRepository.insertForTasksOfProject(project.getId());
+    this.taskRepository.deleteAllByProjectId(project.getId());
     this.projectService.resetCost(project);
-    return tasks;
+    String workspaceId = project.getWorkspace().getId();
+    taskIds.forEach(taskId -> this.workspaceEventHub.publish(workspaceId, WorkspaceEventType.TASK_DELETED, taskId));
+    return taskIds;
+  }
+
+  private KeysetPage<Task> getAllByOwnerId(String ownerId, String cursor, int limit) {
+    return KeysetPage.of(
+      this.taskRepository.findByOwnerIdOrderByCreatedAtAscIdAsc(
+        ownerId, KeysetCursor.toCreatedAtPosition(cursor), Limit.of(limit)
+      ),
+      task -> KeysetCursor.of(task.getCreatedAt(), task.getId())
+    );
   }
 
   private boolean isNotAllowed(Task task, UserPrincipal authenticatedUser) {
@@ -166,15 +248,11 @@ public class TaskService {
     Workspace workspace = project.getWorkspace();
     String workspaceOwnerId = workspace.getOwner().getId();
     String projectOwnerId = project.getOwner().getId();
-    String authenticatedUserId = authenticatedUser.getUser().getId();
+    String authenticatedUserId = authenticatedUser.getId();
     String taskOwnerId = task.getOwner().getId();
 
-    Optional<User> existingMember = workspace.getMembers()
-      .stream()
-      .filter(member -> member.getId().equals(authenticatedUserId))
-      .findFirst();
-
-    if(!workspaceOwnerId.equals(authenticatedUserId) && existingMember.isEmpty() ||
+    if(!workspaceOwnerId.equals(authenticatedUserId) &&
+       !this.workspaceAccessCache.canAccess(authenticatedUserId, workspace.getId()) ||
        !workspaceOwnerId.equals(authenticatedUserId) && !projectOwnerId.equals(authenticatedUserId) &&
        !taskOwnerId.equals(authenticatedUserId)
     ) {
@@ -2,17 +2,28 @@ package com.felipe.projectmanagerapi.services;
 
 import com.felipe.projectmanagerapi.dtos.*;
 import com.felipe.projectmanagerapi.dtos.mappers.UserMapper;
+import com.felipe.projectmanagerapi.enums.ResourceType;
+import com.felipe.projectmanagerapi.enums.WorkspaceEventType;
 import com.felipe.projectmanagerapi.exceptions.ExistingResourcesException;
 import com.felipe.projectmanagerapi.exceptions.RecordNotFoundException;
 import com.felipe.projectmanagerapi.exceptions.UserAlreadyExistsException;
+import com.felipe.projectmanagerapi.infra.events.WorkspaceEventHub;
+import com.felipe.projectmanagerapi.infra.persistence.SecondLevelCacheEvictor;
 import com.felipe.projectmanagerapi.infra.security.AuthorizationService;
 import com.felipe.projectmanagerapi.infra.security.TokenService;
 import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import com.felipe.projectmanagerapi.infra.security.VerifiedTokenCache;
+import com.felipe.projectmanagerapi.infra.security.WorkspaceAccessCache;
+import com.felipe.projectmanagerapi.models.Tombstone;
 import com.felipe.projectmanagerapi.models.User;
-import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.repositories.TombstoneRepository;
 import com.felipe.projectmanagerapi.repositories.UserRepository;
+import com.felipe.projectmanagerapi.repositories.WorkspaceRepository;
+import com.felipe.projectmanagerapi.utils.KeysetCursor;
+import com.felipe.projectmanagerapi.utils.KeysetPage;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -20,9 +31,9 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -35,6 +46,12 @@ public class UserService {
   private final AuthenticationManager authenticationManager;
   private final TokenService tokenService;
   private final AuthorizationService authorizationService;
+  private final VerifiedTokenCache verifiedTokenCache;
+  private final WorkspaceAccessCache workspaceAccessCache;
+  private final TombstoneRepository tombstoneRepository;
+  private final WorkspaceRepository workspaceRepository;
+  private final WorkspaceEventHub workspaceEventHub;
+  private final SecondLevelCacheEvictor secondLevelCacheEvictor;
 
   public UserService(
     UserRepository userRepository,
@@ -42,7 +59,13 @@ public class UserService {
     PasswordEncoder passwordEncoder,
     AuthenticationManager authenticationManager,
     TokenService tokenService,
-    AuthorizationService authorizationService
+    AuthorizationService authorizationService,
+    VerifiedTokenCache verifiedTokenCache,
+    WorkspaceAccessCache workspaceAccessCache,
+    TombstoneRepository tombstoneRepository,
+    WorkspaceRepository workspaceRepository,
+    WorkspaceEventHub workspaceEventHub,
+    SecondLevelCacheEvictor secondLevelCacheEvictor
   ) {
     this.userRepository = userRepository;
     this.userMapper = userMapper;
@@ -50,8 +73,15 @@ public class UserService {
     this.authenticationManager = authenticationManager;
     this.tokenService = tokenService;
     this.authorizationService = authorizationService;
+    this.verifiedTokenCache = verifiedTokenCache;
+    this.workspaceAccessCache = workspaceAccessCache;
+    this.tombstoneRepository = tombstoneRepository;
+    this.workspaceRepository = workspaceRepository;
+    this.workspaceEventHub = workspaceEventHub;
+    this.secondLevelCacheEvictor = secondLevelCacheEvictor;
   }
 
+  // Hashing the password must not hold a pooled connection, so register and login stay outside a transaction.
   public User register(@Valid @NotNull UserRegisterDTO data) {
     Optional<User> existingUser = this.userRepository.findByEmail(data.email());
 
@@ -77,11 +107,8 @@ public class UserService {
       UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
       String token = this.tokenService.generateToken(userPrincipal);
 
-      User user = this.userRepository.findByEmail(login.email())
-        .orElseThrow(() -> new RecordNotFoundException("Usuário '" + login.email() + "' não encontrado"));
-
       Map<String, Object> loginResponse = new HashMap<>();
-      loginResponse.put("user", user);
+      loginResponse.put("user", this.getProfile(userPrincipal.getId()));
       loginResponse.put("token", token);
 
       return loginResponse;
@@ -91,16 +118,22 @@ public class UserService {
     }
   }
 
-  public List<User> getAllUsers() {
-    return this.userRepository.findAll();
+  @Transactional(readOnly = true)
+  public KeysetPage<User> getAllUsers(String cursor, int limit) {
+    return KeysetPage.of(
+      this.userRepository.findAllByOrderByCreatedAtAscIdAsc(KeysetCursor.toCreatedAtPosition(cursor), Limit.of(limit)),
+      user -> KeysetCursor.of(user.getCreatedAt(), user.getId())
+    );
   }
 
+  @Transactional(readOnly = true)
   public User getAuthenticatedUserProfile() {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-    return userPrincipal.getUser();
+    return this.getProfile(userPrincipal.getId());
   }
 
+  @Transactional(readOnly = true)
   public User getProfile(@NotNull String userId) {
     return this.userRepository.findById(userId)
       .orElseThrow(() -> new RecordNotFoundException("Usuário não encontrado"));
@@ -110,7 +143,7 @@ public class UserService {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
-    if(!userId.equals(userPrincipal.getUser().getId())) {
+    if(!userId.equals(userPrincipal.getId())) {
       throw new AccessDeniedException("Acesso negado");
     }
 
@@ -122,20 +155,27 @@ public class UserService {
         if(userData.password() != null) {
           user.setPassword(this.passwordEncoder.encode(userData.password()));
         }
-        return this.userRepository.save(user);
+        User updatedUser = this.userRepository.save(user);
+        this.verifiedTokenCache.evictUser(user.getEmail());
+        return updatedUser;
       })
       .orElseThrow(() -> new RecordNotFoundException("Usuário não encontrado"));
   }
 
+  @Transactional
   public User updateRole(@NotNull String userId, @Valid @NotNull UserRoleUpdateDTO roleDTO) {
     return this.userRepository.findById(userId)
       .map(user -> {
         user.setRole(this.userMapper.convertValueToRole(roleDTO.role()));
-        return this.userRepository.save(user);
+        user.bumpSecurityVersion();
+        User updatedUser = this.userRepository.save(user);
+        this.verifiedTokenCache.evictUser(user.getEmail());
+        return updatedUser;
       })
       .orElseThrow(() -> new RecordNotFoundException("Usuário não encontrado"));
   }
 
+  @Transactional
   public Map<String, User> delete(@NotNull String userId) {
     User user = this.userRepository.findById(userId)
       .orElseThrow(() -> new RecordNotFoundException("Usuário não encontrado"));
@@ -148,13 +188,18 @@ public class UserService {
       throw new ExistingResourcesException(workspaceCount, projectCount, taskCount);
     }
 
-    if(!user.getMemberOfWorkspaces().isEmpty()) {
-      for(Workspace workspace : user.getMemberOfWorkspaces()) {
-        workspace.removeMember(user);
-      }
+    for(String workspaceId : this.workspaceRepository.findIdsByMemberId(user.getId())) {
+      this.workspaceRepository.deleteMember(workspaceId, user.getId());
+      this.secondLevelCacheEvictor.evictWorkspaceMembers(workspaceId);
+      this.workspaceRepository.touchMembersUpdatedAt(workspaceId);
+      this.secondLevelCacheEvictor.evictWorkspace(workspaceId);
+      this.tombstoneRepository.save(new Tombstone(workspaceId, ResourceType.MEMBER, user.getId()));
+      this.workspaceEventHub.publish(workspaceId, WorkspaceEventType.MEMBER_REMOVED, user.getId());
     }
 
     this.userRepository.deleteById(user.getId());
+    this.verifiedTokenCache.evictUser(user.getEmail());
+    this.workspaceAccessCache.evictUser(user.getId());
 
     Map<String, User> deletedUser = new HashMap<>();
     deletedUser.put("deletedUser", user);
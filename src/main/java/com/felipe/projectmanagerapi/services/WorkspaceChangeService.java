@@ -0,0 +1,115 @@
+package com.felipe.projectmanagerapi.services;
+
+import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.models.Task;
+import com.felipe.projectmanagerapi.models.Tombstone;
+import com.felipe.projectmanagerapi.models.User;
+import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.models.WorkspaceChanges;
+import com.felipe.projectmanagerapi.repositories.ProjectRepository;
+import com.felipe.projectmanagerapi.repositories.TaskRepository;
+import com.felipe.projectmanagerapi.repositories.TombstoneRepository;
+import com.felipe.projectmanagerapi.repositories.UserRepository;
+import com.felipe.projectmanagerapi.repositories.WorkspaceRepository;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Reads what changed in a workspace after a point in time from the indexed updated_at columns and the
+ * tombstone table, so a client syncs in time proportional to the changes instead of the workspace size.
+ * Each feed returns at most {@code limit} rows in timestamp order; when one fills up, nextSince is the
+ * timestamp of its last row and that timestamp is read to the end, so paging never splits a transaction's
+ * rows. Otherwise nextSince lags the read by the overlap window, covering the TIMESTAMP(2) precision and
+ * writes still uncommitted when the feed was read. Entries may repeat across calls and are meant to be
+ * applied idempotently. Every timestamp compared against the cursor, and the cursor itself, comes from the
+ * database clock. A join leaves the user row untouched, so it is reported through membersUpdatedAt: a
+ * client re-reads the member list when that is after its cursor.
+ */
+@Service
+public class WorkspaceChangeService {
+
+  private final WorkspaceService workspaceService;
+  private final WorkspaceRepository workspaceRepository;
+  private final UserRepository userRepository;
+  private final ProjectRepository projectRepository;
+  private final TaskRepository taskRepository;
+  private final TombstoneRepository tombstoneRepository;
+  private final Duration overlap;
+
+  public WorkspaceChangeService(
+    WorkspaceService workspaceService,
+    WorkspaceRepository workspaceRepository,
+    UserRepository userRepository,
+    ProjectRepository projectRepository,
+    TaskRepository taskRepository,
+    TombstoneRepository tombstoneRepository,
+    @Value("${api.changes.overlap:5s}") Duration overlap
+  ) {
+    this.workspaceService = workspaceService;
+    this.workspaceRepository = workspaceRepository;
+    this.userRepository = userRepository;
+    this.projectRepository = projectRepository;
+    this.taskRepository = taskRepository;
+    this.tombstoneRepository = tombstoneRepository;
+    this.overlap = overlap;
+  }
+
+  @Transactional(readOnly = true)
+  public WorkspaceChanges getChangesSince(@NotNull String workspaceId, @NotNull LocalDateTime since, int limit) {
+    LocalDateTime readAt = this.tombstoneRepository.currentTimestamp();
+    Workspace workspace = this.workspaceService.getById(workspaceId);
+    String id = workspace.getId();
+
+    Feed<Project> projects = this.read((from, until, rows) ->
+      this.projectRepository.findChangedByWorkspaceId(id, from, until, rows), Project::getUpdatedAt, since, readAt, limit);
+    Feed<Task> tasks = this.read((from, until, rows) ->
+      this.taskRepository.findChangedByWorkspaceId(id, from, until, rows), Task::getUpdatedAt, since, readAt, limit);
+    Feed<User> members = this.read((from, until, rows) ->
+      this.userRepository.findChangedMembersByWorkspaceId(id, from, until, rows), User::getUpdatedAt, since, readAt, limit);
+    Feed<Tombstone> tombstones = this.read((from, until, rows) ->
+      this.tombstoneRepository.findChangedByWorkspaceId(id, from, until, rows), Tombstone::getDeletedAt, since, readAt, limit);
+    LocalDateTime membersUpdatedAt = this.workspaceRepository.findMembersUpdatedAtById(id).orElse(null);
+
+    LocalDateTime nextSince = readAt.minus(this.overlap);
+    LocalDateTime lastFullPage = Stream.of(projects.lastRead(), tasks.lastRead(), members.lastRead(), tombstones.lastRead())
+      .filter(Objects::nonNull)
+      .min(Comparator.naturalOrder())
+      .orElse(null);
+    // A full page resumes after its last row; the overlap still applies while it leaves the cursor moving forward
+    if(lastFullPage != null && (lastFullPage.isBefore(nextSince) || !nextSince.isAfter(since))) {
+      nextSince = lastFullPage;
+    }
+
+    return new WorkspaceChanges(projects.rows(), tasks.rows(), members.rows(), tombstones.rows(), membersUpdatedAt, nextSince);
+  }
+
+  private <T> Feed<T> read(
+    FeedQuery<T> query, Function<T, LocalDateTime> timestamp, LocalDateTime since, LocalDateTime readAt, int limit
+  ) {
+    List<T> rows = query.find(since, readAt, Limit.of(limit));
+    if(rows.size() < limit) return new Feed<>(rows, null);
+
+    // Rows sharing the last timestamp may run past the page, and the next call starts after it: read them all
+    LocalDateTime lastRead = timestamp.apply(rows.get(rows.size() - 1));
+    return new Feed<>(query.find(since, lastRead, Limit.unlimited()), lastRead);
+  }
+
+  @FunctionalInterface
+  private interface FeedQuery<T> {
+    List<T> find(LocalDateTime since, LocalDateTime until, Limit limit);
+  }
+
+  private record Feed<T>(List<T> rows, LocalDateTime lastRead) {
+  }
+}
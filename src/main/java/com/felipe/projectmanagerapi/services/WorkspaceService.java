@@ -1,65 +1,111 @@
 package com.felipe.projectmanagerapi.services;
 
 import com.felipe.projectmanagerapi.dtos.WorkspaceCreateOrUpdateDTO;
+import com.felipe.projectmanagerapi.enums.WorkspaceEventType;
 import com.felipe.projectmanagerapi.exceptions.RecordNotFoundException;
+import com.felipe.projectmanagerapi.exceptions.VersionConflictException;
 import com.felipe.projectmanagerapi.exceptions.WorkspaceIsNotEmptyException;
+import com.felipe.projectmanagerapi.infra.events.WorkspaceEventHub;
 import com.felipe.projectmanagerapi.infra.security.AuthorizationService;
 import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import com.felipe.projectmanagerapi.infra.security.WorkspaceAccessCache;
+import com.felipe.projectmanagerapi.models.ResourceVersion;
 import com.felipe.projectmanagerapi.models.User;
 import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.repositories.TombstoneRepository;
 import com.felipe.projectmanagerapi.repositories.WorkspaceRepository;
+import com.felipe.projectmanagerapi.utils.KeysetCursor;
+import com.felipe.projectmanagerapi.utils.KeysetPage;
+import jakarta.persistence.EntityManager;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 @Service
 public class WorkspaceService {
 
   private final WorkspaceRepository workspaceRepository;
   private final AuthorizationService authorizationService;
-
-  public WorkspaceService(WorkspaceRepository workspaceRepository, AuthorizationService authorizationService) {
+  private final WorkspaceAccessCache workspaceAccessCache;
+  private final TombstoneRepository tombstoneRepository;
+  private final WorkspaceEventHub workspaceEventHub;
+  private final EntityManager entityManager;
+
+  public WorkspaceService(
+    WorkspaceRepository workspaceRepository,
+    AuthorizationService authorizationService,
+    WorkspaceAccessCache workspaceAccessCache,
+    TombstoneRepository tombstoneRepository,
+    WorkspaceEventHub workspaceEventHub,
+    EntityManager entityManager
+  ) {
     this.workspaceRepository = workspaceRepository;
     this.authorizationService = authorizationService;
+    this.workspaceAccessCache = workspaceAccessCache;
+    this.tombstoneRepository = tombstoneRepository;
+    this.workspaceEventHub = workspaceEventHub;
+    this.entityManager = entityManager;
   }
 
+  @Transactional
   public Workspace create(@Valid @NotNull WorkspaceCreateOrUpdateDTO workspaceDTO) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
     Workspace workspace = new Workspace();
     workspace.setName(workspaceDTO.name());
-    workspace.setOwner(userPrincipal.getUser());
+    workspace.setOwner(this.entityManager.getReference(User.class, userPrincipal.getId()));
 
-    return this.workspaceRepository.save(workspace);
+    Workspace createdWorkspace = this.workspaceRepository.save(workspace);
+    this.workspaceAccessCache.evictUser(userPrincipal.getId());
+    return createdWorkspace;
   }
 
-  public Workspace update(@NotNull String workspaceId, @Valid @NotNull WorkspaceCreateOrUpdateDTO workspaceDTO) {
+  @Transactional
+  public Workspace update(
+    @NotNull String workspaceId,
+    @Valid @NotNull WorkspaceCreateOrUpdateDTO workspaceDTO,
+    Long expectedVersion
+  ) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
     return this.workspaceRepository.findById(workspaceId)
       .map(workspace -> {
-        if(!userPrincipal.getUser().getId().equals(workspace.getOwner().getId())) {
+        if(!userPrincipal.getId().equals(workspace.getOwner().getId())) {
           throw new AccessDeniedException("Acesso negado: Você não tem permissão para modificar este recurso");
         }
+        if(expectedVersion != null && !expectedVersion.equals(workspace.getVersion())) {
+          throw new VersionConflictException(workspaceId, expectedVersion, workspace.getVersion());
+        }
         workspace.setName(workspaceDTO.name());
         return this.workspaceRepository.save(workspace);
       })
       .orElseThrow(() -> new RecordNotFoundException("Workspace com ID: '" + workspaceId + "' não encontrado"));
   }
 
-  public List<Workspace> getAllUserWorkspaces() {
+  @Transactional(readOnly = true)
+  public KeysetPage<Workspace> getAllUserWorkspaces(String cursor, int limit) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-    return this.workspaceRepository.findAllByOwnerId(userPrincipal.getUser().getId());
+    return KeysetPage.of(
+      this.workspaceRepository.findByOwnerIdOrderByCreatedAtAscIdAsc(
+        userPrincipal.getId(), KeysetCursor.toCreatedAtPosition(cursor), Limit.of(limit)
+      ),
+      workspace -> KeysetCursor.of(workspace.getCreatedAt(), workspace.getId())
+    );
   }
 
+  @Transactional(readOnly = true)
   public Workspace getById(@NotNull String workspaceId) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
@@ -67,21 +113,61 @@ public class WorkspaceService {
     Workspace workspace = this.workspaceRepository.findById(workspaceId)
       .orElseThrow(() -> new RecordNotFoundException("Workspace de ID: '" + workspaceId + "' não encontrado"));
 
-    String workspaceOwnerId = workspace.getOwner().getId();
-    String authenticatedUserId = userPrincipal.getUser().getId();
+    this.checkAccess(workspace, userPrincipal);
+    return workspace;
+  }
 
-    Optional<User> existingMember = workspace.getMembers()
-      .stream()
-      .filter(member -> member.getId().equals(authenticatedUserId))
-      .findFirst();
+  @Transactional(readOnly = true)
+  public SseEmitter subscribeToEvents(@NotNull String workspaceId) {
+    Authentication authentication = this.authorizationService.getAuthentication();
+    UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
-    if(!workspaceOwnerId.equals(authenticatedUserId) && existingMember.isEmpty()) {
-      throw new AccessDeniedException("Acesso negado: Você não tem permissão para acessar este recurso");
-    }
+    Workspace workspace = this.workspaceRepository.findById(workspaceId)
+      .orElseThrow(() -> new RecordNotFoundException("Workspace de ID: '" + workspaceId + "' não encontrado"));
+
+    this.checkAccess(workspace, userPrincipal);
+    return this.workspaceEventHub.subscribe(workspace.getId(), userPrincipal.getId());
+  }
+
+  @Transactional(readOnly = true)
+  public Workspace getWithMembersById(@NotNull String workspaceId) {
+    Authentication authentication = this.authorizationService.getAuthentication();
+    UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+
+    Workspace workspace = this.workspaceRepository.findWithMembersById(workspaceId)
+      .orElseThrow(() -> new RecordNotFoundException("Workspace de ID: '" + workspaceId + "' não encontrado"));
+
+    this.checkAccess(workspace, userPrincipal);
+    return workspace;
+  }
 
+  @Transactional(readOnly = true)
+  public Workspace getFullById(@NotNull String workspaceId) {
+    Workspace workspace = this.getWithMembersById(workspaceId);
+    // Loads the projects into the same persistence context, initializing workspace.getProjects()
+    this.workspaceRepository.findWithProjectsById(workspaceId);
     return workspace;
   }
 
+  @Transactional(readOnly = true)
+  public String getFullETag(@NotNull String workspaceId) {
+    Authentication authentication = this.authorizationService.getAuthentication();
+    UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+
+    ResourceVersion version = this.workspaceRepository.findVersionById(workspaceId)
+      .orElseThrow(() -> new RecordNotFoundException("Workspace de ID: '" + workspaceId + "' não encontrado"));
+
+    this.checkAccess(version.workspaceId(), version.workspaceOwnerId(), userPrincipal);
+    return version.toETag();
+  }
+
+  @Transactional(readOnly = true)
+  public Optional<Workspace> getFullByIdIfModified(@NotNull String workspaceId, Predicate<String> notModified) {
+    if(notModified.test(this.getFullETag(workspaceId))) return Optional.empty();
+    return Optional.of(this.getFullById(workspaceId));
+  }
+
+  @Transactional
   public Workspace delete(@NotNull String workspaceId) {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
@@ -89,14 +175,33 @@ public class WorkspaceService {
     Workspace workspace = this.workspaceRepository.findById(workspaceId)
       .orElseThrow(() -> new RecordNotFoundException("Workspace de ID: '" + workspaceId + "' não encontrado"));
 
-    if(!workspace.getOwner().getId().equals(userPrincipal.getUser().getId())) {
+    if(!workspace.getOwner().getId().equals(userPrincipal.getId())) {
       throw new AccessDeniedException("Acesso negado: Você não tem permissão para manipular este recurso");
     }
     if(!workspace.getProjects().isEmpty()) {
       throw new WorkspaceIsNotEmptyException(workspace);
     }
 
+    List<String> memberIds = this.workspaceRepository.findMemberIdsById(workspace.getId());
+    this.tombstoneRepository.deleteAllByWorkspaceId(workspace.getId());
     this.workspaceRepository.deleteById(workspace.getId());
+    this.workspaceAccessCache.evictUser(workspace.getOwner().getId());
+    this.workspaceAccessCache.evictUsers(memberIds);
+    this.workspaceEventHub.publish(workspace.getId(), WorkspaceEventType.WORKSPACE_DELETED, workspace.getId());
     return workspace;
   }
+
+  private void checkAccess(Workspace workspace, UserPrincipal userPrincipal) {
+    this.checkAccess(workspace.getId(), workspace.getOwner().getId(), userPrincipal);
+  }
+
+  private void checkAccess(String workspaceId, String workspaceOwnerId, UserPrincipal userPrincipal) {
+    String authenticatedUserId = userPrincipal.getId();
+
+    if(!workspaceOwnerId.equals(authenticatedUserId) &&
+       !this.workspaceAccessCache.canAccess(authenticatedUserId, workspaceId)
+    ) {
+      throw new AccessDeniedException("Acesso negado: Você não tem permissão para acessar este recurso");
+    }
+  }
 }
@@ -11,6 +11,7 @@ public class CustomResponseBody<T> {
   private int code;
   private String message;
   private T data;
+  private String nextCursor;
 
   public CustomResponseBody() {}
 
@@ -52,4 +53,12 @@ public class CustomResponseBody<T> {
   public void setData(T data) {
     this.data = data;
   }
+
+  public String getNextCursor() {
+    return this.nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
 }
@@ -0,0 +1,54 @@
+package com.felipe.projectmanagerapi.utils;
+
+import com.felipe.projectmanagerapi.exceptions.PreconditionFailedException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+public class ETag {
+  public static String of(Long version) {
+    return version == null ? null : "\"" + version + "\"";
+  }
+
+  // W/"<version>.<digest>": only for If-None-Match, If-Match needs the strong tag written by of()
+  public static String weak(Long version, Object... validators) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+        .digest(Arrays.toString(validators).getBytes(StandardCharsets.UTF_8));
+      return "W/\"" + version + "." + HexFormat.of().formatHex(digest, 0, 8) + "\"";
+    } catch(NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public static void write(HttpServletResponse response, Long version) {
+    if(version != null) response.setHeader(HttpHeaders.ETAG, of(version));
+  }
+
+  // If-Match takes "<version>": the version field of any response, or the ETag of the last write
+  public static Long parseVersion(String ifMatch) {
+    if(ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+
+    String tag = ifMatch.trim();
+    // If-Match uses the strong comparison, which a weak tag never passes (RFC 9110 §13.1.1)
+    if(tag.startsWith("W/")) {
+      throw new PreconditionFailedException(
+        "ETag fraco não é aceito no cabeçalho If-Match: " + ifMatch + ". Use a versão do recurso entre aspas, como em \"3\""
+      );
+    }
+    if(tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+      tag = tag.substring(1, tag.length() - 1);
+    }
+
+    try {
+      return Long.parseLong(tag);
+    } catch(NumberFormatException e) {
+      throw new IllegalArgumentException("ETag inválido no cabeçalho If-Match: " + ifMatch);
+    }
+  }
+}
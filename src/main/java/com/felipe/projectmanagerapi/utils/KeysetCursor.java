@@ -0,0 +1,59 @@
+package com.felipe.projectmanagerapi.utils;
+
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque position of a keyset page: the sort key and id of the last row returned. The next page
+ * continues strictly after that pair, so it is read straight from the index no matter how deep it is.
+ */
+public record KeysetCursor(String key, String id) {
+
+  private static final String SEPARATOR = "\n";
+
+  public static KeysetCursor of(Object key, String id) {
+    return new KeysetCursor(String.valueOf(key), id);
+  }
+
+  public static ScrollPosition toCreatedAtPosition(String cursor) {
+    return toPosition(cursor, "createdAt", LocalDateTime::parse);
+  }
+
+  public static ScrollPosition toPosition(String cursor, String keyProperty, Function<String, ?> keyParser) {
+    if(cursor == null || cursor.isBlank()) return ScrollPosition.keyset();
+
+    KeysetCursor keysetCursor = decode(cursor);
+    Map<String, Object> keys = new LinkedHashMap<>();
+    try {
+      keys.put(keyProperty, keyParser.apply(keysetCursor.key()));
+    } catch(RuntimeException e) {
+      throw new IllegalArgumentException("Cursor inválido: '" + cursor + "'");
+    }
+    keys.put("id", keysetCursor.id());
+    return ScrollPosition.forward(keys);
+  }
+
+  public static KeysetCursor decode(String cursor) {
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = decoded.split(SEPARATOR, -1);
+      if(parts.length != 2 || parts[0].isEmpty() || parts[1].isEmpty()) {
+        throw new IllegalArgumentException();
+      }
+      return new KeysetCursor(parts[0], parts[1]);
+    } catch(IllegalArgumentException e) {
+      throw new IllegalArgumentException("Cursor inválido: '" + cursor + "'");
+    }
+  }
+
+  public String encode() {
+    byte[] bytes = (this.key + SEPARATOR + this.id).getBytes(StandardCharsets.UTF_8);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+}
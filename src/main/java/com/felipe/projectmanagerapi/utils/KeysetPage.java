@@ -0,0 +1,22 @@
+package com.felipe.projectmanagerapi.utils;
+
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record KeysetPage<T>(List<T> content, String nextCursor) {
+
+  public static <T> KeysetPage<T> of(Window<T> window, Function<T, KeysetCursor> cursorOf) {
+    List<T> content = window.getContent();
+    String nextCursor = window.hasNext() && !content.isEmpty()
+      ? cursorOf.apply(content.get(content.size() - 1)).encode()
+      : null;
+    return new KeysetPage<>(content, nextCursor);
+  }
+
+  public <R> KeysetPage<R> map(Function<? super T, ? extends R> mapper) {
+    List<R> mapped = this.content.stream().<R>map(mapper).toList();
+    return new KeysetPage<>(mapped, this.nextCursor);
+  }
+}
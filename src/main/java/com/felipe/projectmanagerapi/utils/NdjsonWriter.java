@@ -0,0 +1,32 @@
+package com.felipe.projectmanagerapi.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+public class NdjsonWriter implements AutoCloseable {
+
+  private final JsonGenerator generator;
+
+  public NdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+    this.generator = objectMapper.createGenerator(outputStream);
+    this.generator.setRootValueSeparator(null);
+  }
+
+  public void write(Object value) {
+    try {
+      this.generator.writeObject(value);
+      this.generator.writeRaw('\n');
+    } catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.generator.close();
+  }
+}
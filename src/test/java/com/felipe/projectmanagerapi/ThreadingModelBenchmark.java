@@ -0,0 +1,217 @@
+package com.felipe.projectmanagerapi;
+
+import com.felipe.projectmanagerapi.enums.PriorityLevel;
+import com.felipe.projectmanagerapi.enums.Role;
+import com.felipe.projectmanagerapi.infra.security.TokenService;
+import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import com.felipe.projectmanagerapi.models.Money;
+import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.models.Task;
+import com.felipe.projectmanagerapi.models.User;
+import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.repositories.ProjectRepository;
+import com.felipe.projectmanagerapi.repositories.TaskRepository;
+import com.felipe.projectmanagerapi.repositories.UserRepository;
+import com.felipe.projectmanagerapi.repositories.WorkspaceRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test of {@code GET /api/projects/{id}} and {@code GET /api/tasks/{id}} with the
+ * Tomcat platform-thread pool versus virtual threads. Every SQL statement sleeps for a fixed round
+ * trip while holding its connection, standing in for a networked database on top of the in-memory
+ * one. Virtual threads need Java 21, so build with {@code mvn -P virtual-threads test-compile} and run
+ * {@code java -cp target/test-classes:target/classes:<test classpath> com.felipe.projectmanagerapi.ThreadingModelBenchmark <platform|virtual> [clients] [pool size] [round trip ms] [seconds]}
+ * once per mode.
+ */
+public class ThreadingModelBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    boolean virtual = args.length > 0 && args[0].equals("virtual");
+    int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+    int poolSize = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+    long roundTripMillis = args.length > 3 ? Long.parseLong(args[3]) : 2;
+    int seconds = args.length > 4 ? Integer.parseInt(args[4]) : 20;
+
+    System.setProperty(RoundTripLatency.PROPERTY, String.valueOf(roundTripMillis));
+    System.setProperty("spring.devtools.restart.enabled", "false");
+    ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjectManagerApiApplication.class)
+      .profiles("test")
+      .run(
+        "--server.port=0",
+        "--spring.threads.virtual.enabled=" + virtual,
+        "--spring.jpa.show-sql=false",
+        "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+        "--spring.jpa.properties.hibernate.session_factory.statement_inspector=" + RoundTripLatency.class.getName(),
+        "--api.rate-limit.enabled=false",
+        "--logging.level.root=WARN"
+      );
+
+    try {
+      int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+      List<HttpRequest> requests = seed(context, "http://localhost:" + port);
+
+      run(requests, clients, 5);
+      Result result = run(requests, clients, seconds);
+      System.out.printf(
+        "%s threads, %d clients, pool %d, %d ms round trip: %.0f req/s, p50 %.1f ms, p99 %.1f ms, %d errors, %d peak JVM threads%n",
+        virtual ? "virtual" : "platform", clients, poolSize, roundTripMillis,
+        result.completed / (double) seconds, result.percentile(0.50), result.percentile(0.99), result.errors,
+        ManagementFactory.getThreadMXBean().getPeakThreadCount()
+      );
+    } finally {
+      context.close();
+    }
+  }
+
+  private static List<HttpRequest> seed(ConfigurableApplicationContext context, String baseUrl) {
+    UserRepository userRepository = context.getBean(UserRepository.class);
+    WorkspaceRepository workspaceRepository = context.getBean(WorkspaceRepository.class);
+    ProjectRepository projectRepository = context.getBean(ProjectRepository.class);
+    TaskRepository taskRepository = context.getBean(TaskRepository.class);
+
+    User user = new User();
+    user.setName("Benchmark");
+    user.setEmail("benchmark@email.com");
+    user.setPassword("123456");
+    user.setRole(Role.ADMIN);
+    user = userRepository.save(user);
+
+    Workspace workspace = new Workspace();
+    workspace.setName("Benchmark");
+    workspace.setOwner(user);
+    workspace = workspaceRepository.save(workspace);
+
+    Project project = new Project();
+    project.setName("Benchmark");
+    project.setCategory("Category");
+    project.setDescription("Description");
+    project.setBudget(Money.parse("100000.00"));
+    project.setPriority(PriorityLevel.LOW);
+    project.setDeadline(LocalDate.now().plusDays(10));
+    project.setOwner(user);
+    project.setWorkspace(workspace);
+    project = projectRepository.save(project);
+
+    Task task = null;
+    for(int i = 0; i < 10; i++) {
+      task = new Task();
+      task.setName("Task " + i);
+      task.setDescription("Description");
+      task.setCost(Money.parse("10.00"));
+      task.setProject(project);
+      task.setOwner(user);
+      task = taskRepository.save(task);
+    }
+
+    String token = context.getBean(TokenService.class).generateToken(new UserPrincipal(user));
+    return List.of(
+      HttpRequest.newBuilder(URI.create(baseUrl + "/api/projects/" + project.getId()))
+        .header("Authorization", "Bearer " + token)
+        .build(),
+      HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/" + task.getId()))
+        .header("Authorization", "Bearer " + token)
+        .build()
+    );
+  }
+
+  private static Result run(List<HttpRequest> requests, int clients, int seconds) throws InterruptedException {
+    HttpClient httpClient = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(10))
+      .build();
+    ExecutorService executor = Executors.newFixedThreadPool(clients);
+    CountDownLatch done = new CountDownLatch(clients);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+    List<long[]> latencies = new ArrayList<>();
+    AtomicLong errors = new AtomicLong();
+
+    for(int client = 0; client < clients; client++) {
+      long[] clientLatencies = new long[1 << 12];
+      latencies.add(clientLatencies);
+      int first = client;
+      executor.execute(() -> {
+        int count = 0;
+        try {
+          while(System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            HttpResponse<Void> response = httpClient.send(
+              requests.get((first + count) % requests.size()),
+              HttpResponse.BodyHandlers.discarding()
+            );
+            if(response.statusCode() != 200) errors.incrementAndGet();
+            if(count < clientLatencies.length) clientLatencies[count] = System.nanoTime() - start;
+            count++;
+          }
+        } catch(Exception exception) {
+          errors.incrementAndGet();
+        } finally {
+          clientLatencies[clientLatencies.length - 1] = count;
+          done.countDown();
+        }
+      });
+    }
+
+    done.await();
+    executor.shutdown();
+    return new Result(latencies, errors.get());
+  }
+
+  private static class Result {
+    private final long[] latencies;
+    private final long completed;
+    private final long errors;
+
+    private Result(List<long[]> clientLatencies, long errors) {
+      long completed = 0;
+      List<Long> all = new ArrayList<>();
+      for(long[] latencies : clientLatencies) {
+        long count = latencies[latencies.length - 1];
+        completed += count;
+        for(int i = 0; i < Math.min(count, latencies.length - 1); i++) all.add(latencies[i]);
+      }
+      this.latencies = all.stream().mapToLong(Long::longValue).toArray();
+      Arrays.sort(this.latencies);
+      this.completed = completed;
+      this.errors = errors;
+    }
+
+    private double percentile(double percentile) {
+      if(this.latencies.length == 0) return 0;
+      return this.latencies[(int) Math.min(this.latencies.length - 1, this.latencies.length * percentile)] / 1e6;
+    }
+  }
+
+  public static class RoundTripLatency implements StatementInspector {
+    static final String PROPERTY = "benchmark.round-trip-ms";
+    private final long millis = Long.getLong(PROPERTY, 0);
+
+    @Override
+    public String inspect(String sql) {
+      try {
+        Thread.sleep(this.millis);
+      } catch(InterruptedException exception) {
+        Thread.currentThread().interrupt();
+      }
+      return sql;
+    }
+  }
+}
@@ -0,0 +1,224 @@
+package com.felipe.projectmanagerapi.controllers;
+
+import com.felipe.projectmanagerapi.enums.Role;
+import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.models.Task;
+import com.felipe.projectmanagerapi.models.User;
+import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.repositories.TaskRepository;
+import com.felipe.projectmanagerapi.repositories.UserRepository;
+import com.felipe.projectmanagerapi.repositories.WorkspaceRepository;
+import com.felipe.projectmanagerapi.utils.WorkspaceFixture;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+  "api.rate-limit.enabled=false",
+  "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles(value = "test")
+@Import(WorkspaceFixture.class)
+public class ConditionalGetTest {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  UserRepository userRepository;
+
+  @Autowired
+  WorkspaceRepository workspaceRepository;
+
+  @Autowired
+  TaskRepository taskRepository;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  WorkspaceFixture fixture;
+
+  private TransactionTemplate transactionTemplate;
+  private Statistics statistics;
+  private List<User> users;
+  private final List<Task> tasks = new ArrayList<>();
+  private Workspace workspace;
+  private Project project;
+
+  @BeforeEach
+  void setUp() {
+    this.transactionTemplate = this.fixture.getTransactionTemplate();
+    this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    this.transactionTemplate.executeWithoutResult(status -> {
+      this.users = this.fixture.createUsers("Conditional", 3, Role.WRITE_READ);
+      this.workspace = this.fixture.createWorkspace("Conditional GET", this.users.get(0), List.of(this.users.get(1)));
+      this.project = this.fixture.createProject("Project", this.users.get(0));
+      for(int i = 0; i < 2; i++) {
+        this.tasks.add(this.fixture.createTask("Task " + i, this.project, this.users.get(0)));
+      }
+    });
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.fixture.tearDown();
+  }
+
+  @Test
+  @DisplayName("getById - Should answer an unchanged project with not modified from a single query")
+  void projectNotModified() throws Exception {
+    String eTag = this.eTagOf(this.getProject(null).andExpect(status().isOk()));
+    this.statistics.clear();
+
+    this.getProject(eTag)
+      .andExpect(status().isNotModified())
+      .andExpect(content().string(""));
+
+    assertThat(eTag).startsWith("W/\"" + this.project.getVersion() + ".");
+    assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(this.statistics.getEntityLoadCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("getById - Should return the project again once one of its tasks changes")
+  void projectModifiedByTaskUpdate() throws Exception {
+    String eTag = this.eTagOf(this.getProject(null));
+
+    this.transactionTemplate.executeWithoutResult(status ->
+      this.taskRepository.findById(this.tasks.get(0).getId()).orElseThrow().setName("Renamed")
+    );
+
+    String newETag = this.eTagOf(this.getProject(eTag).andExpect(status().isOk()));
+    assertThat(newETag).isNotEqualTo(eTag);
+    this.getProject(newETag).andExpect(status().isNotModified());
+  }
+
+  @Test
+  @DisplayName("getAllFromProject - Should return the task list again once a task is deleted")
+  void taskListModifiedByDelete() throws Exception {
+    String eTag = this.eTagOf(this.getTasks(null).andExpect(status().isOk()));
+    this.getTasks(eTag).andExpect(status().isNotModified());
+
+    this.transactionTemplate.executeWithoutResult(status -> this.taskRepository.deleteById(this.tasks.get(1).getId()));
+
+    this.getTasks(eTag).andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("getById - Should return the workspace again once a member joins or is renamed")
+  void workspaceModifiedByMembers() throws Exception {
+    String eTag = this.eTagOf(this.getWorkspace(null).andExpect(status().isOk()));
+    this.getWorkspace(eTag).andExpect(status().isNotModified());
+
+    this.transactionTemplate.executeWithoutResult(status -> {
+      Workspace workspace = this.workspaceRepository.findById(this.workspace.getId()).orElseThrow();
+      workspace.addMember(this.userRepository.findById(this.users.get(2).getId()).orElseThrow());
+    });
+    String afterJoin = this.eTagOf(this.getWorkspace(eTag).andExpect(status().isOk()));
+
+    this.transactionTemplate.executeWithoutResult(status ->
+      this.userRepository.findById(this.users.get(1).getId()).orElseThrow().setName("Renamed")
+    );
+    this.getWorkspace(afterJoin).andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("getById - Should deny access instead of answering not modified to users outside the workspace")
+  void notModifiedRequiresAccess() throws Exception {
+    String eTag = this.eTagOf(this.getProject(null));
+
+    this.mockMvc.perform(get("/api/projects/" + this.project.getId())
+        .with(authentication(WorkspaceFixture.authenticationOf(this.users.get(2))))
+        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+        .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isForbidden());
+  }
+
+  @Test
+  @DisplayName("update - Should refuse a weak tag as If-Match while If-None-Match still accepts it")
+  void weakTagRejectedAsIfMatch() throws Exception {
+    String weakETag = this.eTagOf(this.getProject(null).andExpect(status().isOk()));
+    this.getProject(weakETag).andExpect(status().isNotModified());
+
+    this.updateProject(weakETag, "Renamed").andExpect(status().isPreconditionFailed());
+
+    String strongETag = this.eTagOf(this.updateProject(null, "Renamed").andExpect(status().isOk()));
+    assertThat(strongETag).doesNotStartWith("W/");
+    this.updateProject(strongETag, "Renamed again").andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("update - Should accept the version a GET returned as If-Match and refuse it once it is stale")
+  void versionFromGetAcceptedAsIfMatch() throws Exception {
+    String body = this.getProject(null).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+    Number version = JsonPath.read(body, "$.data.project.version");
+
+    this.updateProject("\"" + version + "\"", "Renamed").andExpect(status().isOk());
+    this.updateProject("\"" + version + "\"", "Renamed again").andExpect(status().isConflict());
+  }
+
+  private ResultActions updateProject(String ifMatch, String name) throws Exception {
+    HttpHeaders headers = new HttpHeaders();
+    if(ifMatch != null) headers.setIfMatch(ifMatch);
+    return this.mockMvc.perform(patch("/api/projects/" + this.project.getId())
+      .with(authentication(WorkspaceFixture.authenticationOf(this.users.get(0))))
+      .headers(headers)
+      .contentType(MediaType.APPLICATION_JSON)
+      .content("{\"name\":\"" + name + "\"}"));
+  }
+
+  private ResultActions getProject(String ifNoneMatch) throws Exception {
+    return this.conditionalGet("/api/projects/" + this.project.getId(), ifNoneMatch);
+  }
+
+  private ResultActions getTasks(String ifNoneMatch) throws Exception {
+    return this.conditionalGet("/api/tasks/projects/" + this.project.getId(), ifNoneMatch);
+  }
+
+  private ResultActions getWorkspace(String ifNoneMatch) throws Exception {
+    return this.conditionalGet("/api/workspaces/" + this.workspace.getId(), ifNoneMatch);
+  }
+
+  private ResultActions conditionalGet(String url, String ifNoneMatch) throws Exception {
+    HttpHeaders headers = new HttpHeaders();
+    if(ifNoneMatch != null) headers.setIfNoneMatch(ifNoneMatch);
+    return this.mockMvc.perform(get(url)
+      .with(authentication(WorkspaceFixture.authenticationOf(this.users.get(0))))
+      .headers(headers)
+      .accept(MediaType.APPLICATION_JSON));
+  }
+
+  private String eTagOf(ResultActions result) {
+    String eTag = result.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertThat(eTag).isNotNull();
+    return eTag;
+  }
+}
@@ -0,0 +1,205 @@
+package com.felipe.projectmanagerapi.controllers;
+
+import com.felipe.projectmanagerapi.enums.Role;
+import com.felipe.projectmanagerapi.infra.security.WorkspaceAccessCache;
+import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.models.Task;
+import com.felipe.projectmanagerapi.models.User;
+import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.utils.WorkspaceFixture;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "api.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles(value = "test")
+@Import(WorkspaceFixture.class)
+public class ConnectionHoldTimeTest {
+
+  private static final int PROJECTS = 30;
+  private static final int MEMBERS = 10;
+  private static final int THREADS = 8;
+  private static final int REQUESTS = 200;
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Autowired
+  ActiveConnectionsOnWrite activeConnectionsOnWrite;
+
+  @Autowired
+  WorkspaceFixture fixture;
+
+  @Autowired
+  WorkspaceAccessCache workspaceAccessCache;
+
+  private Workspace workspace;
+  private Task task;
+  private UsernamePasswordAuthenticationToken ownerAuthentication;
+
+  @BeforeEach
+  void setUp() {
+    this.fixture.getTransactionTemplate().executeWithoutResult(status -> {
+      User owner = this.fixture.createUsers("Hold", 1, Role.ADMIN).get(0);
+      List<User> members = this.fixture.createUsers("Hold", MEMBERS, Role.WRITE_READ);
+      this.workspace = this.fixture.createWorkspace("Connection hold time", owner, members);
+      List<Project> projects = new ArrayList<>();
+      for(int i = 0; i < PROJECTS; i++) {
+        projects.add(this.fixture.createProject("Project " + i, members.get(i % MEMBERS)));
+      }
+      this.task = this.fixture.createTask("Task", projects.get(0), owner);
+    });
+
+    this.ownerAuthentication = WorkspaceFixture.authenticationOf(this.fixture.getUsers().get(0));
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.fixture.tearDown();
+  }
+
+  @Test
+  @DisplayName("getFullById - Should release the connection before the response body is written")
+  void connectionReleasedBeforeSerialization() throws Exception {
+    this.activeConnectionsOnWrite.reset();
+
+    this.getFullWorkspace();
+
+    assertThat(this.activeConnectionsOnWrite.get()).isZero();
+  }
+
+  @Test
+  @DisplayName("getFullById - Should borrow a single connection per request under concurrent load")
+  void singleConnectionPerRequestUnderLoad() throws Exception {
+    Timer usage = this.meterRegistry.get("hikaricp.connections.usage").timer();
+    long borrowsBefore = usage.count();
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Callable<Void>> requests = new ArrayList<>();
+      for(int i = 0; i < REQUESTS; i++) {
+        requests.add(() -> {
+          this.getFullWorkspace();
+          return null;
+        });
+      }
+      for(Future<Void> request : executor.invokeAll(requests)) {
+        request.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(usage.count() - borrowsBefore).isEqualTo(REQUESTS);
+    assertThat(this.meterRegistry.get("db.pool.occupancy").gauge().value()).isZero();
+  }
+
+  @Test
+  @DisplayName("getById - Should load a member's workspace access on the request's own connection")
+  void accessCacheMissBorrowsNoSecondConnection() throws Exception {
+    User member = this.fixture.getUsers().get(1);
+    this.workspaceAccessCache.evictUser(member.getId());
+    Timer usage = this.meterRegistry.get("hikaricp.connections.usage").timer();
+    long borrowsBefore = usage.count();
+
+    this.mockMvc.perform(get("/api/tasks/" + this.task.getId())
+        .with(authentication(WorkspaceFixture.authenticationOf(member)))
+        .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isOk());
+
+    assertThat(usage.count() - borrowsBefore).isEqualTo(1);
+  }
+
+  private void getFullWorkspace() throws Exception {
+    this.mockMvc.perform(get("/api/workspaces/" + this.workspace.getId())
+        .with(authentication(this.ownerAuthentication))
+        .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data.projects.length()").value(PROJECTS))
+      .andExpect(jsonPath("$.data.members.length()").value(MEMBERS));
+  }
+
+  @TestConfiguration
+  static class Configuration {
+    @Bean
+    ActiveConnectionsOnWrite activeConnectionsOnWrite(DataSource dataSource) throws SQLException {
+      return new ActiveConnectionsOnWrite(dataSource.unwrap(HikariDataSource.class));
+    }
+  }
+
+  @ControllerAdvice
+  static class ActiveConnectionsOnWrite implements ResponseBodyAdvice<Object> {
+    private final HikariDataSource dataSource;
+    private final AtomicInteger maxActiveConnections = new AtomicInteger();
+
+    ActiveConnectionsOnWrite(HikariDataSource dataSource) {
+      this.dataSource = dataSource;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+      return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+      Object body,
+      MethodParameter returnType,
+      MediaType selectedContentType,
+      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request,
+      ServerHttpResponse response
+    ) {
+      this.maxActiveConnections.accumulateAndGet(this.dataSource.getHikariPoolMXBean().getActiveConnections(), Math::max);
+      return body;
+    }
+
+    int get() {
+      return this.maxActiveConnections.get();
+    }
+
+    void reset() {
+      this.maxActiveConnections.set(0);
+    }
+  }
+}
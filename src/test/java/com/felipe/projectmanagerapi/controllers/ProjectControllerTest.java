@@ -11,6 +11,7 @@ import com.felipe.projectmanagerapi.models.Project;
 import com.felipe.projectmanagerapi.services.ProjectService;
 import com.felipe.projectmanagerapi.utils.ConvertDateFormat;
 import com.felipe.projectmanagerapi.utils.CustomResponseBody;
+import com.felipe.projectmanagerapi.utils.KeysetPage;
 import com.felipe.projectmanagerapi.utils.GenerateMocks;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +23,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
@@ -31,6 +33,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -39,6 +44,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
@@ -46,6 +52,8 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.doAnswer;
 
 @SpringBootTest
 @AutoConfigureMockMvc(addFilters = false)
@@ -103,6 +111,7 @@ public class ProjectControllerTest {
       ConvertDateFormat.convertDateToFormattedString(project.getDeadline()),
       project.getCreatedAt(),
       project.getUpdatedAt(),
+      project.getVersion(),
       project.getOwner().getId(),
       project.getWorkspace().getId()
     );
@@ -196,12 +205,13 @@ public class ProjectControllerTest {
       ConvertDateFormat.convertDateToFormattedString(project.getDeadline()),
       project.getCreatedAt(),
       project.getUpdatedAt(),
+      project.getVersion(),
       project.getOwner().getId(),
       project.getWorkspace().getId()
     );
     String jsonBody = this.objectMapper.writeValueAsString(projectDTO);
 
-    when(this.projectService.update("02", projectDTO)).thenReturn(project);
+    when(this.projectService.update("02", projectDTO, null)).thenReturn(project);
     when(this.projectMapper.toProjectResponseDTO(project)).thenReturn(projectResponseDTO);
 
     this.mockMvc.perform(patch(BASE_URL + "/02")
@@ -224,7 +234,7 @@ public class ProjectControllerTest {
       .andExpect(jsonPath("$.data.ownerId").value(projectResponseDTO.ownerId()))
       .andExpect(jsonPath("$.data.workspaceId").value(projectResponseDTO.workspaceId()));
 
-    verify(this.projectService, times(1)).update("02", projectDTO);
+    verify(this.projectService, times(1)).update("02", projectDTO, null);
     verify(this.projectMapper, times(1)).toProjectResponseDTO(project);
   }
 
@@ -242,7 +252,7 @@ public class ProjectControllerTest {
     );
     String jsonBody = this.objectMapper.writeValueAsString(projectDTO);
 
-    when(this.projectService.update("02", projectDTO))
+    when(this.projectService.update("02", projectDTO, null))
       .thenThrow(new RecordNotFoundException("Projeto de ID: '02' não encontrado"));
 
     this.mockMvc.perform(patch(BASE_URL + "/02")
@@ -254,7 +264,7 @@ public class ProjectControllerTest {
       .andExpect(jsonPath("$.message").value("Projeto de ID: '02' não encontrado"))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.projectService, times(1)).update("02", projectDTO);
+    verify(this.projectService, times(1)).update("02", projectDTO, null);
     verify(this.projectMapper, never()).toProjectResponseDTO(any(Project.class));
   }
 
@@ -272,7 +282,7 @@ public class ProjectControllerTest {
     );
     String jsonBody = this.objectMapper.writeValueAsString(projectDTO);
 
-    when(this.projectService.update("02", projectDTO))
+    when(this.projectService.update("02", projectDTO, null))
       .thenThrow(new AccessDeniedException("Acesso negado: Você não tem permissão para alterar este recurso"));
 
     this.mockMvc.perform(patch(BASE_URL + "/02")
@@ -284,7 +294,7 @@ public class ProjectControllerTest {
       .andExpect(jsonPath("$.message").value("Acesso negado: Você não tem permissão para alterar este recurso"))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.projectService, times(1)).update("02", projectDTO);
+    verify(this.projectService, times(1)).update("02", projectDTO, null);
     verify(this.projectMapper, never()).toProjectResponseDTO(any(Project.class));
   }
 
@@ -302,7 +312,7 @@ public class ProjectControllerTest {
     );
     String jsonBody = this.objectMapper.writeValueAsString(projectDTO);
 
-    when(this.projectService.update("02", projectDTO))
+    when(this.projectService.update("02", projectDTO, null))
       .thenThrow(new InvalidDateException(
         "Data inválida. O prazo de entrega do projeto não deve ser antes da data atual" +
         "\nData atual: 24-02-2024" +
@@ -322,7 +332,7 @@ public class ProjectControllerTest {
       ))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.projectService, times(1)).update("02", projectDTO);
+    verify(this.projectService, times(1)).update("02", projectDTO, null);
     verify(this.projectMapper, never()).toProjectResponseDTO(any(Project.class));
   }
 
@@ -340,7 +350,7 @@ public class ProjectControllerTest {
     );
     String jsonBody = this.objectMapper.writeValueAsString(projectDTO);
 
-    when(this.projectService.update("02", projectDTO))
+    when(this.projectService.update("02", projectDTO, null))
       .thenThrow(new InvalidBudgetException(
         "O novo orçamento é menor do que o custo atual do projeto. " +
         "Novo orçamento: R$ 10000.00" + " Custo atual: R$ " + project.getCost()
@@ -358,7 +368,7 @@ public class ProjectControllerTest {
       ))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.projectService, times(1)).update("02", projectDTO);
+    verify(this.projectService, times(1)).update("02", projectDTO, null);
     verify(this.projectMapper, never()).toProjectResponseDTO(any(Project.class));
   }
 
@@ -379,6 +389,7 @@ public class ProjectControllerTest {
         ConvertDateFormat.convertDateToFormattedString(project.getDeadline()),
         project.getCreatedAt(),
         project.getUpdatedAt(),
+        project.getVersion(),
         project.getOwner().getId(),
         project.getWorkspace().getId()
       ))
@@ -392,21 +403,21 @@ public class ProjectControllerTest {
 
     String jsonResponseBody = this.objectMapper.writeValueAsString(response);
 
-    when(this.projectService.getAllByWorkspaceAndOwner("01", "02")).thenReturn(projects);
+    when(this.projectService.getAllByWorkspaceAndOwner("01", "02", null, 20)).thenReturn(new KeysetPage<>(projects, null));
 
     this.mockMvc.perform(get(BASE_URL + "/workspaces/01/owner/02")
       .accept(MediaType.APPLICATION_JSON))
       .andExpect(status().isOk())
       .andExpect(content().json(jsonResponseBody));
 
-    verify(this.projectService, times(1)).getAllByWorkspaceAndOwner("01", "02");
+    verify(this.projectService, times(1)).getAllByWorkspaceAndOwner("01", "02", null, 20);
     verify(this.projectMapper, times(2)).toProjectResponseDTO(any(Project.class));
   }
 
   @Test
   @DisplayName("getAllByWorkspaceAndOwner - Should return an error response with forbidden status code")
   void getAllByWorkspaceAndOwnerFailsByDifferentWorkspaceOwner() throws Exception {
-    when(this.projectService.getAllByWorkspaceAndOwner("01", "02"))
+    when(this.projectService.getAllByWorkspaceAndOwner("01", "02", null, 20))
       .thenThrow(new AccessDeniedException("Acesso negado: Você não tem permissão para acessar este recurso"));
 
     this.mockMvc.perform(get(BASE_URL + "/workspaces/01/owner/02")
@@ -417,7 +428,7 @@ public class ProjectControllerTest {
       .andExpect(jsonPath("$.message").value("Acesso negado: Você não tem permissão para acessar este recurso"))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.projectService, times(1)).getAllByWorkspaceAndOwner("01", "02");
+    verify(this.projectService, times(1)).getAllByWorkspaceAndOwner("01", "02", null, 20);
     verify(this.projectMapper, never()).toProjectResponseDTO(any(Project.class));
   }
 
@@ -438,6 +449,7 @@ public class ProjectControllerTest {
       ConvertDateFormat.convertDateToFormattedString(project.getDeadline()),
       project.getCreatedAt(),
       project.getUpdatedAt(),
+      project.getVersion(),
       project.getOwner().getId(),
       project.getWorkspace().getId()
     );
@@ -450,6 +462,7 @@ public class ProjectControllerTest {
         task.getCost().toString(),
         task.getCreatedAt(),
         task.getUpdatedAt(),
+        task.getVersion(),
         task.getProject().getId(),
         task.getOwner().getId()
       ))
@@ -465,21 +478,39 @@ public class ProjectControllerTest {
 
     String jsonResponseBody = this.objectMapper.writeValueAsString(response);
 
-    when(this.projectService.getById("01")).thenReturn(project);
+    when(this.projectService.getFullByIdIfModified(eq("01"), any())).thenReturn(Optional.of(project));
 
     this.mockMvc.perform(get(BASE_URL + "/01")
       .accept(MediaType.APPLICATION_JSON))
       .andExpect(status().isOk())
       .andExpect(content().json(jsonResponseBody));
 
-    verify(this.projectService, times(1)).getById("01");
+    verify(this.projectService, times(1)).getFullByIdIfModified(eq("01"), any());
     verify(this.projectMapper, times(1)).toProjectFullResponseDTO(project);
   }
 
+  @Test
+  @DisplayName("getById - Should return not modified without loading the project if the ETag matches")
+  void getByIdNotModified() throws Exception {
+    when(this.projectService.getFullByIdIfModified(eq("01"), any())).thenAnswer(invocation -> {
+      Predicate<String> notModified = invocation.getArgument(1);
+      return notModified.test("W/\"3.0123456789abcdef\"") ? Optional.empty() : Optional.of(new Project());
+    });
+
+    this.mockMvc.perform(get(BASE_URL + "/01")
+      .header(HttpHeaders.IF_NONE_MATCH, "W/\"3.0123456789abcdef\"")
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isNotModified())
+      .andExpect(header().string(HttpHeaders.ETAG, "W/\"3.0123456789abcdef\""))
+      .andExpect(content().string(""));
+
+    verify(this.projectMapper, never()).toProjectFullResponseDTO(any(Project.class));
+  }
+
   @Test
   @DisplayName("getById - Should return an error response with not found status code")
   void getByIdFailsByProjectNotFound() throws Exception {
-    when(this.projectService.getById("01"))
+    when(this.projectService.getFullByIdIfModified(eq("01"), any()))
       .thenThrow(new RecordNotFoundException("Projeto de ID: '01' não encontrado"));
 
     this.mockMvc.perform(get(BASE_URL + "/01")
@@ -490,7 +521,7 @@ public class ProjectControllerTest {
       .andExpect(jsonPath("$.message").value("Projeto de ID: '01' não encontrado"))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.projectService, times(1)).getById("01");
+    verify(this.projectService, times(1)).getFullByIdIfModified(eq("01"), any());
     verify(this.projectMapper, never()).toProjectResponseDTO(any(Project.class));
   }
 
@@ -510,6 +541,7 @@ public class ProjectControllerTest {
         ConvertDateFormat.convertDateToFormattedString(project.getDeadline()),
         project.getCreatedAt(),
         project.getUpdatedAt(),
+        project.getVersion(),
         project.getOwner().getId(),
         project.getWorkspace().getId()
       ))
@@ -523,14 +555,14 @@ public class ProjectControllerTest {
 
     String jsonResponseBody = this.objectMapper.writeValueAsString(response);
 
-    when(this.projectService.getAllFromWorkspace(eq("01"), anyString())).thenReturn(projects);
+    when(this.projectService.getAllFromWorkspace(eq("01"), anyString(), isNull(), eq(20))).thenReturn(new KeysetPage<>(projects, null));
 
     this.mockMvc.perform(get(BASE_URL + "/workspaces/01")
       .accept(MediaType.APPLICATION_JSON))
       .andExpect(status().isOk())
       .andExpect(content().json(jsonResponseBody));
 
-    verify(this.projectService, times(1)).getAllFromWorkspace(eq("01"), anyString());
+    verify(this.projectService, times(1)).getAllFromWorkspace(eq("01"), anyString(), isNull(), eq(20));
     verify(this.projectMapper, times(3)).toProjectResponseDTO(any(Project.class));
   }
 
@@ -550,6 +582,7 @@ public class ProjectControllerTest {
         ConvertDateFormat.convertDateToFormattedString(project.getDeadline()),
         project.getCreatedAt(),
         project.getUpdatedAt(),
+        project.getVersion(),
         project.getOwner().getId(),
         project.getWorkspace().getId()
       ))
@@ -563,17 +596,57 @@ public class ProjectControllerTest {
 
       String jsonResponseBody = this.objectMapper.writeValueAsString(response);
 
-      when(this.projectService.getAllFromOwner("02")).thenReturn(projects);
+      when(this.projectService.getAllFromOwner("02", null, 20)).thenReturn(new KeysetPage<>(projects, null));
 
       this.mockMvc.perform(get(BASE_URL + "/owner/02")
         .accept(MediaType.APPLICATION_JSON))
         .andExpect(status().isOk())
         .andExpect(content().json(jsonResponseBody));
 
-      verify(this.projectService, times(1)).getAllFromOwner("02");
+      verify(this.projectService, times(1)).getAllFromOwner("02", null, 20);
       verify(this.projectMapper, times(2)).toProjectResponseDTO(any(Project.class));
   }
 
+  @Test
+  @DisplayName("exportAllFromOwner - Should stream the user projects as NDJSON, one project per line")
+  void exportAllFromOwnerSuccess() throws Exception {
+    List<Project> projects = List.of(this.dataMock.getProjects().get(1), this.dataMock.getProjects().get(2));
+    StringBuilder expectedBody = new StringBuilder();
+    for(Project project : projects) {
+      ProjectResponseDTO projectDTO = new ProjectResponseDTO(
+        project.getId(),
+        project.getName(),
+        project.getPriority().getValue(),
+        project.getCategory(),
+        project.getDescription(),
+        project.getBudget().toString(),
+        project.getCost().toString(),
+        ConvertDateFormat.convertDateToFormattedString(project.getDeadline()),
+        project.getCreatedAt(),
+        project.getUpdatedAt(),
+        project.getVersion(),
+        project.getOwner().getId(),
+        project.getWorkspace().getId()
+      );
+      expectedBody.append(this.objectMapper.writeValueAsString(projectDTO)).append('\n');
+    }
+
+    doAnswer(invocation -> {
+      Consumer<Project> consumer = invocation.getArgument(1);
+      projects.forEach(consumer);
+      return null;
+    }).when(this.projectService).exportAllFromOwner(eq("02"), any());
+
+    this.mockMvc.perform(get(BASE_URL + "/owner/02")
+      .accept(MediaType.APPLICATION_NDJSON))
+      .andExpect(status().isOk())
+      .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+      .andExpect(content().string(expectedBody.toString()));
+
+    verify(this.projectService, times(1)).exportAllFromOwner(eq("02"), any());
+    verify(this.projectMapper, times(2)).toProjectResponseDTO(any(Project.class));
+  }
+
   @Test
   @DisplayName("getAllFromAuthenticatedUser - Should return a success response with OK status code and all user projects")
   void getAllFromAuthenticatedUserSuccess() throws Exception {
@@ -590,6 +663,7 @@ public class ProjectControllerTest {
         ConvertDateFormat.convertDateToFormattedString(project.getDeadline()),
         project.getCreatedAt(),
         project.getUpdatedAt(),
+        project.getVersion(),
         project.getOwner().getId(),
         project.getWorkspace().getId()
       ))
@@ -603,13 +677,13 @@ public class ProjectControllerTest {
 
     String jsonResponseBody = this.objectMapper.writeValueAsString(response);
 
-    when(this.projectService.getAllFromAuthenticatedUser()).thenReturn(projects);
+    when(this.projectService.getAllFromAuthenticatedUser(null, 20)).thenReturn(new KeysetPage<>(projects, null));
 
     this.mockMvc.perform(get(BASE_URL).accept(MediaType.APPLICATION_JSON))
       .andExpect(status().isOk())
       .andExpect(content().json(jsonResponseBody));
 
-    verify(this.projectService, times(1)).getAllFromAuthenticatedUser();
+    verify(this.projectService, times(1)).getAllFromAuthenticatedUser(null, 20);
     verify(this.projectMapper, times(2)).toProjectResponseDTO(any(Project.class));
   }
 
@@ -628,6 +702,7 @@ public class ProjectControllerTest {
       ConvertDateFormat.convertDateToFormattedString(project.getDeadline()),
       project.getCreatedAt(),
       project.getUpdatedAt(),
+      project.getVersion(),
       project.getOwner().getId(),
       project.getWorkspace().getId()
     );
@@ -698,30 +773,15 @@ public class ProjectControllerTest {
   }
 
   @Test
-  @DisplayName("deleteAllFromWorkspace - Should return a success response with OK status code and the deleted projects")
+  @DisplayName("deleteAllFromWorkspace - Should return a success response with OK status code and the deleted project ids")
   void deleteAllFromWorkspaceSuccess() throws Exception {
     List<Project> projects = this.dataMock.getProjects();
-    List<ProjectResponseDTO> projectsDTO = projects.stream()
-      .map(project -> new ProjectResponseDTO(
-        project.getId(),
-        project.getName(),
-        project.getPriority().getValue(),
-        project.getCategory(),
-        project.getDescription(),
-        project.getBudget().toString(),
-        project.getCost().toString(),
-        ConvertDateFormat.convertDateToFormattedString(project.getDeadline()),
-        project.getCreatedAt(),
-        project.getUpdatedAt(),
-        project.getOwner().getId(),
-        project.getWorkspace().getId()
-      ))
-      .toList();
+    List<String> projectIds = projects.stream().map(Project::getId).toList();
 
-    Map<String, List<ProjectResponseDTO>> deletedProjects = new HashMap<>(1);
-    deletedProjects.put("deletedProjects", projectsDTO);
+    Map<String, DeletedRecordsResponseDTO> deletedProjects = new HashMap<>(1);
+    deletedProjects.put("deletedProjects", new DeletedRecordsResponseDTO(projectIds.size(), projectIds));
 
-    CustomResponseBody<Map<String, List<ProjectResponseDTO>>> response = new CustomResponseBody<>();
+    CustomResponseBody<Map<String, DeletedRecordsResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todos os projetos do workspace de ID: '01' excluídos com sucesso");
@@ -729,7 +789,7 @@ public class ProjectControllerTest {
 
     String jsonResponseBody = this.objectMapper.writeValueAsString(response);
 
-    when(this.projectService.deleteAllFromWorkspace("01")).thenReturn(projects);
+    when(this.projectService.deleteAllFromWorkspace("01")).thenReturn(projectIds);
 
     this.mockMvc.perform(delete(BASE_URL + "/workspaces/01")
       .accept(MediaType.APPLICATION_JSON))
@@ -737,34 +797,19 @@ public class ProjectControllerTest {
       .andExpect(content().json(jsonResponseBody));
 
     verify(this.projectService, times(1)).deleteAllFromWorkspace("01");
-    verify(this.projectMapper, times(3)).toProjectResponseDTO(any(Project.class));
+    verify(this.projectMapper, never()).toProjectResponseDTO(any(Project.class));
   }
 
   @Test
-  @DisplayName("deleteAllFromOwner - Should return a success response with OK status code and a list of deleted projects")
+  @DisplayName("deleteAllFromOwner - Should return a success response with OK status code and the deleted project ids")
   void deleteAllFromOwnerSuccess() throws Exception {
     List<Project> projects = List.of(this.dataMock.getProjects().get(1), this.dataMock.getProjects().get(2));
-    List<ProjectResponseDTO> projectsDTO = projects.stream()
-      .map(project -> new ProjectResponseDTO(
-        project.getId(),
-        project.getName(),
-        project.getPriority().getValue(),
-        project.getCategory(),
-        project.getDescription(),
-        project.getBudget().toString(),
-        project.getCost().toString(),
-        ConvertDateFormat.convertDateToFormattedString(project.getDeadline()),
-        project.getCreatedAt(),
-        project.getUpdatedAt(),
-        project.getOwner().getId(),
-        project.getWorkspace().getId()
-      ))
-      .toList();
+    List<String> projectIds = projects.stream().map(Project::getId).toList();
 
-    Map<String, List<ProjectResponseDTO>> deletedProjects = new HashMap<>(1);
-    deletedProjects.put("deletedProjects", projectsDTO);
+    Map<String, DeletedRecordsResponseDTO> deletedProjects = new HashMap<>(1);
+    deletedProjects.put("deletedProjects", new DeletedRecordsResponseDTO(projectIds.size(), projectIds));
 
-    CustomResponseBody<Map<String, List<ProjectResponseDTO>>> response = new CustomResponseBody<>();
+    CustomResponseBody<Map<String, DeletedRecordsResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todos os projetos do usuário de ID: '02' foram excluídos com sucesso");
@@ -772,7 +817,7 @@ public class ProjectControllerTest {
 
     String jsonResponseBody = this.objectMapper.writeValueAsString(response);
 
-    when(this.projectService.deleteAllFromOwner("02")).thenReturn(projects);
+    when(this.projectService.deleteAllFromOwner("02")).thenReturn(projectIds);
 
     this.mockMvc.perform(delete(BASE_URL + "/owner/02")
       .accept(MediaType.APPLICATION_JSON))
@@ -780,7 +825,7 @@ public class ProjectControllerTest {
       .andExpect(content().json(jsonResponseBody));
 
     verify(this.projectService, times(1)).deleteAllFromOwner("02");
-    verify(this.projectMapper, times(2)).toProjectResponseDTO(any(Project.class));
+    verify(this.projectMapper, never()).toProjectResponseDTO(any(Project.class));
   }
 
   @Test
@@ -802,30 +847,15 @@ public class ProjectControllerTest {
   }
 
   @Test
-  @DisplayName("deleteAllFromAuthenticatedUser - Should return a success response with OK status code and the deleted projects")
+  @DisplayName("deleteAllFromAuthenticatedUser - Should return a success response with OK status code and the deleted project ids")
   void deleteAllFromAuthenticatedUserSuccess() throws Exception {
     List<Project> projects = List.of(this.dataMock.getProjects().get(1), this.dataMock.getProjects().get(2));
-    List<ProjectResponseDTO> projectsDTO = projects.stream()
-      .map(project -> new ProjectResponseDTO(
-        project.getId(),
-        project.getName(),
-        project.getPriority().getValue(),
-        project.getCategory(),
-        project.getDescription(),
-        project.getBudget().toString(),
-        project.getCost().toString(),
-        ConvertDateFormat.convertDateToFormattedString(project.getDeadline()),
-        project.getCreatedAt(),
-        project.getUpdatedAt(),
-        project.getOwner().getId(),
-        project.getWorkspace().getId()
-      ))
-      .toList();
+    List<String> projectIds = projects.stream().map(Project::getId).toList();
 
-    Map<String, List<ProjectResponseDTO>> deletedProjects = new HashMap<>(1);
-    deletedProjects.put("deletedProjects", projectsDTO);
+    Map<String, DeletedRecordsResponseDTO> deletedProjects = new HashMap<>(1);
+    deletedProjects.put("deletedProjects", new DeletedRecordsResponseDTO(projectIds.size(), projectIds));
 
-    CustomResponseBody<Map<String, List<ProjectResponseDTO>>> response = new CustomResponseBody<>();
+    CustomResponseBody<Map<String, DeletedRecordsResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todos os seus projetos foram excluídos com sucesso");
@@ -833,41 +863,26 @@ public class ProjectControllerTest {
 
     String jsonResponseBody = this.objectMapper.writeValueAsString(response);
 
-    when(this.projectService.deleteAllFromAuthenticatedUser()).thenReturn(projects);
+    when(this.projectService.deleteAllFromAuthenticatedUser()).thenReturn(projectIds);
 
     this.mockMvc.perform(delete(BASE_URL).accept(MediaType.APPLICATION_JSON))
       .andExpect(status().isOk())
       .andExpect(content().json(jsonResponseBody));
 
     verify(this.projectService, times(1)).deleteAllFromAuthenticatedUser();
-    verify(this.projectMapper, times(2)).toProjectResponseDTO(any(Project.class));
+    verify(this.projectMapper, never()).toProjectResponseDTO(any(Project.class));
   }
 
   @Test
-  @DisplayName("deleteAllFromWorkspaceAndOwner - Should return a success response with OK status code and all deleted projects")
+  @DisplayName("deleteAllFromWorkspaceAndOwner - Should return a success response with OK status code and all deleted project ids")
   void deleteAllFromWorkspaceAndOwnerSuccess() throws Exception {
     List<Project> projects = List.of(this.dataMock.getProjects().get(1), this.dataMock.getProjects().get(2));
-    List<ProjectResponseDTO> projectsDTO = projects.stream()
-      .map(project -> new ProjectResponseDTO(
-        project.getId(),
-        project.getName(),
-        project.getPriority().getValue(),
-        project.getCategory(),
-        project.getDescription(),
-        project.getBudget().toString(),
-        project.getCost().toString(),
-        ConvertDateFormat.convertDateToFormattedString(project.getDeadline()),
-        project.getCreatedAt(),
-        project.getUpdatedAt(),
-        project.getOwner().getId(),
-        project.getWorkspace().getId()
-      ))
-      .toList();
+    List<String> projectIds = projects.stream().map(Project::getId).toList();
 
-    Map<String, List<ProjectResponseDTO>> deletedProjects = new HashMap<>(1);
-    deletedProjects.put("deletedProjects", projectsDTO);
+    Map<String, DeletedRecordsResponseDTO> deletedProjects = new HashMap<>(1);
+    deletedProjects.put("deletedProjects", new DeletedRecordsResponseDTO(projectIds.size(), projectIds));
 
-    CustomResponseBody<Map<String, List<ProjectResponseDTO>>> response = new CustomResponseBody<>();
+    CustomResponseBody<Map<String, DeletedRecordsResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todos os projetos do usuário de ID '02' do workspace de ID '01' foram excluídos com sucesso");
@@ -875,7 +890,7 @@ public class ProjectControllerTest {
 
     String jsonResponseBody = this.objectMapper.writeValueAsString(response);
 
-    when(this.projectService.deleteAllFromOwnerAndWorkspace("01", "02")).thenReturn(projects);
+    when(this.projectService.deleteAllFromOwnerAndWorkspace("01", "02")).thenReturn(projectIds);
 
     this.mockMvc.perform(delete(BASE_URL + "/workspaces/01/owner/02")
       .accept(MediaType.APPLICATION_JSON))
@@ -883,6 +898,6 @@ public class ProjectControllerTest {
       .andExpect(content().json(jsonResponseBody));
 
     verify(this.projectService, times(1)).deleteAllFromOwnerAndWorkspace("01", "02");
-    verify(this.projectMapper, times(2)).toProjectResponseDTO(any(Project.class));
+    verify(this.projectMapper, never()).toProjectResponseDTO(any(Project.class));
   }
 }
@@ -1,15 +1,18 @@
 package com.felipe.projectmanagerapi.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipe.projectmanagerapi.dtos.DeletedRecordsResponseDTO;
 import com.felipe.projectmanagerapi.dtos.TaskCreateDTO;
 import com.felipe.projectmanagerapi.dtos.TaskResponseDTO;
 import com.felipe.projectmanagerapi.dtos.TaskUpdateDTO;
 import com.felipe.projectmanagerapi.dtos.mappers.TaskMapper;
 import com.felipe.projectmanagerapi.enums.ResponseConditionStatus;
 import com.felipe.projectmanagerapi.exceptions.RecordNotFoundException;
+import com.felipe.projectmanagerapi.exceptions.VersionConflictException;
 import com.felipe.projectmanagerapi.models.Task;
 import com.felipe.projectmanagerapi.services.TaskService;
 import com.felipe.projectmanagerapi.utils.CustomResponseBody;
+import com.felipe.projectmanagerapi.utils.KeysetPage;
 import com.felipe.projectmanagerapi.utils.GenerateMocks;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +24,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
@@ -30,6 +35,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -37,12 +44,19 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 
 @SpringBootTest
 @AutoConfigureMockMvc(addFilters = false)
@@ -93,6 +107,7 @@ public class TaskControllerTest {
       task.getCost().toString(),
       task.getCreatedAt(),
       task.getUpdatedAt(),
+      task.getVersion(),
       task.getProject().getId(),
       task.getOwner().getId()
     );
@@ -132,6 +147,7 @@ public class TaskControllerTest {
       task.getCost().toString(),
       task.getCreatedAt(),
       task.getUpdatedAt(),
+      task.getVersion(),
       task.getProject().getId(),
       task.getOwner().getId()
     );
@@ -205,6 +221,7 @@ public class TaskControllerTest {
       task.getCost().toString(),
       task.getCreatedAt(),
       task.getUpdatedAt(),
+      task.getVersion(),
       task.getProject().getId(),
       task.getOwner().getId()
     );
@@ -286,12 +303,13 @@ public class TaskControllerTest {
       task.getCost().toString(),
       task.getCreatedAt(),
       task.getUpdatedAt(),
+      task.getVersion(),
       task.getProject().getId(),
       task.getOwner().getId()
     );
     String jsonBody = this.objectMapper.writeValueAsString(taskUpdateDTO);
 
-    when(this.taskService.update("01", taskUpdateDTO)).thenReturn(task);
+    when(this.taskService.update("01", taskUpdateDTO, null)).thenReturn(task);
     when(this.taskMapper.toDTO(task)).thenReturn(taskResponseDTO);
 
     this.mockMvc.perform(patch(BASE_URL + "/01")
@@ -310,10 +328,92 @@ public class TaskControllerTest {
       .andExpect(jsonPath("$.data.projectId").value(taskResponseDTO.projectId()))
       .andExpect(jsonPath("$.data.ownerId").value(taskResponseDTO.ownerId()));
 
-    verify(this.taskService, times(1)).update("01", taskUpdateDTO);
+    verify(this.taskService, times(1)).update("01", taskUpdateDTO, null);
     verify(this.taskMapper, times(1)).toDTO(task);
   }
 
+  @Test
+  @DisplayName("update - Should pass the If-Match version to the service and return the new version as ETag")
+  void updateWithIfMatchSuccess() throws Exception {
+    Task task = this.dataMock.getTasks().get(0);
+    task.setVersion(4L);
+    TaskUpdateDTO taskUpdateDTO = new TaskUpdateDTO(
+      task.getName(),
+      task.getDescription(),
+      task.getCost().toString()
+    );
+    String jsonBody = this.objectMapper.writeValueAsString(taskUpdateDTO);
+
+    when(this.taskService.update("01", taskUpdateDTO, 3L)).thenReturn(task);
+
+    this.mockMvc.perform(patch(BASE_URL + "/01")
+      .header(HttpHeaders.IF_MATCH, "\"3\"")
+      .contentType(MediaType.APPLICATION_JSON).content(jsonBody)
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isOk())
+      .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+      .andExpect(jsonPath("$.data.id").value("01"));
+
+    verify(this.taskService, times(1)).update("01", taskUpdateDTO, 3L);
+  }
+
+  @Test
+  @DisplayName("update - Should return an error response with conflict status code if the If-Match version is stale")
+  void updateFailsByVersionConflict() throws Exception {
+    Task task = this.dataMock.getTasks().get(0);
+    TaskUpdateDTO taskUpdateDTO = new TaskUpdateDTO(
+      task.getName(),
+      task.getDescription(),
+      task.getCost().toString()
+    );
+    String jsonBody = this.objectMapper.writeValueAsString(taskUpdateDTO);
+
+    when(this.taskService.update("01", taskUpdateDTO, 3L))
+      .thenThrow(new VersionConflictException("01", 3L, 4L));
+
+    this.mockMvc.perform(patch(BASE_URL + "/01")
+      .header(HttpHeaders.IF_MATCH, "\"3\"")
+      .contentType(MediaType.APPLICATION_JSON).content(jsonBody)
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isConflict())
+      .andExpect(jsonPath("$.status").value(ResponseConditionStatus.ERROR.getValue()))
+      .andExpect(jsonPath("$.code").value(HttpStatus.CONFLICT.value()))
+      .andExpect(jsonPath("$.message").value(
+        "Conflito de versão no recurso de ID: '01'. Versão esperada: 3. Versão atual: 4. " +
+        "Recarregue o recurso e tente novamente"
+      ))
+      .andExpect(jsonPath("$.data").doesNotExist());
+
+    verify(this.taskService, times(1)).update("01", taskUpdateDTO, 3L);
+    verify(this.taskMapper, never()).toDTO(any(Task.class));
+  }
+
+  @Test
+  @DisplayName("update - Should return an error response with conflict status code if a concurrent write wins the flush")
+  void updateFailsByOptimisticLockingFailure() throws Exception {
+    Task task = this.dataMock.getTasks().get(0);
+    TaskUpdateDTO taskUpdateDTO = new TaskUpdateDTO(
+      task.getName(),
+      task.getDescription(),
+      task.getCost().toString()
+    );
+    String jsonBody = this.objectMapper.writeValueAsString(taskUpdateDTO);
+
+    when(this.taskService.update("01", taskUpdateDTO, null))
+      .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, "01"));
+
+    this.mockMvc.perform(patch(BASE_URL + "/01")
+      .contentType(MediaType.APPLICATION_JSON).content(jsonBody)
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isConflict())
+      .andExpect(jsonPath("$.code").value(HttpStatus.CONFLICT.value()))
+      .andExpect(jsonPath("$.message").value(
+        "Conflito de versão: o recurso foi modificado por outra requisição. Recarregue-o e tente novamente"
+      ));
+
+    verify(this.taskService, times(1)).update("01", taskUpdateDTO, null);
+  }
+
   @Test
   @DisplayName("update - Should return an error response with forbidden status code")
   void updateFailsByAccessDenied() throws Exception {
@@ -325,7 +425,7 @@ public class TaskControllerTest {
     );
     String jsonBody = this.objectMapper.writeValueAsString(taskUpdateDTO);
 
-    when(this.taskService.update("01", taskUpdateDTO))
+    when(this.taskService.update("01", taskUpdateDTO, null))
       .thenThrow(new AccessDeniedException("Acesso negado: Você não tem permissão para atualizar este recurso"));
 
     this.mockMvc.perform(patch(BASE_URL + "/01")
@@ -337,7 +437,7 @@ public class TaskControllerTest {
       .andExpect(jsonPath("$.message").value("Acesso negado: Você não tem permissão para atualizar este recurso"))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.taskService, times(1)).update("01", taskUpdateDTO);
+    verify(this.taskService, times(1)).update("01", taskUpdateDTO, null);
     verify(this.taskMapper, never()).toDTO(any(Task.class));
   }
 
@@ -352,7 +452,7 @@ public class TaskControllerTest {
     );
     String jsonBody = this.objectMapper.writeValueAsString(taskUpdateDTO);
 
-    when(this.taskService.update("01", taskUpdateDTO))
+    when(this.taskService.update("01", taskUpdateDTO, null))
       .thenThrow(new RecordNotFoundException("Task de ID: '01' não encontrada"));
 
     this.mockMvc.perform(patch(BASE_URL + "/01")
@@ -364,7 +464,7 @@ public class TaskControllerTest {
       .andExpect(jsonPath("$.message").value("Task de ID: '01' não encontrada"))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.taskService, times(1)).update("01", taskUpdateDTO);
+    verify(this.taskService, times(1)).update("01", taskUpdateDTO, null);
     verify(this.taskMapper, never()).toDTO(any(Task.class));
   }
 
@@ -380,6 +480,7 @@ public class TaskControllerTest {
         task.getCost().toString(),
         task.getCreatedAt(),
         task.getUpdatedAt(),
+        task.getVersion(),
         task.getProject().getId(),
         task.getOwner().getId()
       ))
@@ -393,14 +494,15 @@ public class TaskControllerTest {
 
     String jsonResponseBody = this.objectMapper.writeValueAsString(response);
 
-    when(this.taskService.getAllFromProject("02")).thenReturn(tasks);
+    when(this.taskService.getAllFromProjectIfModified(eq("02"), isNull(), eq(20), any()))
+      .thenReturn(Optional.of(new KeysetPage<>(tasks, null)));
 
     this.mockMvc.perform(get(BASE_URL + "/projects/02")
       .accept(MediaType.APPLICATION_JSON))
       .andExpect(status().isOk())
       .andExpect(content().json(jsonResponseBody));
 
-    verify(this.taskService, times(1)).getAllFromProject("02");
+    verify(this.taskService, times(1)).getAllFromProjectIfModified(eq("02"), isNull(), eq(20), any());
     verify(this.taskMapper, times(2)).toDTO(any(Task.class));
   }
 
@@ -416,6 +518,7 @@ public class TaskControllerTest {
         task.getCost().toString(),
         task.getCreatedAt(),
         task.getUpdatedAt(),
+        task.getVersion(),
         task.getProject().getId(),
         task.getOwner().getId()
       ))
@@ -429,16 +532,43 @@ public class TaskControllerTest {
 
     String jsonResponseBody = this.objectMapper.writeValueAsString(response);
 
-    when(this.taskService.getAllFromAuthenticatedUser()).thenReturn(tasks);
+    when(this.taskService.getAllFromAuthenticatedUser(null, 20)).thenReturn(new KeysetPage<>(tasks, null));
 
     this.mockMvc.perform(get(BASE_URL).accept(MediaType.APPLICATION_JSON))
       .andExpect(status().isOk())
       .andExpect(content().json(jsonResponseBody));
 
-    verify(this.taskService, times(1)).getAllFromAuthenticatedUser();
+    verify(this.taskService, times(1)).getAllFromAuthenticatedUser(null, 20);
     verify(this.taskMapper, times(2)).toDTO(any(Task.class));
   }
 
+  @Test
+  @DisplayName("getAllFromAuthenticatedUser - Should forward the cursor and limit and return the next cursor")
+  void getAllFromAuthenticatedUserWithCursor() throws Exception {
+    List<Task> tasks = List.of(this.dataMock.getTasks().get(1));
+
+    when(this.taskService.getAllFromAuthenticatedUser("cursor", 1)).thenReturn(new KeysetPage<>(tasks, "next"));
+
+    this.mockMvc.perform(get(BASE_URL)
+        .param("cursor", "cursor")
+        .param("limit", "1")
+        .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data.length()").value(1))
+      .andExpect(jsonPath("$.nextCursor").value("next"));
+
+    verify(this.taskService, times(1)).getAllFromAuthenticatedUser("cursor", 1);
+  }
+
+  @Test
+  @DisplayName("getAllFromAuthenticatedUser - Should return an error response with bad request status code if the limit is out of range")
+  void getAllFromAuthenticatedUserFailsByInvalidLimit() throws Exception {
+    this.mockMvc.perform(get(BASE_URL).param("limit", "101").accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isBadRequest());
+
+    verify(this.taskService, never()).getAllFromAuthenticatedUser(any(), anyInt());
+  }
+
   @Test
   @DisplayName("getAllFromOwner - Should return a success response with OK status code and a list of tasks")
   void getAllFromOwnerSuccess() throws Exception {
@@ -451,6 +581,7 @@ public class TaskControllerTest {
         task.getCost().toString(),
         task.getCreatedAt(),
         task.getUpdatedAt(),
+        task.getVersion(),
         task.getProject().getId(),
         task.getOwner().getId()
       ))
@@ -464,38 +595,86 @@ public class TaskControllerTest {
 
     String jsonResponseBody = this.objectMapper.writeValueAsString(response);
 
-    when(this.taskService.getAllFromOwner("02")).thenReturn(tasks);
+    when(this.taskService.getAllFromOwner("02", null, 20)).thenReturn(new KeysetPage<>(tasks, null));
 
     this.mockMvc.perform(get(BASE_URL + "/owner/02")
       .accept(MediaType.APPLICATION_JSON))
       .andExpect(status().isOk())
       .andExpect(content().json(jsonResponseBody));
 
-    verify(this.taskService, times(1)).getAllFromOwner("02");
+    verify(this.taskService, times(1)).getAllFromOwner("02", null, 20);
     verify(this.taskMapper, times(2)).toDTO(any(Task.class));
   }
 
   @Test
-  @DisplayName("deleteAllFromProject - Should return a success response with OK status code and a map with a list of deleted tasks")
-  void deleteAllFromProjectSuccess() throws Exception {
+  @DisplayName("exportAllFromOwner - Should stream the user tasks as NDJSON, one task per line")
+  void exportAllFromOwnerSuccess() throws Exception {
     List<Task> tasks = this.dataMock.getTasks();
-    List<TaskResponseDTO> tasksResponseDTO = tasks.stream()
-      .map(task -> new TaskResponseDTO(
+    StringBuilder expectedBody = new StringBuilder();
+    for(Task task : tasks) {
+      TaskResponseDTO taskDTO = new TaskResponseDTO(
         task.getId(),
         task.getName(),
         task.getDescription(),
         task.getCost().toString(),
         task.getCreatedAt(),
         task.getUpdatedAt(),
+        task.getVersion(),
         task.getProject().getId(),
         task.getOwner().getId()
-      ))
-      .toList();
+      );
+      expectedBody.append(this.objectMapper.writeValueAsString(taskDTO)).append('\n');
+    }
 
-    Map<String, List<TaskResponseDTO>> deletedTasksMap = new HashMap<>(1);
-    deletedTasksMap.put("deletedTasks", tasksResponseDTO);
+    doAnswer(invocation -> {
+      Consumer<Task> consumer = invocation.getArgument(1);
+      tasks.forEach(consumer);
+      return null;
+    }).when(this.taskService).exportAllFromOwner(eq("02"), any());
 
-    CustomResponseBody<Map<String, List<TaskResponseDTO>>> response = new CustomResponseBody<>();
+    this.mockMvc.perform(get(BASE_URL + "/owner/02")
+      .accept(MediaType.APPLICATION_NDJSON))
+      .andExpect(status().isOk())
+      .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+      .andExpect(content().string(expectedBody.toString()));
+
+    verify(this.taskService, times(1)).exportAllFromOwner(eq("02"), any());
+    verify(this.taskService, never()).getAllFromOwner(anyString(), any(), anyInt());
+  }
+
+  @Test
+  @DisplayName("exportAllFromOwner - Should keep serving the paged JSON list when NDJSON is not requested")
+  void exportAllFromOwnerNotRequested() throws Exception {
+    when(this.taskService.getAllFromOwner("02", null, 20)).thenReturn(new KeysetPage<>(List.of(), null));
+
+    this.mockMvc.perform(get(BASE_URL + "/owner/02"))
+      .andExpect(status().isOk())
+      .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+    verify(this.taskService, never()).exportAllFromOwner(anyString(), any());
+  }
+
+  @Test
+  @DisplayName("exportAllFromOwner - Should return an error response with not found status code if the user does not exist")
+  void exportAllFromOwnerFailsByUserNotFound() throws Exception {
+    doThrow(new RecordNotFoundException("Usuário não encontrado"))
+      .when(this.taskService).exportAllFromOwner(eq("02"), any());
+
+    this.mockMvc.perform(get(BASE_URL + "/owner/02")
+      .accept(MediaType.APPLICATION_NDJSON))
+      .andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("deleteAllFromProject - Should return a success response with OK status code and a map with the deleted task ids")
+  void deleteAllFromProjectSuccess() throws Exception {
+    List<Task> tasks = this.dataMock.getTasks();
+    List<String> taskIds = tasks.stream().map(Task::getId).toList();
+
+    Map<String, DeletedRecordsResponseDTO> deletedTasksMap = new HashMap<>(1);
+    deletedTasksMap.put("deletedTasks", new DeletedRecordsResponseDTO(taskIds.size(), taskIds));
+
+    CustomResponseBody<Map<String, DeletedRecordsResponseDTO>> response = new CustomResponseBody<>();
     response.setStatus(ResponseConditionStatus.SUCCESS);
     response.setCode(HttpStatus.OK);
     response.setMessage("Todas as tasks do projeto de ID: '02' foram excluídas com sucesso");
@@ -503,7 +682,7 @@ public class TaskControllerTest {
 
     String jsonResponseBody = this.objectMapper.writeValueAsString(response);
 
-    when(this.taskService.deleteAllFromProject("02")).thenReturn(tasks);
+    when(this.taskService.deleteAllFromProject("02")).thenReturn(taskIds);
 
     this.mockMvc.perform(delete(BASE_URL + "/projects/02")
       .accept(MediaType.APPLICATION_JSON))
@@ -511,7 +690,7 @@ public class TaskControllerTest {
       .andExpect(content().json(jsonResponseBody));
 
     verify(this.taskService, times(1)).deleteAllFromProject("02");
-    verify(this.taskMapper, times(2)).toDTO(any(Task.class));
+    verify(this.taskMapper, never()).toDTO(any(Task.class));
   }
 
   @Test
@@ -10,6 +10,7 @@ import com.felipe.projectmanagerapi.exceptions.UserAlreadyExistsException;
 import com.felipe.projectmanagerapi.models.User;
 import com.felipe.projectmanagerapi.services.UserService;
 import com.felipe.projectmanagerapi.utils.CustomResponseBody;
+import com.felipe.projectmanagerapi.utils.KeysetPage;
 import com.felipe.projectmanagerapi.utils.GenerateMocks;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -257,13 +258,13 @@ public class UserControllerTest {
 
     String jsonResponseBody = this.objectMapper.writeValueAsString(response);
 
-    when(this.userService.getAllUsers()).thenReturn(users);
+    when(this.userService.getAllUsers(null, 20)).thenReturn(new KeysetPage<>(users, null));
 
     this.mockMvc.perform(get(BASE_URL + "/users").accept(MediaType.APPLICATION_JSON))
       .andExpect(status().isOk())
       .andExpect(content().json(jsonResponseBody));
 
-    verify(this.userService, times(1)).getAllUsers();
+    verify(this.userService, times(1)).getAllUsers(null, 20);
     verify(this.userMapper, times(3)).toDTO(any(User.class));
   }
 
@@ -4,16 +4,22 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.felipe.projectmanagerapi.dtos.*;
 import com.felipe.projectmanagerapi.dtos.mappers.UserMapper;
 import com.felipe.projectmanagerapi.dtos.mappers.WorkspaceMapper;
+import com.felipe.projectmanagerapi.enums.ResourceType;
 import com.felipe.projectmanagerapi.enums.ResponseConditionStatus;
 import com.felipe.projectmanagerapi.exceptions.MemberAlreadyExistsException;
 import com.felipe.projectmanagerapi.exceptions.RecordNotFoundException;
 import com.felipe.projectmanagerapi.exceptions.WorkspaceIsNotEmptyException;
+import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.models.Tombstone;
 import com.felipe.projectmanagerapi.models.User;
 import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.models.WorkspaceChanges;
 import com.felipe.projectmanagerapi.services.MemberService;
+import com.felipe.projectmanagerapi.services.WorkspaceChangeService;
 import com.felipe.projectmanagerapi.services.WorkspaceService;
 import com.felipe.projectmanagerapi.utils.ConvertDateFormat;
 import com.felipe.projectmanagerapi.utils.CustomResponseBody;
+import com.felipe.projectmanagerapi.utils.KeysetPage;
 import com.felipe.projectmanagerapi.utils.GenerateMocks;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,15 +37,18 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -65,6 +74,9 @@ public class WorkspaceControllerTest {
   @MockBean
   MemberService memberService;
 
+  @MockBean
+  WorkspaceChangeService workspaceChangeService;
+
   @SpyBean
   WorkspaceMapper workspaceMapper;
 
@@ -95,7 +107,8 @@ public class WorkspaceControllerTest {
       workspace.getName(),
       workspace.getOwner().getId(),
       workspace.getCreatedAt(),
-      workspace.getUpdatedAt()
+      workspace.getUpdatedAt(),
+      workspace.getVersion()
     );
     WorkspaceCreateOrUpdateDTO workspaceDTO = new WorkspaceCreateOrUpdateDTO("Workspace 1");
     String jsonBody = this.objectMapper.writeValueAsString(workspaceDTO);
@@ -132,11 +145,12 @@ public class WorkspaceControllerTest {
       workspace.getName(),
       workspace.getOwner().getId(),
       workspace.getCreatedAt(),
-      workspace.getUpdatedAt()
+      workspace.getUpdatedAt(),
+      workspace.getVersion()
     );
     String jsonBody = this.objectMapper.writeValueAsString(workspaceDTO);
 
-    when(this.workspaceService.update("01", workspaceDTO)).thenReturn(workspace);
+    when(this.workspaceService.update("01", workspaceDTO, null)).thenReturn(workspace);
     when(this.workspaceMapper.toWorkspaceResponseDTO(workspace)).thenReturn(updatedWorkspace);
 
     this.mockMvc.perform(patch(BASE_URL + "/01")
@@ -152,7 +166,7 @@ public class WorkspaceControllerTest {
       .andExpect(jsonPath("$.data.createdAt").value(updatedWorkspace.createdAt().toString()))
       .andExpect(jsonPath("$.data.updatedAt").value(updatedWorkspace.updatedAt().toString()));
 
-    verify(this.workspaceService, times(1)).update("01", workspaceDTO);
+    verify(this.workspaceService, times(1)).update("01", workspaceDTO, null);
     verify(this.workspaceMapper, times(1)).toWorkspaceResponseDTO(workspace);
   }
 
@@ -162,7 +176,7 @@ public class WorkspaceControllerTest {
     WorkspaceCreateOrUpdateDTO workspaceDTO = new WorkspaceCreateOrUpdateDTO("Updated Name");
     String jsonBody = this.objectMapper.writeValueAsString(workspaceDTO);
 
-    when(this.workspaceService.update("01", workspaceDTO))
+    when(this.workspaceService.update("01", workspaceDTO, null))
       .thenThrow(new AccessDeniedException("Acesso negado: Você não tem permissão para modificar este recurso"));
 
     this.mockMvc.perform(patch(BASE_URL + "/01")
@@ -174,7 +188,7 @@ public class WorkspaceControllerTest {
       .andExpect(jsonPath("$.message").value("Acesso negado: Você não tem permissão para modificar este recurso"))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.workspaceService, times(1)).update("01", workspaceDTO);
+    verify(this.workspaceService, times(1)).update("01", workspaceDTO, null);
     verify(this.workspaceMapper, never()).toWorkspaceResponseDTO(any(Workspace.class));
   }
 
@@ -184,7 +198,7 @@ public class WorkspaceControllerTest {
     WorkspaceCreateOrUpdateDTO workspaceDTO = new WorkspaceCreateOrUpdateDTO("Updated Name");
     String jsonBody = this.objectMapper.writeValueAsString(workspaceDTO);
 
-    when(this.workspaceService.update("01", workspaceDTO))
+    when(this.workspaceService.update("01", workspaceDTO, null))
       .thenThrow(new RecordNotFoundException("Workspace não encontrado"));
 
     this.mockMvc.perform(patch(BASE_URL + "/01")
@@ -196,7 +210,7 @@ public class WorkspaceControllerTest {
       .andExpect(jsonPath("$.message").value("Workspace não encontrado"))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.workspaceService, times(1)).update("01", workspaceDTO);
+    verify(this.workspaceService, times(1)).update("01", workspaceDTO, null);
     verify(this.workspaceMapper, never()).toWorkspaceResponseDTO(any(Workspace.class));
   }
 
@@ -211,7 +225,8 @@ public class WorkspaceControllerTest {
         workspace.getName(),
         workspace.getOwner().getId(),
         workspace.getCreatedAt(),
-        workspace.getUpdatedAt()))
+        workspace.getUpdatedAt(),
+        workspace.getVersion()))
       .toList();
 
     CustomResponseBody<List<WorkspaceResponseDTO>> response = new CustomResponseBody<>();
@@ -222,16 +237,62 @@ public class WorkspaceControllerTest {
 
     String jsonResponseBody = this.objectMapper.writeValueAsString(response);
 
-    when(this.workspaceService.getAllUserWorkspaces()).thenReturn(workspaces);
+    when(this.workspaceService.getAllUserWorkspaces(null, 20)).thenReturn(new KeysetPage<>(workspaces, null));
 
     this.mockMvc.perform(get(BASE_URL).accept(MediaType.APPLICATION_JSON))
       .andExpect(status().isOk())
       .andExpect(content().json(jsonResponseBody));
 
-    verify(this.workspaceService, times(1)).getAllUserWorkspaces();
+    verify(this.workspaceService, times(1)).getAllUserWorkspaces(null, 20);
     verify(this.workspaceMapper, times(3)).toWorkspaceResponseDTO(any(Workspace.class));
   }
 
+  @Test
+  @DisplayName("getChanges - Should return a success response with OK status code and the changes since the given time")
+  void getChangesSuccess() throws Exception {
+    Project project = this.dataMock.getProjects().get(0);
+    LocalDateTime since = LocalDateTime.of(2024, 1, 1, 10, 0);
+    LocalDateTime nextSince = LocalDateTime.of(2024, 1, 1, 10, 5);
+    WorkspaceChanges changes = new WorkspaceChanges(
+      List.of(project),
+      List.of(),
+      List.of(),
+      List.of(new Tombstone("01", ResourceType.TASK, "05"), new Tombstone("01", ResourceType.MEMBER, "03")),
+      null,
+      nextSince
+    );
+
+    when(this.workspaceChangeService.getChangesSince("01", since, 50)).thenReturn(changes);
+
+    this.mockMvc.perform(get(BASE_URL + "/01/changes")
+      .param("since", "2024-01-01T10:00:00")
+      .param("limit", "50")
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.message").value("Alterações do workspace"))
+      .andExpect(jsonPath("$.data.projects[0].id").value(project.getId()))
+      .andExpect(jsonPath("$.data.tasks").isEmpty())
+      .andExpect(jsonPath("$.data.deletedProjectIds").isEmpty())
+      .andExpect(jsonPath("$.data.deletedTaskIds[0]").value("05"))
+      .andExpect(jsonPath("$.data.deletedMemberIds[0]").value("03"))
+      .andExpect(jsonPath("$.data.membersUpdatedAt").isEmpty());
+
+    verify(this.workspaceChangeService, times(1)).getChangesSince("01", since, 50);
+    verify(this.workspaceMapper, times(1)).toWorkspaceChangesResponseDTO(changes);
+  }
+
+  @Test
+  @DisplayName("getChanges - Should return an error response with forbidden status code")
+  void getChangesFailsByAccessDenied() throws Exception {
+    when(this.workspaceChangeService.getChangesSince(eq("01"), any(LocalDateTime.class), eq(100)))
+      .thenThrow(new AccessDeniedException("Acesso negado: Você não tem permissão para acessar este recurso"));
+
+    this.mockMvc.perform(get(BASE_URL + "/01/changes")
+      .param("since", "2024-01-01T10:00:00")
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isForbidden());
+  }
+
   @Test
   @DisplayName("getAllMembers - Should return a success response with OK status code and all members of the workspace")
   void getAllMembersSuccess() throws Exception {
@@ -241,7 +302,8 @@ public class WorkspaceControllerTest {
       workspace.getName(),
       workspace.getOwner().getId(),
       workspace.getCreatedAt(),
-      workspace.getUpdatedAt()
+      workspace.getUpdatedAt(),
+      workspace.getVersion()
     );
     List<UserResponseDTO> usersDTO = workspace.getMembers()
       .stream()
@@ -264,7 +326,7 @@ public class WorkspaceControllerTest {
 
     String jsonResponseBody = this.objectMapper.writeValueAsString(response);
 
-    when(this.workspaceService.getById("01")).thenReturn(workspace);
+    when(this.workspaceService.getWithMembersById("01")).thenReturn(workspace);
     when(this.workspaceMapper.toWorkspaceResponseDTO(workspace)).thenReturn(workspaceDTO);
 
     this.mockMvc.perform(get(BASE_URL + "/01/members")
@@ -272,7 +334,7 @@ public class WorkspaceControllerTest {
       .andExpect(status().isOk())
       .andExpect(content().json(jsonResponseBody));
 
-    verify(this.workspaceService, times(1)).getById("01");
+    verify(this.workspaceService, times(1)).getWithMembersById("01");
     verify(this.workspaceMapper, times(1)).toWorkspaceResponseDTO(workspace);
     verify(this.userMapper, times(3)).toDTO(any(User.class));
   }
@@ -280,7 +342,7 @@ public class WorkspaceControllerTest {
   @Test
   @DisplayName("getAllMembers - Should return an error response with not found status code")
   void getAllMembersFailsByWorkspaceNotFound() throws Exception {
-    when(this.workspaceService.getById("01"))
+    when(this.workspaceService.getWithMembersById("01"))
       .thenThrow(new RecordNotFoundException("Workspace de ID: '01' não encontrado"));
 
     this.mockMvc.perform(get(BASE_URL + "/01/members")
@@ -291,7 +353,7 @@ public class WorkspaceControllerTest {
       .andExpect(jsonPath("$.message").value("Workspace de ID: '01' não encontrado"))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.workspaceService, times(1)).getById("01");
+    verify(this.workspaceService, times(1)).getWithMembersById("01");
     verify(this.workspaceMapper, never()).toWorkspaceResponseDTO(any(Workspace.class));
     verify(this.userMapper, never()).toDTO(any(User.class));
   }
@@ -299,7 +361,7 @@ public class WorkspaceControllerTest {
   @Test
   @DisplayName("getAllMembers - Should return an error response with forbidden status code")
   void getAllMembersFailsByAccessDenied() throws Exception {
-    when(this.workspaceService.getById("01"))
+    when(this.workspaceService.getWithMembersById("01"))
       .thenThrow(new AccessDeniedException("Acesso negado: Você não tem permissão para acessar este recurso"));
 
     this.mockMvc.perform(get(BASE_URL + "/01/members")
@@ -310,7 +372,7 @@ public class WorkspaceControllerTest {
       .andExpect(jsonPath("$.message").value("Acesso negado: Você não tem permissão para acessar este recurso"))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.workspaceService, times(1)).getById("01");
+    verify(this.workspaceService, times(1)).getWithMembersById("01");
     verify(this.workspaceMapper, never()).toWorkspaceResponseDTO(any(Workspace.class));
     verify(this.userMapper, never()).toDTO(any(User.class));
   }
@@ -324,7 +386,8 @@ public class WorkspaceControllerTest {
       workspace.getName(),
       workspace.getOwner().getId(),
       workspace.getCreatedAt(),
-      workspace.getUpdatedAt()
+      workspace.getUpdatedAt(),
+      workspace.getVersion()
     );
 
     Map<String, WorkspaceResponseDTO> response = new HashMap<>();
@@ -419,7 +482,8 @@ public class WorkspaceControllerTest {
       workspace.getName(),
       workspace.getOwner().getId(),
       workspace.getCreatedAt(),
-      workspace.getUpdatedAt()
+      workspace.getUpdatedAt(),
+      workspace.getVersion()
     );
     List<UserResponseDTO> usersDTO = workspace.getMembers()
       .stream()
@@ -522,7 +586,8 @@ public class WorkspaceControllerTest {
       workspace.getName(),
       workspace.getOwner().getId(),
       workspace.getCreatedAt(),
-      workspace.getUpdatedAt()
+      workspace.getUpdatedAt(),
+      workspace.getVersion()
     );
     List<UserResponseDTO> usersDTO = workspace.getMembers()
       .stream()
@@ -625,7 +690,8 @@ public class WorkspaceControllerTest {
       workspace.getName(),
       workspace.getOwner().getId(),
       workspace.getCreatedAt(),
-      workspace.getUpdatedAt()
+      workspace.getUpdatedAt(),
+      workspace.getVersion()
     );
     List<UserResponseDTO> members = workspace.getMembers()
       .stream()
@@ -651,6 +717,7 @@ public class WorkspaceControllerTest {
         ConvertDateFormat.convertDateToFormattedString(project.getDeadline()),
         project.getCreatedAt(),
         project.getUpdatedAt(),
+        project.getVersion(),
         project.getOwner().getId(),
         project.getWorkspace().getId()
       ))
@@ -665,20 +732,20 @@ public class WorkspaceControllerTest {
 
     String jsonResponseBody = this.objectMapper.writeValueAsString(response);
 
-    when(this.workspaceService.getById("01")).thenReturn(workspace);
+    when(this.workspaceService.getFullByIdIfModified(eq("01"), any())).thenReturn(Optional.of(workspace));
 
     this.mockMvc.perform(get(BASE_URL + "/01")
       .accept(MediaType.APPLICATION_JSON))
       .andExpect(status().isOk())
       .andExpect(content().json(jsonResponseBody));
 
-    verify(this.workspaceService, times(1)).getById("01");
+    verify(this.workspaceService, times(1)).getFullByIdIfModified(eq("01"), any());
   }
 
   @Test
   @DisplayName("getById - Should return an error response with not found status code if the workspace is not found")
   void getByIdFailsByWorkspaceNotFound() throws Exception {
-    when(this.workspaceService.getById("01"))
+    when(this.workspaceService.getFullByIdIfModified(eq("01"), any()))
       .thenThrow(new RecordNotFoundException("Workspace de ID: '01' não encontrado"));
 
     this.mockMvc.perform(get(BASE_URL + "/01")
@@ -689,7 +756,7 @@ public class WorkspaceControllerTest {
       .andExpect(jsonPath("$.message").value("Workspace de ID: '01' não encontrado"))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.workspaceService, times(1)).getById("01");
+    verify(this.workspaceService, times(1)).getFullByIdIfModified(eq("01"), any());
     verify(this.workspaceMapper, never()).toWorkspaceResponseDTO(any(Workspace.class));
     verify(this.userMapper, never()).toDTO(any(User.class));
   }
@@ -697,7 +764,7 @@ public class WorkspaceControllerTest {
   @Test
   @DisplayName("getById - Should return an error response with forbidden status code")
   void getByIdFailsByAccessDenied() throws Exception {
-    when(this.workspaceService.getById("01"))
+    when(this.workspaceService.getFullByIdIfModified(eq("01"), any()))
       .thenThrow(new AccessDeniedException("Acesso negado: Você não tem permissão para acessar este recurso"));
 
     this.mockMvc.perform(get(BASE_URL + "/01")
@@ -708,7 +775,7 @@ public class WorkspaceControllerTest {
       .andExpect(jsonPath("$.message").value("Acesso negado: Você não tem permissão para acessar este recurso"))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.workspaceService, times(1)).getById("01");
+    verify(this.workspaceService, times(1)).getFullByIdIfModified(eq("01"), any());
     verify(this.workspaceMapper, never()).toWorkspaceResponseDTO(any(Workspace.class));
     verify(this.userMapper, never()).toDTO(any(User.class));
   }
@@ -61,6 +61,7 @@ public class ProjectMapperTest {
       .isEqualTo(ConvertDateFormat.convertDateToFormattedString(project.getDeadline()));
     assertThat(convertedProjectDTO.createdAt()).isEqualTo(project.getCreatedAt());
     assertThat(convertedProjectDTO.updatedAt()).isEqualTo(project.getUpdatedAt());
+    assertThat(convertedProjectDTO.version()).isEqualTo(project.getVersion());
     assertThat(convertedProjectDTO.ownerId()).isEqualTo(projectOwner.getId());
     assertThat(convertedProjectDTO.workspaceId()).isEqualTo(projectWorkspace.getId());
   }
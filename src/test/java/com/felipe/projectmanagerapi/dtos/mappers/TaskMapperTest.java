@@ -44,6 +44,7 @@ public class TaskMapperTest {
     assertThat(convertedTaskDTO.cost()).isEqualTo(task.getCost().toString());
     assertThat(convertedTaskDTO.createdAt()).isEqualTo(task.getCreatedAt());
     assertThat(convertedTaskDTO.updatedAt()).isEqualTo(task.getUpdatedAt());
+    assertThat(convertedTaskDTO.version()).isEqualTo(task.getVersion());
     assertThat(convertedTaskDTO.projectId()).isEqualTo(task.getProject().getId());
     assertThat(convertedTaskDTO.ownerId()).isEqualTo(task.getOwner().getId());
   }
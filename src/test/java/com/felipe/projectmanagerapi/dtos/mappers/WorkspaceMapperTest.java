@@ -48,7 +48,8 @@ public class WorkspaceMapperTest {
       "Workspace 1",
       "01",
       mockDateTime,
-      mockDateTime
+      mockDateTime,
+      workspace.getVersion()
     );
 
     WorkspaceResponseDTO convertedWorkspaceDTO = this.workspaceMapper.toWorkspaceResponseDTO(workspace);
@@ -58,6 +59,7 @@ public class WorkspaceMapperTest {
     assertThat(convertedWorkspaceDTO.ownerId()).isEqualTo(workspaceResponseDTO.ownerId());
     assertThat(convertedWorkspaceDTO.createdAt()).isEqualTo(workspaceResponseDTO.createdAt());
     assertThat(convertedWorkspaceDTO.updatedAt()).isEqualTo(workspaceResponseDTO.updatedAt());
+    assertThat(convertedWorkspaceDTO.version()).isEqualTo(workspaceResponseDTO.version());
   }
 
   @Test
@@ -0,0 +1,71 @@
+package com.felipe.projectmanagerapi.infra.events;
+
+import com.felipe.projectmanagerapi.enums.WorkspaceEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventBufferTest {
+
+  @Test
+  @DisplayName("offer - Should keep only the latest event of each resource in arrival order")
+  void coalescesByResource() {
+    EventBuffer buffer = new EventBuffer("01", 10);
+
+    buffer.offer(new WorkspaceEvent("01", WorkspaceEventType.PROJECT_CREATED, "p1"), false);
+    buffer.offer(new WorkspaceEvent("01", WorkspaceEventType.TASK_UPDATED, "t1"), false);
+    buffer.offer(new WorkspaceEvent("01", WorkspaceEventType.PROJECT_UPDATED, "p1"), false);
+
+    assertThat(buffer.drain().events())
+      .extracting(WorkspaceEvent::type)
+      .containsExactly(WorkspaceEventType.TASK_UPDATED, WorkspaceEventType.PROJECT_UPDATED);
+    assertThat(buffer.hasPending()).isFalse();
+  }
+
+  @Test
+  @DisplayName("offer - Should drop the backlog for a single resync once the buffer is full")
+  void overflowTurnsIntoResync() {
+    EventBuffer buffer = new EventBuffer("01", 2);
+
+    assertThat(buffer.offer(new WorkspaceEvent("01", WorkspaceEventType.TASK_UPDATED, "t1"), false)).isTrue();
+    assertThat(buffer.offer(new WorkspaceEvent("01", WorkspaceEventType.TASK_UPDATED, "t2"), false)).isTrue();
+    assertThat(buffer.offer(new WorkspaceEvent("01", WorkspaceEventType.TASK_UPDATED, "t3"), false)).isFalse();
+    buffer.offer(new WorkspaceEvent("01", WorkspaceEventType.TASK_UPDATED, "t4"), false);
+
+    assertThat(buffer.drain().events())
+      .containsExactly(new WorkspaceEvent("01", WorkspaceEventType.RESYNC, null));
+
+    buffer.offer(new WorkspaceEvent("01", WorkspaceEventType.TASK_UPDATED, "t5"), false);
+    assertThat(buffer.drain().events()).extracting(WorkspaceEvent::resourceId).containsExactly("t5");
+  }
+
+  @Test
+  @DisplayName("offer - Should close the stream after the last event and ignore anything offered later")
+  void lastEventClosesStream() {
+    EventBuffer buffer = new EventBuffer("01", 10);
+
+    buffer.offer(new WorkspaceEvent("01", WorkspaceEventType.MEMBER_REMOVED, "u1"), true);
+    buffer.offer(new WorkspaceEvent("01", WorkspaceEventType.PROJECT_UPDATED, "p1"), false);
+    EventBuffer.Batch batch = buffer.drain();
+
+    assertThat(batch.close()).isTrue();
+    assertThat(batch.events()).extracting(WorkspaceEvent::type).containsExactly(WorkspaceEventType.MEMBER_REMOVED);
+  }
+
+  @Test
+  @DisplayName("requestHeartbeat - Should only ask for a heartbeat when nothing was sent since the last request")
+  void heartbeatOnlyWhenIdle() {
+    EventBuffer buffer = new EventBuffer("01", 10);
+
+    assertThat(buffer.requestHeartbeat()).isTrue();
+    assertThat(buffer.drain().heartbeat()).isTrue();
+    assertThat(buffer.requestHeartbeat()).isTrue();
+    buffer.drain();
+
+    buffer.offer(new WorkspaceEvent("01", WorkspaceEventType.TASK_CREATED, "t1"), false);
+    buffer.drain();
+    assertThat(buffer.requestHeartbeat()).isFalse();
+    assertThat(buffer.requestHeartbeat()).isTrue();
+  }
+}
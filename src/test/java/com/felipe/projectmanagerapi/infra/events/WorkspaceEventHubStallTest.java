@@ -0,0 +1,149 @@
+package com.felipe.projectmanagerapi.infra.events;
+
+import com.felipe.projectmanagerapi.enums.Role;
+import com.felipe.projectmanagerapi.enums.WorkspaceEventType;
+import com.felipe.projectmanagerapi.infra.security.TokenService;
+import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import com.felipe.projectmanagerapi.models.User;
+import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.utils.WorkspaceFixture;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+  "api.rate-limit.enabled=false",
+  "api.events.heartbeat-interval=1h",
+  "api.events.delivery-threads=1",
+  "api.events.send-timeout=200ms",
+  "api.events.buffer-size=100000"
+})
+// Printing the result would read the response headers while the delivery thread is still writing them
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@ActiveProfiles(value = "test")
+@Import(WorkspaceFixture.class)
+public class WorkspaceEventHubStallTest {
+
+  @LocalServerPort
+  int port;
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  WorkspaceEventHub workspaceEventHub;
+
+  @Autowired
+  TokenService tokenService;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Autowired
+  WorkspaceFixture fixture;
+
+  private User user;
+  private Workspace workspace;
+
+  @BeforeEach
+  void setUp() {
+    this.user = this.fixture.createUsers("Stalled events", 1, Role.WRITE_READ).get(0);
+    this.workspace = this.fixture.createWorkspace("Workspace stalled events", this.user, List.of());
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.fixture.tearDown();
+  }
+
+  @Test
+  @DisplayName("publish - Should drop a subscriber that stopped reading and keep delivering to the others")
+  void stalledSubscriberDropped() throws Exception {
+    double stalls = this.meterRegistry.counter("workspace.events.stalls").count();
+    String token = this.tokenService.generateToken(new UserPrincipal(this.user));
+
+    try(Socket stalled = new Socket()) {
+      // A small receive window and no reads fill the server's socket buffer after a few events
+      stalled.setReceiveBufferSize(1024);
+      stalled.connect(new InetSocketAddress("localhost", this.port));
+      OutputStream requestStream = stalled.getOutputStream();
+      requestStream.write((
+        "GET /api/workspaces/" + this.workspace.getId() + "/events HTTP/1.1\r\n" +
+        "Host: localhost\r\n" +
+        "Authorization: Bearer " + token + "\r\n" +
+        "Accept: text/event-stream\r\n\r\n"
+      ).getBytes(StandardCharsets.US_ASCII));
+      requestStream.flush();
+      this.awaitSubscribers(1);
+
+      MvcResult healthy = this.subscribe();
+
+      long deadline = System.currentTimeMillis() + 20000;
+      int published = 0;
+      while(this.meterRegistry.counter("workspace.events.stalls").count() == stalls) {
+        if(System.currentTimeMillis() > deadline) fail("The subscriber that stopped reading was never dropped");
+        for(int i = 0; i < 1000; i++) {
+          this.workspaceEventHub.publish(this.workspace.getId(), WorkspaceEventType.TASK_CREATED, "flood-" + published++);
+        }
+        Thread.sleep(50);
+      }
+
+      this.workspaceEventHub.publish(this.workspace.getId(), WorkspaceEventType.TASK_CREATED, "after-stall");
+
+      this.awaitContent(healthy, "\"resourceId\":\"after-stall\"");
+      this.awaitSubscribers(1);
+    }
+  }
+
+  private MvcResult subscribe() throws Exception {
+    MvcResult stream = this.mockMvc.perform(get("/api/workspaces/" + this.workspace.getId() + "/events")
+        .with(authentication(WorkspaceFixture.authenticationOf(this.user)))
+        .accept(MediaType.TEXT_EVENT_STREAM))
+      .andExpect(request().asyncStarted())
+      .andReturn();
+    this.awaitContent(stream, ":heartbeat");
+    return stream;
+  }
+
+  private void awaitSubscribers(int expected) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while(this.workspaceEventHub.subscriberCount() != expected) {
+      if(System.currentTimeMillis() > deadline) {
+        fail("Expected " + expected + " subscribers but got " + this.workspaceEventHub.subscriberCount());
+      }
+      Thread.sleep(10);
+    }
+  }
+
+  private void awaitContent(MvcResult stream, String expected) throws Exception {
+    long deadline = System.currentTimeMillis() + 5000;
+    while(!stream.getResponse().getContentAsString().contains(expected)) {
+      if(System.currentTimeMillis() > deadline) fail("Expected '" + expected + "' in the stream");
+      Thread.sleep(10);
+    }
+  }
+}
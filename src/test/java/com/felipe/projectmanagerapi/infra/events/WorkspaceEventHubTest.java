@@ -0,0 +1,157 @@
+package com.felipe.projectmanagerapi.infra.events;
+
+import com.felipe.projectmanagerapi.enums.Role;
+import com.felipe.projectmanagerapi.enums.WorkspaceEventType;
+import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.models.User;
+import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.services.MemberService;
+import com.felipe.projectmanagerapi.services.ProjectService;
+import com.felipe.projectmanagerapi.utils.WorkspaceFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+  "api.rate-limit.enabled=false",
+  "api.events.heartbeat-interval=1h"
+})
+// Printing the result would read the response headers while the delivery thread is still writing them
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@ActiveProfiles(value = "test")
+@Import(WorkspaceFixture.class)
+public class WorkspaceEventHubTest {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  WorkspaceEventHub workspaceEventHub;
+
+  @Autowired
+  ProjectService projectService;
+
+  @Autowired
+  MemberService memberService;
+
+  @Autowired
+  WorkspaceFixture fixture;
+
+  private TransactionTemplate transactionTemplate;
+  private List<User> users;
+  private Workspace workspace;
+  private Project project;
+
+  @BeforeEach
+  void setUp() {
+    this.transactionTemplate = this.fixture.getTransactionTemplate();
+
+    this.transactionTemplate.executeWithoutResult(status -> {
+      this.users = this.fixture.createUsers("Events", 3, Role.WRITE_READ);
+      this.workspace = this.fixture.createWorkspace("Workspace events", this.users.get(0), List.of(this.users.get(1)));
+      this.project = this.fixture.createProject("Project", this.users.get(0));
+    });
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.fixture.tearDown();
+  }
+
+  @Test
+  @DisplayName("subscribe - Should push a project deleted by a member's write once it commits")
+  void pushesCommittedWrite() throws Exception {
+    MvcResult stream = this.subscribe(this.users.get(1));
+    // MockMvc resets the security context once the request is handled, so service calls authenticate afterwards
+    this.fixture.authenticate(this.users.get(0));
+
+    this.projectService.delete(this.project.getId());
+
+    String content = this.awaitContent(stream, "\"resourceId\":\"" + this.project.getId() + "\"");
+    assertThat(content).contains("event:project.deleted");
+  }
+
+  @Test
+  @DisplayName("publish - Should not announce writes whose transaction rolled back")
+  void skipsRolledBackWrite() throws Exception {
+    MvcResult stream = this.subscribe(this.users.get(1));
+
+    this.transactionTemplate.executeWithoutResult(status -> {
+      this.workspaceEventHub.publish(this.workspace.getId(), WorkspaceEventType.TASK_CREATED, "rolled-back");
+      status.setRollbackOnly();
+    });
+    this.transactionTemplate.executeWithoutResult(status ->
+      this.workspaceEventHub.publish(this.workspace.getId(), WorkspaceEventType.TASK_CREATED, "committed")
+    );
+
+    assertThat(this.awaitContent(stream, "\"resourceId\":\"committed\"")).doesNotContain("rolled-back");
+  }
+
+  @Test
+  @DisplayName("removeMember - Should end the stream of the removed member")
+  void removedMemberStreamCompletes() throws Exception {
+    MvcResult stream = this.subscribe(this.users.get(1));
+    int subscribers = this.workspaceEventHub.subscriberCount();
+    this.fixture.authenticate(this.users.get(0));
+
+    this.memberService.removeMember(this.workspace.getId(), this.users.get(1).getId());
+
+    assertThat(this.awaitContent(stream, "\"resourceId\":\"" + this.users.get(1).getId() + "\""))
+      .contains("event:member.removed");
+    long deadline = System.currentTimeMillis() + 5000;
+    while(this.workspaceEventHub.subscriberCount() != subscribers - 1) {
+      if(System.currentTimeMillis() > deadline) fail("The removed member is still subscribed");
+      Thread.sleep(10);
+    }
+  }
+
+  @Test
+  @DisplayName("subscribe - Should deny a stream to users outside the workspace")
+  void outsiderDenied() throws Exception {
+    this.mockMvc.perform(get("/api/workspaces/" + this.workspace.getId() + "/events")
+        .with(authentication(WorkspaceFixture.authenticationOf(this.users.get(2))))
+        .accept(MediaType.TEXT_EVENT_STREAM))
+      .andExpect(status().isForbidden());
+  }
+
+  private MvcResult subscribe(User user) throws Exception {
+    MvcResult stream = this.mockMvc.perform(get("/api/workspaces/" + this.workspace.getId() + "/events")
+        .with(authentication(WorkspaceFixture.authenticationOf(user)))
+        .accept(MediaType.TEXT_EVENT_STREAM))
+      .andExpect(request().asyncStarted())
+      .andReturn();
+    this.awaitContent(stream, ":heartbeat");
+    return stream;
+  }
+
+  private String awaitContent(MvcResult stream, String expected) throws Exception {
+    long deadline = System.currentTimeMillis() + 5000;
+    String content = stream.getResponse().getContentAsString();
+    while(!content.contains(expected)) {
+      if(System.currentTimeMillis() > deadline) fail("Expected '" + expected + "' in the stream but got: " + content);
+      Thread.sleep(10);
+      content = stream.getResponse().getContentAsString();
+    }
+    return content;
+  }
+}
@@ -0,0 +1,234 @@
+package com.felipe.projectmanagerapi.infra.persistence;
+
+import com.felipe.projectmanagerapi.exceptions.OutOfBudgetException;
+import com.felipe.projectmanagerapi.models.Money;
+import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.repositories.ProjectRepository;
+import com.felipe.projectmanagerapi.utils.GenerateMocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CostLedgerTest {
+
+  @Mock
+  ProjectRepository projectRepository;
+
+  @Mock
+  PlatformTransactionManager transactionManager;
+
+  private AutoCloseable closeable;
+  private SimpleMeterRegistry meterRegistry;
+  private CostLedger costLedger;
+  private GenerateMocks dataMock;
+  private Project project;
+
+  @BeforeEach
+  void setUp() {
+    this.closeable = MockitoAnnotations.openMocks(this);
+    this.meterRegistry = new SimpleMeterRegistry();
+    this.costLedger = new CostLedger(this.projectRepository, this.transactionManager, true, Duration.ofMillis(200), this.meterRegistry);
+    this.dataMock = new GenerateMocks();
+    this.project = this.dataMock.getProjects().get(1);
+    when(this.projectRepository.findRemainingBudgetById("02")).thenReturn(Optional.of(new BigDecimal("1000.00")));
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    if(TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    this.closeable.close();
+  }
+
+  @Test
+  @DisplayName("record/flush - Should accumulate the deltas in memory and apply their net sum in a single update")
+  void flushAppliesNetDelta() {
+    this.costLedger.record(this.project, Money.parse("100.50"));
+    this.costLedger.record(this.project, Money.parse("200.25"));
+    this.costLedger.record(this.project, Money.parse("-50.00"));
+
+    verify(this.projectRepository, never()).applyCostDelta(anyString(), any(BigDecimal.class));
+    assertThat(this.costLedger.currentCost(this.project)).isEqualTo(Money.parse("250.75"));
+
+    when(this.projectRepository.applyCostDelta("02", new BigDecimal("250.75"))).thenReturn(1);
+    this.costLedger.flush();
+    this.costLedger.flush();
+
+    verify(this.projectRepository, times(1)).findRemainingBudgetById("02");
+    verify(this.projectRepository, times(1)).applyCostDelta("02", new BigDecimal("250.75"));
+  }
+
+  @Test
+  @DisplayName("record - Should throw an OutOfBudgetException once the reserved cost would exceed the budget")
+  void recordFailsByOutOfBudget() {
+    this.costLedger.record(this.project, Money.parse("900.00"));
+
+    Exception thrown = catchException(() -> this.costLedger.record(this.project, Money.parse("200.00")));
+
+    assertThat(thrown)
+      .isExactlyInstanceOf(OutOfBudgetException.class)
+      .hasMessage(
+        "Operação inválida! Custo acima do orçamento do projeto.\n" +
+        "Orçamento: R$ 1000.00" + "\n" +
+        "Custo: R$ 1100.00"
+      );
+    assertThat(this.costLedger.currentCost(this.project)).isEqualTo(Money.parse("900.00"));
+  }
+
+  @Test
+  @DisplayName("record - Should release reservations on rollback and only free budget after commit")
+  void recordFollowsTransactionOutcome() {
+    this.costLedger.record(this.project, Money.parse("600.00"));
+
+    TransactionSynchronizationManager.initSynchronization();
+    this.costLedger.record(this.project, Money.parse("300.00"));
+    this.completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+    assertThat(this.costLedger.currentCost(this.project)).isEqualTo(Money.parse("600.00"));
+
+    TransactionSynchronizationManager.initSynchronization();
+    this.costLedger.record(this.project, Money.parse("-600.00"));
+    assertThat(this.costLedger.currentCost(this.project)).isEqualTo(Money.parse("600.00"));
+    this.completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+    assertThat(this.costLedger.currentCost(this.project)).isEqualTo(Money.parse("0.00"));
+  }
+
+  @Test
+  @DisplayName("tryChangeBudget - Should refuse to lower the budget below the reserved cost")
+  void tryChangeBudgetRespectsReservedCost() {
+    this.costLedger.record(this.project, Money.parse("700.00"));
+
+    assertThat(this.costLedger.tryChangeBudget(this.project, Money.parse("600.00"))).isFalse();
+    assertThat(this.costLedger.tryChangeBudget(this.project, Money.parse("800.00"))).isTrue();
+
+    this.project.setBudget(Money.parse("800.00"));
+    assertThat(this.costLedger.currentCost(this.project)).isEqualTo(Money.parse("700.00"));
+    assertThat(catchException(() -> this.costLedger.record(this.project, Money.parse("150.00"))))
+      .isExactlyInstanceOf(OutOfBudgetException.class);
+  }
+
+  @Test
+  @DisplayName("flush - Should keep the deltas for the next flush if the update fails")
+  void flushKeepsDeltasOnFailure() {
+    this.costLedger.record(this.project, Money.parse("100.00"));
+    when(this.projectRepository.applyCostDelta("02", new BigDecimal("100.00")))
+      .thenThrow(new QueryTimeoutException("timeout"))
+      .thenReturn(1);
+
+    this.costLedger.flush();
+    this.costLedger.flush();
+
+    verify(this.projectRepository, times(2)).applyCostDelta("02", new BigDecimal("100.00"));
+  }
+
+  @Test
+  @DisplayName("flush - Should apply the other projects and count the failure when one project keeps failing")
+  void flushIsolatesFailingProject() {
+    Project failingProject = this.dataMock.getProjects().get(2);
+    when(this.projectRepository.findRemainingBudgetById("03")).thenReturn(Optional.of(new BigDecimal("1500.00")));
+    this.costLedger.record(this.project, Money.parse("100.00"));
+    this.costLedger.record(failingProject, Money.parse("50.00"));
+    when(this.projectRepository.applyCostDelta("02", new BigDecimal("100.00"))).thenReturn(1);
+    when(this.projectRepository.applyCostDelta("03", new BigDecimal("50.00"))).thenThrow(new QueryTimeoutException("timeout"));
+
+    this.costLedger.flush();
+    this.costLedger.flush();
+
+    verify(this.projectRepository, times(2)).applyCostDelta("02", new BigDecimal("100.00"));
+    verify(this.projectRepository, times(4)).applyCostDelta("03", new BigDecimal("50.00"));
+    assertThat(this.meterRegistry.get("cost.ledger.flush.failures").counter().count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("reset - Should drop the pending deltas and free the whole budget")
+  void resetDropsPendingDeltas() {
+    this.costLedger.record(this.project, Money.parse("300.00"));
+
+    this.costLedger.reset(this.project);
+    this.costLedger.flush();
+
+    verify(this.projectRepository, times(1)).resetCost("02");
+    verify(this.projectRepository, never()).applyCostDelta(anyString(), any(BigDecimal.class));
+    assertThat(this.costLedger.currentCost(this.project)).isEqualTo(Money.parse("0.00"));
+  }
+
+  @Test
+  @DisplayName("reset - Should restore the pending deltas and reserved cost if the transaction rolls back")
+  void resetRestoredOnRollback() {
+    this.costLedger.record(this.project, Money.parse("300.00"));
+
+    TransactionSynchronizationManager.initSynchronization();
+    this.costLedger.reset(this.project);
+    this.completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+    assertThat(this.costLedger.currentCost(this.project)).isEqualTo(Money.parse("300.00"));
+    when(this.projectRepository.applyCostDelta("02", new BigDecimal("300.00"))).thenReturn(1);
+    this.costLedger.flush();
+    verify(this.projectRepository, times(1)).applyCostDelta("02", new BigDecimal("300.00"));
+  }
+
+  @Test
+  @DisplayName("reset - Should wait for a flush that already drained the project's deltas")
+  void resetWaitsForInFlightFlush() throws Exception {
+    this.costLedger.record(this.project, Money.parse("100.00"));
+    CountDownLatch flushing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> order = new CopyOnWriteArrayList<>();
+    when(this.projectRepository.applyCostDelta("02", new BigDecimal("100.00"))).thenAnswer(invocation -> {
+      flushing.countDown();
+      release.await();
+      order.add("flush");
+      return 1;
+    });
+    when(this.projectRepository.resetCost("02")).thenAnswer(invocation -> {
+      order.add("reset");
+      return 1;
+    });
+
+    Thread flusher = new Thread(this.costLedger::flush);
+    flusher.start();
+    flushing.await();
+    Thread resetter = new Thread(() -> this.costLedger.reset(this.project));
+    resetter.start();
+    Thread.sleep(100);
+    release.countDown();
+    flusher.join();
+    resetter.join();
+
+    assertThat(order).containsExactly("flush", "reset");
+    assertThat(this.costLedger.currentCost(this.project)).isEqualTo(Money.parse("0.00"));
+  }
+
+  private void completeTransaction(int status) {
+    List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+    synchronizations.forEach(synchronization -> {
+      if(status == TransactionSynchronization.STATUS_COMMITTED) synchronization.afterCommit();
+      synchronization.afterCompletion(status);
+    });
+  }
+}
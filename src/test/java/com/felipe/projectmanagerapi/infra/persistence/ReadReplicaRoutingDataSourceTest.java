@@ -0,0 +1,163 @@
+package com.felipe.projectmanagerapi.infra.persistence;
+
+import com.felipe.projectmanagerapi.enums.Role;
+import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import com.felipe.projectmanagerapi.infra.security.WorkspaceAccessCache;
+import com.felipe.projectmanagerapi.models.User;
+import com.felipe.projectmanagerapi.repositories.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+  "api.datasource.replica.enabled=true",
+  "api.datasource.replica.jdbc-url=jdbc:h2:mem:testdb",
+  "api.datasource.replica.username=sa",
+  "api.datasource.replica.password=",
+  "api.datasource.replica.stickiness=1m"
+})
+@ActiveProfiles(value = "test")
+public class ReadReplicaRoutingDataSourceTest {
+
+  @Autowired
+  @Qualifier("primaryDataSource")
+  HikariDataSource primaryDataSource;
+
+  @Autowired
+  @Qualifier("replicaDataSource")
+  HikariDataSource replicaDataSource;
+
+  @Autowired
+  UserRepository userRepository;
+
+  @Autowired
+  WorkspaceAccessCache workspaceAccessCache;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate readWriteTransaction;
+  private TransactionTemplate readOnlyTransaction;
+  private final List<User> users = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    this.readWriteTransaction = new TransactionTemplate(this.transactionManager);
+    this.readOnlyTransaction = new TransactionTemplate(this.transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+
+    for(int i = 0; i < 2; i++) {
+      User user = new User();
+      user.setName("Replica " + i);
+      user.setEmail("replica" + i + "@email.com");
+      user.setPassword("123456");
+      user.setRole(Role.WRITE_READ);
+      this.users.add(this.userRepository.save(user));
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+    this.userRepository.deleteAll(this.users);
+  }
+
+  @Test
+  @DisplayName("determineCurrentLookupKey - Should send read-only transactions to the replica and the rest to the primary")
+  void routesByTransactionReadOnlyFlag() {
+    this.authenticate(this.users.get(0));
+
+    String readOnlyRoute = this.readOnlyTransaction.execute(status -> this.routeOfQuery());
+    String readWriteRoute = this.readWriteTransaction.execute(status -> this.routeOfQuery());
+
+    assertThat(readOnlyRoute).isEqualTo("replica");
+    assertThat(readWriteRoute).isEqualTo("primary");
+  }
+
+  @Test
+  @DisplayName("determineCurrentLookupKey - Should keep a user on the primary right after their own write")
+  void keepsRecentWritersOnPrimary() {
+    this.authenticate(this.users.get(0));
+    this.readWriteTransaction.executeWithoutResult(status -> {
+      User user = this.userRepository.findById(this.users.get(0).getId()).orElseThrow();
+      user.setName("Replica updated");
+    });
+
+    String writerRoute = this.readOnlyTransaction.execute(status -> this.routeOfQuery());
+
+    this.authenticate(this.users.get(1));
+    String otherUserRoute = this.readOnlyTransaction.execute(status -> this.routeOfQuery());
+
+    assertThat(writerRoute).isEqualTo("primary");
+    assertThat(otherUserRoute).isEqualTo("replica");
+  }
+
+  @Test
+  @DisplayName("onPrimary - Should pin read-only work to the primary")
+  void onPrimaryPinsReads() {
+    String route = ReadReplicaRoutingDataSource.<String>onPrimary(() ->
+      this.readOnlyTransaction.execute(status -> this.routeOfQuery())
+    );
+
+    assertThat(route).isEqualTo("primary");
+  }
+
+  @Test
+  @DisplayName("getAccessibleWorkspaceIds - Should load from the primary inside a read-only transaction already on the replica")
+  void accessSetLoadedFromPrimaryInsideReadOnlyTransaction() {
+    this.authenticate(this.users.get(0));
+
+    long primaryAcquisitions = this.readOnlyTransaction.execute(status -> {
+      assertThat(this.routeOfQuery()).isEqualTo("replica");
+      long before = this.acquisitions("primary");
+      this.workspaceAccessCache.getAccessibleWorkspaceIds(this.users.get(0).getId());
+      return this.acquisitions("primary") - before;
+    });
+
+    assertThat(primaryAcquisitions).isEqualTo(1);
+  }
+
+  private long acquisitions(String pool) {
+    return this.meterRegistry.get("hikaricp.connections.acquire").tag("pool", pool).timer().count();
+  }
+
+  private String routeOfQuery() {
+    // A second-level cache hit never borrows a connection
+    this.entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    this.userRepository.findByEmail(this.users.get(1).getEmail());
+    if(this.replicaDataSource.getHikariPoolMXBean().getActiveConnections() > 0) return "replica";
+    if(this.primaryDataSource.getHikariPoolMXBean().getActiveConnections() > 0) return "primary";
+    return "none";
+  }
+
+  private void authenticate(User user) {
+    UserPrincipal userPrincipal = new UserPrincipal(user);
+    SecurityContextHolder.getContext().setAuthentication(
+      new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities())
+    );
+  }
+}
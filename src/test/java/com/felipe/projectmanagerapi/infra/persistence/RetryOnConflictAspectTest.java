@@ -0,0 +1,80 @@
+package com.felipe.projectmanagerapi.infra.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+public class RetryOnConflictAspectTest {
+
+  private ConflictingWriter writer;
+
+  @BeforeEach
+  void setUp() {
+    AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new ConflictingWriter());
+    proxyFactory.setProxyTargetClass(true);
+    proxyFactory.addAspect(new RetryOnConflictAspect());
+    this.writer = proxyFactory.getProxy();
+  }
+
+  @Test
+  @DisplayName("retry - Should run the method again until it stops conflicting")
+  void retryUntilSuccess() {
+    ConflictingWriter.conflicts.set(2);
+    ConflictingWriter.attempts.set(0);
+
+    String result = this.writer.write();
+
+    assertThat(result).isEqualTo("ok");
+    assertThat(ConflictingWriter.attempts.get()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("retry - Should rethrow the conflict once the attempts are exhausted")
+  void retryFailsAfterMaxAttempts() {
+    ConflictingWriter.conflicts.set(10);
+    ConflictingWriter.attempts.set(0);
+
+    Exception thrown = catchException(() -> this.writer.write());
+
+    assertThat(thrown).isInstanceOf(OptimisticLockingFailureException.class);
+    assertThat(ConflictingWriter.attempts.get()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("retry - Should not retry exceptions other than optimistic locking failures")
+  void retryIgnoresOtherExceptions() {
+    ConflictingWriter.attempts.set(0);
+
+    Exception thrown = catchException(() -> this.writer.fail());
+
+    assertThat(thrown).isExactlyInstanceOf(IllegalStateException.class);
+    assertThat(ConflictingWriter.attempts.get()).isEqualTo(1);
+  }
+
+  static class ConflictingWriter {
+    static final AtomicInteger conflicts = new AtomicInteger();
+    static final AtomicInteger attempts = new AtomicInteger();
+
+    @RetryOnConflict(maxAttempts = 3, initialBackoffMillis = 1, maxBackoffMillis = 2)
+    public String write() {
+      attempts.incrementAndGet();
+      if(conflicts.getAndDecrement() > 0) {
+        throw new OptimisticLockingFailureException("conflict");
+      }
+      return "ok";
+    }
+
+    @RetryOnConflict(maxAttempts = 3, initialBackoffMillis = 1, maxBackoffMillis = 2)
+    public String fail() {
+      attempts.incrementAndGet();
+      throw new IllegalStateException("failure");
+    }
+  }
+}
@@ -0,0 +1,198 @@
+package com.felipe.projectmanagerapi.infra.persistence;
+
+import com.felipe.projectmanagerapi.dtos.UserRoleUpdateDTO;
+import com.felipe.projectmanagerapi.enums.Role;
+import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.models.User;
+import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.repositories.ProjectRepository;
+import com.felipe.projectmanagerapi.repositories.WorkspaceRepository;
+import com.felipe.projectmanagerapi.services.MemberService;
+import com.felipe.projectmanagerapi.services.UserService;
+import com.felipe.projectmanagerapi.services.WorkspaceService;
+import com.felipe.projectmanagerapi.utils.WorkspaceFixture;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles(value = "test")
+@Import(WorkspaceFixture.class)
+public class SecondLevelCacheTest {
+
+  @Autowired
+  UserService userService;
+
+  @Autowired
+  WorkspaceService workspaceService;
+
+  @Autowired
+  MemberService memberService;
+
+  @Autowired
+  ProjectRepository projectRepository;
+
+  @Autowired
+  WorkspaceRepository workspaceRepository;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Autowired
+  WorkspaceFixture fixture;
+
+  private TransactionTemplate transactionTemplate;
+  private Statistics statistics;
+  private List<User> users;
+  private Workspace workspace;
+  private Project project;
+
+  @BeforeEach
+  void setUp() {
+    this.transactionTemplate = this.fixture.getTransactionTemplate();
+    SessionFactory sessionFactory = this.entityManagerFactory.unwrap(SessionFactory.class);
+    sessionFactory.getCache().evictAllRegions();
+    this.statistics = sessionFactory.getStatistics();
+
+    this.transactionTemplate.executeWithoutResult(status -> {
+      this.users = this.fixture.createUsers("Cached", 3, Role.WRITE_READ);
+      this.workspace = this.fixture.createWorkspace("Second-level cache", this.users.get(0), List.of(this.users.get(1)));
+      this.project = this.fixture.createProject("Project", this.users.get(0));
+    });
+
+    this.fixture.authenticate(this.users.get(0));
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.fixture.tearDown();
+  }
+
+  @Test
+  @DisplayName("getProfile - Should serve a user read twice from the second-level cache")
+  void getProfileServedFromCache() {
+    this.userService.getProfile(this.users.get(1).getId());
+    this.statistics.clear();
+
+    User user = this.userService.getProfile(this.users.get(1).getId());
+
+    assertThat(user.getEmail()).isEqualTo("cached1@email.com");
+    assertThat(this.statistics.getPrepareStatementCount()).isZero();
+    assertThat(this.statistics.getDomainDataRegionStatistics(SecondLevelCacheConfiguration.USER_REGION).getHitCount())
+      .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("updateRole - Should not serve the previous role from the cache")
+  void updateRoleInvalidatesCachedUser() {
+    this.userService.getProfile(this.users.get(1).getId());
+
+    this.userService.updateRole(this.users.get(1).getId(), new UserRoleUpdateDTO("READ_ONLY"));
+
+    assertThat(this.userService.getProfile(this.users.get(1).getId()).getRole()).isEqualTo(Role.READ_ONLY);
+  }
+
+  @Test
+  @DisplayName("insertMember - Should not serve the previous members from the cache")
+  void insertMemberInvalidatesCachedMembers() {
+    assertThat(this.workspaceService.getWithMembersById(this.workspace.getId()).getMembers()).hasSize(1);
+
+    this.memberService.insertMember(this.workspace.getId(), this.users.get(2).getId());
+
+    assertThat(this.workspaceService.getWithMembersById(this.workspace.getId()).getMembers())
+      .extracting(User::getId)
+      .containsExactlyInAnyOrder(this.users.get(1).getId(), this.users.get(2).getId());
+  }
+
+  @Test
+  @DisplayName("insertMember/removeMember - Should write the one join row instead of recreating the members collection")
+  void memberChangesWriteSingleJoinRow() {
+    this.statistics.clear();
+
+    this.memberService.insertMember(this.workspace.getId(), this.users.get(2).getId());
+    this.memberService.removeMember(this.workspace.getId(), this.users.get(1).getId());
+
+    assertThat(this.statistics.getCollectionRecreateCount()).isZero();
+    assertThat(this.statistics.getCollectionUpdateCount()).isZero();
+    assertThat(this.statistics.getCollectionRemoveCount()).isZero();
+    assertThat(this.workspaceService.getWithMembersById(this.workspace.getId()).getMembers())
+      .extracting(User::getId)
+      .containsExactly(this.users.get(2).getId());
+  }
+
+  @Test
+  @DisplayName("insertMember - Should refresh the members timestamp of one workspace and keep the others cached")
+  void touchMembersUpdatedAtEvictsSingleWorkspace() {
+    Workspace other = this.transactionTemplate.execute(status -> {
+      Workspace workspace = new Workspace();
+      workspace.setName("Other");
+      workspace.setOwner(this.users.get(2));
+      return this.workspaceRepository.save(workspace);
+    });
+    try {
+      this.transactionTemplate.executeWithoutResult(status -> {
+        this.workspaceRepository.findById(other.getId());
+        this.workspaceRepository.findById(this.workspace.getId());
+      });
+
+      this.memberService.insertMember(this.workspace.getId(), this.users.get(2).getId());
+      this.statistics.clear();
+
+      this.transactionTemplate.executeWithoutResult(status -> this.workspaceRepository.findById(other.getId()));
+      assertThat(this.statistics.getPrepareStatementCount()).isZero();
+      Workspace touched = this.transactionTemplate.execute(status ->
+        this.workspaceRepository.findById(this.workspace.getId()).orElseThrow()
+      );
+      assertThat(touched.getMembersUpdatedAt()).isNotNull();
+    } finally {
+      this.transactionTemplate.executeWithoutResult(status -> this.workspaceRepository.deleteById(other.getId()));
+    }
+  }
+
+  @Test
+  @DisplayName("addCost - Should keep cached users when a native update only touches projects")
+  void nativeProjectUpdateKeepsUserRegion() {
+    this.userService.getProfile(this.users.get(1).getId());
+
+    this.projectRepository.addCost(this.project.getId(), new BigDecimal("10.00"));
+    this.statistics.clear();
+    this.userService.getProfile(this.users.get(1).getId());
+
+    assertThat(this.statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("secondLevelCacheMetrics - Should publish hits and misses per region")
+  void regionStatisticsPublished() {
+    double hitsBefore = this.meterRegistry.get("cache.gets")
+      .tags("cache", SecondLevelCacheConfiguration.USER_REGION, "result", "hit")
+      .functionCounter()
+      .count();
+
+    this.userService.getProfile(this.users.get(1).getId());
+    this.userService.getProfile(this.users.get(1).getId());
+
+    assertThat(this.meterRegistry.get("cache.gets")
+      .tags("cache", SecondLevelCacheConfiguration.USER_REGION, "result", "hit")
+      .functionCounter()
+      .count()).isGreaterThan(hitsBefore);
+  }
+}
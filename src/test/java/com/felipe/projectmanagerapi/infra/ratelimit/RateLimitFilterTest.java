@@ -0,0 +1,60 @@
+package com.felipe.projectmanagerapi.infra.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitFilterTest {
+
+  @Mock
+  HandlerExceptionResolver resolver;
+
+  private AutoCloseable closeable;
+  private RateLimitFilter rateLimitFilter;
+
+  @BeforeEach
+  void setUp() {
+    this.closeable = MockitoAnnotations.openMocks(this);
+    Duration period = Duration.ofMinutes(1);
+    this.rateLimitFilter = new RateLimitFilter(this.resolver, true, Duration.ofMinutes(10), 10, period, 20, period, 300, period);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    this.closeable.close();
+  }
+
+  @Test
+  @DisplayName("doFilter - Should apply the login limit to an encoded or slash-padded login path")
+  void encodedLoginPathUsesLoginLimit() throws Exception {
+    assertThat(this.limitFor("POST", "/api/auth/login")).isEqualTo("10");
+    assertThat(this.limitFor("POST", "/api/auth/%6Cogin")).isEqualTo("10");
+    assertThat(this.limitFor("POST", "//api/auth//login")).isEqualTo("10");
+  }
+
+  @Test
+  @DisplayName("doFilter - Should apply the heavy limit to an encoded path of a heavy route")
+  void encodedHeavyPathUsesHeavyLimit() throws Exception {
+    assertThat(this.limitFor("GET", "/api/tasks/owner/01")).isEqualTo("20");
+    assertThat(this.limitFor("GET", "/api/%74asks/owner/01")).isEqualTo("20");
+    assertThat(this.limitFor("GET", "/api/tasks/01")).isEqualTo("300");
+  }
+
+  private String limitFor(String method, String requestUri) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, requestUri);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    this.rateLimitFilter.doFilter(request, response, new MockFilterChain());
+    return response.getHeader("X-RateLimit-Limit");
+  }
+}
@@ -0,0 +1,63 @@
+package com.felipe.projectmanagerapi.infra.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketRegistryTest {
+
+  private AtomicLong now;
+  private TokenBucketRegistry tokenBucketRegistry;
+  private RateLimit limit;
+
+  @BeforeEach
+  void setUp() {
+    this.now = new AtomicLong(0L);
+    this.tokenBucketRegistry = new TokenBucketRegistry(Duration.ofMinutes(10), this.now::get);
+    this.limit = new RateLimit(3, Duration.ofSeconds(3));
+  }
+
+  @Test
+  @DisplayName("tryConsume - Should allow up to the bucket capacity and then reject with the time until the next token")
+  void tryConsumeRejectsWhenEmpty() {
+    assertThat(this.tokenBucketRegistry.tryConsume("user:01", this.limit).remaining()).isEqualTo(2);
+    assertThat(this.tokenBucketRegistry.tryConsume("user:01", this.limit).remaining()).isEqualTo(1);
+    assertThat(this.tokenBucketRegistry.tryConsume("user:01", this.limit).remaining()).isEqualTo(0);
+
+    TokenBucketRegistry.Probe rejected = this.tokenBucketRegistry.tryConsume("user:01", this.limit);
+
+    assertThat(rejected.allowed()).isFalse();
+    assertThat(rejected.retryAfterNanos()).isEqualTo(Duration.ofSeconds(1).toNanos());
+    assertThat(this.tokenBucketRegistry.tryConsume("user:02", this.limit).allowed()).isTrue();
+  }
+
+  @Test
+  @DisplayName("tryConsume - Should refill tokens as time passes")
+  void tryConsumeRefills() {
+    for(int i = 0; i < 3; i++) this.tokenBucketRegistry.tryConsume("user:01", this.limit);
+
+    this.now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+    TokenBucketRegistry.Probe probe = this.tokenBucketRegistry.tryConsume("user:01", this.limit);
+
+    assertThat(probe.allowed()).isTrue();
+    assertThat(probe.remaining()).isEqualTo(0);
+  }
+
+  @Test
+  @DisplayName("tryConsume - Should evict buckets that stayed idle longer than the idle timeout")
+  void tryConsumeEvictsIdleBuckets() {
+    this.tokenBucketRegistry.tryConsume("user:01", this.limit);
+    this.tokenBucketRegistry.tryConsume("user:02", this.limit);
+
+    this.now.addAndGet(Duration.ofMinutes(11).toNanos());
+    this.tokenBucketRegistry.tryConsume("user:03", this.limit);
+
+    assertThat(this.tokenBucketRegistry.size()).isEqualTo(1);
+  }
+}
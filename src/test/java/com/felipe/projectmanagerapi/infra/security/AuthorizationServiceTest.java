@@ -116,13 +116,10 @@ public class AuthorizationServiceTest {
     Authentication authentication = this.authorizationService.getAuthentication();
     UserPrincipal authUser = (UserPrincipal) authentication.getPrincipal();
 
-    assertThat(authUser.getUser().getId()).isEqualTo(userPrincipal.getUser().getId());
-    assertThat(authUser.getUser().getName()).isEqualTo(userPrincipal.getUser().getName());
-    assertThat(authUser.getUsername()).isEqualTo(userPrincipal.getUsername());
-    assertThat(authUser.getPassword()).isEqualTo(userPrincipal.getPassword());
-    assertThat(authUser.getUser().getRole()).isEqualTo(userPrincipal.getUser().getRole());
-    assertThat(authUser.getUser().getCreatedAt()).isEqualTo(userPrincipal.getUser().getCreatedAt());
-    assertThat(authUser.getUser().getUpdatedAt()).isEqualTo(userPrincipal.getUser().getUpdatedAt());
+    assertThat(authUser.getId()).isEqualTo(user.getId());
+    assertThat(authUser.getUsername()).isEqualTo(user.getEmail());
+    assertThat(authUser.getPassword()).isEqualTo(user.getPassword());
+    assertThat(authUser.getRole()).isEqualTo(user.getRole());
   }
 
   private void mockAuthentication(UserPrincipal authUser) {
@@ -0,0 +1,91 @@
+package com.felipe.projectmanagerapi.infra.security;
+
+import com.felipe.projectmanagerapi.exceptions.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+public class BoundedPasswordEncoderTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private CountDownLatch started;
+  private CountDownLatch release;
+  private BoundedPasswordEncoder boundedPasswordEncoder;
+
+  @BeforeEach
+  void setUp() {
+    this.meterRegistry = new SimpleMeterRegistry();
+    this.started = new CountDownLatch(1);
+    this.release = new CountDownLatch(1);
+    PasswordEncoder blockingEncoder = new PasswordEncoder() {
+      @Override
+      public String encode(CharSequence rawPassword) {
+        started.countDown();
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch(InterruptedException exception) {
+          Thread.currentThread().interrupt();
+        }
+        return "encoded:" + rawPassword;
+      }
+
+      @Override
+      public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return encodedPassword.equals("encoded:" + rawPassword);
+      }
+    };
+    this.boundedPasswordEncoder = new BoundedPasswordEncoder(blockingEncoder, 1, 1, this.meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.release.countDown();
+    this.boundedPasswordEncoder.close();
+  }
+
+  @Test
+  @DisplayName("encode/matches - Should run the delegate on the pool and record its latency")
+  void encodeAndMatchesSuccess() {
+    this.release.countDown();
+
+    String encoded = this.boundedPasswordEncoder.encode("123456");
+
+    assertThat(encoded).isEqualTo("encoded:123456");
+    assertThat(this.boundedPasswordEncoder.matches("123456", encoded)).isTrue();
+    assertThat(this.boundedPasswordEncoder.matches("654321", encoded)).isFalse();
+    assertThat(this.meterRegistry.get("auth.password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+    assertThat(this.meterRegistry.get("auth.password.hashing").tag("operation", "matches").timer().count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("encode - Should throw a PasswordHashingUnavailableException when the pool and its queue are full")
+  void encodeFailsWhenSaturated() throws Exception {
+    CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> this.boundedPasswordEncoder.encode("first"));
+    assertThat(this.started.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> this.boundedPasswordEncoder.encode("second"));
+    while(this.meterRegistry.get("auth.password.hashing.queue.depth").gauge().value() < 1) {
+      Thread.onSpinWait();
+    }
+
+    Exception thrown = catchException(() -> this.boundedPasswordEncoder.encode("third"));
+
+    assertThat(thrown)
+      .isExactlyInstanceOf(PasswordHashingUnavailableException.class)
+      .hasMessage("O servidor está sobrecarregado no momento. Tente novamente em instantes");
+    assertThat(this.meterRegistry.get("auth.password.hashing.rejected").counter().count()).isEqualTo(1);
+
+    this.release.countDown();
+    assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("encoded:first");
+    assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("encoded:second");
+  }
+}
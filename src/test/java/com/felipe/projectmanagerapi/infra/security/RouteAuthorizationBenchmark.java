@@ -0,0 +1,142 @@
+package com.felipe.projectmanagerapi.infra.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Authorization decision for one request with the compiled {@link RouteAuthorizationManager} used by
+ * {@link SecurityConfiguration} versus the ordered matcher chain it replaced, rebuilt here from the
+ * same rules with {@link AntPathRequestMatcher}. The paths cover a rule near the top of the chain, one
+ * at the bottom, a path with several variables and an unmapped path that falls through every rule.
+ * Run with {@code mvn test-compile} and then
+ * {@code java -cp target/test-classes:target/classes:<test classpath> com.felipe.projectmanagerapi.infra.security.RouteAuthorizationBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteAuthorizationBenchmark {
+
+  @Param({
+    "GET /api/users/me",
+    "GET /api/tasks/owner/01",
+    "PATCH /api/projects/workspaces/01/owner/02",
+    "GET /api/unknown/01"
+  })
+  public String route;
+
+  private RouteAuthorizationManager trie;
+  private AuthorizationManager<HttpServletRequest> chain;
+  private MockHttpServletRequest request;
+  private RequestAuthorizationContext context;
+  private final Supplier<Authentication> authentication = () -> {
+    Authentication token = new TestingAuthenticationToken("admin", null, "ROLE_ADMIN");
+    token.setAuthenticated(true);
+    return token;
+  };
+
+  @Setup
+  public void setUp() {
+    this.trie = new SecurityConfiguration(null, null, null, null).routeAuthorizationManager();
+    this.chain = matcherChain();
+
+    String[] methodAndPath = this.route.split(" ");
+    this.request = new MockHttpServletRequest(methodAndPath[0], methodAndPath[1]);
+    this.request.setServletPath(methodAndPath[1]);
+    this.context = new RequestAuthorizationContext(this.request);
+  }
+
+  @Benchmark
+  public AuthorizationDecision compiledTrie() {
+    return this.trie.check(this.authentication, this.context);
+  }
+
+  @Benchmark
+  public AuthorizationDecision orderedMatchers() {
+    return this.chain.check(this.authentication, this.request);
+  }
+
+  private static AuthorizationManager<HttpServletRequest> matcherChain() {
+    String[][] rules = {
+      {"POST", "/api/auth/register", "ADMIN"},
+      {"POST", "/api/auth/login", null},
+      {"GET", "/api/users", "ADMIN"},
+      {"GET", "/api/users/me", "ADMIN,WRITE_READ,READ_ONLY"},
+      {"PATCH", "/api/users/{userId}", "ADMIN,WRITE_READ,READ_ONLY"},
+      {"GET", "/api/users/{userId}", "ADMIN"},
+      {"DELETE", "/api/users/{userId}", "ADMIN"},
+      {"PATCH", "/api/users/{userId}/role", "ADMIN"},
+      {null, "/api/workspaces", "ADMIN"},
+      {"PATCH", "/api/workspaces/{workspaceId}", "ADMIN"},
+      {"DELETE", "/api/workspaces/{workspaceId}", "ADMIN"},
+      {"GET", "/api/workspaces/{workspaceId}", "ADMIN,WRITE_READ,READ_ONLY"},
+      {"GET", "/api/workspaces/{workspaceId}/members", "ADMIN,WRITE_READ,READ_ONLY"},
+      {"GET", "/api/workspaces/{workspaceId}/changes", "ADMIN,WRITE_READ,READ_ONLY"},
+      {"GET", "/api/workspaces/{workspaceId}/events", "ADMIN,WRITE_READ,READ_ONLY"},
+      {null, "/api/workspaces/{workspaceId}/members/**", "ADMIN"},
+      {"POST", "/api/projects", "ADMIN,WRITE_READ"},
+      {"GET", "/api/projects", "ADMIN,WRITE_READ"},
+      {"DELETE", "/api/projects", "ADMIN,WRITE_READ"},
+      {"PATCH", "/api/projects/{projectId}", "ADMIN,WRITE_READ"},
+      {"DELETE", "/api/projects/{projectId}", "ADMIN,WRITE_READ"},
+      {null, "/api/projects/workspaces/{workspaceId}/owner/{ownerId}", "ADMIN"},
+      {"GET", "/api/projects/{projectId}", "ADMIN,WRITE_READ,READ_ONLY"},
+      {"GET", "/api/projects/owner/{ownerId}", "ADMIN"},
+      {"DELETE", "/api/projects/owner/{ownerId}", "ADMIN"},
+      {"GET", "/api/projects/workspaces/{workspaceId}", "ADMIN,WRITE_READ,READ_ONLY"},
+      {"DELETE", "/api/projects/workspaces/{workspaceId}", "ADMIN"},
+      {"POST", "/api/tasks", "ADMIN,WRITE_READ"},
+      {"GET", "/api/tasks", "ADMIN,WRITE_READ"},
+      {"GET", "/api/tasks/{taskId}", "ADMIN,WRITE_READ,READ_ONLY"},
+      {"DELETE", "/api/tasks/{taskId}", "ADMIN,WRITE_READ"},
+      {"PATCH", "/api/tasks/{taskId}", "ADMIN,WRITE_READ"},
+      {"GET", "/api/tasks/projects/{projectId}", "ADMIN,WRITE_READ,READ_ONLY"},
+      {"DELETE", "/api/tasks/projects/{projectId}", "ADMIN,WRITE_READ"},
+      {"GET", "/api/tasks/owner/{ownerId}", "ADMIN"},
+      {null, "/actuator/**", "ADMIN"}
+    };
+
+    RequestMatcherDelegatingAuthorizationManager.Builder builder = RequestMatcherDelegatingAuthorizationManager.builder();
+    for(String[] rule : rules) {
+      AntPathRequestMatcher matcher = new AntPathRequestMatcher(rule[1], rule[0]);
+      AuthorizationManager<RequestAuthorizationContext> manager = rule[2] == null
+        ? (authentication, context) -> new AuthorizationDecision(true)
+        : AuthorityAuthorizationManager.hasAnyRole(rule[2].split(","));
+      builder.add(matcher, manager);
+    }
+    builder.add(request -> true, AuthenticatedAuthorizationManager.authenticated());
+    return builder.build();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(RouteAuthorizationBenchmark.class.getSimpleName()).build()).run();
+  }
+}
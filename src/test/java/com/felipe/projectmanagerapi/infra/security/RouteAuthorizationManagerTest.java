@@ -0,0 +1,100 @@
+package com.felipe.projectmanagerapi.infra.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RouteAuthorizationManagerTest {
+
+  private RouteAuthorizationManager routeAuthorizationManager;
+  private Authentication admin;
+  private Authentication writeRead;
+  private Authentication readOnly;
+
+  @BeforeEach
+  void setUp() {
+    this.routeAuthorizationManager = RouteAuthorizationManager.builder()
+      .permitAll(HttpMethod.POST, "/api/auth/login")
+      .hasAnyRole(HttpMethod.PATCH, "/api/users/{userId}", "ADMIN", "WRITE_READ", "READ_ONLY")
+      .hasAnyRole(HttpMethod.PATCH, "/api/users/{userId}/role", "ADMIN")
+      .hasAnyRole("/api/workspaces", "ADMIN")
+      .hasAnyRole(HttpMethod.GET, "/api/workspaces/{workspaceId}/members", "ADMIN", "WRITE_READ", "READ_ONLY")
+      .hasAnyRole("/api/workspaces/{workspaceId}/members/**", "ADMIN")
+      .hasAnyRole(HttpMethod.GET, "/api/projects/{projectId}", "ADMIN", "WRITE_READ", "READ_ONLY")
+      .hasAnyRole(HttpMethod.DELETE, "/api/projects/{projectId}", "ADMIN", "WRITE_READ")
+      .hasAnyRole(HttpMethod.GET, "/api/projects/owner/{ownerId}", "ADMIN")
+      .hasAnyRole(HttpMethod.GET, "/api/tasks/{taskId}", "ADMIN", "WRITE_READ", "READ_ONLY")
+      .hasAnyRole(HttpMethod.GET, "/api/tasks/owner/{ownerId}", "ADMIN")
+      .build();
+    this.admin = new TestingAuthenticationToken("admin", null, "ROLE_ADMIN");
+    this.writeRead = new TestingAuthenticationToken("user", null, "ROLE_WRITE_READ");
+    this.readOnly = new TestingAuthenticationToken("reader", null, "ROLE_READ_ONLY");
+  }
+
+  @Test
+  @DisplayName("check - Should grant access based on the roles of the matched method and path")
+  void checkMatchesMethodAndPath() {
+    assertThat(this.isGranted(this.readOnly, "GET", "/api/projects/01")).isTrue();
+    assertThat(this.isGranted(this.readOnly, "DELETE", "/api/projects/01")).isFalse();
+    assertThat(this.isGranted(this.writeRead, "DELETE", "/api/projects/01")).isTrue();
+    assertThat(this.isGranted(this.writeRead, "POST", "/api/workspaces")).isFalse();
+    assertThat(this.isGranted(this.admin, "POST", "/api/workspaces")).isTrue();
+  }
+
+  @Test
+  @DisplayName("check - Should prefer literal segments over path variables and fall back when the literal branch has no rule")
+  void checkPrefersLiteralSegments() {
+    assertThat(this.isGranted(this.writeRead, "GET", "/api/projects/owner/01")).isFalse();
+    assertThat(this.isGranted(this.admin, "GET", "/api/projects/owner/01")).isTrue();
+    assertThat(this.isGranted(this.readOnly, "GET", "/api/tasks/owner")).isTrue();
+  }
+
+  @Test
+  @DisplayName("check - Should match the catch-all pattern for the remaining segments")
+  void checkMatchesCatchAll() {
+    assertThat(this.isGranted(this.readOnly, "GET", "/api/workspaces/01/members")).isTrue();
+    assertThat(this.isGranted(this.readOnly, "PATCH", "/api/workspaces/01/members")).isFalse();
+    assertThat(this.isGranted(this.readOnly, "PATCH", "/api/workspaces/01/members/02")).isFalse();
+    assertThat(this.isGranted(this.admin, "PATCH", "/api/workspaces/01/members/02")).isTrue();
+  }
+
+  @Test
+  @DisplayName("check - Should permit public routes and only require authentication for unmapped routes")
+  void checkPermitAllAndFallback() {
+    Authentication anonymous = new TestingAuthenticationToken("anonymous", null);
+
+    assertThat(this.isGranted(null, "POST", "/api/auth/login")).isTrue();
+    assertThat(this.isGranted(anonymous, "GET", "/api/unknown")).isTrue();
+    assertThat(this.isGranted(null, "GET", "/api/unknown")).isFalse();
+  }
+
+  @Test
+  @DisplayName("check - Should match the decoded path segments that Spring MVC routes on")
+  void checkMatchesDecodedPath() {
+    assertThat(this.isGranted(this.writeRead, "PATCH", "/api/users/01/r%6Fle")).isFalse();
+    assertThat(this.isGranted(this.writeRead, "PATCH", "/api/users/01/role;v=1")).isFalse();
+    assertThat(this.isGranted(this.admin, "PATCH", "/api/users/01/r%6Fle")).isTrue();
+    assertThat(this.isGranted(this.writeRead, "GET", "/api/projects/%6Fwner/01")).isFalse();
+  }
+
+  @Test
+  @DisplayName("check - Should deny paths that cannot be decoded")
+  void checkDeniesUndecodablePath() {
+    assertThat(this.isGranted(this.admin, "GET", "/api/unknown/%zz")).isFalse();
+  }
+
+  private boolean isGranted(Authentication authentication, String method, String path) {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+    if(authentication != null) authentication.setAuthenticated(true);
+    return this.routeAuthorizationManager
+      .check(() -> authentication, new RequestAuthorizationContext(request))
+      .isGranted();
+  }
+}
@@ -0,0 +1,40 @@
+package com.felipe.projectmanagerapi.infra.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "api.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles(value = "test")
+public class RouteAuthorizationSecurityTest {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Test
+  @DisplayName("securityFilterChain - Should deny an ADMIN route to other roles when a path segment is percent-encoded")
+  void encodedSegmentOnAdminRouteDenied() throws Exception {
+    this.mockMvc.perform(patch(URI.create("/api/users/01/r%6Fle"))
+        .with(user("user").roles("WRITE_READ"))
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"role\":\"ADMIN\"}"))
+      .andExpect(status().isForbidden());
+
+    this.mockMvc.perform(get(URI.create("/act%75ator/metrics"))
+        .with(user("user").roles("WRITE_READ")))
+      .andExpect(status().isForbidden());
+  }
+}
@@ -0,0 +1,119 @@
+package com.felipe.projectmanagerapi.infra.security;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.felipe.projectmanagerapi.models.User;
+import com.felipe.projectmanagerapi.repositories.UserRepository;
+import com.felipe.projectmanagerapi.utils.GenerateMocks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+import static org.mockito.Mockito.when;
+
+public class TokenServiceTest {
+
+  @Mock
+  UserRepository userRepository;
+
+  private AutoCloseable closeable;
+  private TokenService tokenService;
+  private UserSecurityVersions userSecurityVersions;
+  private GenerateMocks dataMock;
+
+  @BeforeEach
+  void setUp() {
+    this.closeable = MockitoAnnotations.openMocks(this);
+    this.userSecurityVersions = new UserSecurityVersions(this.userRepository);
+    this.tokenService = new TokenService("test-secret", this.userSecurityVersions);
+    this.dataMock = new GenerateMocks();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    this.closeable.close();
+  }
+
+  @Test
+  @DisplayName("toPrincipal - Should build a stateless principal from the token claims")
+  void toPrincipalSuccess() {
+    User user = this.dataMock.getUsers().get(1);
+    String token = this.tokenService.generateToken(new UserPrincipal(user));
+    when(this.userRepository.findSecurityVersionById(user.getId())).thenReturn(Optional.of(user.getSecurityVersion()));
+
+    DecodedJWT decodedToken = this.tokenService.verify(token);
+    UserPrincipal userPrincipal = this.tokenService.toPrincipal(decodedToken);
+
+    assertThat(this.tokenService.hasPrincipalClaims(decodedToken)).isTrue();
+    assertThat(userPrincipal.getId()).isEqualTo(user.getId());
+    assertThat(userPrincipal.getUsername()).isEqualTo(user.getEmail());
+    assertThat(userPrincipal.getRole()).isEqualTo(user.getRole());
+    assertThat(userPrincipal.getSecurityVersion()).isEqualTo(user.getSecurityVersion());
+    assertThat(userPrincipal.getAuthorities())
+      .extracting("authority")
+      .containsExactly("ROLE_" + user.getRole().getName());
+  }
+
+  @Test
+  @DisplayName("toPrincipal - Should reject a token issued before the user's security version was bumped")
+  void toPrincipalFailsByStaleSecurityVersion() {
+    User user = this.dataMock.getUsers().get(1);
+    String token = this.tokenService.generateToken(new UserPrincipal(user));
+    DecodedJWT decodedToken = this.tokenService.verify(token);
+
+    user.bumpSecurityVersion();
+    when(this.userRepository.findSecurityVersionById(user.getId())).thenReturn(Optional.of(user.getSecurityVersion()));
+
+    Exception thrown = catchException(() -> this.tokenService.toPrincipal(decodedToken));
+
+    assertThat(thrown)
+      .isExactlyInstanceOf(JWTVerificationException.class)
+      .hasMessage("O Token de acesso fornecido expirou, foi revogado ou é inválido");
+  }
+
+  @Test
+  @DisplayName("toPrincipal - Should reject a token of a user that no longer exists")
+  void toPrincipalFailsByDeletedUser() {
+    User user = this.dataMock.getUsers().get(1);
+    DecodedJWT decodedToken = this.tokenService.verify(this.tokenService.generateToken(new UserPrincipal(user)));
+    when(this.userRepository.findSecurityVersionById(user.getId())).thenReturn(Optional.empty());
+
+    Exception thrown = catchException(() -> this.tokenService.toPrincipal(decodedToken));
+
+    assertThat(thrown)
+      .isExactlyInstanceOf(JWTVerificationException.class)
+      .hasMessage("O Token de acesso fornecido expirou, foi revogado ou é inválido");
+  }
+
+  @Test
+  @DisplayName("verify - Should return the decoded token with the user's email as subject")
+  void verifySuccess() {
+    User user = this.dataMock.getUsers().get(0);
+    String token = this.tokenService.generateToken(new UserPrincipal(user));
+
+    DecodedJWT decodedToken = this.tokenService.verify(token);
+
+    assertThat(decodedToken.getSubject()).isEqualTo(user.getEmail());
+    assertThat(decodedToken.getExpiresAtAsInstant()).isNotNull();
+  }
+
+  @Test
+  @DisplayName("verify - Should throw a JWTVerificationException if the token was signed with another secret")
+  void verifyFailsByInvalidSignature() {
+    User user = this.dataMock.getUsers().get(0);
+    String token = new TokenService("another-secret", this.userSecurityVersions).generateToken(new UserPrincipal(user));
+
+    Exception thrown = catchException(() -> this.tokenService.verify(token));
+
+    assertThat(thrown)
+      .isExactlyInstanceOf(JWTVerificationException.class)
+      .hasMessage("O Token de acesso fornecido expirou, foi revogado ou é inválido");
+  }
+}
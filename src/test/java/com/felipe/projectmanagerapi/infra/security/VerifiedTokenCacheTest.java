@@ -0,0 +1,107 @@
+package com.felipe.projectmanagerapi.infra.security;
+
+import com.felipe.projectmanagerapi.utils.GenerateMocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VerifiedTokenCacheTest {
+
+  private VerifiedTokenCache verifiedTokenCache;
+  private SimpleMeterRegistry meterRegistry;
+  private GenerateMocks dataMock;
+
+  @BeforeEach
+  void setUp() {
+    this.meterRegistry = new SimpleMeterRegistry();
+    this.verifiedTokenCache = new VerifiedTokenCache(100, this.meterRegistry);
+    this.dataMock = new GenerateMocks();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if(TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  @DisplayName("get - Should return the cached principal and count hits and misses")
+  void getSuccess() {
+    UserPrincipal userPrincipal = new UserPrincipal(this.dataMock.getUsers().get(0));
+
+    assertThat(this.verifiedTokenCache.get("token")).isNull();
+
+    this.verifiedTokenCache.put("token", userPrincipal, Instant.now().plus(1, ChronoUnit.HOURS), this.verifiedTokenCache.evictionCount());
+
+    assertThat(this.verifiedTokenCache.get("token")).isSameAs(userPrincipal);
+    assertThat(this.meterRegistry.get("cache.gets").tags("cache", "verified-tokens", "result", "hit").functionCounter().count())
+      .isEqualTo(1);
+    assertThat(this.meterRegistry.get("cache.gets").tags("cache", "verified-tokens", "result", "miss").functionCounter().count())
+      .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("put - Should not cache a token that is already expired")
+  void putIgnoresExpiredToken() {
+    UserPrincipal userPrincipal = new UserPrincipal(this.dataMock.getUsers().get(0));
+
+    this.verifiedTokenCache.put("token", userPrincipal, Instant.now().minus(1, ChronoUnit.MINUTES), this.verifiedTokenCache.evictionCount());
+
+    assertThat(this.verifiedTokenCache.get("token")).isNull();
+  }
+
+  @Test
+  @DisplayName("evictUser - Should remove every cached token that belongs to the user")
+  void evictUserSuccess() {
+    UserPrincipal user1 = new UserPrincipal(this.dataMock.getUsers().get(0));
+    UserPrincipal user2 = new UserPrincipal(this.dataMock.getUsers().get(1));
+    Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+
+    this.verifiedTokenCache.put("token1", user1, expiresAt, this.verifiedTokenCache.evictionCount());
+    this.verifiedTokenCache.put("token2", user1, expiresAt, this.verifiedTokenCache.evictionCount());
+    this.verifiedTokenCache.put("token3", user2, expiresAt, this.verifiedTokenCache.evictionCount());
+
+    this.verifiedTokenCache.evictUser(user1.getUsername());
+
+    assertThat(this.verifiedTokenCache.get("token1")).isNull();
+    assertThat(this.verifiedTokenCache.get("token2")).isNull();
+    assertThat(this.verifiedTokenCache.get("token3")).isSameAs(user2);
+  }
+
+  @Test
+  @DisplayName("put - Should not cache a principal loaded while the user was evicted")
+  void putIgnoresPrincipalLoadedDuringEviction() {
+    UserPrincipal userPrincipal = new UserPrincipal(this.dataMock.getUsers().get(0));
+    long evictionsBeforeLoad = this.verifiedTokenCache.evictionCount();
+
+    this.verifiedTokenCache.evictUser(userPrincipal.getUsername());
+    this.verifiedTokenCache.put("token", userPrincipal, Instant.now().plus(1, ChronoUnit.HOURS), evictionsBeforeLoad);
+
+    assertThat(this.verifiedTokenCache.get("token")).isNull();
+  }
+
+  @Test
+  @DisplayName("evictUser - Should evict the user again once the transaction commits")
+  void evictUserAgainAfterCommit() {
+    UserPrincipal userPrincipal = new UserPrincipal(this.dataMock.getUsers().get(0));
+    TransactionSynchronizationManager.initSynchronization();
+
+    this.verifiedTokenCache.evictUser(userPrincipal.getUsername());
+    // A request reloading the user before the commit still sees the old state
+    this.verifiedTokenCache.put("token", userPrincipal, Instant.now().plus(1, ChronoUnit.HOURS), this.verifiedTokenCache.evictionCount());
+    assertThat(this.verifiedTokenCache.get("token")).isSameAs(userPrincipal);
+
+    TransactionSynchronizationUtils.triggerAfterCommit();
+    assertThat(this.verifiedTokenCache.get("token")).isNull();
+  }
+}
@@ -0,0 +1,101 @@
+package com.felipe.projectmanagerapi.infra.security;
+
+import com.felipe.projectmanagerapi.repositories.WorkspaceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WorkspaceAccessCacheTest {
+
+  @Mock
+  WorkspaceRepository workspaceRepository;
+
+  private AutoCloseable closeable;
+  private WorkspaceAccessCache workspaceAccessCache;
+
+  @BeforeEach
+  void setUp() {
+    this.closeable = MockitoAnnotations.openMocks(this);
+    this.workspaceAccessCache = new WorkspaceAccessCache(this.workspaceRepository, Optional.empty(), 100, Duration.ofMinutes(5));
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    this.closeable.close();
+  }
+
+  @Test
+  @DisplayName("canAccess - Should load owned and member workspaces once and answer from memory afterwards")
+  void canAccessLoadsOnce() {
+    when(this.workspaceRepository.findIdsByOwnerId("02")).thenReturn(List.of("01"));
+    when(this.workspaceRepository.findIdsByMemberId("02")).thenReturn(List.of("03"));
+
+    assertThat(this.workspaceAccessCache.canAccess("02", "01")).isTrue();
+    assertThat(this.workspaceAccessCache.canAccess("02", "03")).isTrue();
+    assertThat(this.workspaceAccessCache.canAccess("02", "02")).isFalse();
+
+    verify(this.workspaceRepository, times(1)).findIdsByOwnerId("02");
+    verify(this.workspaceRepository, times(1)).findIdsByMemberId("02");
+  }
+
+  @Test
+  @DisplayName("evictUser/evictUsers - Should reload only the evicted users' access sets")
+  void evictionReloadsAccessSet() {
+    when(this.workspaceRepository.findIdsByOwnerId("02")).thenReturn(List.of());
+    when(this.workspaceRepository.findIdsByMemberId("02")).thenReturn(List.of("01"), List.of(), List.of("03"));
+    this.workspaceAccessCache.canAccess("02", "01");
+
+    this.workspaceAccessCache.evictUser("02");
+    assertThat(this.workspaceAccessCache.canAccess("02", "01")).isFalse();
+
+    this.workspaceAccessCache.evictUsers(List.of("04"));
+    assertThat(this.workspaceAccessCache.getAccessibleWorkspaceIds("02")).isEmpty();
+
+    this.workspaceAccessCache.evictUsers(List.of("04", "02"));
+    assertThat(this.workspaceAccessCache.getAccessibleWorkspaceIds("02")).containsExactly("03");
+  }
+
+  @Test
+  @DisplayName("getAccessibleWorkspaceIds - Should not cache a set loaded while an eviction happened")
+  void evictionDuringLoadIsNotCached() {
+    when(this.workspaceRepository.findIdsByOwnerId("02")).thenReturn(List.of());
+    when(this.workspaceRepository.findIdsByMemberId("02"))
+      .thenAnswer(invocation -> {
+        this.workspaceAccessCache.evictUser("02");
+        return List.of("01");
+      })
+      .thenReturn(List.of());
+
+    assertThat(this.workspaceAccessCache.canAccess("02", "01")).isTrue();
+    assertThat(this.workspaceAccessCache.canAccess("02", "01")).isFalse();
+
+    verify(this.workspaceRepository, times(2)).findIdsByMemberId("02");
+  }
+
+  @Test
+  @DisplayName("getAccessibleWorkspaceIds - Should still cache a set loaded while another user was evicted")
+  void otherUserEvictionDuringLoadIsCached() {
+    when(this.workspaceRepository.findIdsByOwnerId("02")).thenReturn(List.of());
+    when(this.workspaceRepository.findIdsByMemberId("02")).thenAnswer(invocation -> {
+      this.workspaceAccessCache.evictUser("03");
+      return List.of("01");
+    });
+
+    assertThat(this.workspaceAccessCache.canAccess("02", "01")).isTrue();
+    assertThat(this.workspaceAccessCache.canAccess("02", "01")).isTrue();
+
+    verify(this.workspaceRepository, times(1)).findIdsByMemberId("02");
+  }
+}
@@ -0,0 +1,82 @@
+package com.felipe.projectmanagerapi.models;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost/budget hot path of a task write (parse the request value, check it against the budget, add it
+ * to the project cost and format both for the response) on {@link BigDecimal} versus {@link Money}.
+ * Run with {@code mvn test-compile} and then
+ * {@code java -cp target/test-classes:target/classes:<test classpath> com.felipe.projectmanagerapi.models.MoneyBenchmark},
+ * adding {@code -prof gc} to the JMH arguments to compare allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+  private final String requestCost = "1234.56";
+  private final BigDecimal decimalBudget = new BigDecimal("100000.00");
+  private final BigDecimal decimalCost = new BigDecimal("53211.27");
+  private final Money moneyBudget = Money.parse("100000.00");
+  private final Money moneyCost = Money.parse("53211.27");
+
+  @Benchmark
+  public String bigDecimal() {
+    BigDecimal cost = new BigDecimal(this.requestCost).setScale(2, RoundingMode.FLOOR);
+    if(cost.compareTo(this.decimalBudget) > 0 || cost.compareTo(BigDecimal.ZERO) < 0) return null;
+    BigDecimal projectCost = this.decimalCost.add(cost);
+    if(projectCost.compareTo(this.decimalBudget) > 0) return null;
+    return projectCost.toString() + cost.toString();
+  }
+
+  @Benchmark
+  public String money() {
+    Money cost = Money.parse(this.requestCost);
+    if(cost.isGreaterThan(this.moneyBudget) || cost.isNegative()) return null;
+    Money projectCost = this.moneyCost.plus(cost);
+    if(projectCost.isGreaterThan(this.moneyBudget)) return null;
+    return projectCost.toString() + cost.toString();
+  }
+
+  @Benchmark
+  public BigDecimal bigDecimalParse() {
+    return new BigDecimal(this.requestCost).setScale(2, RoundingMode.FLOOR);
+  }
+
+  @Benchmark
+  public Money moneyParse() {
+    return Money.parse(this.requestCost);
+  }
+
+  @Benchmark
+  public String bigDecimalFormat() {
+    return this.decimalCost.add(BigDecimal.ONE).toString();
+  }
+
+  @Benchmark
+  public String moneyFormat() {
+    return this.moneyCost.plus(Money.ofCents(100)).toString();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(MoneyBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,56 @@
+package com.felipe.projectmanagerapi.models;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+public class MoneyTest {
+
+  @Test
+  @DisplayName("parse - Should read the API format into cents, flooring extra decimal places like the BigDecimal path")
+  void parseSuccess() {
+    assertThat(Money.parse("1200.00").getCents()).isEqualTo(120000L);
+    assertThat(Money.parse("0.05").getCents()).isEqualTo(5L);
+    assertThat(Money.parse("12.5").getCents()).isEqualTo(1250L);
+    assertThat(Money.parse("12").getCents()).isEqualTo(1200L);
+    assertThat(Money.parse("12.999").getCents()).isEqualTo(1299L);
+    assertThat(Money.parse("-1.005").getCents()).isEqualTo(-101L);
+    assertThat(Money.parse("1E+2").getCents()).isEqualTo(10000L);
+    assertThat(Money.parse("0.00")).isSameAs(Money.ZERO);
+  }
+
+  @Test
+  @DisplayName("parse - Should throw a NumberFormatException if the value is not a number")
+  void parseFailsByInvalidValue() {
+    Exception thrown = catchException(() -> Money.parse("12.a0"));
+
+    assertThat(thrown).isInstanceOf(NumberFormatException.class);
+  }
+
+  @Test
+  @DisplayName("toString - Should always render two decimal places like a BigDecimal with scale 2")
+  void toStringSuccess() {
+    assertThat(Money.ofCents(120000L)).hasToString("1200.00");
+    assertThat(Money.ofCents(7L)).hasToString("0.07");
+    assertThat(Money.ofCents(-1050L)).hasToString("-10.50");
+    assertThat(Money.ofCents(123456789L).toString()).isEqualTo(new BigDecimal("1234567.89").toString());
+  }
+
+  @Test
+  @DisplayName("plus/minus/compare - Should do arithmetic and budget checks on the cents value")
+  void arithmeticSuccess() {
+    Money budget = Money.parse("1000.00");
+    Money cost = Money.parse("800.50").plus(Money.parse("199.50"));
+
+    assertThat(cost).isEqualTo(budget);
+    assertThat(cost.isGreaterThan(budget)).isFalse();
+    assertThat(cost.plus(Money.ofCents(1L)).isGreaterThan(budget)).isTrue();
+    assertThat(budget.minus(Money.parse("1000.01")).isNegative()).isTrue();
+    assertThat(Money.parse("10.00").negate()).isEqualTo(Money.ofCents(-1000L));
+    assertThat(Money.of(new BigDecimal("10.129")).toBigDecimal()).isEqualTo(new BigDecimal("10.12"));
+  }
+}
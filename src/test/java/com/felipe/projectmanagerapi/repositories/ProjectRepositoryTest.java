@@ -1,17 +1,25 @@
 package com.felipe.projectmanagerapi.repositories;
 
+import com.felipe.projectmanagerapi.enums.PriorityLevel;
+import com.felipe.projectmanagerapi.models.Money;
 import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.models.Task;
 import com.felipe.projectmanagerapi.models.User;
 import com.felipe.projectmanagerapi.models.Workspace;
 import com.felipe.projectmanagerapi.utils.GenerateMocks;
+import com.felipe.projectmanagerapi.utils.KeysetCursor;
+import com.felipe.projectmanagerapi.utils.KeysetPage;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,11 +34,142 @@ public class ProjectRepositoryTest {
   @Autowired
   ProjectRepository projectRepository;
 
+  @Test
+  @DisplayName("deleteAllByIdIn - Should remove the given projects with a single bulk statement")
+  void deleteAllByIdInSuccess() {
+    User projectsOwnerMock = this.dataMock.getUsers().get(1);
+    User workspaceOwnerMock = this.dataMock.getUsers().get(0);
+    Workspace workspaceMock = this.dataMock.getWorkspaces().get(0);
+    Project projectMock1 = this.dataMock.getProjects().get(0);
+    Project projectMock2 = this.dataMock.getProjects().get(1);
+    Project projectMock3 = this.dataMock.getProjects().get(2);
+
+    User projectsOwner = this.generateUserByMock(projectsOwnerMock);
+    User workspaceOwner = this.generateUserByMock(workspaceOwnerMock);
+    Workspace workspace = this.generateWorkspaceByMock(workspaceMock, workspaceOwner);
+    Project project1 = this.generateProjectByMock(projectMock1, workspace, workspaceOwner);
+    Project project2 = this.generateProjectByMock(projectMock2, workspace, projectsOwner);
+    Project project3 = this.generateProjectByMock(projectMock3, workspace, projectsOwner);
+
+    this.entityManager.persist(projectsOwner);
+    this.entityManager.persist(workspaceOwner);
+    this.entityManager.persist(workspace);
+    this.entityManager.persist(project1);
+    this.entityManager.persist(project2);
+    this.entityManager.persist(project3);
+
+    List<String> projectIds = this.projectRepository.findIdsByUserId(projectsOwner.getId());
+    int deletedProjects = this.projectRepository.deleteAllByIdIn(projectIds);
+
+    assertThat(projectIds).containsExactlyInAnyOrder(project2.getId(), project3.getId());
+    assertThat(deletedProjects).isEqualTo(2);
+    assertThat(this.projectRepository.findIdsByWorkspaceId(workspace.getId())).containsExactly(project1.getId());
+  }
+
+  @Test
+  @DisplayName("addCost - Should only apply the cost increment while the accumulated cost stays within the budget")
+  void addCostWithinBudget() {
+    User projectOwnerMock = this.dataMock.getUsers().get(1);
+    User workspaceOwnerMock = this.dataMock.getUsers().get(0);
+    Workspace workspaceMock = this.dataMock.getWorkspaces().get(0);
+    Project projectMock = this.dataMock.getProjects().get(1);
+
+    User projectOwner = this.generateUserByMock(projectOwnerMock);
+    User workspaceOwner = this.generateUserByMock(workspaceOwnerMock);
+    Workspace workspace = this.generateWorkspaceByMock(workspaceMock, workspaceOwner);
+    Project project = this.generateProjectByMock(projectMock, workspace, projectOwner);
+
+    this.entityManager.persist(projectOwner);
+    this.entityManager.persist(workspaceOwner);
+    this.entityManager.persist(workspace);
+    this.entityManager.persist(project);
+    this.entityManager.flush();
+
+    BigDecimal cost = project.getBudget().minus(Money.parse("100.00")).toBigDecimal();
+
+    assertThat(this.projectRepository.addCost(project.getId(), cost)).isEqualTo(1);
+    assertThat(this.projectRepository.addCost(project.getId(), new BigDecimal("200.00"))).isZero();
+    assertThat(this.projectRepository.addCost(project.getId(), new BigDecimal("100.00"))).isEqualTo(1);
+    assertThat(this.projectRepository.findCostById(project.getId())).hasValueSatisfying(
+      currentCost -> assertThat(currentCost).isEqualTo(project.getBudget())
+    );
+
+    assertThat(this.projectRepository.resetCost(project.getId())).isEqualTo(1);
+    assertThat(this.projectRepository.findCostById(project.getId())).hasValueSatisfying(
+      currentCost -> assertThat(currentCost).isEqualTo(Money.ZERO)
+    );
+  }
+
+  @Test
+  @DisplayName("applyCostDelta - Should add the delta without bumping the version clients send in If-Match")
+  void applyCostDeltaKeepsVersion() {
+    User projectOwner = this.generateUserByMock(this.dataMock.getUsers().get(1));
+    User workspaceOwner = this.generateUserByMock(this.dataMock.getUsers().get(0));
+    Workspace workspace = this.generateWorkspaceByMock(this.dataMock.getWorkspaces().get(0), workspaceOwner);
+    Project project = this.generateProjectByMock(this.dataMock.getProjects().get(1), workspace, projectOwner);
+
+    this.entityManager.persist(projectOwner);
+    this.entityManager.persist(workspaceOwner);
+    this.entityManager.persist(workspace);
+    this.entityManager.persist(project);
+    this.entityManager.flush();
+    Long version = project.getVersion();
+
+    assertThat(this.projectRepository.applyCostDelta(project.getId(), new BigDecimal("150.25"))).isEqualTo(1);
+    this.entityManager.clear();
+
+    Project flushed = this.projectRepository.findById(project.getId()).orElseThrow();
+    assertThat(flushed.getCost()).isEqualTo(Money.parse("150.25"));
+    assertThat(flushed.getVersion()).isEqualTo(version);
+  }
+
+  @Test
+  @DisplayName("reconcileCostsWithTasks - Should reset each project cost to the sum of its tasks")
+  void reconcileCostsWithTasksSuccess() {
+    User projectOwnerMock = this.dataMock.getUsers().get(1);
+    User workspaceOwnerMock = this.dataMock.getUsers().get(0);
+    Workspace workspaceMock = this.dataMock.getWorkspaces().get(0);
+    Project projectMock = this.dataMock.getProjects().get(1);
+
+    User projectOwner = this.generateUserByMock(projectOwnerMock);
+    User workspaceOwner = this.generateUserByMock(workspaceOwnerMock);
+    Workspace workspace = this.generateWorkspaceByMock(workspaceMock, workspaceOwner);
+    Project project = this.generateProjectByMock(projectMock, workspace, projectOwner);
+    project.setCost(Money.parse("999.00"));
+
+    Task task1 = new Task();
+    task1.setName("Task 1");
+    task1.setDescription("Description");
+    task1.setCost(Money.parse("100.50"));
+    task1.setProject(project);
+    task1.setOwner(projectOwner);
+    Task task2 = new Task();
+    task2.setName("Task 2");
+    task2.setDescription("Description");
+    task2.setCost(Money.parse("50.25"));
+    task2.setProject(project);
+    task2.setOwner(projectOwner);
+
+    this.entityManager.persist(projectOwner);
+    this.entityManager.persist(workspaceOwner);
+    this.entityManager.persist(workspace);
+    this.entityManager.persist(project);
+    this.entityManager.persist(task1);
+    this.entityManager.persist(task2);
+    this.entityManager.flush();
+
+    assertThat(this.projectRepository.reconcileCostsWithTasks()).isEqualTo(1);
+    assertThat(this.projectRepository.findCostById(project.getId())).hasValueSatisfying(
+      currentCost -> assertThat(currentCost).isEqualTo(Money.parse("150.75"))
+    );
+    assertThat(this.projectRepository.reconcileCostsWithTasks()).isZero();
+  }
+
   private final GenerateMocks dataMock = new GenerateMocks();
 
   @Test
-  @DisplayName("findAllByWorkspaceIdAndOwnerId - Should successfully return all projects that belong to the specific workspace and user")
-  void findAllByWorkspaceIdAndOwnerIdSuccess() {
+  @DisplayName("findByWorkspaceIdAndOwnerIdOrderByCreatedAtAscIdAsc - Should return the projects that belong to the specific workspace and user")
+  void findByWorkspaceIdAndOwnerIdSuccess() {
     User workspaceOwnerMock = this.dataMock.getUsers().get(0);
     User projectOwnerMock = this.dataMock.getUsers().get(1);
     Workspace workspaceMock = this.dataMock.getWorkspaces().get(0);
@@ -53,8 +192,9 @@ public class ProjectRepositoryTest {
     this.entityManager.persist(project2);
     this.entityManager.persist(project3);
 
-    List<Project> foundProjects = this.projectRepository
-      .findAllByWorkspaceIdAndOwnerId(workspace.getId(), projectOwner.getId());
+    List<Project> foundProjects = this.projectRepository.findByWorkspaceIdAndOwnerIdOrderByCreatedAtAscIdAsc(
+      workspace.getId(), projectOwner.getId(), KeysetCursor.toCreatedAtPosition(null), Limit.of(10)
+    ).getContent();
 
     assertThat(foundProjects).allSatisfy(project -> {
       assertThat(project.getWorkspace().getId()).isEqualTo(workspace.getId());
@@ -63,8 +203,8 @@ public class ProjectRepositoryTest {
   }
 
   @Test
-  @DisplayName("findAllByWorkspaceId - Should successfully return all projects from workspace")
-  void findAllByWorkspaceIdSuccess() {
+  @DisplayName("findIdsByWorkspaceId - Should return the ids of all projects from workspace")
+  void findIdsByWorkspaceIdSuccess() {
     User workspaceOwnerMock = this.dataMock.getUsers().get(0);
     User projectsOwnerMock = this.dataMock.getUsers().get(1);
     Workspace workspaceMock = this.dataMock.getWorkspaces().get(0);
@@ -86,18 +226,48 @@ public class ProjectRepositoryTest {
     this.entityManager.persist(project2);
     this.entityManager.persist(project3);
 
-    Sort sort = Sort.by(Sort.Direction.ASC, "priority");
+    List<String> workspaceProjectIds = this.projectRepository.findIdsByWorkspaceId(workspace.getId());
+
+    assertThat(workspaceProjectIds).containsExactlyInAnyOrder(project1.getId(), project2.getId(), project3.getId());
+  }
+
+  @Test
+  @DisplayName("findByWorkspaceId - Should page through the workspace projects by priority with a keyset cursor")
+  void findByWorkspaceIdKeysetSuccess() {
+    User workspaceOwner = this.generateUserByMock(this.dataMock.getUsers().get(0));
+    Workspace workspace = this.generateWorkspaceByMock(this.dataMock.getWorkspaces().get(0), workspaceOwner);
+
+    this.entityManager.persist(workspaceOwner);
+    this.entityManager.persist(workspace);
+    this.dataMock.getProjects().forEach(project ->
+      this.entityManager.persist(this.generateProjectByMock(project, workspace, workspaceOwner))
+    );
+    this.entityManager.flush();
+    this.entityManager.clear();
+
+    Sort sort = Sort.by(Sort.Direction.DESC, "priority", "id");
+
+    Window<Project> firstPage = this.projectRepository.findByWorkspaceId(
+      workspace.getId(), KeysetCursor.toPosition(null, "priority", PriorityLevel::valueOf), sort, Limit.of(2)
+    );
+    KeysetPage<Project> first = KeysetPage.of(firstPage, project -> KeysetCursor.of(project.getPriority(), project.getId()));
 
-    List<Project> workspaceProjects = this.projectRepository.findAllByWorkspaceId(workspace.getId(), sort);
+    Window<Project> lastPage = this.projectRepository.findByWorkspaceId(
+      workspace.getId(), KeysetCursor.toPosition(first.nextCursor(), "priority", PriorityLevel::valueOf), sort, Limit.of(2)
+    );
 
-    assertThat(workspaceProjects)
-      .allSatisfy(project -> assertThat(project.getWorkspace().getId()).isEqualTo(workspace.getId()))
-      .hasSize(3);
+    assertThat(first.content())
+      .extracting(Project::getPriority)
+      .containsExactly(PriorityLevel.LOW, PriorityLevel.MEDIUM);
+    assertThat(lastPage.getContent())
+      .extracting(Project::getPriority)
+      .containsExactly(PriorityLevel.HIGH);
+    assertThat(lastPage.hasNext()).isFalse();
   }
 
   @Test
-  @DisplayName("findAllByUserId - Should successfully return all user projects")
-  void findAllByUserIdSuccess() {
+  @DisplayName("findByOwnerIdOrderByCreatedAtAscIdAsc - Should return the user projects")
+  void findByOwnerIdSuccess() {
     User projectsOwnerMock = this.dataMock.getUsers().get(1);
     User workspaceOwnerMock = this.dataMock.getUsers().get(0);
     Workspace workspaceMock = this.dataMock.getWorkspaces().get(0);
@@ -119,7 +289,9 @@ public class ProjectRepositoryTest {
     this.entityManager.persist(project2);
     this.entityManager.persist(project3);
 
-    List<Project> userProjects = this.projectRepository.findAllByUserId(projectsOwner.getId());
+    List<Project> userProjects = this.projectRepository.findByOwnerIdOrderByCreatedAtAscIdAsc(
+      projectsOwner.getId(), KeysetCursor.toCreatedAtPosition(null), Limit.of(10)
+    ).getContent();
 
     assertThat(userProjects)
       .allSatisfy(project -> assertThat(project.getOwner().getId()).isEqualTo(projectsOwner.getId()))
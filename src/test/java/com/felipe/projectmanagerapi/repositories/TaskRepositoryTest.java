@@ -5,14 +5,19 @@ import com.felipe.projectmanagerapi.models.Task;
 import com.felipe.projectmanagerapi.models.User;
 import com.felipe.projectmanagerapi.models.Workspace;
 import com.felipe.projectmanagerapi.utils.GenerateMocks;
+import com.felipe.projectmanagerapi.utils.KeysetCursor;
+import com.felipe.projectmanagerapi.utils.KeysetPage;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -26,11 +31,45 @@ public class TaskRepositoryTest {
   @Autowired
   TaskRepository taskRepository;
 
+  @Test
+  @DisplayName("deleteAllByProjectIdIn - Should remove only the tasks of the given projects with a single bulk statement")
+  void deleteAllByProjectIdInSuccess() {
+    User workspaceOwnerMock = this.dataMock.getUsers().get(0);
+    User projectOwnerMock = this.dataMock.getUsers().get(1);
+    Workspace workspaceMock = this.dataMock.getWorkspaces().get(0);
+    Project projectMock1 = this.dataMock.getProjects().get(1);
+    Project projectMock2 = this.dataMock.getProjects().get(2);
+    Task taskMock1 = this.dataMock.getTasks().get(0);
+    Task taskMock2 = this.dataMock.getTasks().get(1);
+
+    User workspaceOwner = this.generateUserByMock(workspaceOwnerMock);
+    User projectOwner = this.generateUserByMock(projectOwnerMock);
+    Workspace workspace = this.generateWorkspaceByMock(workspaceMock, workspaceOwner);
+    Project project1 = this.generateProjectByMock(projectMock1, workspace, projectOwner);
+    Project project2 = this.generateProjectByMock(projectMock2, workspace, projectOwner);
+    Task task1 = this.generateTaskByMock(taskMock1, project1, projectOwner);
+    Task task2 = this.generateTaskByMock(taskMock2, project2, projectOwner);
+
+    this.entityManager.persist(workspaceOwner);
+    this.entityManager.persist(projectOwner);
+    this.entityManager.persist(workspace);
+    this.entityManager.persist(project1);
+    this.entityManager.persist(project2);
+    this.entityManager.persist(task1);
+    this.entityManager.persist(task2);
+
+    int deletedTasks = this.taskRepository.deleteAllByProjectIdIn(List.of(project1.getId()));
+
+    assertThat(deletedTasks).isEqualTo(1);
+    assertThat(this.taskRepository.findIdsByProjectId(project1.getId())).isEmpty();
+    assertThat(this.taskRepository.findIdsByProjectId(project2.getId())).containsExactly(task2.getId());
+  }
+
   private final GenerateMocks dataMock = new GenerateMocks();
 
   @Test
-  @DisplayName("getAllFromProject - Should successfully return all tasks from a specific project")
-  void getAllFromProjectSuccess() {
+  @DisplayName("findByProjectIdOrderByCreatedAtAscIdAsc - Should return the tasks from a specific project")
+  void findByProjectIdSuccess() {
     User workspaceOwnerMock = this.dataMock.getUsers().get(0);
     User projectOwnerMock = this.dataMock.getUsers().get(1);
     User tasksOwnerMock = this.dataMock.getUsers().get(2);
@@ -55,7 +94,9 @@ public class TaskRepositoryTest {
     this.entityManager.persist(task1);
     this.entityManager.persist(task2);
 
-    List<Task> allTasksFromProject = this.taskRepository.findAllByProjectId(project.getId());
+    List<Task> allTasksFromProject = this.taskRepository.findByProjectIdOrderByCreatedAtAscIdAsc(
+      project.getId(), KeysetCursor.toCreatedAtPosition(null), Limit.of(10)
+    ).getContent();
 
     assertThat(allTasksFromProject)
       .allSatisfy(task -> assertThat(task.getProject().getId()).isEqualTo(project.getId()))
@@ -63,8 +104,8 @@ public class TaskRepositoryTest {
   }
 
   @Test
-  @DisplayName("findAllByOwnerId - Should successfully return all authenticated user tasks")
-  void findAllByOwnerIdSuccess() {
+  @DisplayName("findByOwnerIdOrderByCreatedAtAscIdAsc - Should return the authenticated user tasks")
+  void findByOwnerIdSuccess() {
     User workspaceOwnerMock = this.dataMock.getUsers().get(0);
     User projectAndTaskOwnerMock = this.dataMock.getUsers().get(1);
     Workspace workspaceMock = this.dataMock.getWorkspaces().get(0);
@@ -87,13 +128,60 @@ public class TaskRepositoryTest {
     this.entityManager.persist(task1);
     this.entityManager.persist(task2);
 
-    List<Task> allTasks = this.taskRepository.findAllByOwnerId(projectAndTaskOwner.getId());
+    List<Task> allTasks = this.taskRepository.findByOwnerIdOrderByCreatedAtAscIdAsc(
+      projectAndTaskOwner.getId(), KeysetCursor.toCreatedAtPosition(null), Limit.of(10)
+    ).getContent();
 
     assertThat(allTasks)
       .allSatisfy(task -> assertThat(task.getOwner().getId()).isEqualTo(projectAndTaskOwner.getId()))
       .hasSize(2);
   }
 
+  @Test
+  @DisplayName("findByOwnerIdOrderByCreatedAtAscIdAsc - Should page through the user tasks with a keyset cursor")
+  void findByOwnerIdKeysetSuccess() {
+    User workspaceOwner = this.generateUserByMock(this.dataMock.getUsers().get(0));
+    User tasksOwner = this.generateUserByMock(this.dataMock.getUsers().get(1));
+    Workspace workspace = this.generateWorkspaceByMock(this.dataMock.getWorkspaces().get(0), workspaceOwner);
+    Project project = this.generateProjectByMock(this.dataMock.getProjects().get(1), workspace, tasksOwner);
+
+    this.entityManager.persist(workspaceOwner);
+    this.entityManager.persist(tasksOwner);
+    this.entityManager.persist(workspace);
+    this.entityManager.persist(project);
+    for(int i = 0; i < 5; i++) {
+      this.entityManager.persist(this.generateTaskByMock(this.dataMock.getTasks().get(0), project, tasksOwner));
+    }
+    this.entityManager.flush();
+    this.entityManager.clear();
+
+    Window<Task> firstPage = this.taskRepository.findByOwnerIdOrderByCreatedAtAscIdAsc(
+      tasksOwner.getId(), KeysetCursor.toCreatedAtPosition(null), Limit.of(2)
+    );
+    KeysetPage<Task> first = KeysetPage.of(firstPage, task -> KeysetCursor.of(task.getCreatedAt(), task.getId()));
+
+    Window<Task> secondPage = this.taskRepository.findByOwnerIdOrderByCreatedAtAscIdAsc(
+      tasksOwner.getId(), KeysetCursor.toCreatedAtPosition(first.nextCursor()), Limit.of(2)
+    );
+    KeysetPage<Task> second = KeysetPage.of(secondPage, task -> KeysetCursor.of(task.getCreatedAt(), task.getId()));
+
+    Window<Task> lastPage = this.taskRepository.findByOwnerIdOrderByCreatedAtAscIdAsc(
+      tasksOwner.getId(), KeysetCursor.toCreatedAtPosition(second.nextCursor()), Limit.of(2)
+    );
+    KeysetPage<Task> last = KeysetPage.of(lastPage, task -> KeysetCursor.of(task.getCreatedAt(), task.getId()));
+
+    List<String> ids = Stream.of(first, second, last)
+      .flatMap(page -> page.content().stream())
+      .map(Task::getId)
+      .toList();
+
+    assertThat(first.content()).hasSize(2);
+    assertThat(second.content()).hasSize(2);
+    assertThat(last.content()).hasSize(1);
+    assertThat(last.nextCursor()).isNull();
+    assertThat(ids).doesNotHaveDuplicates().hasSize(5);
+  }
+
   private Task generateTaskByMock(Task task, Project project, User owner) {
     Task newTask = new Task();
     newTask.setName(task.getName());
@@ -3,11 +3,13 @@ package com.felipe.projectmanagerapi.repositories;
 import com.felipe.projectmanagerapi.models.User;
 import com.felipe.projectmanagerapi.models.Workspace;
 import com.felipe.projectmanagerapi.utils.GenerateMocks;
+import com.felipe.projectmanagerapi.utils.KeysetCursor;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
@@ -27,8 +29,8 @@ public class WorkspaceRepositoryTest {
   private final GenerateMocks dataMock = new GenerateMocks();
 
   @Test
-  @DisplayName("findAllByOwnerId - Should successfully return all user workspaces")
-  void findAllByOwnerIdSuccess() {
+  @DisplayName("findByOwnerIdOrderByCreatedAtAscIdAsc - Should return the user workspaces")
+  void findByOwnerIdSuccess() {
     User mockUser1 = this.dataMock.getUsers().get(0);
     User mockUser2 = this.dataMock.getUsers().get(1);
     Workspace mockWorkspace1 = this.dataMock.getWorkspaces().get(0);
@@ -47,13 +49,76 @@ public class WorkspaceRepositoryTest {
     this.entityManager.persist(workspace2);
     this.entityManager.persist(workspace3);
 
-    List<Workspace> workspaces = this.workspaceRepository.findAllByOwnerId(user1.getId());
+    List<Workspace> workspaces = this.workspaceRepository.findByOwnerIdOrderByCreatedAtAscIdAsc(
+      user1.getId(), KeysetCursor.toCreatedAtPosition(null), Limit.of(10)
+    ).getContent();
 
     assertThat(workspaces)
       .allSatisfy(workspace -> assertThat(workspace.getOwner().getId()).isEqualTo(user1.getId()))
       .hasSize(2);
   }
 
+  @Test
+  @DisplayName("existsMember - Should check the membership of a user straight from the join table")
+  void existsMemberSuccess() {
+    User user1 = this.generateUserByMock(this.dataMock.getUsers().get(0));
+    User user2 = this.generateUserByMock(this.dataMock.getUsers().get(1));
+    User user3 = this.generateUserByMock(this.dataMock.getUsers().get(2));
+    Workspace workspace = this.generateWorkspaceByMock(this.dataMock.getWorkspaces().get(0), user1);
+    workspace.addMember(user2);
+
+    this.entityManager.persist(user1);
+    this.entityManager.persist(user2);
+    this.entityManager.persist(user3);
+    this.entityManager.persist(workspace);
+    this.entityManager.flush();
+
+    assertThat(this.workspaceRepository.existsMember(workspace.getId(), user2.getId())).isTrue();
+    assertThat(this.workspaceRepository.existsMember(workspace.getId(), user3.getId())).isFalse();
+  }
+
+  @Test
+  @DisplayName("insertMember/deleteMember - Should add and remove a single row of the join table")
+  void insertAndDeleteMemberSuccess() {
+    User user1 = this.generateUserByMock(this.dataMock.getUsers().get(0));
+    User user2 = this.generateUserByMock(this.dataMock.getUsers().get(1));
+    User user3 = this.generateUserByMock(this.dataMock.getUsers().get(2));
+    Workspace workspace = this.generateWorkspaceByMock(this.dataMock.getWorkspaces().get(0), user1);
+    workspace.addMember(user2);
+
+    this.entityManager.persist(user1);
+    this.entityManager.persist(user2);
+    this.entityManager.persist(user3);
+    this.entityManager.persist(workspace);
+    this.entityManager.flush();
+
+    assertThat(this.workspaceRepository.insertMember(workspace.getId(), user3.getId())).isEqualTo(1);
+    assertThat(this.workspaceRepository.deleteMember(workspace.getId(), user2.getId())).isEqualTo(1);
+    assertThat(this.workspaceRepository.deleteMember(workspace.getId(), user2.getId())).isZero();
+
+    assertThat(this.workspaceRepository.findMemberIdsById(workspace.getId())).containsExactly(user3.getId());
+  }
+
+  @Test
+  @DisplayName("findIdsByOwnerId/findIdsByMemberId - Should return the ids of owned and joined workspaces")
+  void findWorkspaceIdsSuccess() {
+    User user1 = this.generateUserByMock(this.dataMock.getUsers().get(0));
+    User user2 = this.generateUserByMock(this.dataMock.getUsers().get(1));
+    Workspace workspace1 = this.generateWorkspaceByMock(this.dataMock.getWorkspaces().get(0), user1);
+    Workspace workspace2 = this.generateWorkspaceByMock(this.dataMock.getWorkspaces().get(1), user2);
+    workspace2.addMember(user1);
+
+    this.entityManager.persist(user1);
+    this.entityManager.persist(user2);
+    this.entityManager.persist(workspace1);
+    this.entityManager.persist(workspace2);
+    this.entityManager.flush();
+
+    assertThat(this.workspaceRepository.findIdsByOwnerId(user1.getId())).containsExactly(workspace1.getId());
+    assertThat(this.workspaceRepository.findIdsByMemberId(user1.getId())).containsExactly(workspace2.getId());
+    assertThat(this.workspaceRepository.findIdsByMemberId(user2.getId())).isEmpty();
+  }
+
   private User generateUserByMock(User user) {
     User generatedUser = new User();
     generatedUser.setName(user.getName());
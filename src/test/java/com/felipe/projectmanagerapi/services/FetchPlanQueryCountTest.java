@@ -0,0 +1,151 @@
+package com.felipe.projectmanagerapi.services;
+
+import com.felipe.projectmanagerapi.dtos.ProjectFullResponseDTO;
+import com.felipe.projectmanagerapi.dtos.ProjectResponseDTO;
+import com.felipe.projectmanagerapi.dtos.TaskResponseDTO;
+import com.felipe.projectmanagerapi.dtos.WorkspaceFullResponseDTO;
+import com.felipe.projectmanagerapi.dtos.mappers.ProjectMapper;
+import com.felipe.projectmanagerapi.dtos.mappers.TaskMapper;
+import com.felipe.projectmanagerapi.dtos.mappers.WorkspaceMapper;
+import com.felipe.projectmanagerapi.enums.Role;
+import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.models.User;
+import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.utils.WorkspaceFixture;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles(value = "test")
+@Import(WorkspaceFixture.class)
+public class FetchPlanQueryCountTest {
+
+  private static final int CHILDREN = 5;
+
+  @Autowired
+  WorkspaceService workspaceService;
+
+  @Autowired
+  ProjectService projectService;
+
+  @Autowired
+  TaskService taskService;
+
+  @Autowired
+  WorkspaceMapper workspaceMapper;
+
+  @Autowired
+  ProjectMapper projectMapper;
+
+  @Autowired
+  TaskMapper taskMapper;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  WorkspaceFixture fixture;
+
+  private TransactionTemplate transactionTemplate;
+  private Statistics statistics;
+  private List<User> users;
+  private Workspace workspace;
+  private Project project;
+
+  @BeforeEach
+  void setUp() {
+    this.transactionTemplate = this.fixture.getTransactionTemplate();
+    SessionFactory sessionFactory = this.entityManagerFactory.unwrap(SessionFactory.class);
+    this.statistics = sessionFactory.getStatistics();
+
+    this.transactionTemplate.executeWithoutResult(status -> {
+      this.users = this.fixture.createUsers("Fetch", CHILDREN + 1, Role.WRITE_READ);
+      this.workspace = this.fixture.createWorkspace("Fetch plan", this.users.get(0), this.users.subList(1, this.users.size()));
+      for(int i = 0; i < CHILDREN; i++) {
+        this.project = this.fixture.createProject("Project " + i, this.users.get(i + 1));
+      }
+      for(int i = 0; i < CHILDREN; i++) {
+        this.fixture.createTask("Task " + i, this.project, this.users.get(i + 1));
+      }
+    });
+
+    // The counts below are for a cold second-level cache
+    sessionFactory.getCache().evictAllRegions();
+    this.fixture.authenticate(this.users.get(0));
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.fixture.tearDown();
+  }
+
+  @Test
+  @DisplayName("getFullById - Should load a workspace with all its projects and members in two queries")
+  void workspaceFullQueryCount() {
+    this.statistics.clear();
+
+    WorkspaceFullResponseDTO workspaceDTO = this.transactionTemplate.execute(status ->
+      this.workspaceMapper.toWorkspaceFullResponseDTO(this.workspaceService.getFullById(this.workspace.getId()))
+    );
+
+    assertThat(workspaceDTO.projects()).hasSize(CHILDREN);
+    assertThat(workspaceDTO.members()).hasSize(CHILDREN);
+    assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("getFullById - Should load a project with all its tasks in a single query")
+  void projectFullQueryCount() {
+    this.statistics.clear();
+
+    ProjectFullResponseDTO projectDTO = this.transactionTemplate.execute(status ->
+      this.projectMapper.toProjectFullResponseDTO(this.projectService.getFullById(this.project.getId()))
+    );
+
+    assertThat(projectDTO.tasks()).hasSize(CHILDREN);
+    assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("getAllFromAuthenticatedUser - Should list the user tasks in a single query")
+  void tasksFromAuthenticatedUserQueryCount() {
+    this.fixture.authenticate(this.users.get(1));
+    this.statistics.clear();
+
+    List<TaskResponseDTO> taskDTOs = this.transactionTemplate.execute(status ->
+      this.taskService.getAllFromAuthenticatedUser(null, 20).content().stream().map(this.taskMapper::toDTO).toList()
+    );
+
+    assertThat(taskDTOs).hasSize(1);
+    assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("getAllFromWorkspace - Should load the workspace and list its projects in two queries")
+  void projectsFromWorkspaceQueryCount() {
+    this.statistics.clear();
+
+    List<ProjectResponseDTO> projectDTOs = this.transactionTemplate.execute(status ->
+      this.projectService.getAllFromWorkspace(this.workspace.getId(), "asc", null, 20).content().stream()
+        .map(this.projectMapper::toProjectResponseDTO)
+        .toList()
+    );
+
+    assertThat(projectDTOs).hasSize(CHILDREN);
+    assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+}
@@ -2,10 +2,15 @@ package com.felipe.projectmanagerapi.services;
 
 import com.felipe.projectmanagerapi.exceptions.MemberAlreadyExistsException;
 import com.felipe.projectmanagerapi.exceptions.RecordNotFoundException;
+import com.felipe.projectmanagerapi.infra.events.WorkspaceEventHub;
+import com.felipe.projectmanagerapi.infra.persistence.SecondLevelCacheEvictor;
 import com.felipe.projectmanagerapi.infra.security.AuthorizationService;
 import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import com.felipe.projectmanagerapi.infra.security.WorkspaceAccessCache;
+import com.felipe.projectmanagerapi.models.Tombstone;
 import com.felipe.projectmanagerapi.models.User;
 import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.repositories.TombstoneRepository;
 import com.felipe.projectmanagerapi.repositories.WorkspaceRepository;
 import com.felipe.projectmanagerapi.utils.GenerateMocks;
 import org.junit.jupiter.api.AfterEach;
@@ -41,15 +46,27 @@ public class MemberServiceTest {
   @Mock
   WorkspaceRepository workspaceRepository;
 
+  @Mock
+  TombstoneRepository tombstoneRepository;
+
+  @Mock
+  WorkspaceEventHub workspaceEventHub;
+
   @Mock
   UserService userService;
 
   @Mock
   AuthorizationService authorizationService;
 
+  @Mock
+  WorkspaceAccessCache workspaceAccessCache;
+
   @Mock
   ProjectService projectService;
 
+  @Mock
+  SecondLevelCacheEvictor secondLevelCacheEvictor;
+
   @Mock
   Authentication authentication;
 
@@ -82,11 +99,15 @@ public class MemberServiceTest {
     workspace.setCreatedAt(mockWorkspace.getCreatedAt());
     workspace.setUpdatedAt(mockWorkspace.getUpdatedAt());
 
+    Workspace reloadedWorkspace = new Workspace(
+      workspace.getId(), workspace.getName(), workspace.getCreatedAt(), workspace.getUpdatedAt(), workspaceOwner, List.of(workspaceMember)
+    );
+
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.userService.getProfile(workspaceMember.getId())).thenReturn(workspaceMember);
     when(this.workspaceRepository.findById("01")).thenReturn(Optional.of(workspace));
-    when(this.workspaceRepository.save(workspace)).thenReturn(workspace);
+    when(this.workspaceRepository.findWithMembersById("01")).thenReturn(Optional.of(reloadedWorkspace));
 
     Workspace insertedMember = this.memberService.insertMember("01", "02");
 
@@ -98,8 +119,12 @@ public class MemberServiceTest {
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.workspaceRepository, times(1)).findById("01");
-    verify(this.workspaceRepository, times(1)).save(workspace);
+    verify(this.workspaceRepository, times(1)).insertMember("01", "02");
+    verify(this.secondLevelCacheEvictor, times(1)).evictWorkspaceMembers("01");
+    verify(this.workspaceRepository, times(1)).touchMembersUpdatedAt("01");
+    verify(this.secondLevelCacheEvictor, times(1)).evictWorkspace("01");
     verify(this.userService, times(1)).getProfile(workspaceMember.getId());
+    verify(this.workspaceAccessCache, times(1)).evictUser("02");
   }
 
   @Test
@@ -123,7 +148,7 @@ public class MemberServiceTest {
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.userService, times(1)).getProfile(anyString());
     verify(this.workspaceRepository, times(1)).findById("01");
-    verify(this.workspaceRepository, never()).save(any(Workspace.class));
+    verify(this.workspaceRepository, never()).insertMember(anyString(), anyString());
   }
 
   @Test
@@ -148,7 +173,7 @@ public class MemberServiceTest {
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.userService, times(1)).getProfile(anyString());
     verify(this.workspaceRepository, times(1)).findById("01");
-    verify(this.workspaceRepository, never()).save(workspace);
+    verify(this.workspaceRepository, never()).insertMember(anyString(), anyString());
   }
 
   @Test
@@ -163,6 +188,7 @@ public class MemberServiceTest {
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.userService.getProfile("02")).thenReturn(workspaceMember);
     when(this.workspaceRepository.findById("01")).thenReturn(Optional.of(workspace));
+    when(this.workspaceRepository.existsMember("01", "02")).thenReturn(true);
 
     Exception thrown = catchException(() -> this.memberService.insertMember("01", "02"));
 
@@ -174,7 +200,8 @@ public class MemberServiceTest {
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.workspaceRepository, times(1)).findById("01");
     verify(this.userService, times(1)).getProfile("02");
-    verify(this.workspaceRepository, never()).save(workspace);
+    verify(this.workspaceRepository, never()).insertMember(anyString(), anyString());
+    verify(this.workspaceRepository, times(1)).existsMember("01", "02");
   }
 
   @Test
@@ -183,13 +210,18 @@ public class MemberServiceTest {
     UserPrincipal userPrincipal = new UserPrincipal(this.dataMock.getUsers().get(0));
     User workspaceMember = this.dataMock.getUsers().get(1);
     Workspace workspace = this.dataMock.getWorkspaces().get(0);
+    List<User> remainingMembers = workspace.getMembers().stream().filter(member -> !member.getId().equals(workspaceMember.getId())).toList();
+    Workspace reloadedWorkspace = new Workspace(
+      workspace.getId(), workspace.getName(), workspace.getCreatedAt(), workspace.getUpdatedAt(), workspace.getOwner(), remainingMembers
+    );
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.userService.getProfile("02")).thenReturn(workspaceMember);
     when(this.workspaceRepository.findById("01")).thenReturn(Optional.of(workspace));
+    when(this.workspaceRepository.existsMember("01", "02")).thenReturn(true);
     when(this.projectService.deleteAllFromOwnerAndWorkspace("01", "02")).thenReturn(any());
-    when(this.workspaceRepository.save(workspace)).thenReturn(workspace);
+    when(this.workspaceRepository.findWithMembersById("01")).thenReturn(Optional.of(reloadedWorkspace));
 
     Workspace updatedWorkspace = this.memberService.removeMember("01", "02");
 
@@ -204,7 +236,12 @@ public class MemberServiceTest {
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.userService, times(1)).getProfile("02");
     verify(this.workspaceRepository, times(1)).findById("01");
-    verify(this.workspaceRepository, times(1)).save(workspace);
+    verify(this.workspaceRepository, times(1)).deleteMember("01", "02");
+    verify(this.secondLevelCacheEvictor, times(1)).evictWorkspaceMembers("01");
+    verify(this.workspaceRepository, times(1)).touchMembersUpdatedAt("01");
+    verify(this.secondLevelCacheEvictor, times(1)).evictWorkspace("01");
+    verify(this.tombstoneRepository, times(1)).save(any(Tombstone.class));
+    verify(this.workspaceAccessCache, times(1)).evictUser("02");
   }
 
   @Test
@@ -228,7 +265,7 @@ public class MemberServiceTest {
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.userService, times(1)).getProfile("02");
     verify(this.workspaceRepository, times(1)).findById("01");
-    verify(this.workspaceRepository, never()).save(any(Workspace.class));
+    verify(this.workspaceRepository, never()).deleteMember(anyString(), anyString());
   }
 
   @Test
@@ -253,7 +290,7 @@ public class MemberServiceTest {
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.userService, times(1)).getProfile("02");
     verify(this.workspaceRepository, times(1)).findById("01");
-    verify(this.workspaceRepository, never()).save(any(Workspace.class));
+    verify(this.workspaceRepository, never()).deleteMember(anyString(), anyString());
   }
 
   @Test
@@ -270,6 +307,7 @@ public class MemberServiceTest {
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.userService.getProfile("02")).thenReturn(workspaceMember);
     when(this.workspaceRepository.findById("01")).thenReturn(Optional.of(workspace));
+    when(this.workspaceRepository.existsMember("01", "02")).thenReturn(false);
 
     Exception thrown = catchException(() -> this.memberService.removeMember("01", "02"));
 
@@ -281,6 +319,6 @@ public class MemberServiceTest {
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.userService, times(1)).getProfile("02");
     verify(this.workspaceRepository, times(1)).findById("01");
-    verify(this.workspaceRepository, never()).save(any(Workspace.class));
+    verify(this.workspaceRepository, never()).deleteMember(anyString(), anyString());
   }
 }
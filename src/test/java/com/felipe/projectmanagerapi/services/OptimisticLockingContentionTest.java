@@ -0,0 +1,156 @@
+package com.felipe.projectmanagerapi.services;
+
+import com.felipe.projectmanagerapi.dtos.ProjectUpdateDTO;
+import com.felipe.projectmanagerapi.enums.PriorityLevel;
+import com.felipe.projectmanagerapi.enums.Role;
+import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import com.felipe.projectmanagerapi.models.Money;
+import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.models.User;
+import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.repositories.ProjectRepository;
+import com.felipe.projectmanagerapi.repositories.UserRepository;
+import com.felipe.projectmanagerapi.repositories.WorkspaceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles(value = "test")
+public class OptimisticLockingContentionTest {
+
+  private static final int THREADS = 8;
+  private static final int OPERATIONS_PER_THREAD = 25;
+
+  @Autowired
+  ProjectService projectService;
+
+  @Autowired
+  UserRepository userRepository;
+
+  @Autowired
+  WorkspaceRepository workspaceRepository;
+
+  @Autowired
+  ProjectRepository projectRepository;
+
+  private User user;
+  private Workspace workspace;
+  private Project project;
+
+  @BeforeEach
+  void setUp() {
+    User newUser = new User();
+    newUser.setName("Contention");
+    newUser.setEmail("contention@email.com");
+    newUser.setPassword("123456");
+    newUser.setRole(Role.WRITE_READ);
+    this.user = this.userRepository.save(newUser);
+
+    Workspace newWorkspace = new Workspace();
+    newWorkspace.setName("Contention");
+    newWorkspace.setOwner(this.user);
+    this.workspace = this.workspaceRepository.save(newWorkspace);
+
+    Project newProject = new Project();
+    newProject.setName("Contention");
+    newProject.setCategory("Category");
+    newProject.setDescription("Description");
+    newProject.setBudget(Money.parse("100000.00"));
+    newProject.setPriority(PriorityLevel.LOW);
+    newProject.setDeadline(LocalDate.now().plusDays(10));
+    newProject.setOwner(this.user);
+    newProject.setWorkspace(this.workspace);
+    this.project = this.projectRepository.save(newProject);
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.projectRepository.deleteById(this.project.getId());
+    this.workspaceRepository.deleteById(this.workspace.getId());
+    this.userRepository.deleteById(this.user.getId());
+  }
+
+  @Test
+  @DisplayName("addCost - Should apply every concurrent cost change exactly once and bump the version for each")
+  void concurrentAddCostIsLossless() throws Exception {
+    int total = THREADS * OPERATIONS_PER_THREAD;
+
+    this.runConcurrently(() -> this.projectService.addCost(this.project, Money.parse("1.00")));
+
+    Project updated = this.projectRepository.findById(this.project.getId()).orElseThrow();
+    assertThat(updated.getCost()).isEqualTo(Money.ofCents(total * 100L));
+    assertThat(updated.getVersion()).isEqualTo(this.project.getVersion() + total);
+  }
+
+  @Test
+  @DisplayName("update - Should either apply or reject each concurrent update without losing versions")
+  void concurrentUpdateNeverLosesWrites() throws Exception {
+    AtomicInteger successes = new AtomicInteger();
+    AtomicInteger conflicts = new AtomicInteger();
+    AtomicInteger counter = new AtomicInteger();
+
+    this.runConcurrently(() -> {
+      ProjectUpdateDTO projectDTO = new ProjectUpdateDTO(
+        "Contention " + counter.incrementAndGet(), null, null, null, null, null
+      );
+      try {
+        this.projectService.update(this.project.getId(), projectDTO, null);
+        successes.incrementAndGet();
+      } catch(OptimisticLockingFailureException exception) {
+        conflicts.incrementAndGet();
+      }
+    });
+
+    Project updated = this.projectRepository.findById(this.project.getId()).orElseThrow();
+    assertThat(successes.get() + conflicts.get()).isEqualTo(THREADS * OPERATIONS_PER_THREAD);
+    assertThat(updated.getVersion()).isEqualTo(this.project.getVersion() + successes.get());
+  }
+
+  private void runConcurrently(Runnable operation) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    try {
+      for(int i = 0; i < THREADS; i++) {
+        futures.add(executor.submit(() -> {
+          UserPrincipal userPrincipal = new UserPrincipal(this.user);
+          SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities())
+          );
+          start.await();
+          for(int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+            operation.run();
+          }
+          SecurityContextHolder.clearContext();
+          return null;
+        }));
+      }
+      start.countDown();
+      for(Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
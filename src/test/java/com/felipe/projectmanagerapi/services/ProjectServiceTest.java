@@ -9,15 +9,24 @@ import com.felipe.projectmanagerapi.exceptions.InvalidCostException;
 import com.felipe.projectmanagerapi.exceptions.InvalidDateException;
 import com.felipe.projectmanagerapi.exceptions.OutOfBudgetException;
 import com.felipe.projectmanagerapi.exceptions.RecordNotFoundException;
+import com.felipe.projectmanagerapi.exceptions.VersionConflictException;
+import com.felipe.projectmanagerapi.infra.events.WorkspaceEventHub;
+import com.felipe.projectmanagerapi.infra.persistence.CostLedger;
 import com.felipe.projectmanagerapi.infra.security.AuthorizationService;
 import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import com.felipe.projectmanagerapi.infra.security.WorkspaceAccessCache;
+import com.felipe.projectmanagerapi.models.Money;
 import com.felipe.projectmanagerapi.models.Project;
 import com.felipe.projectmanagerapi.models.Task;
+import com.felipe.projectmanagerapi.models.Tombstone;
 import com.felipe.projectmanagerapi.models.User;
 import com.felipe.projectmanagerapi.models.Workspace;
 import com.felipe.projectmanagerapi.repositories.ProjectRepository;
+import com.felipe.projectmanagerapi.repositories.TaskRepository;
+import com.felipe.projectmanagerapi.repositories.TombstoneRepository;
 import com.felipe.projectmanagerapi.utils.ConvertDateFormat;
 import com.felipe.projectmanagerapi.utils.GenerateMocks;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -26,16 +35,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.MockitoAnnotations;
-import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -62,9 +73,27 @@ public class ProjectServiceTest {
   @Mock
   ProjectRepository projectRepository;
 
+  @Mock
+  TaskRepository taskRepository;
+
+  @Mock
+  TombstoneRepository tombstoneRepository;
+
+  @Mock
+  WorkspaceEventHub workspaceEventHub;
+
   @Mock
   AuthorizationService authorizationService;
 
+  @Mock
+  WorkspaceAccessCache workspaceAccessCache;
+
+  @Mock
+  EntityManager entityManager;
+
+  @Mock
+  CostLedger costLedger;
+
   @Mock
   WorkspaceService workspaceService;
 
@@ -122,13 +151,14 @@ public class ProjectServiceTest {
     assertThat(createdProject.getDeadline()).isEqualTo(project.getDeadline());
     assertThat(createdProject.getCreatedAt()).isEqualTo(project.getCreatedAt());
     assertThat(createdProject.getUpdatedAt()).isEqualTo(project.getUpdatedAt());
-    assertThat(createdProject.getOwner().getId()).isEqualTo(userPrincipal.getUser().getId());
+    assertThat(createdProject.getOwner().getId()).isEqualTo(userPrincipal.getId());
     assertThat(createdProject.getWorkspace().getId()).isEqualTo(workspace.getId());
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.workspaceService, times(1)).getById(anyString());
     verify(this.projectMapper, times(1)).convertValueToPriorityLevel(anyString());
+    verify(this.entityManager, times(1)).getReference(User.class, userPrincipal.getId());
     verify(this.projectRepository, times(1)).save(any(Project.class));
   }
 
@@ -175,7 +205,7 @@ public class ProjectServiceTest {
   void updateProjectSuccess() {
     UserPrincipal userPrincipal = new UserPrincipal(this.dataMock.getUsers().get(1));
     Project project = this.dataMock.getProjects().get(1);
-    project.setCost(new BigDecimal("1000").setScale(2, RoundingMode.FLOOR));
+    project.setCost(Money.parse("1000.00"));
 
     ProjectUpdateDTO projectUpdateDTO = new ProjectUpdateDTO(
       "Updated Project",
@@ -190,7 +220,7 @@ public class ProjectServiceTest {
     updatedProjectEntity.setName(projectUpdateDTO.name());
     updatedProjectEntity.setCategory(projectUpdateDTO.category());
     updatedProjectEntity.setDescription(projectUpdateDTO.description());
-    updatedProjectEntity.setBudget(new BigDecimal("2500").setScale(2, RoundingMode.FLOOR));
+    updatedProjectEntity.setBudget(Money.parse("2500.00"));
     updatedProjectEntity.setPriority(PriorityLevel.MEDIUM);
     updatedProjectEntity.setDeadline(ConvertDateFormat.convertFormattedStringToDate(projectUpdateDTO.deadline()));
     updatedProjectEntity.setCreatedAt(project.getCreatedAt());
@@ -203,7 +233,7 @@ public class ProjectServiceTest {
     when(this.projectRepository.findById("02")).thenReturn(Optional.of(project));
     when(this.projectRepository.save(project)).thenReturn(project);
 
-    Project updatedProject = this.projectService.update("02", projectUpdateDTO);
+    Project updatedProject = this.projectService.update("02", projectUpdateDTO, null);
 
     assertThat(updatedProject.getId()).isEqualTo(updatedProjectEntity.getId());
     assertThat(updatedProject.getName()).isEqualTo(updatedProjectEntity.getName());
@@ -223,6 +253,32 @@ public class ProjectServiceTest {
     verify(this.projectRepository, times(1)).save(project);
   }
 
+  @Test
+  @DisplayName("update - Should throw a VersionConflictException if the expected version is not the current one")
+  void updateProjectFailsByVersionConflict() {
+    UserPrincipal userPrincipal = new UserPrincipal(this.dataMock.getUsers().get(1));
+    Project project = this.dataMock.getProjects().get(1);
+    project.setVersion(5L);
+    ProjectUpdateDTO projectDTO = new ProjectUpdateDTO("Novo nome", null, null, null, null, null);
+
+    when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
+    when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
+    when(this.projectRepository.findById("02")).thenReturn(Optional.of(project));
+
+    Exception thrown = catchException(() -> this.projectService.update("02", projectDTO, 4L));
+
+    assertThat(thrown)
+      .isExactlyInstanceOf(VersionConflictException.class)
+      .hasMessage(
+        "Conflito de versão no recurso de ID: '02'. Versão esperada: 4. Versão atual: 5. " +
+        "Recarregue o recurso e tente novamente"
+      );
+    assertThat(project.getName()).isNotEqualTo("Novo nome");
+
+    verify(this.projectRepository, times(1)).findById("02");
+    verify(this.projectRepository, never()).save(any(Project.class));
+  }
+
   @Test
   @DisplayName("update - Should throw a RecordNotFoundException if the project is not found")
   void updateProjectFailsByProjectNotFound() {
@@ -241,7 +297,7 @@ public class ProjectServiceTest {
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.projectRepository.findById("02")).thenReturn(Optional.empty());
 
-    Exception thrown = catchException(() -> this.projectService.update("02", projectDTO));
+    Exception thrown = catchException(() -> this.projectService.update("02", projectDTO, null));
 
     assertThat(thrown)
       .isExactlyInstanceOf(RecordNotFoundException.class)
@@ -271,7 +327,7 @@ public class ProjectServiceTest {
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.projectRepository.findById("02")).thenReturn(Optional.of(project));
 
-    Exception thrown = catchException(() -> this.projectService.update("02", projectDTO));
+    Exception thrown = catchException(() -> this.projectService.update("02", projectDTO, null));
 
     assertThat(thrown)
       .isExactlyInstanceOf(AccessDeniedException.class)
@@ -302,7 +358,7 @@ public class ProjectServiceTest {
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.projectRepository.findById("02")).thenReturn(Optional.of(project));
 
-    Exception thrown = catchException(() -> this.projectService.update("02", projectDTO));
+    Exception thrown = catchException(() -> this.projectService.update("02", projectDTO, null));
 
     assertThat(thrown)
       .isExactlyInstanceOf(InvalidDateException.class)
@@ -323,7 +379,7 @@ public class ProjectServiceTest {
   void updateProjectFailsByInvalidBudget() {
     UserPrincipal userPrincipal = new UserPrincipal(this.dataMock.getUsers().get(1));
     Project project = this.dataMock.getProjects().get(1);
-    project.setCost(new BigDecimal("1000").setScale(2, RoundingMode.FLOOR));
+    project.setCost(Money.parse("1000.00"));
 
     String deadline = LocalDate.now().plusYears(10).format(DateTimeFormatter.ofPattern("dd-MM-yyyy"));
 
@@ -340,7 +396,7 @@ public class ProjectServiceTest {
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.projectRepository.findById("02")).thenReturn(Optional.of(project));
 
-    Exception thrown = catchException(() -> this.projectService.update("02", projectDTO));
+    Exception thrown = catchException(() -> this.projectService.update("02", projectDTO, null));
 
     assertThat(thrown)
       .isExactlyInstanceOf(InvalidBudgetException.class)
@@ -368,9 +424,10 @@ public class ProjectServiceTest {
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.workspaceService.getById("01")).thenReturn(workspace);
     when(this.userService.getProfile("02")).thenReturn(projectsOwner);
-    when(this.projectRepository.findAllByWorkspaceIdAndOwnerId("01", "02")).thenReturn(projects);
+    when(this.projectRepository.findByWorkspaceIdAndOwnerIdOrderByCreatedAtAscIdAsc(eq("01"), eq("02"), any(ScrollPosition.class), eq(Limit.of(20))))
+      .thenReturn(Window.from(projects, ScrollPosition::offset));
 
-    List<Project> foundProjects = this.projectService.getAllByWorkspaceAndOwner("01", "02");
+    List<Project> foundProjects = this.projectService.getAllByWorkspaceAndOwner("01", "02", null, 20).content();
 
     assertThat(foundProjects).allSatisfy(project -> {
       assertThat(project.getOwner().getId()).isEqualTo(projectsOwner.getId());
@@ -381,7 +438,7 @@ public class ProjectServiceTest {
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.workspaceService, times(1)).getById("01");
     verify(this.userService, times(1)).getProfile("02");
-    verify(this.projectRepository, times(1)).findAllByWorkspaceIdAndOwnerId("01", "02");
+    verify(this.projectRepository, times(1)).findByWorkspaceIdAndOwnerIdOrderByCreatedAtAscIdAsc(eq("01"), eq("02"), any(ScrollPosition.class), eq(Limit.of(20)));
   }
 
   @Test
@@ -394,7 +451,7 @@ public class ProjectServiceTest {
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.workspaceService.getById("01")).thenReturn(workspace);
 
-    Exception thrown = catchException(() -> this.projectService.getAllByWorkspaceAndOwner("01", "02"));
+    Exception thrown = catchException(() -> this.projectService.getAllByWorkspaceAndOwner("01", "02", null, 20));
 
     assertThat(thrown)
       .isExactlyInstanceOf(AccessDeniedException.class)
@@ -403,37 +460,74 @@ public class ProjectServiceTest {
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.workspaceService, times(1)).getById("01");
-    verify(this.projectRepository, never()).findAllByWorkspaceIdAndOwnerId(eq("01"), anyString());
+    verify(this.projectRepository, never())
+      .findByWorkspaceIdAndOwnerIdOrderByCreatedAtAscIdAsc(eq("01"), anyString(), any(ScrollPosition.class), any(Limit.class));
   }
 
   @Test
-  @DisplayName("deleteAllFromOwnerAndWorkspace - Should successfully delete all projects of the specific workspace and owner")
+  @DisplayName("deleteAllFromOwnerAndWorkspace - Should bulk delete all projects of the specific workspace and owner and return their ids")
   void deleteAllFromOwnerAndWorkspaceSuccess() {
     UserPrincipal userPrincipal = new UserPrincipal(this.dataMock.getUsers().get(0));
     User projectsOwner = this.dataMock.getUsers().get(1);
     Workspace workspace = this.dataMock.getWorkspaces().get(0);
-    List<Project> projects = List.of(this.dataMock.getProjects().get(1), this.dataMock.getProjects().get(2));
+    List<String> projectIds = List.of(this.dataMock.getProjects().get(1).getId(), this.dataMock.getProjects().get(2).getId());
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.workspaceService.getById("01")).thenReturn(workspace);
     when(this.userService.getProfile("02")).thenReturn(projectsOwner);
-    when(this.projectRepository.findAllByWorkspaceIdAndOwnerId("01", "02")).thenReturn(projects);
-    doNothing().when(this.projectRepository).deleteAll(projects);
+    when(this.projectRepository.findIdsByWorkspaceIdAndOwnerId("01", "02")).thenReturn(projectIds);
+    when(this.taskRepository.deleteAllByProjectIdIn(projectIds)).thenReturn(0);
+    when(this.projectRepository.deleteAllByIdIn(projectIds)).thenReturn(2);
 
-    List<Project> deletedProjects = this.projectService.deleteAllFromOwnerAndWorkspace("01", "02");
+    List<String> deletedProjectIds = this.projectService.deleteAllFromOwnerAndWorkspace("01", "02");
 
-    assertThat(deletedProjects).allSatisfy(project -> {
-      assertThat(project.getOwner().getId()).isEqualTo(projectsOwner.getId());
-      assertThat(project.getWorkspace().getId()).isEqualTo(workspace.getId());
-    }).hasSize(2);
+    assertThat(deletedProjectIds).containsExactly("02", "03");
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.workspaceService, times(1)).getById("01");
     verify(this.userService, times(1)).getProfile("02");
-    verify(this.projectRepository, times(1)).findAllByWorkspaceIdAndOwnerId("01", "02");
-    verify(this.projectRepository, times(1)).deleteAll(any());
+    verify(this.projectRepository, times(1)).findIdsByWorkspaceIdAndOwnerId("01", "02");
+    verify(this.taskRepository, times(1)).deleteAllByProjectIdIn(projectIds);
+    verify(this.projectRepository, times(1)).deleteAllByIdIn(projectIds);
+  }
+
+  @Test
+  @DisplayName("getFullById - Should get a project with its tasks in a single fetch")
+  void getFullByIdSuccess() {
+    UserPrincipal userPrincipal = new UserPrincipal(this.dataMock.getUsers().get(0));
+    Project project = this.dataMock.getProjects().get(0);
+
+    when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
+    when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
+    when(this.projectRepository.findFullById("01")).thenReturn(Optional.of(project));
+
+    Project foundProject = this.projectService.getFullById("01");
+
+    assertThat(foundProject.getId()).isEqualTo(project.getId());
+    assertThat(foundProject.getTasks()).isEqualTo(project.getTasks());
+
+    verify(this.projectRepository, times(1)).findFullById("01");
+    verify(this.projectRepository, never()).findById(anyString());
+  }
+
+  @Test
+  @DisplayName("getFullById - Should throw a RecordNotFoundException if the project is not found")
+  void getFullByIdFailsByProjectNotFound() {
+    UserPrincipal userPrincipal = new UserPrincipal(this.dataMock.getUsers().get(0));
+
+    when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
+    when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
+    when(this.projectRepository.findFullById("01")).thenReturn(Optional.empty());
+
+    Exception thrown = catchException(() -> this.projectService.getFullById("01"));
+
+    assertThat(thrown)
+      .isExactlyInstanceOf(RecordNotFoundException.class)
+      .hasMessage("Projeto de ID: '01' não encontrado");
+
+    verify(this.projectRepository, times(1)).findFullById("01");
   }
 
   @Test
@@ -444,7 +538,8 @@ public class ProjectServiceTest {
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.projectRepository.findById("01")).thenReturn(Optional.of(project));
+    when(this.workspaceAccessCache.canAccess(userPrincipal.getId(), project.getWorkspace().getId())).thenReturn(true);
+    when(this.projectRepository.findWithWorkspaceById("01")).thenReturn(Optional.of(project));
 
     Project foundProject = this.projectService.getById("01");
 
@@ -463,7 +558,8 @@ public class ProjectServiceTest {
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
-    verify(this.projectRepository, times(1)).findById("01");
+    verify(this.projectRepository, times(1)).findWithWorkspaceById("01");
+    verify(this.workspaceAccessCache, times(1)).canAccess(userPrincipal.getId(), project.getWorkspace().getId());
   }
 
   @Test
@@ -473,7 +569,7 @@ public class ProjectServiceTest {
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.projectRepository.findById("01")).thenReturn(Optional.empty());
+    when(this.projectRepository.findWithWorkspaceById("01")).thenReturn(Optional.empty());
 
     Exception thrown = catchException(() -> this.projectService.getById("01"));
 
@@ -483,7 +579,7 @@ public class ProjectServiceTest {
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
-    verify(this.projectRepository, times(1)).findById("01");
+    verify(this.projectRepository, times(1)).findWithWorkspaceById("01");
   }
 
   @Test
@@ -498,7 +594,7 @@ public class ProjectServiceTest {
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.projectRepository.findById("01")).thenReturn(Optional.of(project));
+    when(this.projectRepository.findWithWorkspaceById("01")).thenReturn(Optional.of(project));
 
     Exception thrown = catchException(() -> this.projectService.getById("01"));
 
@@ -508,7 +604,7 @@ public class ProjectServiceTest {
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
-    verify(this.projectRepository, times(1)).findById("01");
+    verify(this.projectRepository, times(1)).findWithWorkspaceById("01");
   }
 
   @Test
@@ -518,16 +614,17 @@ public class ProjectServiceTest {
     workspace.setProjects(this.dataMock.getProjects());
 
     when(this.workspaceService.getById("01")).thenReturn(workspace);
-    when(this.projectRepository.findAllByWorkspaceId(eq("01"), any(Sort.class))).thenReturn(workspace.getProjects());
+    when(this.projectRepository.findByWorkspaceId(eq("01"), any(ScrollPosition.class), any(Sort.class), eq(Limit.of(20))))
+      .thenReturn(Window.from(workspace.getProjects(), ScrollPosition::offset));
 
-    List<Project> foundProjects = this.projectService.getAllFromWorkspace("01", "ASC");
+    List<Project> foundProjects = this.projectService.getAllFromWorkspace("01", "ASC", null, 20).content();
 
     assertThat(foundProjects)
       .allSatisfy(project -> assertThat(project.getWorkspace().getId()).isEqualTo(workspace.getId()))
       .hasSize(3);
 
     verify(this.workspaceService, times(1)).getById("01");
-    verify(this.projectRepository, times(1)).findAllByWorkspaceId(eq("01"), any(Sort.class));
+    verify(this.projectRepository, times(1)).findByWorkspaceId(eq("01"), any(ScrollPosition.class), any(Sort.class), eq(Limit.of(20)));
   }
 
   @Test
@@ -538,17 +635,18 @@ public class ProjectServiceTest {
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.projectRepository.findAllByUserId(userPrincipal.getUser().getId())).thenReturn(projects);
+    when(this.projectRepository.findByOwnerIdOrderByCreatedAtAscIdAsc(eq(userPrincipal.getId()), any(ScrollPosition.class), eq(Limit.of(20))))
+      .thenReturn(Window.from(projects, ScrollPosition::offset));
 
-    List<Project> foundProjects = this.projectService.getAllFromAuthenticatedUser();
+    List<Project> foundProjects = this.projectService.getAllFromAuthenticatedUser(null, 20).content();
 
     assertThat(foundProjects)
-      .allSatisfy(project -> assertThat(project.getOwner().getId()).isEqualTo(userPrincipal.getUser().getId()))
+      .allSatisfy(project -> assertThat(project.getOwner().getId()).isEqualTo(userPrincipal.getId()))
       .hasSize(2);
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
-    verify(this.projectRepository, times(1)).findAllByUserId(userPrincipal.getUser().getId());
+    verify(this.projectRepository, times(1)).findByOwnerIdOrderByCreatedAtAscIdAsc(eq(userPrincipal.getId()), any(ScrollPosition.class), eq(Limit.of(20)));
   }
 
   @Test
@@ -558,16 +656,17 @@ public class ProjectServiceTest {
     List<Project> projects = List.of(this.dataMock.getProjects().get(1), this.dataMock.getProjects().get(2));
 
     when(this.userService.getProfile("02")).thenReturn(projectsOwner);
-    when(this.projectRepository.findAllByUserId(projectsOwner.getId())).thenReturn(projects);
+    when(this.projectRepository.findByOwnerIdOrderByCreatedAtAscIdAsc(eq(projectsOwner.getId()), any(ScrollPosition.class), eq(Limit.of(20))))
+      .thenReturn(Window.from(projects, ScrollPosition::offset));
 
-    List<Project> userProjects = this.projectService.getAllFromOwner("02");
+    List<Project> userProjects = this.projectService.getAllFromOwner("02", null, 20).content();
 
     assertThat(userProjects)
       .allSatisfy(project -> assertThat(project.getOwner().getId()).isEqualTo(projectsOwner.getId()))
       .hasSize(2);
 
     verify(this.userService, times(1)).getProfile("02");
-    verify(this.projectRepository, times(1)).findAllByUserId(projectsOwner.getId());
+    verify(this.projectRepository, times(1)).findByOwnerIdOrderByCreatedAtAscIdAsc(eq(projectsOwner.getId()), any(ScrollPosition.class), eq(Limit.of(20)));
   }
 
   @Test
@@ -602,6 +701,7 @@ public class ProjectServiceTest {
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.workspaceService, times(1)).getById("01");
     verify(this.projectRepository, times(1)).findById("02");
+    verify(this.tombstoneRepository, times(1)).save(any(Tombstone.class));
     verify(this.projectRepository, times(1)).deleteById("02");
   }
 
@@ -657,25 +757,25 @@ public class ProjectServiceTest {
   void deleteAllFromWorkspaceSuccess() {
     UserPrincipal userPrincipal = new UserPrincipal(this.dataMock.getUsers().get(0));
     Workspace workspace = this.dataMock.getWorkspaces().get(0);
-    List<Project> projects = this.dataMock.getProjects();
+    List<String> projectIds = this.dataMock.getProjects().stream().map(Project::getId).toList();
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.workspaceService.getById("01")).thenReturn(workspace);
-    when(this.projectRepository.findAllByWorkspaceId(eq("01"), any(Sort.class))).thenReturn(projects);
-    doNothing().when(this.projectRepository).deleteAll(projects);
+    when(this.projectRepository.findIdsByWorkspaceId("01")).thenReturn(projectIds);
+    when(this.taskRepository.deleteAllByProjectIdIn(projectIds)).thenReturn(2);
+    when(this.projectRepository.deleteAllByIdIn(projectIds)).thenReturn(3);
 
-    List<Project> deletedProjects = this.projectService.deleteAllFromWorkspace("01");
+    List<String> deletedProjectIds = this.projectService.deleteAllFromWorkspace("01");
 
-    assertThat(deletedProjects)
-      .allSatisfy(project -> assertThat(project.getWorkspace().getId()).isEqualTo(workspace.getId()))
-      .hasSize(3);
+    assertThat(deletedProjectIds).containsExactly("01", "02", "03");
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.workspaceService, times(1)).getById("01");
-    verify(this.projectRepository, times(1)).findAllByWorkspaceId(eq("01"), any(Sort.class));
-    verify(this.projectRepository, times(1)).deleteAll(projects);
+    verify(this.projectRepository, times(1)).findIdsByWorkspaceId("01");
+    verify(this.taskRepository, times(1)).deleteAllByProjectIdIn(projectIds);
+    verify(this.projectRepository, times(1)).deleteAllByIdIn(projectIds);
   }
 
   @Test
@@ -697,75 +797,112 @@ public class ProjectServiceTest {
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.workspaceService, times(1)).getById("01");
-    verify(this.projectRepository, never()).findAllByWorkspaceId(anyString(), any(Sort.class));
-    verify(this.projectRepository, never()).deleteAll(any());
+    verify(this.projectRepository, never()).findIdsByWorkspaceId(anyString());
+    verify(this.taskRepository, never()).deleteAllByProjectIdIn(any());
+    verify(this.projectRepository, never()).deleteAllByIdIn(any());
   }
 
   @Test
   @DisplayName("deleteAllFromAuthenticatedUser - Should successfully delete all authenticated user projects")
   void deleteAllFromAuthenticatedUserSuccess() {
     UserPrincipal userPrincipal = new UserPrincipal(this.dataMock.getUsers().get(1));
-    List<Project> projects = List.of(this.dataMock.getProjects().get(1), this.dataMock.getProjects().get(2));
+    List<String> projectIds = List.of("02", "03");
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.projectRepository.findAllByUserId("02")).thenReturn(projects);
-    doNothing().when(this.projectRepository).deleteAll(projects);
+    when(this.projectRepository.findIdsByUserId("02")).thenReturn(projectIds);
+    when(this.taskRepository.deleteAllByProjectIdIn(projectIds)).thenReturn(0);
+    when(this.projectRepository.deleteAllByIdIn(projectIds)).thenReturn(2);
 
-    List<Project> deletedProjects = this.projectService.deleteAllFromAuthenticatedUser();
+    List<String> deletedProjectIds = this.projectService.deleteAllFromAuthenticatedUser();
 
-    assertThat(deletedProjects)
-      .allSatisfy(project -> assertThat(project.getOwner().getId()).isEqualTo(userPrincipal.getUser().getId()))
-      .hasSize(2);
+    assertThat(deletedProjectIds).containsExactly("02", "03");
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
-    verify(this.projectRepository, times(1)).findAllByUserId("02");
-    verify(this.projectRepository, times(1)).deleteAll(projects);
+    verify(this.projectRepository, times(1)).findIdsByUserId("02");
+    verify(this.taskRepository, times(1)).deleteAllByProjectIdIn(projectIds);
+    verify(this.projectRepository, times(1)).deleteAllByIdIn(projectIds);
   }
 
   @Test
   @DisplayName("deleteAllFromOwner - Should successfully delete all projects from an owner")
   void deleteAllFromOwnerSuccess() {
     User projectsOwner = this.dataMock.getUsers().get(1);
-    List<Project> projects = List.of(this.dataMock.getProjects().get(1), this.dataMock.getProjects().get(2));
+    List<String> projectIds = List.of("02", "03");
 
     when(this.userService.getProfile("02")).thenReturn(projectsOwner);
-    when(this.projectRepository.findAllByUserId(projectsOwner.getId())).thenReturn(projects);
-    doNothing().when(this.projectRepository).deleteAll(projects);
+    when(this.projectRepository.findIdsByUserId(projectsOwner.getId())).thenReturn(projectIds);
+    when(this.taskRepository.deleteAllByProjectIdIn(projectIds)).thenReturn(0);
+    when(this.projectRepository.deleteAllByIdIn(projectIds)).thenReturn(2);
 
-    List<Project> deletedProjects = this.projectService.deleteAllFromOwner("02");
+    List<String> deletedProjectIds = this.projectService.deleteAllFromOwner("02");
 
-    assertThat(deletedProjects)
-      .allSatisfy(project -> assertThat(project.getOwner().getId()).isEqualTo(projectsOwner.getId()))
-      .hasSize(2);
+    assertThat(deletedProjectIds).containsExactly("02", "03");
 
     verify(this.userService, times(1)).getProfile("02");
-    verify(this.projectRepository, times(1)).findAllByUserId(projectsOwner.getId());
-    verify(this.projectRepository, times(1)).deleteAll(projects);
+    verify(this.projectRepository, times(1)).findIdsByUserId(projectsOwner.getId());
+    verify(this.taskRepository, times(1)).deleteAllByProjectIdIn(projectIds);
+    verify(this.projectRepository, times(1)).deleteAllByIdIn(projectIds);
   }
 
   @Test
-  @DisplayName("addCost - Should successfully update the project cost adding the new cost to it")
+  @DisplayName("addCost - Should increment the project cost with a single conditional update")
   void addCostSuccess() {
     Project project = this.dataMock.getProjects().get(1);
-    BigDecimal cost = new BigDecimal("800").setScale(2, RoundingMode.FLOOR);
-    BigDecimal newCost = project.getCost().add(cost);
-    ArgumentCaptor<Project> projectCapture = ArgumentCaptor.forClass(Project.class);
+    Money cost = Money.parse("800.00");
 
-    when(this.projectRepository.save(projectCapture.capture())).thenReturn(any(Project.class));
+    when(this.projectRepository.addCost("02", cost.toBigDecimal())).thenReturn(1);
 
     this.projectService.addCost(project, cost);
 
-    assertThat(projectCapture.getValue().getCost()).isEqualTo(newCost);
-    verify(this.projectRepository, times(1)).save(project);
+    verify(this.projectRepository, times(1)).addCost("02", cost.toBigDecimal());
+    verify(this.projectRepository, never()).findCostById(anyString());
+    verify(this.projectRepository, never()).save(any(Project.class));
+  }
+
+  @Test
+  @DisplayName("addCost - Should record the cost in the ledger instead of updating the project row when the ledger is enabled")
+  void addCostThroughLedgerSuccess() {
+    Project project = this.dataMock.getProjects().get(1);
+    Money cost = Money.parse("800.00");
+
+    when(this.costLedger.isEnabled()).thenReturn(true);
+
+    this.projectService.addCost(project, cost);
+
+    verify(this.costLedger, times(1)).record(project, cost);
+    verify(this.projectRepository, never()).addCost(anyString(), any(BigDecimal.class));
+  }
+
+  @Test
+  @DisplayName("addCost - Should throw an OutOfBudgetException if the accumulated cost would exceed the project budget")
+  void addCostFailsByAccumulatedCostOutOfBudget() {
+    Project project = this.dataMock.getProjects().get(1);
+    Money cost = Money.parse("800.00");
+
+    when(this.projectRepository.addCost("02", cost.toBigDecimal())).thenReturn(0);
+    when(this.projectRepository.findCostById("02")).thenReturn(Optional.of(Money.parse("500.00")));
+
+    Exception thrown = catchException(() -> this.projectService.addCost(project, cost));
+
+    assertThat(thrown)
+      .isExactlyInstanceOf(OutOfBudgetException.class)
+      .hasMessage(
+        "Operação inválida! Custo acima do orçamento do projeto.\n" +
+        "Orçamento: R$ 1000.00" + "\n" +
+        "Custo: R$ 1300.00"
+      );
+
+    verify(this.projectRepository, times(1)).addCost("02", cost.toBigDecimal());
+    verify(this.projectRepository, times(1)).findCostById("02");
   }
 
   @Test
   @DisplayName("addCost - Should throw an OutOfBudgetException if the cost is greater than the project budget")
   void addCostFailsByCostOutOfBudget() {
     Project project = this.dataMock.getProjects().get(1);
-    BigDecimal cost = new BigDecimal("1100").setScale(2, RoundingMode.FLOOR);
+    Money cost = Money.parse("1100.00");
 
     Exception thrown = catchException(() -> this.projectService.addCost(project, cost));
 
@@ -777,60 +914,57 @@ public class ProjectServiceTest {
         "Custo: R$ 1100.00"
       );
 
-    verify(this.projectRepository, never()).save(any(Project.class));
+    verify(this.projectRepository, never()).addCost(anyString(), any(BigDecimal.class));
   }
 
   @Test
   @DisplayName("addCost - Should throw an InvalidCostException if the cost value is less than 0")
   void addCostFailsByNegativeCostValue() {
     Project project = this.dataMock.getProjects().get(1);
-    BigDecimal cost = new BigDecimal("-1");
+    Money cost = Money.parse("-1.00");
 
     Exception thrown = catchException(() -> this.projectService.addCost(project, cost));
 
     assertThat(thrown)
       .isExactlyInstanceOf(InvalidCostException.class)
-      .hasMessage("Custo inválido! Valores negativos não são permitidos. Custo: R$ -1");
+      .hasMessage("Custo inválido! Valores negativos não são permitidos. Custo: R$ -1.00");
 
-    verify(this.projectRepository, never()).save(any(Project.class));
+    verify(this.projectRepository, never()).addCost(anyString(), any(BigDecimal.class));
   }
 
   @Test
-  @DisplayName("subtractCost - Should successfully subtract the task cost value from project cost")
+  @DisplayName("subtractCost - Should decrement the project cost by the task cost in the database")
   void subtractCostSuccess() {
     Task task = this.dataMock.getTasks().get(0);
-    task.setCost(new BigDecimal("800").setScale(2, RoundingMode.FLOOR));
-
+    task.setCost(Money.parse("800.00"));
     Project project = this.dataMock.getProjects().get(1);
-    BigDecimal newCost = project.getCost().subtract(task.getCost());
-    ArgumentCaptor<Project> projectCapture = ArgumentCaptor.forClass(Project.class);
 
-    when(this.projectRepository.save(projectCapture.capture())).thenReturn(any(Project.class));
+    when(this.projectRepository.addCost("02", new BigDecimal("-800.00"))).thenReturn(1);
 
     this.projectService.subtractCost(project, task);
 
-    assertThat(projectCapture.getValue().getCost()).isEqualTo(newCost);
-    verify(this.projectRepository, times(1)).save(project);
+    verify(this.projectRepository, times(1)).addCost("02", new BigDecimal("-800.00"));
+    verify(this.projectRepository, never()).save(any(Project.class));
   }
 
   @Test
   @DisplayName("updateCost - Should successfully update the project cost")
   void updateCostSuccess() {
     Project project = this.dataMock.getProjects().get(1);
-    project.setBudget(new BigDecimal("2000").setScale(2, RoundingMode.FLOOR));
-    project.setCost(new BigDecimal("2000").setScale(2, RoundingMode.FLOOR));
+    project.setBudget(Money.parse("2000.00"));
+    project.setCost(Money.parse("2000.00"));
 
     Task task = this.dataMock.getTasks().get(0);
-    BigDecimal cost = new BigDecimal("800").setScale(2, RoundingMode.FLOOR);
-    BigDecimal newCost = new BigDecimal("1600").setScale(2, RoundingMode.FLOOR);
-    ArgumentCaptor<Project> projectCapture = ArgumentCaptor.forClass(Project.class);
+    task.setCost(Money.parse("1200.00"));
+    Money cost = Money.parse("800.00");
+    Money delta = Money.parse("-400.00");
 
-    when(this.projectRepository.save(projectCapture.capture())).thenReturn(any(Project.class));
+    when(this.projectRepository.addCost("02", delta.toBigDecimal())).thenReturn(1);
 
     this.projectService.updateCost(project, task, cost);
 
-    assertThat(projectCapture.getValue().getCost()).isEqualTo(newCost);
-    verify(this.projectRepository, times(1)).save(project);
+    verify(this.projectRepository, times(1)).addCost("02", delta.toBigDecimal());
+    verify(this.projectRepository, never()).save(any(Project.class));
   }
 
   @Test
@@ -838,7 +972,7 @@ public class ProjectServiceTest {
   void updateCostFailsByCostOutOfBudget() {
     Project project = this.dataMock.getProjects().get(1);
     Task task = this.dataMock.getTasks().get(0);
-    BigDecimal cost = new BigDecimal("1500").setScale(2, RoundingMode.FLOOR);
+    Money cost = Money.parse("1500.00");
 
     Exception thrown = catchException(() -> this.projectService.updateCost(project, task, cost));
 
@@ -850,7 +984,7 @@ public class ProjectServiceTest {
         "Custo: R$ 1500.00"
       );
 
-    verify(this.projectRepository, never()).save(any(Project.class));
+    verify(this.projectRepository, never()).addCost(anyString(), any(BigDecimal.class));
   }
 
   @Test
@@ -858,30 +992,58 @@ public class ProjectServiceTest {
   void updateCostFailsByNegativeCostValue() {
     Project project = this.dataMock.getProjects().get(1);
     Task task = this.dataMock.getTasks().get(0);
-    BigDecimal cost = new BigDecimal("-1");
+    Money cost = Money.parse("-1.00");
 
     Exception thrown = catchException(() -> this.projectService.updateCost(project, task, cost));
 
     assertThat(thrown)
       .isExactlyInstanceOf(InvalidCostException.class)
-      .hasMessage("Custo inválido! Valores negativos não são permitidos. Custo: R$ -1");
+      .hasMessage("Custo inválido! Valores negativos não são permitidos. Custo: R$ -1.00");
 
-    verify(this.projectRepository, never()).save(any(Project.class));
+    verify(this.projectRepository, never()).addCost(anyString(), any(BigDecimal.class));
   }
 
   @Test
-  @DisplayName("resetCost - Should successfully set the project cost to BigDecimal zero")
+  @DisplayName("exportAllFromOwner - Should hand every project of the user to the consumer and detach it afterwards")
+  void exportAllFromOwnerSuccess() {
+    User owner = this.dataMock.getUsers().get(1);
+    List<Project> projects = List.of(this.dataMock.getProjects().get(1), this.dataMock.getProjects().get(2));
+    List<Project> exported = new ArrayList<>();
+
+    when(this.userService.getProfile("02")).thenReturn(owner);
+    when(this.projectRepository.streamAllByUserId("02")).thenReturn(projects.stream());
+
+    this.projectService.exportAllFromOwner("02", exported::add);
+
+    assertThat(exported).containsExactlyElementsOf(projects);
+    verify(this.userService, times(1)).getProfile("02");
+    verify(this.projectRepository, times(1)).streamAllByUserId("02");
+    projects.forEach(project -> verify(this.entityManager, times(1)).detach(project));
+  }
+
+  @Test
+  @DisplayName("resetCost - Should set the project cost to zero with a single update")
   void resetCostSuccess() {
     Project project = this.dataMock.getProjects().get(1);
-    project.setCost(new BigDecimal("1200").setScale(2, RoundingMode.FLOOR));
+    project.setCost(Money.parse("1200.00"));
+
+    when(this.projectRepository.resetCost("02")).thenReturn(1);
 
-    ArgumentCaptor<Project> projectCapture = ArgumentCaptor.forClass(Project.class);
+    this.projectService.resetCost(project);
 
-    when(this.projectRepository.save(projectCapture.capture())).thenReturn(any(Project.class));
+    verify(this.projectRepository, times(1)).resetCost("02");
+    verify(this.projectRepository, never()).save(any(Project.class));
+  }
+
+  @Test
+  @DisplayName("resetCost - Should reset through the cost ledger when it is enabled")
+  void resetCostThroughLedger() {
+    Project project = this.dataMock.getProjects().get(1);
+    when(this.costLedger.isEnabled()).thenReturn(true);
 
     this.projectService.resetCost(project);
 
-    assertThat(projectCapture.getValue().getCost()).isEqualTo(BigDecimal.ZERO);
-    verify(this.projectRepository, times(1)).save(project);
+    verify(this.costLedger, times(1)).reset(project);
+    verify(this.projectRepository, never()).resetCost("02");
   }
-}
\ No newline at end of file
+}
@@ -3,14 +3,20 @@ package com.felipe.projectmanagerapi.services;
 import com.felipe.projectmanagerapi.dtos.TaskCreateDTO;
 import com.felipe.projectmanagerapi.dtos.TaskUpdateDTO;
 import com.felipe.projectmanagerapi.exceptions.RecordNotFoundException;
+import com.felipe.projectmanagerapi.infra.events.WorkspaceEventHub;
 import com.felipe.projectmanagerapi.infra.security.AuthorizationService;
 import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import com.felipe.projectmanagerapi.infra.security.WorkspaceAccessCache;
+import com.felipe.projectmanagerapi.models.Money;
 import com.felipe.projectmanagerapi.models.Project;
 import com.felipe.projectmanagerapi.models.Task;
+import com.felipe.projectmanagerapi.models.Tombstone;
 import com.felipe.projectmanagerapi.models.User;
 import com.felipe.projectmanagerapi.models.Workspace;
 import com.felipe.projectmanagerapi.repositories.TaskRepository;
+import com.felipe.projectmanagerapi.repositories.TombstoneRepository;
 import com.felipe.projectmanagerapi.utils.GenerateMocks;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,22 +24,24 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
-import static org.mockito.Mockito.anyCollection;
 import static org.mockito.Mockito.doNothing;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchException;
@@ -47,9 +55,21 @@ public class TaskServiceTest {
   @Mock
   TaskRepository taskRepository;
 
+  @Mock
+  TombstoneRepository tombstoneRepository;
+
+  @Mock
+  WorkspaceEventHub workspaceEventHub;
+
   @Mock
   AuthorizationService authorizationService;
 
+  @Mock
+  WorkspaceAccessCache workspaceAccessCache;
+
+  @Mock
+  EntityManager entityManager;
+
   @Mock
   ProjectService projectService;
 
@@ -87,7 +107,7 @@ public class TaskServiceTest {
       project.getId()
     );
 
-    BigDecimal cost = new BigDecimal(taskCreateDTO.cost()).setScale(2, RoundingMode.FLOOR);
+    Money cost = Money.parse(taskCreateDTO.cost());
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
@@ -104,12 +124,13 @@ public class TaskServiceTest {
     assertThat(createdTask.getCreatedAt()).isEqualTo(task.getCreatedAt());
     assertThat(createdTask.getUpdatedAt()).isEqualTo(task.getUpdatedAt());
     assertThat(createdTask.getProject().getId()).isEqualTo(project.getId());
-    assertThat(createdTask.getOwner().getId()).isEqualTo(userPrincipal.getUser().getId());
+    assertThat(createdTask.getOwner().getId()).isEqualTo(userPrincipal.getId());
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.projectService, times(1)).getById("02");
     verify(this.projectService, times(1)).addCost(project, cost);
+    verify(this.entityManager, times(1)).getReference(User.class, userPrincipal.getId());
     verify(this.taskRepository, times(1)).save(any(Task.class));
   }
 
@@ -121,7 +142,8 @@ public class TaskServiceTest {
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.taskRepository.findById("01")).thenReturn(Optional.of(task));
+    when(this.workspaceAccessCache.canAccess(userPrincipal.getId(), task.getProject().getWorkspace().getId())).thenReturn(true);
+    when(this.taskRepository.findWithProjectById("01")).thenReturn(Optional.of(task));
 
     Task foundTask = this.taskService.getById("01");
 
@@ -136,7 +158,7 @@ public class TaskServiceTest {
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
-    verify(this.taskRepository, times(1)).findById("01");
+    verify(this.taskRepository, times(1)).findWithProjectById("01");
   }
 
   @Test
@@ -146,7 +168,7 @@ public class TaskServiceTest {
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.taskRepository.findById("01")).thenReturn(Optional.empty());
+    when(this.taskRepository.findWithProjectById("01")).thenReturn(Optional.empty());
 
     Exception thrown = catchException(() -> this.taskService.getById("01"));
 
@@ -156,7 +178,7 @@ public class TaskServiceTest {
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
-    verify(this.taskRepository, times(1)).findById("01");
+    verify(this.taskRepository, times(1)).findWithProjectById("01");
   }
 
   @Test
@@ -170,7 +192,7 @@ public class TaskServiceTest {
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.taskRepository.findById("01")).thenReturn(Optional.of(task));
+    when(this.taskRepository.findWithProjectById("01")).thenReturn(Optional.of(task));
 
     Exception thrown = catchException(() -> this.taskService.getById("01"));
 
@@ -180,7 +202,7 @@ public class TaskServiceTest {
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
-    verify(this.taskRepository, times(1)).findById("01");
+    verify(this.taskRepository, times(1)).findWithProjectById("01");
   }
 
   @Test
@@ -192,7 +214,8 @@ public class TaskServiceTest {
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.taskRepository.findById("01")).thenReturn(Optional.of(task));
+    when(this.workspaceAccessCache.canAccess(userPrincipal.getId(), task.getProject().getWorkspace().getId())).thenReturn(true);
+    when(this.taskRepository.findWithProjectById("01")).thenReturn(Optional.of(task));
     doNothing().when(this.projectService).subtractCost(project, task);
     doNothing().when(this.taskRepository).deleteById(task.getId());
 
@@ -210,7 +233,8 @@ public class TaskServiceTest {
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.projectService, times(1)).subtractCost(project, task);
-    verify(this.taskRepository, times(1)).findById("01");
+    verify(this.taskRepository, times(1)).findWithProjectById("01");
+    verify(this.tombstoneRepository, times(1)).save(any(Tombstone.class));
     verify(this.taskRepository, times(1)).deleteById(task.getId());
   }
 
@@ -221,7 +245,7 @@ public class TaskServiceTest {
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.taskRepository.findById("01")).thenReturn(Optional.empty());
+    when(this.taskRepository.findWithProjectById("01")).thenReturn(Optional.empty());
 
     Exception thrown = catchException(() -> this.taskService.delete("01"));
 
@@ -231,7 +255,7 @@ public class TaskServiceTest {
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
-    verify(this.taskRepository, times(1)).findById("01");
+    verify(this.taskRepository, times(1)).findWithProjectById("01");
     verify(this.projectService, never()).subtractCost(any(Project.class), any(Task.class));
     verify(this.taskRepository, never()).deleteById(anyString());
   }
@@ -249,7 +273,7 @@ public class TaskServiceTest {
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.taskRepository.findById("01")).thenReturn(Optional.of(task));
+    when(this.taskRepository.findWithProjectById("01")).thenReturn(Optional.of(task));
 
     Exception thrown = catchException(() -> this.taskService.delete("01"));
 
@@ -259,7 +283,7 @@ public class TaskServiceTest {
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
-    verify(this.taskRepository, times(1)).findById("01");
+    verify(this.taskRepository, times(1)).findWithProjectById("01");
     verify(this.projectService, never()).subtractCost(any(Project.class), any(Task.class));
     verify(this.taskRepository, never()).deleteById(anyString());
   }
@@ -272,7 +296,7 @@ public class TaskServiceTest {
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.taskRepository.findById("01")).thenReturn(Optional.of(task));
+    when(this.taskRepository.findWithProjectById("01")).thenReturn(Optional.of(task));
 
     Exception thrown = catchException(() -> this.taskService.delete("01"));
 
@@ -282,7 +306,7 @@ public class TaskServiceTest {
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
-    verify(this.taskRepository, times(1)).findById("01");
+    verify(this.taskRepository, times(1)).findWithProjectById("01");
     verify(this.projectService, never()).subtractCost(any(Project.class), any(Task.class));
     verify(this.taskRepository, never()).deleteById(anyString());
   }
@@ -299,7 +323,7 @@ public class TaskServiceTest {
       "Descrição atualizada",
       "1300.00"
     );
-    BigDecimal newCost = new BigDecimal("1300").setScale(2, RoundingMode.FLOOR);
+    Money newCost = Money.parse("1300.00");
     Task updatedTaskEntity = new Task();
     updatedTaskEntity.setId(task.getId());
     updatedTaskEntity.setName(taskUpdateDTO.name());
@@ -312,11 +336,12 @@ public class TaskServiceTest {
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.taskRepository.findById("01")).thenReturn(Optional.of(task));
+    when(this.workspaceAccessCache.canAccess(userPrincipal.getId(), task.getProject().getWorkspace().getId())).thenReturn(true);
+    when(this.taskRepository.findWithProjectById("01")).thenReturn(Optional.of(task));
     doNothing().when(this.projectService).updateCost(project, task, newCost);
     when(this.taskRepository.save(task)).thenReturn(task);
 
-    Task updatedTask = this.taskService.update("01", taskUpdateDTO);
+    Task updatedTask = this.taskService.update("01", taskUpdateDTO, null);
 
     assertThat(updatedTask.getId()).isEqualTo(updatedTaskEntity.getId());
     assertThat(updatedTask.getName()).isEqualTo(updatedTaskEntity.getName());
@@ -329,7 +354,7 @@ public class TaskServiceTest {
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
-    verify(this.taskRepository, times(1)).findById("01");
+    verify(this.taskRepository, times(1)).findWithProjectById("01");
     verify(this.projectService, times(1)).updateCost(project, task, newCost);
     verify(this.taskRepository, times(1)).save(task);
   }
@@ -346,9 +371,9 @@ public class TaskServiceTest {
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.taskRepository.findById("01")).thenReturn(Optional.empty());
+    when(this.taskRepository.findWithProjectById("01")).thenReturn(Optional.empty());
 
-    Exception thrown = catchException(() -> this.taskService.update("01", taskUpdateDTO));
+    Exception thrown = catchException(() -> this.taskService.update("01", taskUpdateDTO, null));
 
     assertThat(thrown)
       .isExactlyInstanceOf(RecordNotFoundException.class)
@@ -356,8 +381,8 @@ public class TaskServiceTest {
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
-    verify(this.taskRepository, times(1)).findById("01");
-    verify(this.projectService, never()).updateCost(any(Project.class), any(Task.class), any(BigDecimal.class));
+    verify(this.taskRepository, times(1)).findWithProjectById("01");
+    verify(this.projectService, never()).updateCost(any(Project.class), any(Task.class), any(Money.class));
     verify(this.taskRepository, never()).save(any(Task.class));
   }
 
@@ -377,9 +402,9 @@ public class TaskServiceTest {
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.taskRepository.findById("01")).thenReturn(Optional.of(task));
+    when(this.taskRepository.findWithProjectById("01")).thenReturn(Optional.of(task));
 
-    Exception thrown = catchException(() -> this.taskService.update("01", taskUpdateDTO));
+    Exception thrown = catchException(() -> this.taskService.update("01", taskUpdateDTO, null));
 
     assertThat(thrown)
       .isExactlyInstanceOf(AccessDeniedException.class)
@@ -387,8 +412,8 @@ public class TaskServiceTest {
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
-    verify(this.taskRepository, times(1)).findById("01");
-    verify(this.projectService, never()).updateCost(any(Project.class), any(Task.class), any(BigDecimal.class));
+    verify(this.taskRepository, times(1)).findWithProjectById("01");
+    verify(this.projectService, never()).updateCost(any(Project.class), any(Task.class), any(Money.class));
     verify(this.taskRepository, never()).save(any(Task.class));
   }
 
@@ -405,9 +430,9 @@ public class TaskServiceTest {
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.taskRepository.findById("01")).thenReturn(Optional.of(task));
+    when(this.taskRepository.findWithProjectById("01")).thenReturn(Optional.of(task));
 
-    Exception thrown = catchException(() -> this.taskService.update("01", taskUpdateDTO));
+    Exception thrown = catchException(() -> this.taskService.update("01", taskUpdateDTO, null));
 
     assertThat(thrown)
       .isExactlyInstanceOf(AccessDeniedException.class)
@@ -415,8 +440,8 @@ public class TaskServiceTest {
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
-    verify(this.taskRepository, times(1)).findById("01");
-    verify(this.projectService, never()).updateCost(any(Project.class), any(Task.class), any(BigDecimal.class));
+    verify(this.taskRepository, times(1)).findWithProjectById("01");
+    verify(this.projectService, never()).updateCost(any(Project.class), any(Task.class), any(Money.class));
     verify(this.taskRepository, never()).save(any(Task.class));
   }
 
@@ -429,16 +454,17 @@ public class TaskServiceTest {
     List<Task> tasks = project.getTasks();
 
     when(this.projectService.getById("02")).thenReturn(project);
-    when(this.taskRepository.findAllByProjectId("02")).thenReturn(tasks);
+    when(this.taskRepository.findByProjectIdOrderByCreatedAtAscIdAsc(eq("02"), any(ScrollPosition.class), eq(Limit.of(20))))
+      .thenReturn(Window.from(tasks, ScrollPosition::offset));
 
-    List<Task> allTasks = this.taskService.getAllFromProject("02");
+    List<Task> allTasks = this.taskService.getAllFromProject("02", null, 20).content();
 
     assertThat(allTasks)
       .allSatisfy(task -> assertThat(task.getProject().getId()).isEqualTo(project.getId()))
       .hasSize(2);
 
     verify(this.projectService, times(1)).getById("02");
-    verify(this.taskRepository, times(1)).findAllByProjectId("02");
+    verify(this.taskRepository, times(1)).findByProjectIdOrderByCreatedAtAscIdAsc(eq("02"), any(ScrollPosition.class), eq(Limit.of(20)));
   }
 
   @Test
@@ -449,17 +475,18 @@ public class TaskServiceTest {
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.taskRepository.findAllByOwnerId("02")).thenReturn(tasks);
+    when(this.taskRepository.findByOwnerIdOrderByCreatedAtAscIdAsc(eq("02"), any(ScrollPosition.class), eq(Limit.of(20))))
+      .thenReturn(Window.from(tasks, ScrollPosition::offset));
 
-    List<Task> allTasks = this.taskService.getAllFromAuthenticatedUser();
+    List<Task> allTasks = this.taskService.getAllFromAuthenticatedUser(null, 20).content();
 
     assertThat(allTasks)
-      .allSatisfy(task -> assertThat(task.getOwner().getId()).isEqualTo(userPrincipal.getUser().getId()))
+      .allSatisfy(task -> assertThat(task.getOwner().getId()).isEqualTo(userPrincipal.getId()))
       .hasSize(2);
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
-    verify(this.taskRepository, times(1)).findAllByOwnerId("02");
+    verify(this.taskRepository, times(1)).findByOwnerIdOrderByCreatedAtAscIdAsc(eq("02"), any(ScrollPosition.class), eq(Limit.of(20)));
   }
 
   @Test
@@ -469,46 +496,63 @@ public class TaskServiceTest {
     List<Task> tasks = this.dataMock.getTasks();
 
     when(this.userService.getProfile("02")).thenReturn(tasksOwner);
-    when(this.taskRepository.findAllByOwnerId(tasksOwner.getId())).thenReturn(tasks);
+    when(this.taskRepository.findByOwnerIdOrderByCreatedAtAscIdAsc(eq(tasksOwner.getId()), any(ScrollPosition.class), eq(Limit.of(20))))
+      .thenReturn(Window.from(tasks, ScrollPosition::offset));
 
-    List<Task> allTasks = this.taskService.getAllFromOwner("02");
+    List<Task> allTasks = this.taskService.getAllFromOwner("02", null, 20).content();
 
     assertThat(allTasks)
       .allSatisfy(task -> assertThat(task.getOwner().getId()).isEqualTo(tasksOwner.getId()))
       .hasSize(2);
 
     verify(this.userService, times(1)).getProfile("02");
-    verify(this.taskRepository, times(1)).findAllByOwnerId("02");
+    verify(this.taskRepository, times(1)).findByOwnerIdOrderByCreatedAtAscIdAsc(eq("02"), any(ScrollPosition.class), eq(Limit.of(20)));
   }
 
   @Test
-  @DisplayName("deleteAllFromProject - Should successfully delete all tasks from a project and return it")
+  @DisplayName("deleteAllFromProject - Should bulk delete all tasks from a project and return their ids")
   void deleteAllFromProjectSuccess() {
     UserPrincipal userPrincipal = new UserPrincipal(this.dataMock.getUsers().get(1));
     Project project = this.dataMock.getProjects().get(1);
     project.setTasks(List.of(this.dataMock.getTasks().get(0), this.dataMock.getTasks().get(1)));
 
-    List<Task> tasks = project.getTasks();
+    List<String> taskIds = project.getTasks().stream().map(Task::getId).toList();
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.projectService.getById("02")).thenReturn(project);
     doNothing().when(this.projectService).resetCost(project);
-    when(this.taskRepository.findAllByProjectId("02")).thenReturn(tasks);
-    doNothing().when(this.taskRepository).deleteAll(tasks);
+    when(this.taskRepository.findIdsByProjectId("02")).thenReturn(taskIds);
+    when(this.taskRepository.deleteAllByProjectId("02")).thenReturn(2);
 
-    List<Task> deletedTasks = this.taskService.deleteAllFromProject("02");
+    List<String> deletedTaskIds = this.taskService.deleteAllFromProject("02");
 
-    assertThat(deletedTasks)
-      .allSatisfy(task -> assertThat(task.getProject().getId()).isEqualTo(project.getId()))
-      .hasSize(2);
+    assertThat(deletedTaskIds).containsExactlyElementsOf(taskIds).hasSize(2);
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.projectService, times(1)).getById("02");
     verify(this.projectService, times(1)).resetCost(project);
-    verify(this.taskRepository, times(1)).findAllByProjectId("02");
-    verify(this.taskRepository, times(1)).deleteAll(tasks);
+    verify(this.taskRepository, times(1)).findIdsByProjectId("02");
+    verify(this.taskRepository, times(1)).deleteAllByProjectId("02");
+  }
+
+  @Test
+  @DisplayName("exportAllFromOwner - Should hand every task of the user to the consumer and detach it afterwards")
+  void exportAllFromOwnerSuccess() {
+    User owner = this.dataMock.getUsers().get(1);
+    List<Task> tasks = this.dataMock.getTasks();
+    List<Task> exported = new ArrayList<>();
+
+    when(this.userService.getProfile("02")).thenReturn(owner);
+    when(this.taskRepository.streamAllByOwnerId("02")).thenReturn(tasks.stream());
+
+    this.taskService.exportAllFromOwner("02", exported::add);
+
+    assertThat(exported).containsExactlyElementsOf(tasks);
+    verify(this.userService, times(1)).getProfile("02");
+    verify(this.taskRepository, times(1)).streamAllByOwnerId("02");
+    tasks.forEach(task -> verify(this.entityManager, times(1)).detach(task));
   }
 
   @Test
@@ -530,7 +574,7 @@ public class TaskServiceTest {
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.projectService, times(1)).getById("02");
-    verify(this.taskRepository, never()).findAllByProjectId(anyString());
-    verify(this.taskRepository, never()).deleteAll(anyCollection());
+    verify(this.taskRepository, never()).findIdsByProjectId(anyString());
+    verify(this.taskRepository, never()).deleteAllByProjectId(anyString());
   }
 }
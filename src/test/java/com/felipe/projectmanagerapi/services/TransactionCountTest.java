@@ -0,0 +1,164 @@
+package com.felipe.projectmanagerapi.services;
+
+import com.felipe.projectmanagerapi.dtos.TaskCreateDTO;
+import com.felipe.projectmanagerapi.dtos.UserRoleUpdateDTO;
+import com.felipe.projectmanagerapi.enums.Role;
+import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import com.felipe.projectmanagerapi.infra.security.UserSecurityVersions;
+import com.felipe.projectmanagerapi.infra.security.VerifiedTokenCache;
+import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.models.Task;
+import com.felipe.projectmanagerapi.models.User;
+import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.repositories.ProjectRepository;
+import com.felipe.projectmanagerapi.utils.WorkspaceFixture;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles(value = "test")
+@Import(WorkspaceFixture.class)
+public class TransactionCountTest {
+
+  @Autowired
+  WorkspaceService workspaceService;
+
+  @Autowired
+  ProjectService projectService;
+
+  @Autowired
+  TaskService taskService;
+
+  @Autowired
+  MemberService memberService;
+
+  @Autowired
+  UserService userService;
+
+  @Autowired
+  VerifiedTokenCache verifiedTokenCache;
+
+  @Autowired
+  UserSecurityVersions userSecurityVersions;
+
+  @Autowired
+  ProjectRepository projectRepository;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  WorkspaceFixture fixture;
+
+  private Statistics statistics;
+  private List<User> users;
+  private Workspace workspace;
+  private Project project;
+
+  @BeforeEach
+  void setUp() {
+    this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    this.fixture.getTransactionTemplate().executeWithoutResult(status -> {
+      this.users = this.fixture.createUsers("Transaction", 2, Role.WRITE_READ);
+      this.workspace = this.fixture.createWorkspace("Transactions", this.users.get(0), List.of(this.users.get(1)));
+      this.project = this.fixture.createProject("Project 0", this.users.get(0));
+      this.fixture.createProject("Project 1", this.users.get(1));
+    });
+
+    this.fixture.authenticate(this.users.get(0));
+    this.statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.fixture.tearDown();
+  }
+
+  @Test
+  @DisplayName("create - Should create a task and charge its project in a single transaction")
+  void createTaskInSingleTransaction() {
+    Task task = this.taskService.create(new TaskCreateDTO("Task", "Description", "10.00", this.project.getId()));
+
+    assertThat(task.getId()).isNotNull();
+    assertThat(this.statistics.getTransactionCount()).isEqualTo(1);
+    assertThat(this.statistics.getConnectCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("removeMember - Should remove the member and its projects in a single transaction")
+  void removeMemberInSingleTransaction() {
+    Workspace workspace = this.memberService.removeMember(this.workspace.getId(), this.users.get(1).getId());
+    long transactionCount = this.statistics.getTransactionCount();
+    long connectCount = this.statistics.getConnectCount();
+
+    assertThat(workspace.getId()).isEqualTo(this.workspace.getId());
+    assertThat(this.projectRepository.findIdsByWorkspaceId(this.workspace.getId())).hasSize(1);
+    assertThat(transactionCount).isEqualTo(1);
+    assertThat(connectCount).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("getFullById - Should read a project without flushing")
+  void readProjectWithoutFlush() {
+    Project project = this.projectService.getFullById(this.project.getId());
+
+    assertThat(project.getId()).isEqualTo(this.project.getId());
+    assertThat(this.statistics.getTransactionCount()).isEqualTo(1);
+    assertThat(this.statistics.getFlushCount()).isZero();
+    assertThat(this.statistics.getConnectCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("getWithMembersById - Should read a workspace without flushing")
+  void readWorkspaceWithoutFlush() {
+    Workspace workspace = this.workspaceService.getWithMembersById(this.workspace.getId());
+
+    assertThat(workspace.getId()).isEqualTo(this.workspace.getId());
+    assertThat(this.statistics.getTransactionCount()).isEqualTo(1);
+    assertThat(this.statistics.getFlushCount()).isZero();
+    assertThat(this.statistics.getConnectCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("getProfile - Should read a user without flushing")
+  void readUserWithoutFlush() {
+    User user = this.userService.getProfile(this.users.get(1).getId());
+
+    assertThat(user.getId()).isEqualTo(this.users.get(1).getId());
+    assertThat(this.statistics.getTransactionCount()).isEqualTo(1);
+    assertThat(this.statistics.getFlushCount()).isZero();
+    assertThat(this.statistics.getConnectCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("updateRole - Should leave nothing of the old role cached once the change commits")
+  void updateRoleEvictsAfterCommit() {
+    User user = this.users.get(1);
+
+    this.fixture.getTransactionTemplate().executeWithoutResult(status -> {
+      this.userService.updateRole(user.getId(), new UserRoleUpdateDTO("READ_ONLY"));
+      // A request authenticating before the commit still loads the old role
+      this.verifiedTokenCache.put("token", new UserPrincipal(user), Instant.now().plus(1, ChronoUnit.HOURS), this.verifiedTokenCache.evictionCount());
+      assertThat(this.verifiedTokenCache.get("token")).isNotNull();
+    });
+
+    assertThat(this.verifiedTokenCache.get("token")).isNull();
+    assertThat(this.userSecurityVersions.isStale(user.getId(), user.getSecurityVersion())).isTrue();
+  }
+}
@@ -0,0 +1,68 @@
+package com.felipe.projectmanagerapi.services;
+
+import com.felipe.projectmanagerapi.dtos.LoginDTO;
+import com.felipe.projectmanagerapi.models.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles(value = "test")
+public class UserLoginQueryCountTest {
+
+  @Autowired
+  UserService userService;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Value("${super-user.email}")
+  String email;
+
+  @Value("${super-user.password}")
+  String password;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    SessionFactory sessionFactory = this.entityManagerFactory.unwrap(SessionFactory.class);
+    sessionFactory.getCache().evictAllRegions();
+    this.statistics = sessionFactory.getStatistics();
+    this.statistics.clear();
+  }
+
+  @Test
+  @DisplayName("login - Should load the user with a single query")
+  void loginRunsSingleQuery() {
+    Map<String, Object> loginResponse = this.userService.login(new LoginDTO(this.email, this.password));
+
+    assertThat(((User) loginResponse.get("user")).getEmail()).isEqualTo(this.email);
+    assertThat(loginResponse.get("token")).isNotNull();
+    assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("login - Should load the user from the second-level cache on later logins")
+  void loginServedFromCacheWhenWarm() {
+    this.userService.login(new LoginDTO(this.email, this.password));
+    this.statistics.clear();
+
+    Map<String, Object> loginResponse = this.userService.login(new LoginDTO(this.email, this.password));
+
+    assertThat(((User) loginResponse.get("user")).getEmail()).isEqualTo(this.email);
+    assertThat(this.statistics.getPrepareStatementCount()).isZero();
+    assertThat(this.statistics.getQueryCacheHitCount()).isEqualTo(1);
+  }
+}
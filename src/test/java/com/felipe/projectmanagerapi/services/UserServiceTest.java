@@ -6,11 +6,17 @@ import com.felipe.projectmanagerapi.enums.Role;
 import com.felipe.projectmanagerapi.exceptions.ExistingResourcesException;
 import com.felipe.projectmanagerapi.exceptions.RecordNotFoundException;
 import com.felipe.projectmanagerapi.exceptions.UserAlreadyExistsException;
+import com.felipe.projectmanagerapi.infra.events.WorkspaceEventHub;
+import com.felipe.projectmanagerapi.infra.persistence.SecondLevelCacheEvictor;
 import com.felipe.projectmanagerapi.infra.security.AuthorizationService;
 import com.felipe.projectmanagerapi.infra.security.TokenService;
 import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import com.felipe.projectmanagerapi.infra.security.VerifiedTokenCache;
+import com.felipe.projectmanagerapi.infra.security.WorkspaceAccessCache;
 import com.felipe.projectmanagerapi.models.User;
+import com.felipe.projectmanagerapi.repositories.TombstoneRepository;
 import com.felipe.projectmanagerapi.repositories.UserRepository;
+import com.felipe.projectmanagerapi.repositories.WorkspaceRepository;
 import com.felipe.projectmanagerapi.utils.GenerateMocks;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +26,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -34,6 +43,7 @@ import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
@@ -51,6 +61,18 @@ public class UserServiceTest {
   @Mock
   UserRepository userRepository;
 
+  @Mock
+  TombstoneRepository tombstoneRepository;
+
+  @Mock
+  WorkspaceRepository workspaceRepository;
+
+  @Mock
+  WorkspaceEventHub workspaceEventHub;
+
+  @Mock
+  SecondLevelCacheEvictor secondLevelCacheEvictor;
+
   @Mock
   PasswordEncoder passwordEncoder;
 
@@ -69,6 +91,12 @@ public class UserServiceTest {
   @Mock
   AuthorizationService authorizationService;
 
+  @Mock
+  VerifiedTokenCache verifiedTokenCache;
+
+  @Mock
+  WorkspaceAccessCache workspaceAccessCache;
+
   private AutoCloseable closeable;
   private GenerateMocks dataMock;
 
@@ -144,10 +172,10 @@ public class UserServiceTest {
     User user = this.dataMock.getUsers().get(0);
     UserPrincipal userPrincipal = new UserPrincipal(user);
 
-    when(this.userRepository.findByEmail(login.email())).thenReturn(Optional.of(user));
     when(this.authenticationManager.authenticate(auth)).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.tokenService.generateToken(userPrincipal)).thenReturn("Access Token");
+    when(this.userRepository.findById(user.getId())).thenReturn(Optional.of(user));
 
     Map<String, Object> loginResponse = this.userService.login(login);
 
@@ -166,35 +194,12 @@ public class UserServiceTest {
       );
     assertThat(loginResponse.get("token")).isEqualTo("Access Token");
 
-    verify(this.userRepository, times(1)).findByEmail(login.email());
+    verify(this.userRepository, never()).findByEmail(login.email());
     verify(this.authenticationManager, times(1)).authenticate(auth);
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.tokenService, times(1)).generateToken(userPrincipal);
   }
 
-  @Test
-  @DisplayName("login - Should throw a RecordNotFoundException if the provided user doesn't exist")
-  void userLoginFailsByUserNotFound() {
-    LoginDTO login = new LoginDTO("teste1@email.com", "123456");
-    Authentication auth = new UsernamePasswordAuthenticationToken(login.email(), login.password());
-    UserPrincipal userPrincipal = new UserPrincipal(this.dataMock.getUsers().get(0));
-
-    when(this.authenticationManager.authenticate(auth)).thenReturn(this.authentication);
-    when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.tokenService.generateToken(userPrincipal)).thenReturn(anyString());
-    when(this.userRepository.findByEmail(login.email())).thenReturn(Optional.empty());
-
-    Exception thrown = catchException(() -> this.userService.login(login));
-
-    assertThat(thrown)
-      .isExactlyInstanceOf(RecordNotFoundException.class)
-      .hasMessage("Usuário '" + login.email() +"' não encontrado");
-
-    verify(this.userRepository, times(1)).findByEmail(login.email());
-    verify(this.authenticationManager, times(1)).authenticate(auth);
-    verify(this.tokenService, times(1)).generateToken(userPrincipal);
-  }
-
   @Test
   @DisplayName("login - Should throw a BadCredentialsException if login data is inconsistent")
   void userLoginFailsByBadCredentials() {
@@ -218,9 +223,10 @@ public class UserServiceTest {
   void getAllUsersSuccess() {
     List<User> users = this.dataMock.getUsers();
 
-    when(this.userRepository.findAll()).thenReturn(users);
+    when(this.userRepository.findAllByOrderByCreatedAtAscIdAsc(any(ScrollPosition.class), eq(Limit.of(20))))
+      .thenReturn(Window.from(users, ScrollPosition::offset));
 
-    List<User> allUsers = this.userService.getAllUsers();
+    List<User> allUsers = this.userService.getAllUsers(null, 20).content();
 
     assertThat(allUsers).hasSize(3);
     assertThat(allUsers.get(0).getId()).isEqualTo(users.get(0).getId());
@@ -233,28 +239,28 @@ public class UserServiceTest {
     assertThat(allUsers.get(2).getName()).isEqualTo(users.get(2).getName());
     assertThat(allUsers.get(2).getEmail()).isEqualTo(users.get(2).getEmail());
 
-    verify(this.userRepository, times(1)).findAll();
+    verify(this.userRepository, times(1)).findAllByOrderByCreatedAtAscIdAsc(any(ScrollPosition.class), eq(Limit.of(20)));
   }
 
   @Test
   @DisplayName("getAuthenticatedUserProfile - Should successfully return the authenticated user's profile")
   void getAuthenticatedUserProfileSuccess() {
-    User user = this.dataMock.getUsers().get(0);
-    UserPrincipal userPrincipal = new UserPrincipal(user);
+    User user = this.dataMock.getUsers().get(1);
+    UserPrincipal userPrincipal = UserPrincipal.fromClaims(user.getId(), user.getEmail(), user.getRole(), user.getSecurityVersion());
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
+    when(this.userRepository.findById(user.getId())).thenReturn(Optional.of(user));
 
     User authenticatedUser = this.userService.getAuthenticatedUserProfile();
 
-    assertThat(authenticatedUser.getId()).isEqualTo(userPrincipal.getUser().getId());
-    assertThat(authenticatedUser.getName()).isEqualTo(userPrincipal.getUser().getName());
+    assertThat(authenticatedUser.getId()).isEqualTo(user.getId());
+    assertThat(authenticatedUser.getName()).isEqualTo(user.getName());
     assertThat(authenticatedUser.getEmail()).isEqualTo(userPrincipal.getUsername());
-    assertThat(authenticatedUser.getRole().getName()).isEqualTo(userPrincipal.getUser().getRole().getName());
-    assertThat(authenticatedUser.getCreatedAt()).isEqualTo(userPrincipal.getUser().getCreatedAt());
-    assertThat(authenticatedUser.getUpdatedAt()).isEqualTo(userPrincipal.getUser().getUpdatedAt());
+    assertThat(authenticatedUser.getCreatedAt()).isEqualTo(user.getCreatedAt());
 
     verify(this.authentication, times(1)).getPrincipal();
+    verify(this.userRepository, times(1)).findById(user.getId());
   }
 
   @Test
@@ -326,6 +332,7 @@ public class UserServiceTest {
     verify(this.userRepository, times(1)).findByEmail(userPrincipal.getUsername());
     verify(this.passwordEncoder, times(1)).encode(updateDTO.password());
     verify(this.userRepository, times(1)).save(any(User.class));
+    verify(this.verifiedTokenCache, times(1)).evictUser(user.getEmail());
   }
 
   @Test
@@ -396,6 +403,8 @@ public class UserServiceTest {
 
     verify(this.userRepository, times(1)).findById("03");
     verify(this.userRepository, times(1)).save(any(User.class));
+    verify(this.verifiedTokenCache, times(1)).evictUser(user.getEmail());
+    assertThat(user.getSecurityVersion()).isEqualTo(1);
   }
 
   @Test
@@ -419,6 +428,7 @@ public class UserServiceTest {
     User user = this.dataMock.getUsers().get(1);
 
     when(this.userRepository.findById("02")).thenReturn(Optional.of(user));
+    when(this.workspaceRepository.findIdsByMemberId("02")).thenReturn(List.of("01"));
     doNothing().when(this.userRepository).deleteById("02");
 
     Map<String, User> deletedUser = this.userService.delete("02");
@@ -434,6 +444,12 @@ public class UserServiceTest {
 
     verify(this.userRepository, times(1)).findById("02");
     verify(this.userRepository, times(1)).deleteById("02");
+    verify(this.workspaceRepository, times(1)).deleteMember("01", "02");
+    verify(this.secondLevelCacheEvictor, times(1)).evictWorkspaceMembers("01");
+    verify(this.workspaceRepository, times(1)).touchMembersUpdatedAt("01");
+    verify(this.secondLevelCacheEvictor, times(1)).evictWorkspace("01");
+    verify(this.verifiedTokenCache, times(1)).evictUser(user.getEmail());
+    verify(this.workspaceAccessCache, times(1)).evictUser(user.getId());
   }
 
   @Test
@@ -0,0 +1,208 @@
+package com.felipe.projectmanagerapi.services;
+
+import com.felipe.projectmanagerapi.enums.ResourceType;
+import com.felipe.projectmanagerapi.enums.Role;
+import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.models.Task;
+import com.felipe.projectmanagerapi.models.Tombstone;
+import com.felipe.projectmanagerapi.models.User;
+import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.models.WorkspaceChanges;
+import com.felipe.projectmanagerapi.repositories.ProjectRepository;
+import com.felipe.projectmanagerapi.repositories.TaskRepository;
+import com.felipe.projectmanagerapi.repositories.TombstoneRepository;
+import com.felipe.projectmanagerapi.repositories.UserRepository;
+import com.felipe.projectmanagerapi.utils.WorkspaceFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+@SpringBootTest(properties = "api.changes.overlap=0s")
+@ActiveProfiles(value = "test")
+@Import(WorkspaceFixture.class)
+public class WorkspaceChangeServiceTest {
+
+  private static final int LIMIT = 100;
+
+  @Autowired
+  WorkspaceChangeService workspaceChangeService;
+
+  @Autowired
+  ProjectService projectService;
+
+  @Autowired
+  TaskService taskService;
+
+  @Autowired
+  MemberService memberService;
+
+  @Autowired
+  ProjectRepository projectRepository;
+
+  @Autowired
+  TaskRepository taskRepository;
+
+  @Autowired
+  TombstoneRepository tombstoneRepository;
+
+  @Autowired
+  UserRepository userRepository;
+
+  @Autowired
+  WorkspaceFixture fixture;
+
+  private TransactionTemplate transactionTemplate;
+  private List<User> users;
+  private final List<Project> projects = new ArrayList<>();
+  private final List<Task> tasks = new ArrayList<>();
+  private Workspace workspace;
+  private LocalDateTime since;
+
+  @BeforeEach
+  void setUp() throws InterruptedException {
+    this.transactionTemplate = this.fixture.getTransactionTemplate();
+
+    this.transactionTemplate.executeWithoutResult(status -> {
+      this.users = this.fixture.createUsers("Changes", 3, Role.WRITE_READ);
+      this.workspace = this.fixture.createWorkspace("Change feed", this.users.get(0), List.of(this.users.get(1)));
+      for(int i = 0; i < 2; i++) {
+        this.projects.add(this.fixture.createProject("Project " + i, this.users.get(0)));
+      }
+      for(int i = 0; i < 3; i++) {
+        this.tasks.add(this.fixture.createTask("Task " + i, this.projects.get(0), this.users.get(0)));
+      }
+    });
+
+    // Keeps the setup writes strictly before the TIMESTAMP(2) value used as the starting point
+    Thread.sleep(20);
+    this.since = this.tombstoneRepository.currentTimestamp();
+    Thread.sleep(20);
+
+    this.fixture.authenticate(this.users.get(0));
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.fixture.tearDown();
+  }
+
+  @Test
+  @DisplayName("getChangesSince - Should return nothing when the workspace did not change")
+  void noChanges() {
+    WorkspaceChanges changes = this.workspaceChangeService.getChangesSince(this.workspace.getId(), this.since, LIMIT);
+
+    assertThat(changes.projects()).isEmpty();
+    assertThat(changes.tasks()).isEmpty();
+    assertThat(changes.members()).isEmpty();
+    assertThat(changes.tombstones()).isEmpty();
+    assertThat(changes.membersUpdatedAt()).isNull();
+    assertThat(changes.nextSince()).isAfter(this.since);
+  }
+
+  @Test
+  @DisplayName("getChangesSince - Should return only the projects and tasks updated after the given time")
+  void changedProjectsAndTasks() throws InterruptedException {
+    this.transactionTemplate.executeWithoutResult(status -> {
+      this.projectRepository.findById(this.projects.get(1).getId()).orElseThrow().setName("Renamed");
+      this.taskRepository.findById(this.tasks.get(2).getId()).orElseThrow().setName("Renamed");
+    });
+    Thread.sleep(20);
+
+    WorkspaceChanges changes = this.workspaceChangeService.getChangesSince(this.workspace.getId(), this.since, LIMIT);
+
+    assertThat(changes.projects()).extracting(Project::getId).containsExactly(this.projects.get(1).getId());
+    assertThat(changes.tasks()).extracting(Task::getId).containsExactly(this.tasks.get(2).getId());
+    assertThat(changes.members()).isEmpty();
+
+    WorkspaceChanges nextChanges = this.workspaceChangeService.getChangesSince(this.workspace.getId(), changes.nextSince(), LIMIT);
+    assertThat(nextChanges.projects()).isEmpty();
+    assertThat(nextChanges.tasks()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("getChangesSince - Should report projects, tasks and members removed through the delete paths")
+  void deletionsReportedAsTombstones() {
+    this.taskService.delete(this.tasks.get(0).getId());
+    this.taskService.deleteAllFromProject(this.projects.get(0).getId());
+    this.projectService.delete(this.projects.get(1).getId());
+    this.memberService.removeMember(this.workspace.getId(), this.users.get(1).getId());
+
+    WorkspaceChanges changes = this.workspaceChangeService.getChangesSince(this.workspace.getId(), this.since, LIMIT);
+
+    assertThat(changes.tombstones())
+      .filteredOn(tombstone -> tombstone.getResourceType() == ResourceType.TASK)
+      .extracting(Tombstone::getResourceId)
+      .containsExactlyInAnyOrder(this.tasks.get(0).getId(), this.tasks.get(1).getId(), this.tasks.get(2).getId());
+    assertThat(changes.tombstones())
+      .filteredOn(tombstone -> tombstone.getResourceType() == ResourceType.PROJECT)
+      .extracting(Tombstone::getResourceId)
+      .containsExactly(this.projects.get(1).getId());
+    assertThat(changes.tombstones())
+      .filteredOn(tombstone -> tombstone.getResourceType() == ResourceType.MEMBER)
+      .extracting(Tombstone::getResourceId)
+      .containsExactly(this.users.get(1).getId());
+    assertThat(changes.tasks()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("getChangesSince - Should report a join through membersUpdatedAt and return only the members that changed")
+  void memberJoinReportedByMembersUpdatedAt() throws InterruptedException {
+    this.memberService.insertMember(this.workspace.getId(), this.users.get(2).getId());
+    this.transactionTemplate.executeWithoutResult(status ->
+      this.userRepository.findById(this.users.get(1).getId()).orElseThrow().setName("Renamed")
+    );
+    Thread.sleep(20);
+
+    WorkspaceChanges changes = this.workspaceChangeService.getChangesSince(this.workspace.getId(), this.since, LIMIT);
+
+    assertThat(changes.membersUpdatedAt()).isAfter(this.since);
+    assertThat(changes.members()).extracting(User::getId).containsExactly(this.users.get(1).getId());
+  }
+
+  @Test
+  @DisplayName("getChangesSince - Should page a feed by its last row and finish the timestamp that row shares")
+  void fullPageResumesAfterLastRow() throws InterruptedException {
+    this.transactionTemplate.executeWithoutResult(status -> {
+      this.taskRepository.findById(this.tasks.get(0).getId()).orElseThrow().setName("Renamed");
+      this.taskRepository.findById(this.tasks.get(1).getId()).orElseThrow().setName("Renamed");
+    });
+    Thread.sleep(20);
+    this.transactionTemplate.executeWithoutResult(status ->
+      this.taskRepository.findById(this.tasks.get(2).getId()).orElseThrow().setName("Renamed")
+    );
+    Thread.sleep(20);
+
+    WorkspaceChanges firstPage = this.workspaceChangeService.getChangesSince(this.workspace.getId(), this.since, 1);
+    assertThat(firstPage.tasks())
+      .extracting(Task::getId)
+      .containsExactlyInAnyOrder(this.tasks.get(0).getId(), this.tasks.get(1).getId());
+    assertThat(firstPage.nextSince()).isEqualTo(firstPage.tasks().get(0).getUpdatedAt());
+
+    WorkspaceChanges secondPage = this.workspaceChangeService.getChangesSince(this.workspace.getId(), firstPage.nextSince(), 1);
+    assertThat(secondPage.tasks()).extracting(Task::getId).containsExactly(this.tasks.get(2).getId());
+  }
+
+  @Test
+  @DisplayName("getChangesSince - Should throw an AccessDeniedException if the user is not the owner or a member")
+  void changesRequireAccess() {
+    this.fixture.authenticate(this.users.get(2));
+
+    Exception thrown = catchException(() -> this.workspaceChangeService.getChangesSince(this.workspace.getId(), this.since, LIMIT));
+
+    assertThat(thrown).isExactlyInstanceOf(AccessDeniedException.class);
+  }
+}
@@ -3,12 +3,16 @@ package com.felipe.projectmanagerapi.services;
 import com.felipe.projectmanagerapi.dtos.WorkspaceCreateOrUpdateDTO;
 import com.felipe.projectmanagerapi.exceptions.RecordNotFoundException;
 import com.felipe.projectmanagerapi.exceptions.WorkspaceIsNotEmptyException;
+import com.felipe.projectmanagerapi.infra.events.WorkspaceEventHub;
 import com.felipe.projectmanagerapi.infra.security.AuthorizationService;
 import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import com.felipe.projectmanagerapi.infra.security.WorkspaceAccessCache;
 import com.felipe.projectmanagerapi.models.User;
 import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.repositories.TombstoneRepository;
 import com.felipe.projectmanagerapi.repositories.WorkspaceRepository;
 import com.felipe.projectmanagerapi.utils.GenerateMocks;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +20,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
@@ -24,6 +31,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
@@ -42,12 +50,24 @@ public class WorkspaceServiceTest {
   @Mock
   WorkspaceRepository workspaceRepository;
 
+  @Mock
+  TombstoneRepository tombstoneRepository;
+
+  @Mock
+  WorkspaceEventHub workspaceEventHub;
+
   @Mock
   AuthorizationService authorizationService;
 
+  @Mock
+  WorkspaceAccessCache workspaceAccessCache;
+
   @Mock
   Authentication authentication;
 
+  @Mock
+  EntityManager entityManager;
+
   private AutoCloseable closeable;
   private GenerateMocks dataMock;
 
@@ -84,7 +104,9 @@ public class WorkspaceServiceTest {
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
+    verify(this.entityManager, times(1)).getReference(User.class, user.getId());
     verify(this.workspaceRepository, times(1)).save(any(Workspace.class));
+    verify(this.workspaceAccessCache, times(1)).evictUser(user.getId());
   }
 
   @Test
@@ -102,7 +124,7 @@ public class WorkspaceServiceTest {
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.workspaceRepository.save(any(Workspace.class))).thenReturn(updatedWorkspaceEntity);
 
-    Workspace updatedWorkspace = this.workspaceService.update("01", workspaceDTO);
+    Workspace updatedWorkspace = this.workspaceService.update("01", workspaceDTO, null);
 
     assertThat(updatedWorkspace.getId()).isEqualTo(updatedWorkspaceEntity.getId());
     assertThat(updatedWorkspace.getName()).isEqualTo(updatedWorkspaceEntity.getName());
@@ -127,7 +149,7 @@ public class WorkspaceServiceTest {
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.workspaceRepository.findById("01")).thenReturn(Optional.of(workspace));
 
-    Exception thrown = catchException(() -> this.workspaceService.update("01", workspaceDTO));
+    Exception thrown = catchException(() -> this.workspaceService.update("01", workspaceDTO, null));
 
     assertThat(thrown)
       .isExactlyInstanceOf(AccessDeniedException.class)
@@ -149,7 +171,7 @@ public class WorkspaceServiceTest {
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.workspaceRepository.findById("01")).thenReturn(Optional.empty());
 
-    Exception thrown = catchException(() -> this.workspaceService.update("01", workspaceDTO));
+    Exception thrown = catchException(() -> this.workspaceService.update("01", workspaceDTO, null));
 
     assertThat(thrown)
       .isExactlyInstanceOf(RecordNotFoundException.class)
@@ -169,17 +191,18 @@ public class WorkspaceServiceTest {
 
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
-    when(this.workspaceRepository.findAllByOwnerId(userPrincipal.getUser().getId())).thenReturn(workspaces);
+    when(this.workspaceRepository.findByOwnerIdOrderByCreatedAtAscIdAsc(eq(userPrincipal.getId()), any(ScrollPosition.class), eq(Limit.of(20))))
+      .thenReturn(Window.from(workspaces, ScrollPosition::offset));
 
-    List<Workspace> foundWorkspaces = this.workspaceService.getAllUserWorkspaces();
+    List<Workspace> foundWorkspaces = this.workspaceService.getAllUserWorkspaces(null, 20).content();
 
     assertThat(foundWorkspaces)
-      .allSatisfy(workspace -> assertThat(workspace.getOwner().getId()).isEqualTo(userPrincipal.getUser().getId()))
+      .allSatisfy(workspace -> assertThat(workspace.getOwner().getId()).isEqualTo(userPrincipal.getId()))
       .hasSize(3);
 
     verify(this.authorizationService, times(1)).getAuthentication();
     verify(this.authentication, times(1)).getPrincipal();
-    verify(this.workspaceRepository, times(1)).findAllByOwnerId(userPrincipal.getUser().getId());
+    verify(this.workspaceRepository, times(1)).findByOwnerIdOrderByCreatedAtAscIdAsc(eq(userPrincipal.getId()), any(ScrollPosition.class), eq(Limit.of(20)));
   }
 
   @Test
@@ -206,6 +229,48 @@ public class WorkspaceServiceTest {
     verify(this.workspaceRepository, times(1)).findById("01");
   }
 
+  @Test
+  @DisplayName("getFullById - Should load the workspace with its members and then its projects")
+  void getFullByIdSuccess() {
+    UserPrincipal userPrincipal = new UserPrincipal(this.dataMock.getUsers().get(0));
+    Workspace workspace = this.dataMock.getWorkspaces().get(0);
+
+    when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
+    when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
+    when(this.workspaceRepository.findWithMembersById("01")).thenReturn(Optional.of(workspace));
+    when(this.workspaceRepository.findWithProjectsById("01")).thenReturn(Optional.of(workspace));
+
+    Workspace foundWorkspace = this.workspaceService.getFullById("01");
+
+    assertThat(foundWorkspace.getId()).isEqualTo(workspace.getId());
+    assertThat(foundWorkspace.getMembers().size()).isEqualTo(workspace.getMembers().size());
+
+    verify(this.workspaceRepository, times(1)).findWithMembersById("01");
+    verify(this.workspaceRepository, times(1)).findWithProjectsById("01");
+    verify(this.workspaceRepository, never()).findById(anyString());
+  }
+
+  @Test
+  @DisplayName("getFullById - Should throw an AccessDeniedException before loading the projects if the user has no access")
+  void getFullByIdFailsByAccessDenied() {
+    UserPrincipal userPrincipal = new UserPrincipal(this.dataMock.getUsers().get(2));
+    Workspace workspace = this.dataMock.getWorkspaces().get(0);
+
+    when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
+    when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
+    when(this.workspaceRepository.findWithMembersById("01")).thenReturn(Optional.of(workspace));
+    when(this.workspaceAccessCache.canAccess(userPrincipal.getId(), "01")).thenReturn(false);
+
+    Exception thrown = catchException(() -> this.workspaceService.getFullById("01"));
+
+    assertThat(thrown)
+      .isExactlyInstanceOf(AccessDeniedException.class)
+      .hasMessage("Acesso negado: Você não tem permissão para acessar este recurso");
+
+    verify(this.workspaceRepository, times(1)).findWithMembersById("01");
+    verify(this.workspaceRepository, never()).findWithProjectsById(anyString());
+  }
+
   @Test
   @DisplayName("getById - Should throw a RecordNotFoundException if the workspace is not found")
   void getByIdFailsByWorkspaceNotFound() {
@@ -259,6 +324,7 @@ public class WorkspaceServiceTest {
     when(this.authorizationService.getAuthentication()).thenReturn(this.authentication);
     when(this.authentication.getPrincipal()).thenReturn(userPrincipal);
     when(this.workspaceRepository.findById("01")).thenReturn(Optional.of(workspace));
+    when(this.workspaceRepository.findMemberIdsById("01")).thenReturn(List.of("02"));
     doNothing().when(this.workspaceRepository).deleteById(workspace.getId());
 
     Workspace deletedWorkspace = this.workspaceService.delete("01");
@@ -274,6 +340,8 @@ public class WorkspaceServiceTest {
     verify(this.authentication, times(1)).getPrincipal();
     verify(this.workspaceRepository, times(1)).findById("01");
     verify(this.workspaceRepository, times(1)).deleteById(workspace.getId());
+    verify(this.workspaceAccessCache, times(1)).evictUser(workspace.getOwner().getId());
+    verify(this.workspaceAccessCache, times(1)).evictUsers(List.of("02"));
   }
 
   @Test
@@ -0,0 +1,60 @@
+package com.felipe.projectmanagerapi.utils;
+
+import com.felipe.projectmanagerapi.exceptions.PreconditionFailedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+public class ETagTest {
+
+  @Test
+  @DisplayName("of - Should render the entity version as a strong entity tag")
+  void ofSuccess() {
+    assertThat(ETag.of(3L)).isEqualTo("\"3\"");
+    assertThat(ETag.of(null)).isNull();
+  }
+
+  @Test
+  @DisplayName("weak - Should render a weak tag prefixed by the version that changes with any validator")
+  void weakSuccess() {
+    String tag = ETag.weak(3L, 2L, 5L);
+
+    assertThat(tag).matches("W/\"3\\.[0-9a-f]{16}\"");
+    assertThat(ETag.weak(3L, 2L, 5L)).isEqualTo(tag);
+    assertThat(ETag.weak(3L, 2L, 6L)).isNotEqualTo(tag);
+  }
+
+  @Test
+  @DisplayName("parseVersion - Should read the version from strong and unquoted tags and ignore wildcards")
+  void parseVersionSuccess() {
+    assertThat(ETag.parseVersion("\"7\"")).isEqualTo(7L);
+    assertThat(ETag.parseVersion("7")).isEqualTo(7L);
+    assertThat(ETag.parseVersion("*")).isNull();
+    assertThat(ETag.parseVersion(null)).isNull();
+  }
+
+  @Test
+  @DisplayName("parseVersion - Should throw an IllegalArgumentException if the tag is not a version")
+  void parseVersionFailsByInvalidTag() {
+    Exception thrown = catchException(() -> ETag.parseVersion("\"abc\""));
+
+    assertThat(thrown)
+      .isExactlyInstanceOf(IllegalArgumentException.class)
+      .hasMessage("ETag inválido no cabeçalho If-Match: \"abc\"");
+  }
+
+  @Test
+  @DisplayName("parseVersion - Should throw a PreconditionFailedException if the tag is weak")
+  void parseVersionFailsByWeakTag() {
+    Exception thrown = catchException(() -> ETag.parseVersion("W/\"7.0123456789abcdef\""));
+
+    assertThat(thrown)
+      .isExactlyInstanceOf(PreconditionFailedException.class)
+      .hasMessage(
+        "ETag fraco não é aceito no cabeçalho If-Match: W/\"7.0123456789abcdef\". " +
+        "Use a versão do recurso entre aspas, como em \"3\""
+      );
+  }
+}
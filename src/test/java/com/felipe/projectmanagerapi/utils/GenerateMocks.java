@@ -2,12 +2,12 @@ package com.felipe.projectmanagerapi.utils;
 
 import com.felipe.projectmanagerapi.enums.PriorityLevel;
 import com.felipe.projectmanagerapi.enums.Role;
+import com.felipe.projectmanagerapi.models.Money;
 import com.felipe.projectmanagerapi.models.Project;
 import com.felipe.projectmanagerapi.models.Task;
 import com.felipe.projectmanagerapi.models.User;
 import com.felipe.projectmanagerapi.models.Workspace;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -129,7 +129,7 @@ public class GenerateMocks {
     p1.setName("Projeto 1");
     p1.setCategory("Desenvolvimento");
     p1.setDescription("Projeto de desenvolvimento");
-    p1.setBudget(new BigDecimal("999.99"));
+    p1.setBudget(Money.parse("999.99"));
     p1.setDeadline(LocalDate.parse("2025-01-01"));
     p1.setPriority(PriorityLevel.LOW);
     p1.setOwner(this.getUsers().get(0));
@@ -142,7 +142,7 @@ public class GenerateMocks {
     p2.setName("Projeto 2");
     p2.setCategory("Infra");
     p2.setDescription("Projeto de infraestrutura");
-    p2.setBudget(new BigDecimal("1000.00"));
+    p2.setBudget(Money.parse("1000.00"));
     p2.setDeadline(LocalDate.parse("2025-01-01"));
     p2.setPriority(PriorityLevel.MEDIUM);
     p2.setOwner(this.getUsers().get(1));
@@ -155,7 +155,7 @@ public class GenerateMocks {
     p3.setName("Projeto 3");
     p3.setCategory("Marketing");
     p3.setDescription("Projeto de Marketing");
-    p3.setBudget(new BigDecimal("1500.00"));
+    p3.setBudget(Money.parse("1500.00"));
     p3.setDeadline(LocalDate.parse("2025-01-01"));
     p3.setPriority(PriorityLevel.HIGH);
     p3.setOwner(this.getUsers().get(1));
@@ -177,7 +177,7 @@ public class GenerateMocks {
     task1.setId("01");
     task1.setName("Task 1");
     task1.setDescription("Descrição da task 1");
-    task1.setCost(new BigDecimal("1200.00"));
+    task1.setCost(Money.parse("1200.00"));
     task1.setCreatedAt(mockDateTime);
     task1.setUpdatedAt(mockDateTime);
     task1.setProject(this.projects.get(1));
@@ -187,7 +187,7 @@ public class GenerateMocks {
     task2.setId("02");
     task2.setName("Task 2");
     task2.setDescription("Descrição da task 2");
-    task2.setCost(new BigDecimal("2500.00"));
+    task2.setCost(Money.parse("2500.00"));
     task2.setCreatedAt(mockDateTime);
     task2.setUpdatedAt(mockDateTime);
     task2.setProject(this.projects.get(1));
@@ -0,0 +1,142 @@
+package com.felipe.projectmanagerapi.utils;
+
+import com.felipe.projectmanagerapi.enums.PriorityLevel;
+import com.felipe.projectmanagerapi.enums.Role;
+import com.felipe.projectmanagerapi.infra.security.UserPrincipal;
+import com.felipe.projectmanagerapi.models.Money;
+import com.felipe.projectmanagerapi.models.Project;
+import com.felipe.projectmanagerapi.models.Task;
+import com.felipe.projectmanagerapi.models.User;
+import com.felipe.projectmanagerapi.models.Workspace;
+import com.felipe.projectmanagerapi.repositories.ProjectRepository;
+import com.felipe.projectmanagerapi.repositories.TaskRepository;
+import com.felipe.projectmanagerapi.repositories.TombstoneRepository;
+import com.felipe.projectmanagerapi.repositories.UserRepository;
+import com.felipe.projectmanagerapi.repositories.WorkspaceRepository;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.annotation.Scope;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persists the users, workspace, projects and tasks an integration test works on and deletes them
+ * again in {@link #tearDown()}. Tests {@code @Import} it and get a fresh instance per test method.
+ */
+@TestComponent
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+public class WorkspaceFixture {
+
+  private final UserRepository userRepository;
+  private final WorkspaceRepository workspaceRepository;
+  private final ProjectRepository projectRepository;
+  private final TaskRepository taskRepository;
+  private final TombstoneRepository tombstoneRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final List<User> users = new ArrayList<>();
+  private Workspace workspace;
+
+  public WorkspaceFixture(
+    UserRepository userRepository,
+    WorkspaceRepository workspaceRepository,
+    ProjectRepository projectRepository,
+    TaskRepository taskRepository,
+    TombstoneRepository tombstoneRepository,
+    PlatformTransactionManager transactionManager
+  ) {
+    this.userRepository = userRepository;
+    this.workspaceRepository = workspaceRepository;
+    this.projectRepository = projectRepository;
+    this.taskRepository = taskRepository;
+    this.tombstoneRepository = tombstoneRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  public TransactionTemplate getTransactionTemplate() {
+    return this.transactionTemplate;
+  }
+
+  public List<User> getUsers() {
+    return this.users;
+  }
+
+  public Workspace getWorkspace() {
+    return this.workspace;
+  }
+
+  /** Saves {@code count} users named {@code "<name> <i>"}, numbered on from the users already created. */
+  public List<User> createUsers(String name, int count, Role role) {
+    List<User> created = new ArrayList<>();
+    for(int i = this.users.size(); i < this.users.size() + count; i++) {
+      User user = new User();
+      user.setName(name + " " + i);
+      user.setEmail(name.toLowerCase().replace(" ", "") + i + "@email.com");
+      user.setPassword("123456");
+      user.setRole(role);
+      created.add(this.userRepository.save(user));
+    }
+    this.users.addAll(created);
+    return created;
+  }
+
+  public Workspace createWorkspace(String name, User owner, List<User> members) {
+    Workspace newWorkspace = new Workspace();
+    newWorkspace.setName(name);
+    newWorkspace.setOwner(owner);
+    members.forEach(newWorkspace::addMember);
+    this.workspace = this.workspaceRepository.save(newWorkspace);
+    return this.workspace;
+  }
+
+  public Project createProject(String name, User owner) {
+    Project newProject = new Project();
+    newProject.setName(name);
+    newProject.setCategory("Category");
+    newProject.setDescription("Description");
+    newProject.setBudget(Money.parse("1000.00"));
+    newProject.setPriority(PriorityLevel.LOW);
+    newProject.setDeadline(LocalDate.now().plusDays(10));
+    newProject.setOwner(owner);
+    newProject.setWorkspace(this.workspace);
+    return this.projectRepository.save(newProject);
+  }
+
+  public Task createTask(String name, Project project, User owner) {
+    Task task = new Task();
+    task.setName(name);
+    task.setDescription("Description");
+    task.setCost(Money.parse("10.00"));
+    task.setProject(project);
+    task.setOwner(owner);
+    return this.taskRepository.save(task);
+  }
+
+  public void authenticate(User user) {
+    SecurityContextHolder.getContext().setAuthentication(authenticationOf(user));
+  }
+
+  public static UsernamePasswordAuthenticationToken authenticationOf(User user) {
+    UserPrincipal userPrincipal = new UserPrincipal(user);
+    return new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities());
+  }
+
+  public void tearDown() {
+    SecurityContextHolder.clearContext();
+    this.transactionTemplate.executeWithoutResult(status -> {
+      if(this.workspace != null) {
+        this.tombstoneRepository.deleteAllByWorkspaceId(this.workspace.getId());
+        List<String> projectIds = this.projectRepository.findIdsByWorkspaceId(this.workspace.getId());
+        this.taskRepository.deleteAllByProjectIdIn(projectIds);
+        this.projectRepository.deleteAllByIdIn(projectIds);
+        this.workspaceRepository.deleteById(this.workspace.getId());
+      }
+      this.userRepository.deleteAll(this.users);
+    });
+  }
+}